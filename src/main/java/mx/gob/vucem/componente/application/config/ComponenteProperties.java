@@ -3,12 +3,20 @@ package mx.gob.vucem.componente.application.config;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Propiedades de configuración específicas del componente.
  * Se cargan desde la configuración externa (application.yml, variables de entorno, etc.).
@@ -49,6 +57,36 @@ public class ComponenteProperties {
     @Valid
     private Seguridad seguridad = new Seguridad();
 
+    /**
+     * Configuración de la publicación de eventos.
+     */
+    @Valid
+    private Eventos eventos = new Eventos();
+
+    /**
+     * Configuración de la sincronización incremental de recursos.
+     */
+    @Valid
+    private Sincronizacion sincronizacion = new Sincronizacion();
+
+    /**
+     * Configuración de la ejecución de puntos de extensión.
+     */
+    @Valid
+    private Extensiones extensiones = new Extensiones();
+
+    /**
+     * Configuración del límite de solicitudes por cliente.
+     */
+    @Valid
+    private LimiteSolicitudes limiteSolicitudes = new LimiteSolicitudes();
+
+    /**
+     * Configuración de la consulta de varios recursos por ID.
+     */
+    @Valid
+    private ConsultaMultiple consultaMultiple = new ConsultaMultiple();
+
     /**
      * Configuración de seguridad del componente.
      */
@@ -91,4 +129,403 @@ public class ComponenteProperties {
             private long expiracion = 3600;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Configuración de la publicación de eventos del componente.
+     */
+    @Getter
+    @Setter
+    public static class Eventos {
+
+        /**
+         * Configuración de la coalescencia de eventos en lotes.
+         */
+        @Valid
+        private Coalescencia coalescencia = new Coalescencia();
+
+        /**
+         * Configuración de la bitácora local de eventos.
+         */
+        @Valid
+        private Bitacora bitacora = new Bitacora();
+
+        /**
+         * Configuración del flujo de cambios enviado a los suscriptores.
+         */
+        @Valid
+        private Cambios cambios = new Cambios();
+
+        /**
+         * Configuración de la agrupación de eventos del mismo tipo.
+         */
+        @Getter
+        @Setter
+        public static class Coalescencia {
+
+            /**
+             * Indica si se agrupan los eventos en lotes.
+             */
+            private boolean habilitada = true;
+
+            /**
+             * Número máximo de eventos por lote.
+             */
+            @Min(1)
+            private int tamanoMaximo = 500;
+
+            /**
+             * Tiempo máximo en milisegundos que un evento espera antes de entregarse en un lote.
+             */
+            @Min(1)
+            private long ventanaMs = 200;
+        }
+
+        /**
+         * Configuración de la bitácora de eventos en archivos mapeados a memoria.
+         */
+        @Getter
+        @Setter
+        public static class Bitacora {
+
+            /**
+             * Indica si los eventos publicados se escriben en la bitácora.
+             */
+            private boolean habilitada = false;
+
+            /**
+             * Directorio donde se almacenan los segmentos de la bitácora.
+             */
+            @NotBlank
+            private String directorio = "data/bitacora";
+
+            /**
+             * Tamaño en bytes de cada segmento.
+             */
+            @Min(4096)
+            private int tamanoSegmento = 64 * 1024 * 1024;
+
+            /**
+             * Número de registros entre cada entrada del índice disperso.
+             */
+            @Min(1)
+            private int intervaloIndice = 64;
+
+            /**
+             * Número máximo de segmentos conservados.
+             */
+            @Min(1)
+            private int segmentosRetenidos = 16;
+
+            /**
+             * Antigüedad máxima en horas de los segmentos conservados.
+             */
+            @Min(1)
+            private long horasRetencion = 72;
+
+            /**
+             * Intervalo máximo en milisegundos entre sincronizaciones a disco.
+             */
+            @Min(1)
+            private long intervaloSincronizacionMs = 5;
+
+            /**
+             * Indica si la publicación espera a que el evento esté sincronizado a disco. Sólo se
+             * aplica a los eventos publicados fuera de una transacción; los publicados dentro de
+             * una se registran al confirmarse, sin retener la transacción ni esperar el disco.
+             */
+            private boolean esperarSincronizacion = true;
+        }
+
+        /**
+         * Configuración del flujo de cambios de recursos por Server-Sent Events.
+         */
+        @Getter
+        @Setter
+        public static class Cambios {
+
+            /**
+             * Número de cambios recientes conservados para reanudar desde Last-Event-ID.
+             */
+            @Min(1)
+            private int capacidadReproduccion = 1024;
+
+            /**
+             * Número máximo de cambios pendientes por suscriptor.
+             */
+            @Min(1)
+            private int capacidadSuscriptor = 256;
+
+            /**
+             * Número máximo de suscriptores simultáneos.
+             */
+            @Min(1)
+            private int maximoSuscriptores = 1000;
+
+            /**
+             * Acción cuando un suscriptor lento llena su buffer: DESCARTAR o DESCONECTAR.
+             */
+            @NotBlank
+            private String politicaDesborde = "DESCONECTAR";
+
+            /**
+             * Intervalo en segundos entre latidos enviados a los suscriptores.
+             */
+            @Min(1)
+            private long intervaloLatidoSegundos = 15;
+
+            /**
+             * Tiempo máximo en milisegundos de una conexión antes de que el cliente deba reconectarse.
+             */
+            @Min(1000)
+            private long timeoutMs = 30 * 60 * 1000L;
+
+            /**
+             * Número de hilos que envían los cambios a los suscriptores.
+             */
+            @Min(1)
+            private int hilosDespacho = 2;
+
+            /**
+             * Tiempo máximo en milisegundos de un envío a un suscriptor antes de desconectarlo.
+             */
+            @Min(10)
+            private long tiempoMaximoEnvioMs = 5000;
+        }
+    }
+
+    /**
+     * Configuración de la sincronización incremental de recursos.
+     */
+    @Getter
+    @Setter
+    public static class Sincronizacion {
+
+        /**
+         * Número máximo de cambios devueltos por consulta.
+         */
+        @Min(1)
+        private int tamanoPaginaMaximo = 500;
+
+        /**
+         * Días que se conservan las marcas de eliminación.
+         */
+        @Min(1)
+        private int diasRetencionEliminados = 30;
+
+        /**
+         * Antigüedad mínima de un cambio para entregarse, de modo que las transacciones con una
+         * secuencia menor que aún no confirman no queden atrás del token. La secuencia se toma
+         * al confirmar, con el límite de tiempo de las escrituras, por lo que el margen no debe
+         * ser menor que {@code vucem.persistencia.escrituras.tiempo-maximo}, su valor por omisión.
+         */
+        @NotNull
+        private Duration margenConsistencia = Duration.ofSeconds(5);
+
+        /**
+         * Expresión cron de la purga de marcas de eliminación expiradas.
+         */
+        @NotBlank
+        private String cronPurga = "0 0 3 * * *";
+    }
+
+    /**
+     * Configuración de la consulta de varios recursos por ID.
+     */
+    @Getter
+    @Setter
+    public static class ConsultaMultiple {
+
+        /**
+         * Número máximo de IDs distintos por solicitud.
+         */
+        @Min(1)
+        private int maximoIds = 200;
+
+        /**
+         * Número máximo de IDs por consulta {@code IN} a la base de datos.
+         */
+        @Min(1)
+        private int tamanoLote = 100;
+
+        /**
+         * Número máximo de recursos memorizados.
+         */
+        @Min(1)
+        private long tamanoMaximoCache = 10000;
+
+        /**
+         * Segundos que se conserva un recurso memorizado desde que se consultó.
+         */
+        @Min(1)
+        private long segundosExpiracionCache = 30;
+    }
+
+    /**
+     * Configuración de la ejecución de puntos de extensión.
+     */
+    @Getter
+    @Setter
+    public static class Extensiones {
+
+        /**
+         * Tiempo máximo en milisegundos de una extensión que no define el suyo. En la
+         * ejecución por lote se multiplica por el número de entradas del bloque. Sin definir,
+         * esas extensiones se ejecutan en el hilo del solicitante sin límite de tiempo.
+         */
+        @Min(1)
+        private Long tiempoMaximoMs;
+
+        /**
+         * Número máximo de entradas que se entregan juntas a una extensión en la ejecución por lote.
+         */
+        @Min(1)
+        private int tamanoLote = 500;
+
+        /**
+         * Ejecuta cada extensión con su propio bulkhead, límite de tiempo y circuit breaker.
+         */
+        private boolean resilienciaHabilitada = true;
+
+        /**
+         * Configuración de resiliencia por identificador de extensión.
+         */
+        @Valid
+        private Map<String, Resiliencia> resiliencia = new HashMap<>();
+
+        /**
+         * Número máximo de resultados memorizados por cada extensión cacheable que no define el suyo.
+         */
+        @Min(1)
+        private long tamanoMaximoCache = 10000;
+
+        /**
+         * Minutos que se conserva un resultado memorizado desde que se calculó.
+         */
+        @Min(1)
+        private long minutosExpiracionCache = 60;
+
+        /**
+         * Configuración de resiliencia de una extensión. Los valores no definidos se toman de
+         * la configuración general de extensiones y de la configuración por defecto de los
+         * registros de Resilience4j.
+         */
+        @Getter
+        @Setter
+        public static class Resiliencia {
+
+            /**
+             * Ejecuciones concurrentes máximas.
+             */
+            @Min(1)
+            private Integer maximoConcurrentes;
+
+            /**
+             * Tiempo máximo de ejecución en milisegundos.
+             */
+            @Min(1)
+            private Long tiempoMaximoMs;
+
+            /**
+             * Porcentaje de fallos que abre el circuito.
+             */
+            @Min(1)
+            private Float umbralFallos;
+
+            /**
+             * Milisegundos que el circuito permanece abierto antes de probar de nuevo.
+             */
+            @Min(1)
+            private Long esperaCircuitoAbiertoMs;
+        }
+    }
+
+    /**
+     * Configuración del límite de solicitudes por cliente con cubetas de tokens. Cada cliente
+     * dispone de {@code capacidad} solicitudes en ráfaga que se reponen a razón de
+     * {@code por-segundo}.
+     */
+    @Getter
+    @Setter
+    public static class LimiteSolicitudes {
+
+        /**
+         * Aplica el límite de solicitudes a la API.
+         */
+        private boolean habilitado = true;
+
+        /**
+         * Solicitudes en ráfaga de la cuota general, aplicada a los endpoints sin cuota propia.
+         */
+        @Min(1)
+        private long capacidad = 100;
+
+        /**
+         * Solicitudes por segundo que repone la cuota general.
+         */
+        @Positive
+        private double porSegundo = 50;
+
+        /**
+         * Número de franjas en que se reparten las cubetas; se redondea a potencia de dos.
+         */
+        @Min(1)
+        private int franjas = 64;
+
+        /**
+         * Cubetas por franja a partir de las cuales se desalojan en línea las inactivas.
+         */
+        @Min(1)
+        private int maximoClavesPorFranja = 16384;
+
+        /**
+         * Intervalo en milisegundos del desalojo periódico de cubetas inactivas.
+         */
+        @Min(1)
+        private long intervaloPurgaMs = 30000;
+
+        /**
+         * Cuotas por endpoint. Se aplica la primera cuyo patrón y alguno de sus métodos coinciden.
+         */
+        @Valid
+        private List<Cuota> cuotas = new ArrayList<>();
+
+        /**
+         * Cuota de un grupo de endpoints. Los endpoints que coinciden comparten las cubetas
+         * de la cuota.
+         */
+        @Getter
+        @Setter
+        public static class Cuota {
+
+            /**
+             * Nombre de la cuota, usado en la política publicada y en las métricas.
+             */
+            @NotBlank
+            private String nombre;
+
+            /**
+             * Patrón de ruta comparado con el patrón del endpoint, por ejemplo
+             * {@code /api/v1/recursos/**}.
+             */
+            @NotBlank
+            private String patron;
+
+            /**
+             * Métodos HTTP a los que se aplica; si no se definen se aplica a todos.
+             */
+            private List<String> metodos = new ArrayList<>();
+
+            /**
+             * Solicitudes en ráfaga.
+             */
+            @Min(1)
+            private long capacidad;
+
+            /**
+             * Solicitudes por segundo que se reponen.
+             */
+            @Positive
+            private double porSegundo;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package mx.gob.vucem.componente.application.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/**
+ * DTO que describe un cambio sobre un recurso enviado a los suscriptores.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Representa un cambio sobre un recurso")
+public class CambioRecursoDTO {
+
+    /**
+     * Número de secuencia del cambio.
+     */
+    @Schema(description = "Número de secuencia del cambio", example = "42")
+    private long secuencia;
+
+    /**
+     * Tipo de cambio.
+     */
+    @Schema(description = "Tipo de cambio", example = "recurso.actualizado")
+    private String tipo;
+
+    /**
+     * Estado del recurso después del cambio, o el último estado conocido si fue eliminado.
+     */
+    @Schema(description = "Estado del recurso después del cambio")
+    private RecursoDTO recurso;
+
+    /**
+     * Fecha en que ocurrió el cambio.
+     */
+    @Schema(description = "Fecha en que ocurrió el cambio")
+    private ZonedDateTime fecha;
+}
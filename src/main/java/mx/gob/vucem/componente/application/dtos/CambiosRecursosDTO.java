@@ -0,0 +1,48 @@
+package mx.gob.vucem.componente.application.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO con los cambios de recursos posteriores a un token de sincronización.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cambios de recursos posteriores a un token de sincronización")
+public class CambiosRecursosDTO {
+
+    /**
+     * Recursos creados o modificados, en el orden en que cambiaron.
+     */
+    @Builder.Default
+    @Schema(description = "Recursos creados o modificados")
+    private List<RecursoDTO> recursos = new ArrayList<>();
+
+    /**
+     * Identificadores de los recursos eliminados.
+     */
+    @Builder.Default
+    @Schema(description = "Identificadores de los recursos eliminados")
+    private List<UUID> eliminados = new ArrayList<>();
+
+    /**
+     * Token a enviar en la siguiente consulta.
+     */
+    @Schema(description = "Token a enviar en la siguiente consulta", example = "1542")
+    private String siguienteToken;
+
+    /**
+     * Indica si hay más cambios disponibles inmediatamente.
+     */
+    @Schema(description = "Indica si hay más cambios disponibles inmediatamente")
+    private boolean hayMas;
+}
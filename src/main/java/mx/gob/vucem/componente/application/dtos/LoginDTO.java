@@ -0,0 +1,36 @@
+package mx.gob.vucem.componente.application.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * DTO con las credenciales de inicio de sesión.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Credenciales de inicio de sesión")
+public class LoginDTO {
+
+    /**
+     * Nombre de usuario.
+     */
+    @NotBlank(message = "El usuario es obligatorio")
+    @Size(max = 50, message = "El usuario no puede exceder los 50 caracteres")
+    @Schema(description = "Nombre de usuario", example = "admin")
+    private String username;
+
+    /**
+     * Contraseña en claro; nunca se registra en bitácoras.
+     */
+    @NotBlank(message = "La contraseña es obligatoria")
+    @Size(max = 72, message = "La contraseña no puede exceder los 72 caracteres")
+    @ToString.Exclude
+    @Schema(description = "Contraseña del usuario")
+    private String password;
+}
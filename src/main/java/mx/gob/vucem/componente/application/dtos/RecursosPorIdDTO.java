@@ -0,0 +1,36 @@
+package mx.gob.vucem.componente.application.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO con el resultado de la consulta de varios recursos por ID.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de la consulta de varios recursos por ID")
+public class RecursosPorIdDTO {
+
+    /**
+     * Recursos encontrados, en el orden en que se solicitaron.
+     */
+    @Builder.Default
+    @Schema(description = "Recursos encontrados, en el orden solicitado")
+    private List<RecursoDTO> recursos = new ArrayList<>();
+
+    /**
+     * IDs solicitados que no corresponden a ningún recurso, en el orden en que se solicitaron.
+     */
+    @Builder.Default
+    @Schema(description = "IDs solicitados que no corresponden a ningún recurso")
+    private List<UUID> noEncontrados = new ArrayList<>();
+}
@@ -0,0 +1,35 @@
+package mx.gob.vucem.componente.application.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO con los IDs de los recursos a consultar.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "IDs de los recursos a consultar")
+public class SolicitudRecursosPorIdDTO {
+
+    /**
+     * IDs de los recursos, en el orden en que se esperan en la respuesta.
+     */
+    @NotEmpty(message = "Debe indicar al menos un ID")
+    @Schema(description = "IDs de los recursos", example = "[\"123e4567-e89b-12d3-a456-426614174000\"]")
+    private List<UUID> ids;
+
+    /**
+     * Campos a devolver de cada recurso, separados por comas; si no se indica se devuelven todos.
+     */
+    @Schema(description = "Campos a devolver de cada recurso", example = "id,nombre")
+    private String campos;
+}
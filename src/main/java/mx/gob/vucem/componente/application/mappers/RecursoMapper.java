@@ -34,6 +34,7 @@ public interface RecursoMapper {
     @Mapping(target = "fechaModificacion", ignore = true)
     @Mapping(target = "creadoPor", ignore = true)
     @Mapping(target = "modificadoPor", ignore = true)
+    @Mapping(target = "secuenciaCambio", ignore = true)
     Recurso toDomain(RecursoDTO dto);
 
     /**
@@ -55,5 +56,6 @@ public interface RecursoMapper {
     @Mapping(target = "fechaModificacion", ignore = true)
     @Mapping(target = "creadoPor", ignore = true)
     @Mapping(target = "modificadoPor", ignore = true)
+    @Mapping(target = "secuenciaCambio", ignore = true)
     void updateDomainFromDto(RecursoDTO dto, @MappingTarget Recurso entity);
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+package mx.gob.vucem.componente.application.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import mx.gob.vucem.componente.application.dtos.RecursosPorIdDTO;
+import mx.gob.vucem.componente.application.mappers.RecursoMapper;
+import mx.gob.vucem.componente.domain.entities.Recurso;
+import mx.gob.vucem.componente.domain.exceptions.BusinessException;
+import mx.gob.vucem.componente.domain.repositories.RecursoRepository;
+import mx.gob.vucem.componente.interfaces.events.EventoVucem;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servicio de consulta de varios recursos por ID.
+ *
+ * <p>Los recursos se buscan primero en una caché propia y los faltantes se consultan en
+ * lotes con una sola consulta {@code IN} por lote, todo dentro de una transacción de sólo
+ * lectura. La caché se invalida con los eventos de actualización y eliminación una vez
+ * confirmada su transacción; los recursos leídos mientras ocurría alguna invalidación se
+ * descartan de la caché, para que una lectura anterior a la confirmación no la reemplace.
+ */
+@Service
+@Slf4j
+public class ConsultaMultipleRecursoService {
+
+    private final RecursoRepository recursoRepository;
+    private final RecursoMapper recursoMapper;
+    private final ComponenteProperties.ConsultaMultiple configuracion;
+    private final Cache<UUID, RecursoDTO> recursos;
+    private final AtomicLong invalidaciones = new AtomicLong();
+
+    /**
+     * Crea el servicio.
+     *
+     * @param recursoRepository Repositorio de recursos
+     * @param recursoMapper Mapper de recursos
+     * @param properties Propiedades del componente
+     * @param meterRegistry Registro de métricas
+     */
+    public ConsultaMultipleRecursoService(RecursoRepository recursoRepository, RecursoMapper recursoMapper,
+                                          ComponenteProperties properties, MeterRegistry meterRegistry) {
+        this.recursoRepository = recursoRepository;
+        this.recursoMapper = recursoMapper;
+        this.configuracion = properties.getConsultaMultiple();
+        this.recursos = Caffeine.newBuilder()
+                .maximumSize(configuracion.getTamanoMaximoCache())
+                .expireAfterWrite(Duration.ofSeconds(configuracion.getSegundosExpiracionCache()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recursos, "recursos");
+    }
+
+    /**
+     * Obtiene los recursos con los IDs indicados. Los IDs repetidos se consideran una vez y
+     * los inexistentes se informan sin interrumpir la consulta.
+     *
+     * @param ids IDs de los recursos
+     * @return Recursos encontrados e IDs no encontrados, en el orden solicitado
+     * @throws BusinessException si no se indican IDs o se excede el máximo por solicitud
+     */
+    @Transactional(readOnly = true)
+    public RecursosPorIdDTO obtenerPorIds(List<UUID> ids) {
+        if (ids == null || ids.isEmpty() || ids.stream().anyMatch(id -> id == null)) {
+            throw new BusinessException("IDS_INVALIDOS", "Debe indicar al menos un ID y ninguno puede ser nulo");
+        }
+        Set<UUID> solicitados = new LinkedHashSet<>(ids);
+        if (solicitados.size() > configuracion.getMaximoIds()) {
+            throw new BusinessException("DEMASIADOS_IDS",
+                    "No se pueden consultar más de " + configuracion.getMaximoIds() + " recursos a la vez");
+        }
+
+        Map<UUID, RecursoDTO> encontrados = new HashMap<>(recursos.getAllPresent(solicitados));
+        List<UUID> faltantes = new ArrayList<>(solicitados.size() - encontrados.size());
+        for (UUID id : solicitados) {
+            if (!encontrados.containsKey(id)) {
+                faltantes.add(id);
+            }
+        }
+        log.debug("Consultando {} recursos por ID, {} en caché", solicitados.size(), encontrados.size());
+
+        for (int inicio = 0; inicio < faltantes.size(); inicio += configuracion.getTamanoLote()) {
+            List<UUID> lote = faltantes.subList(inicio, Math.min(inicio + configuracion.getTamanoLote(), faltantes.size()));
+            long generacion = invalidaciones.get();
+            Map<UUID, RecursoDTO> leidos = new HashMap<>();
+            for (Recurso recurso : recursoRepository.findAllById(lote)) {
+                leidos.put(recurso.getId(), recursoMapper.toDto(recurso));
+            }
+            recursos.putAll(leidos);
+            // Si hubo invalidaciones durante la lectura se descarta lo memorizado, que pudo leerse antes
+            if (generacion != invalidaciones.get()) {
+                recursos.invalidateAll(leidos.keySet());
+            }
+            encontrados.putAll(leidos);
+        }
+
+        RecursosPorIdDTO resultado = new RecursosPorIdDTO();
+        for (UUID id : solicitados) {
+            RecursoDTO recursoDTO = encontrados.get(id);
+            if (recursoDTO != null) {
+                resultado.getRecursos().add(recursoDTO);
+            } else {
+                resultado.getNoEncontrados().add(id);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Descarta de la caché los recursos modificados o eliminados una vez confirmada la
+     * transacción que los cambió.
+     *
+     * @param evento Evento publicado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alPublicarEvento(EventoVucem<?> evento) {
+        if (evento.getCarga() instanceof RecursoDTO recurso && recurso.getId() != null) {
+            invalidaciones.incrementAndGet();
+            recursos.invalidate(recurso.getId());
+        }
+    }
+}
@@ -6,6 +6,7 @@ import mx.gob.vucem.componente.application.dtos.RecursoDTO;
 import mx.gob.vucem.componente.application.mappers.RecursoMapper;
 import mx.gob.vucem.componente.domain.entities.Recurso;
 import mx.gob.vucem.componente.domain.services.RecursoService;
+import mx.gob.vucem.componente.domain.valueobjects.CamposRecurso;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -70,6 +71,52 @@ public class RecursoApplicationService {
         return recursoMapper.toDto(recurso);
     }
 
+    /**
+     * Obtiene todos los recursos con sólo los campos indicados.
+     *
+     * @param campos Campos a obtener
+     * @return Lista de DTOs de recursos con los campos indicados
+     */
+    @Transactional(readOnly = true)
+    public List<RecursoDTO> obtenerTodos(CamposRecurso campos) {
+        return recursoMapper.toDtoList(recursoService.obtenerTodos(campos));
+    }
+
+    /**
+     * Obtiene todos los recursos activos con sólo los campos indicados.
+     *
+     * @param campos Campos a obtener
+     * @return Lista de DTOs de recursos activos con los campos indicados
+     */
+    @Transactional(readOnly = true)
+    public List<RecursoDTO> obtenerActivos(CamposRecurso campos) {
+        return recursoMapper.toDtoList(recursoService.obtenerActivos(campos));
+    }
+
+    /**
+     * Busca recursos por nombre con sólo los campos indicados.
+     *
+     * @param nombre Nombre o parte del nombre a buscar
+     * @param campos Campos a obtener
+     * @return Lista de DTOs de recursos que coinciden con el nombre
+     */
+    @Transactional(readOnly = true)
+    public List<RecursoDTO> buscarPorNombre(String nombre, CamposRecurso campos) {
+        return recursoMapper.toDtoList(recursoService.buscarPorNombre(nombre, campos));
+    }
+
+    /**
+     * Obtiene un recurso por su ID con sólo los campos indicados.
+     *
+     * @param id ID del recurso
+     * @param campos Campos a obtener
+     * @return DTO del recurso con los campos indicados
+     */
+    @Transactional(readOnly = true)
+    public RecursoDTO obtenerPorId(UUID id, CamposRecurso campos) {
+        return recursoMapper.toDto(recursoService.obtenerPorId(id, campos));
+    }
+
     /**
      * Crea un nuevo recurso.
      *
@@ -0,0 +1,125 @@
+package mx.gob.vucem.componente.application.services;
+
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import mx.gob.vucem.componente.application.mappers.RecursoMapper;
+import mx.gob.vucem.componente.domain.exceptions.BusinessException;
+import mx.gob.vucem.componente.domain.repositories.RecursoRepositoryReactivo;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.UUID;
+
+/**
+ * Servicio de aplicación reactivo para recursos.
+ *
+ * <p>Las lecturas se hacen con el repositorio reactivo. Las escrituras delegan en
+ * {@link RecursoApplicationService} dentro del planificador de JDBC, de modo que conservan
+ * la transacción, las validaciones, los puntos de extensión y la publicación de eventos de
+ * la pila de servlets.
+ */
+@Service
+@Profile("reactivo")
+public class RecursoReactivoService {
+
+    private final RecursoRepositoryReactivo recursoRepository;
+    private final RecursoApplicationService recursoApplicationService;
+    private final RecursoMapper recursoMapper;
+    private final Scheduler planificadorJdbc;
+
+    /**
+     * Crea el servicio.
+     *
+     * @param recursoRepository Repositorio reactivo de recursos
+     * @param recursoApplicationService Servicio de aplicación para las escrituras
+     * @param recursoMapper Mapper de recursos
+     * @param planificadorJdbc Planificador acotado al pool de conexiones
+     */
+    public RecursoReactivoService(RecursoRepositoryReactivo recursoRepository,
+                                  RecursoApplicationService recursoApplicationService,
+                                  RecursoMapper recursoMapper,
+                                  @Qualifier("planificadorJdbc") Scheduler planificadorJdbc) {
+        this.recursoRepository = recursoRepository;
+        this.recursoApplicationService = recursoApplicationService;
+        this.recursoMapper = recursoMapper;
+        this.planificadorJdbc = planificadorJdbc;
+    }
+
+    /**
+     * Obtiene todos los recursos.
+     *
+     * @return Flujo de DTOs de recursos
+     */
+    public Flux<RecursoDTO> obtenerTodos() {
+        return recursoRepository.findAll().map(recursoMapper::toDto);
+    }
+
+    /**
+     * Obtiene todos los recursos activos.
+     *
+     * @return Flujo de DTOs de recursos activos
+     */
+    public Flux<RecursoDTO> obtenerActivos() {
+        return recursoRepository.findByActivoTrue().map(recursoMapper::toDto);
+    }
+
+    /**
+     * Busca recursos por nombre.
+     *
+     * @param nombre Nombre o parte del nombre a buscar
+     * @return Flujo de DTOs de recursos que coinciden con el nombre
+     */
+    public Flux<RecursoDTO> buscarPorNombre(String nombre) {
+        return recursoRepository.findByNombreContaining(nombre).map(recursoMapper::toDto);
+    }
+
+    /**
+     * Obtiene un recurso por su ID.
+     *
+     * @param id ID del recurso
+     * @return DTO del recurso
+     */
+    public Mono<RecursoDTO> obtenerPorId(UUID id) {
+        return recursoRepository.findById(id)
+                .map(recursoMapper::toDto)
+                .switchIfEmpty(Mono.error(() -> new BusinessException("RECURSO_NO_ENCONTRADO",
+                        "Recurso no encontrado con ID: " + id)));
+    }
+
+    /**
+     * Crea un nuevo recurso.
+     *
+     * @param recursoDTO DTO con los datos del recurso a crear
+     * @return DTO del recurso creado
+     */
+    public Mono<RecursoDTO> crear(RecursoDTO recursoDTO) {
+        return Mono.fromCallable(() -> recursoApplicationService.crear(recursoDTO))
+                .subscribeOn(planificadorJdbc);
+    }
+
+    /**
+     * Actualiza un recurso existente.
+     *
+     * @param id ID del recurso a actualizar
+     * @param recursoDTO DTO con los nuevos datos del recurso
+     * @return DTO del recurso actualizado
+     */
+    public Mono<RecursoDTO> actualizar(UUID id, RecursoDTO recursoDTO) {
+        return Mono.fromCallable(() -> recursoApplicationService.actualizar(id, recursoDTO))
+                .subscribeOn(planificadorJdbc);
+    }
+
+    /**
+     * Elimina un recurso.
+     *
+     * @param id ID del recurso a eliminar
+     * @return Señal de terminación
+     */
+    public Mono<Void> eliminar(UUID id) {
+        return Mono.<Void>fromRunnable(() -> recursoApplicationService.eliminar(id))
+                .subscribeOn(planificadorJdbc);
+    }
+}
@@ -8,15 +8,17 @@ import mx.gob.vucem.componente.domain.entities.Recurso;
 import mx.gob.vucem.componente.domain.exceptions.BusinessException;
 import mx.gob.vucem.componente.domain.repositories.RecursoRepository;
 import mx.gob.vucem.componente.domain.services.RecursoService;
+import mx.gob.vucem.componente.domain.valueobjects.CamposRecurso;
+import mx.gob.vucem.componente.domain.valueobjects.ContextoExtension;
 import mx.gob.vucem.componente.domain.valueobjects.PuntoExtension;
 import mx.gob.vucem.componente.interfaces.events.PublicadorEventos;
+import mx.gob.vucem.componente.interfaces.events.RecursoActualizado;
 import mx.gob.vucem.componente.interfaces.events.RecursoCreado;
+import mx.gob.vucem.componente.interfaces.events.RecursoEliminado;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -62,6 +64,36 @@ public class RecursoServiceImpl implements RecursoService {
                         "Recurso no encontrado con ID: " + id));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Recurso> obtenerTodos(CamposRecurso campos) {
+        log.debug("Obteniendo todos los recursos con campos: {}", campos);
+        return recursoRepository.findAll(campos);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Recurso> obtenerActivos(CamposRecurso campos) {
+        log.debug("Obteniendo recursos activos con campos: {}", campos);
+        return recursoRepository.findByActivoTrue(campos);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Recurso> buscarPorNombre(String nombre, CamposRecurso campos) {
+        log.debug("Buscando recursos por nombre: {} con campos: {}", nombre, campos);
+        return recursoRepository.findByNombreContaining(nombre, campos);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Recurso obtenerPorId(UUID id, CamposRecurso campos) {
+        log.debug("Obteniendo recurso por ID: {} con campos: {}", id, campos);
+        return recursoRepository.findById(id, campos)
+                .orElseThrow(() -> new BusinessException("RECURSO_NO_ENCONTRADO", 
+                        "Recurso no encontrado con ID: " + id));
+    }
+
     @Override
     @Transactional
     public Recurso crear(Recurso recurso) {
@@ -69,14 +101,12 @@ public class RecursoServiceImpl implements RecursoService {
         validarRecurso(recurso);
         
         // Aplicar puntos de extensión de validación
-        Map<String, Object> contexto = new HashMap<>();
-        List<Boolean> resultadosValidacion = registroExtensiones.ejecutarExtensiones(
-                Recurso.class, recurso, contexto);
-        
-        // Si alguna validación falla
-        if (resultadosValidacion.contains(Boolean.FALSE)) {
-            throw new BusinessException("VALIDACION_EXTENSION", 
-                    "El recurso no cumple con las validaciones de las extensiones");
+        try (ContextoExtension contexto = ContextoExtension.obtener()) {
+            // Si alguna validación falla
+            if (!registroExtensiones.validar(Recurso.class, recurso, contexto)) {
+                throw new BusinessException("VALIDACION_EXTENSION", 
+                        "El recurso no cumple con las validaciones de las extensiones");
+            }
         }
         
         // Generar ID si no tiene
@@ -103,18 +133,22 @@ public class RecursoServiceImpl implements RecursoService {
         validarRecurso(recurso);
         
         // Aplicar puntos de extensión de validación
-        Map<String, Object> contexto = new HashMap<>();
-        contexto.put("recursoExistente", existente);
-        List<Boolean> resultadosValidacion = registroExtensiones.ejecutarExtensiones(
-                Recurso.class, recurso, contexto);
-        
-        // Si alguna validación falla
-        if (resultadosValidacion.contains(Boolean.FALSE)) {
-            throw new BusinessException("VALIDACION_EXTENSION", 
-                    "El recurso no cumple con las validaciones de las extensiones");
+        try (ContextoExtension contexto = ContextoExtension.obtener()) {
+            contexto.asignar(RECURSO_EXISTENTE, existente);
+            
+            // Si alguna validación falla
+            if (!registroExtensiones.validar(Recurso.class, recurso, contexto)) {
+                throw new BusinessException("VALIDACION_EXTENSION", 
+                        "El recurso no cumple con las validaciones de las extensiones");
+            }
         }
         
-        return recursoRepository.save(recurso);
+        Recurso recursoGuardado = recursoRepository.save(recurso);
+        
+        // Publicar evento de recurso actualizado
+        publicadorEventos.publicar(new RecursoActualizado(recursoMapper.toDto(recursoGuardado)));
+        
+        return recursoGuardado;
     }
 
     @Override
@@ -123,9 +157,12 @@ public class RecursoServiceImpl implements RecursoService {
         log.debug("Eliminando recurso con ID: {}", id);
         
         // Verificar que existe
-        obtenerPorId(id);
+        Recurso existente = obtenerPorId(id);
         
         recursoRepository.deleteById(id);
+        
+        // Publicar evento de recurso eliminado
+        publicadorEventos.publicar(new RecursoEliminado(recursoMapper.toDto(existente)));
     }
     
     /**
@@ -1,21 +1,143 @@
 package mx.gob.vucem.componente.application.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
+import mx.gob.vucem.componente.domain.valueobjects.AcumuladorResultados;
+import mx.gob.vucem.componente.domain.valueobjects.ContextoExtension;
 import mx.gob.vucem.componente.domain.valueobjects.PuntoExtension;
+import mx.gob.vucem.componente.domain.valueobjects.PuntoExtensionCacheable;
+import mx.gob.vucem.componente.domain.valueobjects.PuntoExtensionTipado;
+import org.slf4j.MDC;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Servicio para registrar y gestionar los puntos de extensión del componente.
  * Implementa el patrón Registro para mantener y proporcionar extensiones dinámicas.
+ *
+ * <p>Las extensiones de cada tipo se publican como un arreglo inmutable ordenado por
+ * prioridad que se reemplaza completo en cada registro, de modo que la ejecución
+ * nunca toma candados ni observa un registro a medias. Cada extensión registra su
+ * tiempo de ejecución y sus fallos en Micrometer.
+ *
+ * <p>En la validación, las extensiones independientes se ejecutan en paralelo sobre
+ * hilos virtuales mientras las dependientes se ejecutan en orden de prioridad; la
+ * primera extensión que rechaza la entrada cancela a las demás.
+ *
+ * <p>Las extensiones {@link PuntoExtensionCacheable} memorizan su resultado por huella de
+ * la entrada en una caché acotada propia, con métricas de aciertos en Micrometer.
+ *
+ * <p>La ejecución trabaja sobre {@link ContextoExtension}; las extensiones que no son
+ * {@link PuntoExtensionTipado} reciben su vista como mapa.
+ *
+ * <p>Cada extensión se ejecuta con su propio bulkhead, límite de tiempo y circuit breaker,
+ * tomados de los registros de Resilience4j con el nombre {@code extension.<tipo>.<identificador>}.
+ * Con el circuito abierto o sin lugar en el bulkhead se responde de inmediato con el
+ * resultado por defecto de la extensión.
+ *
+ * <p>El límite de tiempo es opcional. Sin él, la llamada se ejecuta en el hilo del solicitante
+ * y una extensión bloqueada retiene a lo más tantos hilos como lugares tiene su bulkhead; las
+ * demás llamadas reciben el resultado por defecto. Para poder abandonarla al vencer su tiempo,
+ * cada llamada con límite se ejecuta en un hilo virtual que recibe el contexto de seguridad y
+ * el MDC del solicitante, pero no su transacción: las extensiones no son transaccionales y lo
+ * que consulten o escriban en la base de datos ocurre en transacciones propias.
+ *
+ * <p>Las operaciones masivas usan {@link #validarLote} y {@link #ejecutarExtensionesLote}, que
+ * entregan las entradas por bloques a las extensiones que {@link PuntoExtension#soportaLote()}
+ * y ejecutan una por una las demás.
  */
 @Service
 @Slf4j
 public class RegistroExtensiones {
 
-    private final Map<Class<?>, List<PuntoExtension<?, ?>>> extensiones = new ConcurrentHashMap<>();
+    private static final ExtensionRegistrada<?, ?>[] SIN_EXTENSIONES = new ExtensionRegistrada<?, ?>[0];
+
+    /**
+     * Marca el resultado de una extensión que lanzó una excepción, distinto de un resultado nulo.
+     */
+    private static final Object SIN_RESULTADO = new Object();
+
+    /**
+     * Marca una llamada rechazada por el circuit breaker o el bulkhead de la extensión.
+     */
+    private static final Object NO_DISPONIBLE = new Object();
+
+    private final Map<Class<?>, ExtensionRegistrada<?, ?>[]> extensiones = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final ComponenteProperties.Extensiones configuracion;
+    private final Long tiempoMaximoMs;
+    private final int tamanoLote;
+    private final long tamanoMaximoCache;
+    private final Duration expiracionCache;
+    private final ExecutorService ejecutorParalelo = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param meterRegistry Registro de métricas
+     * @param properties Propiedades del componente
+     * @param circuitBreakerRegistry Registro de circuit breakers
+     * @param timeLimiterRegistry Registro de límites de tiempo
+     * @param bulkheadRegistry Registro de bulkheads
+     */
+    public RegistroExtensiones(MeterRegistry meterRegistry, ComponenteProperties properties,
+                               CircuitBreakerRegistry circuitBreakerRegistry, TimeLimiterRegistry timeLimiterRegistry,
+                               BulkheadRegistry bulkheadRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.timeLimiterRegistry = timeLimiterRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.configuracion = properties.getExtensiones();
+        this.tiempoMaximoMs = properties.getExtensiones().getTiempoMaximoMs();
+        this.tamanoLote = properties.getExtensiones().getTamanoLote();
+        this.tamanoMaximoCache = properties.getExtensiones().getTamanoMaximoCache();
+        this.expiracionCache = Duration.ofMinutes(properties.getExtensiones().getMinutosExpiracionCache());
+    }
+
+    /**
+     * Detiene las validaciones en paralelo que sigan en curso.
+     */
+    @PreDestroy
+    public void detener() {
+        ejecutorParalelo.shutdownNow();
+    }
 
     /**
      * Registra un nuevo punto de extensión para un tipo específico.
@@ -26,13 +148,30 @@ public class RegistroExtensiones {
      * @param extension Implementación del punto de extensión
      */
     public <T, R> void registrar(Class<T> tipo, PuntoExtension<T, R> extension) {
-        extensiones.computeIfAbsent(tipo, k -> new ArrayList<>())
-                  .add(extension);
-        
-        // Ordenar por prioridad (menor número = mayor prioridad)
-        extensiones.get(tipo).sort(Comparator.comparing(PuntoExtension::getPrioridad));
-        
-        log.info("Registrado punto de extensión: {} para tipo: {} con prioridad: {}", 
+        ComponenteProperties.Extensiones.Resiliencia resiliencia = configuracion.getResiliencia()
+                .getOrDefault(extension.getIdentificador(), new ComponenteProperties.Extensiones.Resiliencia());
+        Long tiempoMaximo = resiliencia.getTiempoMaximoMs() != null ? resiliencia.getTiempoMaximoMs()
+                : extension.getTiempoMaximoMs() > 0 ? Long.valueOf(extension.getTiempoMaximoMs()) : tiempoMaximoMs;
+        ExtensionRegistrada<T, R> registrada = new ExtensionRegistrada<>(extension,
+                Timer.builder("vucem.extensiones.ejecucion")
+                        .description("Tiempo de ejecución de cada punto de extensión")
+                        .tag("tipo", tipo.getSimpleName())
+                        .tag("extension", extension.getIdentificador())
+                        .register(meterRegistry),
+                Counter.builder("vucem.extensiones.fallos")
+                        .description("Ejecuciones de puntos de extensión que lanzaron una excepción")
+                        .tag("tipo", tipo.getSimpleName())
+                        .tag("extension", extension.getIdentificador())
+                        .register(meterRegistry),
+                crearCache(tipo, extension),
+                crearProteccion(tipo, extension, resiliencia, tiempoMaximo),
+                tiempoMaximo != null ? TimeUnit.MILLISECONDS.toNanos(tiempoMaximo) : 0);
+
+        // Se construye un nuevo arreglo ordenado y se publica de forma atómica
+        extensiones.compute(tipo, (clave, actuales) -> insertarOrdenado(
+                actuales != null ? actuales : SIN_EXTENSIONES, registrada));
+
+        log.info("Registrado punto de extensión: {} para tipo: {} con prioridad: {}",
                 extension.getIdentificador(), tipo.getSimpleName(), extension.getPrioridad());
     }
 
@@ -42,12 +181,43 @@ public class RegistroExtensiones {
      * @param <T> Tipo de entrada del punto de extensión
      * @param <R> Tipo de retorno del punto de extensión
      * @param tipo Clase que representa el tipo de extensión
-     * @return Lista de puntos de extensión ordenados por prioridad
+     * @return Lista inmutable de puntos de extensión ordenados por prioridad
      */
-    @SuppressWarnings("unchecked")
     public <T, R> List<PuntoExtension<T, R>> obtenerExtensiones(Class<T> tipo) {
-        return (List<PuntoExtension<T, R>>) (List<?>) 
-               extensiones.getOrDefault(tipo, Collections.emptyList());
+        ExtensionRegistrada<T, R>[] registradas = instantanea(tipo);
+        List<PuntoExtension<T, R>> puntosExtension = new ArrayList<>(registradas.length);
+        for (ExtensionRegistrada<T, R> registrada : registradas) {
+            puntosExtension.add(registrada.extension());
+        }
+        return Collections.unmodifiableList(puntosExtension);
+    }
+
+    /**
+     * Descarta los resultados memorizados de una extensión cacheable, por ejemplo cuando
+     * cambia el catálogo con el que valida.
+     *
+     * @param tipo Clase que representa el tipo de extensión
+     * @param identificador Identificador del punto de extensión
+     */
+    public void invalidarCache(Class<?> tipo, String identificador) {
+        for (ExtensionRegistrada<?, ?> registrada : instantanea(tipo)) {
+            if (registrada.cache() != null && registrada.extension().getIdentificador().equals(identificador)) {
+                registrada.cache().invalidateAll();
+            }
+        }
+    }
+
+    /**
+     * Descarta los resultados memorizados de todas las extensiones cacheables de un tipo.
+     *
+     * @param tipo Clase que representa el tipo de extensión
+     */
+    public void invalidarCache(Class<?> tipo) {
+        for (ExtensionRegistrada<?, ?> registrada : instantanea(tipo)) {
+            if (registrada.cache() != null) {
+                registrada.cache().invalidateAll();
+            }
+        }
     }
 
     /**
@@ -62,21 +232,680 @@ public class RegistroExtensiones {
      * @return Lista de resultados de la ejecución de cada punto de extensión
      */
     public <T, R> List<R> ejecutarExtensiones(Class<T> tipo, T entrada, Map<String, Object> contexto) {
-        List<PuntoExtension<T, R>> puntosExtension = obtenerExtensiones(tipo);
-        List<R> resultados = new ArrayList<>(puntosExtension.size());
-        
-        for (PuntoExtension<T, R> extension : puntosExtension) {
+        if (instantanea(tipo).length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<R> resultados = new ArrayList<>();
+        this.<T, R>ejecutarExtensiones(tipo, entrada, ContextoExtension.envolver(contexto), (extension, resultado) -> {
+            resultados.add(resultado);
+            return true;
+        });
+        return resultados;
+    }
+
+    /**
+     * Ejecuta los puntos de extensión registrados para un tipo específico, en orden de
+     * prioridad, entregando cada resultado al acumulador sin crear una lista intermedia.
+     * Las extensiones que lanzan una excepción no entregan resultado.
+     *
+     * @param <T> Tipo de entrada del punto de extensión
+     * @param <R> Tipo de retorno del punto de extensión
+     * @param tipo Clase que representa el tipo de extensión
+     * @param entrada Datos de entrada para los puntos de extensión
+     * @param contexto Contexto tipado de la ejecución
+     * @param acumulador Receptor de los resultados; si devuelve false se detiene la ejecución
+     */
+    @SuppressWarnings("unchecked")
+    public <T, R> void ejecutarExtensiones(Class<T> tipo, T entrada, ContextoExtension contexto,
+                                           AcumuladorResultados<R> acumulador) {
+        ExtensionRegistrada<T, R>[] registradas = instantanea(tipo);
+        for (ExtensionRegistrada<T, R> registrada : registradas) {
+            Object resultado = ejecutar(registrada, tipo, entrada, contexto, false);
+            if (resultado != SIN_RESULTADO && !acumulador.acumular(registrada.extension(), (R) resultado)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Valida una entrada con los puntos de extensión registrados para su tipo.
+     *
+     * <p>Las extensiones independientes se ejecutan en paralelo con un tiempo máximo cada
+     * una y reciben una copia de sólo lectura del contexto; las dependientes se ejecutan en
+     * el hilo actual en orden de prioridad. En cuanto una extensión devuelve
+     * {@link Boolean#FALSE} se cancelan las restantes. Igual que en
+     * {@link #ejecutarExtensiones}, una extensión que falla o excede su tiempo se registra
+     * como fallo y no rechaza la entrada.
+     *
+     * @param <T> Tipo de entrada de los puntos de extensión
+     * @param tipo Clase que representa el tipo de extensión
+     * @param entrada Datos a validar
+     * @param contexto Contexto adicional para la ejecución
+     * @return false si alguna extensión rechazó la entrada
+     */
+    public <T> boolean validar(Class<T> tipo, T entrada, Map<String, Object> contexto) {
+        return validar(tipo, entrada, ContextoExtension.envolver(contexto));
+    }
+
+    /**
+     * Valida una entrada con los puntos de extensión registrados para su tipo usando el
+     * contexto tipado. Sin extensiones independientes no crea objetos por validación.
+     *
+     * @param <T> Tipo de entrada de los puntos de extensión
+     * @param tipo Clase que representa el tipo de extensión
+     * @param entrada Datos a validar
+     * @param contexto Contexto tipado de la ejecución
+     * @return false si alguna extensión rechazó la entrada
+     * @see #validar(Class, Object, Map)
+     */
+    public <T> boolean validar(Class<T> tipo, T entrada, ContextoExtension contexto) {
+        ExtensionRegistrada<T, Object>[] registradas = instantanea(tipo);
+        if (registradas.length == 0) {
+            return true;
+        }
+        if (!tieneIndependientes(registradas)) {
+            for (ExtensionRegistrada<T, Object> registrada : registradas) {
+                if (Boolean.FALSE.equals(ejecutar(registrada, tipo, entrada, contexto, false))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        CompletableFuture<Void> rechazo = new CompletableFuture<>();
+        List<TareaParalela> tareas = iniciarIndependientes(registradas, tipo, entrada, contexto, rechazo);
+        try {
+            for (ExtensionRegistrada<T, Object> registrada : registradas) {
+                if (rechazo.isDone()) {
+                    return false;
+                }
+                if (!registrada.extension().esIndependiente()
+                        && Boolean.FALSE.equals(ejecutar(registrada, tipo, entrada, contexto, false))) {
+                    return false;
+                }
+            }
+            return esperarIndependientes(tareas, rechazo, tipo);
+        } finally {
+            for (TareaParalela tarea : tareas) {
+                tarea.futuro().cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta los puntos de extensión registrados para un tipo sobre un lote de entradas,
+     * en orden de prioridad y en bloques de {@code vucem.componente.extensiones.tamano-lote}.
+     *
+     * @param <T> Tipo de entrada del punto de extensión
+     * @param <R> Tipo de retorno del punto de extensión
+     * @param tipo Clase que representa el tipo de extensión
+     * @param entradas Datos de entrada
+     * @param contexto Contexto de la ejecución, compartido por todo el lote
+     * @return Para cada entrada, en el mismo orden, los resultados de las extensiones que no fallaron
+     */
+    @SuppressWarnings("unchecked")
+    public <T, R> List<List<R>> ejecutarExtensionesLote(Class<T> tipo, List<T> entradas, ContextoExtension contexto) {
+        List<List<R>> resultados = new ArrayList<>(entradas.size());
+        ExtensionRegistrada<T, R>[] registradas = instantanea(tipo);
+        for (int i = 0; i < entradas.size(); i++) {
+            resultados.add(new ArrayList<>(registradas.length));
+        }
+        for (int desde = 0; desde < entradas.size(); desde += tamanoLote) {
+            List<T> bloque = entradas.subList(desde, Math.min(entradas.size(), desde + tamanoLote));
+            for (ExtensionRegistrada<T, R> registrada : registradas) {
+                Object[] valores = ejecutarBloque(registrada, tipo, bloque, contexto);
+                for (int j = 0; j < valores.length; j++) {
+                    if (valores[j] != SIN_RESULTADO) {
+                        resultados.get(desde + j).add((R) valores[j]);
+                    }
+                }
+            }
+        }
+        return resultados;
+    }
+
+    /**
+     * Valida un lote de entradas con los puntos de extensión registrados para su tipo.
+     *
+     * <p>Las entradas se procesan en bloques y las extensiones en orden de prioridad; una
+     * entrada rechazada ya no se entrega a las extensiones siguientes. Igual que en
+     * {@link #validar(Class, Object, ContextoExtension)}, una extensión que falla no rechaza
+     * las entradas.
+     *
+     * @param <T> Tipo de entrada de los puntos de extensión
+     * @param tipo Clase que representa el tipo de extensión
+     * @param entradas Datos a validar
+     * @param contexto Contexto de la ejecución, compartido por todo el lote
+     * @return Para cada entrada, en el mismo orden, false si alguna extensión la rechazó
+     */
+    public <T> List<Boolean> validarLote(Class<T> tipo, List<T> entradas, ContextoExtension contexto) {
+        List<Boolean> validas = new ArrayList<>(Collections.nCopies(entradas.size(), Boolean.TRUE));
+        ExtensionRegistrada<T, Object>[] registradas = instantanea(tipo);
+        for (int desde = 0; desde < entradas.size() && registradas.length > 0; desde += tamanoLote) {
+            int hasta = Math.min(entradas.size(), desde + tamanoLote);
+            int[] pendientes = new int[hasta - desde];
+            for (int i = 0; i < pendientes.length; i++) {
+                pendientes[i] = desde + i;
+            }
+            int totalPendientes = pendientes.length;
+
+            for (ExtensionRegistrada<T, Object> registrada : registradas) {
+                if (totalPendientes == 0) {
+                    break;
+                }
+                List<T> bloque = new ArrayList<>(totalPendientes);
+                for (int i = 0; i < totalPendientes; i++) {
+                    bloque.add(entradas.get(pendientes[i]));
+                }
+                Object[] valores = ejecutarBloque(registrada, tipo, bloque, contexto);
+                int restantes = 0;
+                for (int i = 0; i < totalPendientes; i++) {
+                    if (Boolean.FALSE.equals(valores[i])) {
+                        validas.set(pendientes[i], Boolean.FALSE);
+                    } else {
+                        pendientes[restantes++] = pendientes[i];
+                    }
+                }
+                totalPendientes = restantes;
+            }
+        }
+        return validas;
+    }
+
+    private static boolean tieneIndependientes(ExtensionRegistrada<?, ?>[] registradas) {
+        for (ExtensionRegistrada<?, ?> registrada : registradas) {
+            if (registrada.extension().esIndependiente()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T> List<TareaParalela> iniciarIndependientes(ExtensionRegistrada<T, Object>[] registradas, Class<T> tipo,
+                                                          T entrada, ContextoExtension contexto,
+                                                          CompletableFuture<Void> rechazo) {
+        List<TareaParalela> tareas = new ArrayList<>();
+        ContextoExtension contextoLectura = contexto.copiaSoloLectura();
+        long ahora = System.nanoTime();
+        for (ExtensionRegistrada<T, Object> registrada : registradas) {
+            PuntoExtension<T, Object> extension = registrada.extension();
+            if (!extension.esIndependiente()) {
+                continue;
+            }
+            CompletableFuture<Void> terminada = new CompletableFuture<>();
+            Future<?> futuro = enviar(() -> {
+                try {
+                    if (Boolean.FALSE.equals(ejecutar(registrada, tipo, entrada, contextoLectura, true))) {
+                        rechazo.complete(null);
+                    }
+                } finally {
+                    terminada.complete(null);
+                }
+                return null;
+            });
+            tareas.add(new TareaParalela(registrada, futuro, terminada, ahora + registrada.tiempoMaximoNs()));
+        }
+        return tareas;
+    }
+
+    private boolean esperarIndependientes(List<TareaParalela> tareas, CompletableFuture<Void> rechazo, Class<?> tipo) {
+        CompletableFuture<Void> todas = CompletableFuture.allOf(
+                tareas.stream().map(TareaParalela::terminada).toArray(CompletableFuture[]::new));
+        CompletableFuture<Object> fin = CompletableFuture.anyOf(rechazo, todas);
+        while (true) {
+            long siguienteLimite = Long.MAX_VALUE;
+            long ahora = System.nanoTime();
+            for (TareaParalela tarea : tareas) {
+                if (tarea.terminada().isDone() || tarea.registrada().tiempoMaximoNs() == 0) {
+                    continue;
+                }
+                if (tarea.limite() - ahora <= 0) {
+                    // Tiempo excedido: se cancela y se trata como un fallo de la extensión
+                    tarea.futuro().cancel(true);
+                    tarea.registrada().fallos().increment();
+                    if (tarea.registrada().proteccion() != null) {
+                        tarea.registrada().proteccion().limiteTiempo().onError(new TimeoutException());
+                    }
+                    tarea.terminada().complete(null);
+                    log.warn("Punto de extensión: {} para tipo: {} excedió su tiempo máximo",
+                            tarea.registrada().extension().getIdentificador(), tipo.getSimpleName());
+                } else {
+                    siguienteLimite = Math.min(siguienteLimite, tarea.limite());
+                }
+            }
+            try {
+                if (siguienteLimite == Long.MAX_VALUE) {
+                    fin.get();
+                } else {
+                    fin.get(siguienteLimite - ahora, TimeUnit.NANOSECONDS);
+                }
+                return !rechazo.isDone();
+            } catch (TimeoutException ex) {
+                // Revisar de nuevo los límites vencidos
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Validación de extensiones interrumpida", ex);
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("Error inesperado en la validación de extensiones", ex);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta una extensión y devuelve su resultado, o {@link #SIN_RESULTADO} si falló.
+     * Con {@code enHiloPropio} el límite de tiempo lo aplica quien espera la tarea.
+     */
+    @SuppressWarnings("unchecked")
+    private <T, R> Object ejecutar(ExtensionRegistrada<T, R> registrada, Class<T> tipo, T entrada,
+                                   ContextoExtension contexto, boolean enHiloPropio) {
+        String huella = null;
+        if (registrada.cache() != null) {
             try {
-                R resultado = extension.ejecutar(entrada, contexto);
-                resultados.add(resultado);
-                log.debug("Ejecutado punto de extensión: {} para tipo: {}", 
-                        extension.getIdentificador(), tipo.getSimpleName());
+                huella = ((PuntoExtensionCacheable<T, R>) registrada.extension()).huella(entrada);
             } catch (Exception ex) {
-                log.error("Error al ejecutar punto de extensión: {} para tipo: {}", 
-                        extension.getIdentificador(), tipo.getSimpleName(), ex);
+                registrada.fallos().increment();
+                log.error("Error al calcular la huella del punto de extensión: {} para tipo: {}",
+                        registrada.extension().getIdentificador(), tipo.getSimpleName(), ex);
+                return SIN_RESULTADO;
+            }
+            Optional<Object> memorizado = registrada.cache().getIfPresent(huella);
+            if (memorizado != null) {
+                return memorizado.orElse(null);
             }
         }
-        
-        return resultados;
+
+        long inicio = System.nanoTime();
+        try {
+            R valor = registrada.proteccion() != null
+                    ? invocarProtegida(registrada, entrada, contexto, enHiloPropio)
+                    : invocar(registrada.extension(), entrada, contexto);
+            if (huella != null && !Thread.currentThread().isInterrupted()) {
+                registrada.cache().put(huella, Optional.ofNullable(valor));
+            }
+            return valor;
+        } catch (Exception ex) {
+            return tratarError(registrada, tipo, ex) == NO_DISPONIBLE
+                    ? porDefecto(registrada) : SIN_RESULTADO;
+        } finally {
+            registrada.tiempo().record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Ejecuta una extensión sobre un bloque de entradas. Las extensiones sin ejecución por lote
+     * se invocan por cada entrada; las demás reciben en una sola llamada las entradas cuyo
+     * resultado no está memorizado.
+     *
+     * @return Un resultado por entrada, o {@link #SIN_RESULTADO} en las que fallaron
+     */
+    @SuppressWarnings("unchecked")
+    private <T, R> Object[] ejecutarBloque(ExtensionRegistrada<T, R> registrada, Class<T> tipo, List<T> bloque,
+                                           ContextoExtension contexto) {
+        Object[] valores = new Object[bloque.size()];
+        if (!registrada.extension().soportaLote()) {
+            for (int i = 0; i < valores.length; i++) {
+                valores[i] = ejecutar(registrada, tipo, bloque.get(i), contexto, false);
+            }
+            return valores;
+        }
+
+        // Se resuelven primero los resultados memorizados
+        List<T> pendientes = bloque;
+        int[] posiciones = null;
+        String[] huellas = null;
+        if (registrada.cache() != null) {
+            pendientes = new ArrayList<>();
+            posiciones = new int[valores.length];
+            huellas = new String[valores.length];
+            for (int i = 0; i < valores.length; i++) {
+                try {
+                    String huella = ((PuntoExtensionCacheable<T, R>) registrada.extension()).huella(bloque.get(i));
+                    Optional<Object> memorizado = registrada.cache().getIfPresent(huella);
+                    if (memorizado != null) {
+                        valores[i] = memorizado.orElse(null);
+                        continue;
+                    }
+                    huellas[pendientes.size()] = huella;
+                } catch (Exception ex) {
+                    tratarError(registrada, tipo, ex);
+                    valores[i] = SIN_RESULTADO;
+                    continue;
+                }
+                posiciones[pendientes.size()] = i;
+                pendientes.add(bloque.get(i));
+            }
+            if (pendientes.isEmpty()) {
+                return valores;
+            }
+        }
+
+        List<T> lote = pendientes;
+        Object[] calculados = new Object[lote.size()];
+        long inicio = System.nanoTime();
+        try {
+            List<R> resultados;
+            if (registrada.proteccion() != null && registrada.proteccion().limiteTiempo() == null) {
+                resultados = invocarProtegida(registrada.proteccion(),
+                        () -> invocarLote(registrada.extension(), lote, contexto), lote.size(), true);
+            } else if (registrada.proteccion() != null) {
+                ContextoExtension propio = contexto.copia();
+                resultados = invocarProtegida(registrada.proteccion(),
+                        () -> invocarLote(registrada.extension(), lote, propio), lote.size(), false);
+                contexto.actualizarDesde(propio);
+            } else {
+                resultados = invocarLote(registrada.extension(), lote, contexto);
+            }
+            if (resultados.size() != lote.size()) {
+                throw new IllegalStateException("El lote devolvió " + resultados.size()
+                        + " resultados para " + lote.size() + " entradas");
+            }
+            for (int i = 0; i < calculados.length; i++) {
+                calculados[i] = resultados.get(i);
+                if (huellas != null) {
+                    registrada.cache().put(huellas[i], Optional.ofNullable(resultados.get(i)));
+                }
+            }
+        } catch (Exception ex) {
+            Arrays.fill(calculados, tratarError(registrada, tipo, ex) == NO_DISPONIBLE
+                    ? porDefecto(registrada) : SIN_RESULTADO);
+        } finally {
+            registrada.tiempo().record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+
+        if (posiciones == null) {
+            return calculados;
+        }
+        for (int i = 0; i < calculados.length; i++) {
+            valores[posiciones[i]] = calculados[i];
+        }
+        return valores;
+    }
+
+    /**
+     * Registra el error de una extensión según su causa.
+     *
+     * @return {@link #NO_DISPONIBLE} si el circuito estaba abierto o el bulkhead lleno,
+     *         {@link #SIN_RESULTADO} en cualquier otro caso
+     */
+    private Object tratarError(ExtensionRegistrada<?, ?> registrada, Class<?> tipo, Exception ex) {
+        String identificador = registrada.extension().getIdentificador();
+        if (ex instanceof CallNotPermittedException || ex instanceof BulkheadFullException) {
+            // Circuito abierto o sin lugar en el bulkhead: se responde sin esperar
+            log.debug("Punto de extensión: {} para tipo: {} no disponible: {}",
+                    identificador, tipo.getSimpleName(), ex.getMessage());
+            return NO_DISPONIBLE;
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            // Cancelada por otra extensión que rechazó la entrada o por tiempo excedido
+            return SIN_RESULTADO;
+        }
+        registrada.fallos().increment();
+        if (ex instanceof TimeoutException) {
+            log.warn("Punto de extensión: {} para tipo: {} excedió su tiempo máximo",
+                    identificador, tipo.getSimpleName());
+        } else {
+            log.error("Error al ejecutar punto de extensión: {} para tipo: {}",
+                    identificador, tipo.getSimpleName(), ex);
+        }
+        return SIN_RESULTADO;
+    }
+
+    private static Object porDefecto(ExtensionRegistrada<?, ?> registrada) {
+        Object porDefecto = registrada.extension().getResultadoPorDefecto();
+        return porDefecto != null ? porDefecto : SIN_RESULTADO;
+    }
+
+    private static <T, R> R invocar(PuntoExtension<T, R> extension, T entrada, ContextoExtension contexto) {
+        return extension instanceof PuntoExtensionTipado<T, R> tipada
+                ? tipada.ejecutar(entrada, contexto)
+                : extension.ejecutar(entrada, contexto.comoMapa());
+    }
+
+    private static <T, R> List<R> invocarLote(PuntoExtension<T, R> extension, List<T> entradas,
+                                              ContextoExtension contexto) {
+        return extension instanceof PuntoExtensionTipado<T, R> tipada
+                ? tipada.ejecutarLote(entradas, contexto)
+                : extension.ejecutarLote(entradas, contexto.comoMapa());
+    }
+
+    private <T, R> R invocarProtegida(ExtensionRegistrada<T, R> registrada, T entrada, ContextoExtension contexto,
+                                      boolean enHiloPropio) throws Exception {
+        if (enHiloPropio || registrada.proteccion().limiteTiempo() == null) {
+            return invocarEnHilo(registrada.proteccion(), registrada.extension(), entrada, contexto);
+        }
+        // La llamada trabaja sobre su propia copia: si se abandona por tiempo no escribe en el
+        // contexto del solicitante, que se limpia y reutiliza en el hilo al cerrarse
+        ContextoExtension propio = contexto.copia();
+        R valor = invocarProtegida(registrada.proteccion(),
+                () -> invocar(registrada.extension(), entrada, propio), 1, false);
+        contexto.actualizarDesde(propio);
+        return valor;
+    }
+
+    /**
+     * Ejecuta una extensión en el hilo actual dentro de su bulkhead y su circuit breaker. Los
+     * permisos se toman y se liberan directamente, como en {@code ProteccionBaseDatos}, para no
+     * envolver cada llamada en un {@link Callable}.
+     */
+    private static <T, R> R invocarEnHilo(Proteccion proteccion, PuntoExtension<T, R> extension, T entrada,
+                                          ContextoExtension contexto) {
+        Bulkhead bulkhead = proteccion.bulkhead();
+        CircuitBreaker circuito = proteccion.circuito();
+        bulkhead.acquirePermission();
+        try {
+            circuito.acquirePermission();
+            long inicio = circuito.getCurrentTimestamp();
+            try {
+                R valor = invocar(extension, entrada, contexto);
+                circuito.onResult(circuito.getCurrentTimestamp() - inicio, circuito.getTimestampUnit(), valor);
+                return valor;
+            } catch (Exception ex) {
+                circuito.onError(circuito.getCurrentTimestamp() - inicio, circuito.getTimestampUnit(), ex);
+                throw ex;
+            }
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    /**
+     * Ejecuta una llamada a una extensión dentro de su bulkhead y su circuit breaker. Si se
+     * invoca desde el hilo del solicitante y la extensión tiene límite de tiempo, la llamada se
+     * ejecuta en un hilo virtual con ese límite para que una extensión bloqueada no retenga la solicitud; recibe una
+     * copia del contexto para que, si se abandona, no comparta el del solicitante.
+     *
+     * <p>El límite es el de una entrada multiplicado por las entradas de la llamada, de modo
+     * que un bloque cuyo costo por entrada cabe en el límite individual no se interrumpe.
+     *
+     * <p>El lugar en el bulkhead lo libera el hilo virtual al terminar y no el solicitante al
+     * dejar de esperar: una extensión abandonada que ignora la interrupción lo sigue ocupando,
+     * de modo que las llamadas bloqueadas nunca superan el máximo de concurrentes.
+     */
+    private <V> V invocarProtegida(Proteccion proteccion, Callable<V> llamada, int entradas,
+                                   boolean enHiloPropio) throws Exception {
+        if (enHiloPropio) {
+            return proteccion.bulkhead().executeCallable(proteccion.circuito().decorateCallable(llamada));
+        }
+        long tiempoMaximoNs = proteccion.limiteTiempo().getTimeLimiterConfig().getTimeoutDuration()
+                .multipliedBy(entradas).toNanos();
+        Bulkhead bulkhead = proteccion.bulkhead();
+        bulkhead.acquirePermission();
+        AtomicBoolean enviada = new AtomicBoolean();
+        try {
+            return proteccion.circuito().executeCallable(() -> {
+                Future<V> futuro = enviar(llamada, bulkhead::onComplete);
+                enviada.set(true);
+                return esperar(proteccion.limiteTiempo(), futuro, tiempoMaximoNs);
+            });
+        } finally {
+            if (!enviada.get()) {
+                bulkhead.onComplete();
+            }
+        }
+    }
+
+    /**
+     * Espera el resultado de una llamada hasta su límite, cancelándola si lo excede, y
+     * publica el resultado en los eventos del límite de tiempo de la extensión.
+     */
+    private static <V> V esperar(TimeLimiter limiteTiempo, Future<V> futuro, long tiempoMaximoNs) throws Exception {
+        try {
+            V valor = futuro.get(tiempoMaximoNs, TimeUnit.NANOSECONDS);
+            limiteTiempo.onSuccess();
+            return valor;
+        } catch (TimeoutException ex) {
+            futuro.cancel(true);
+            limiteTiempo.onError(ex);
+            throw ex;
+        } catch (ExecutionException ex) {
+            Throwable causa = ex.getCause();
+            limiteTiempo.onError(causa);
+            if (causa instanceof Exception excepcion) {
+                throw excepcion;
+            }
+            throw ex;
+        } catch (InterruptedException ex) {
+            futuro.cancel(true);
+            throw ex;
+        }
+    }
+
+    /**
+     * Ejecuta una tarea en un hilo virtual con el contexto de seguridad y el MDC del hilo
+     * actual. La transacción del solicitante no se traslada.
+     */
+    private <V> Future<V> enviar(Callable<V> tarea) {
+        return ejecutorParalelo.submit(conContexto(tarea));
+    }
+
+    /**
+     * Como {@link #enviar(Callable)}, e invoca {@code alTerminar} cuando el hilo virtual
+     * termina, aunque la tarea se haya cancelado antes de comenzar o siga ejecutándose
+     * después de que el solicitante dejó de esperarla.
+     */
+    private <V> Future<V> enviar(Callable<V> tarea, Runnable alTerminar) {
+        FutureTask<V> futuro = new FutureTask<>(conContexto(tarea)) {
+            @Override
+            public void run() {
+                try {
+                    super.run();
+                } finally {
+                    alTerminar.run();
+                }
+            }
+        };
+        ejecutorParalelo.execute(futuro);
+        return futuro;
+    }
+
+    private static <V> Callable<V> conContexto(Callable<V> tarea) {
+        SecurityContext seguridad = SecurityContextHolder.getContext();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return () -> {
+            SecurityContextHolder.setContext(seguridad);
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                return tarea.call();
+            } finally {
+                SecurityContextHolder.clearContext();
+                MDC.clear();
+            }
+        };
+    }
+
+    private Proteccion crearProteccion(Class<?> tipo, PuntoExtension<?, ?> extension,
+                                       ComponenteProperties.Extensiones.Resiliencia resiliencia, Long tiempoMaximo) {
+        if (!configuracion.isResilienciaHabilitada()) {
+            return null;
+        }
+        String nombre = "extension." + tipo.getSimpleName() + "." + extension.getIdentificador();
+
+        BulkheadConfig.Builder bulkhead = BulkheadConfig.from(bulkheadRegistry.getDefaultConfig());
+        if (resiliencia.getMaximoConcurrentes() != null) {
+            bulkhead.maxConcurrentCalls(resiliencia.getMaximoConcurrentes());
+        }
+        CircuitBreakerConfig.Builder circuito = CircuitBreakerConfig.from(circuitBreakerRegistry.getDefaultConfig());
+        if (resiliencia.getUmbralFallos() != null) {
+            circuito.failureRateThreshold(resiliencia.getUmbralFallos());
+        }
+        if (resiliencia.getEsperaCircuitoAbiertoMs() != null) {
+            circuito.waitDurationInOpenState(Duration.ofMillis(resiliencia.getEsperaCircuitoAbiertoMs()));
+        }
+        TimeLimiter limiteTiempo = null;
+        if (tiempoMaximo != null) {
+            limiteTiempo = timeLimiterRegistry.timeLimiter(nombre,
+                    TimeLimiterConfig.from(timeLimiterRegistry.getDefaultConfig())
+                            .timeoutDuration(Duration.ofMillis(tiempoMaximo))
+                            .cancelRunningFuture(true)
+                            .build());
+        }
+
+        return new Proteccion(bulkheadRegistry.bulkhead(nombre, bulkhead.build()),
+                circuitBreakerRegistry.circuitBreaker(nombre, circuito.build()), limiteTiempo);
+    }
+
+    private Cache<String, Optional<Object>> crearCache(Class<?> tipo, PuntoExtension<?, ?> extension) {
+        if (!(extension instanceof PuntoExtensionCacheable<?, ?> cacheable)) {
+            return null;
+        }
+        Cache<String, Optional<Object>> cache = Caffeine.newBuilder()
+                .maximumSize(cacheable.getTamanoMaximoCache() > 0 ? cacheable.getTamanoMaximoCache() : tamanoMaximoCache)
+                .expireAfterWrite(expiracionCache)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "extension." + extension.getIdentificador(),
+                Tags.of("tipo", tipo.getSimpleName(), "extension", extension.getIdentificador()));
+        return cache;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T, R> ExtensionRegistrada<T, R>[] instantanea(Class<T> tipo) {
+        return (ExtensionRegistrada<T, R>[]) extensiones.getOrDefault(tipo, SIN_EXTENSIONES);
+    }
+
+    /**
+     * Crea una copia del arreglo con la nueva extensión en su posición por prioridad
+     * (menor número = mayor prioridad). Con la misma prioridad se conserva el orden de registro.
+     */
+    private static ExtensionRegistrada<?, ?>[] insertarOrdenado(ExtensionRegistrada<?, ?>[] actuales,
+                                                                ExtensionRegistrada<?, ?> nueva) {
+        int prioridad = nueva.extension().getPrioridad();
+        int posicion = actuales.length;
+        while (posicion > 0 && actuales[posicion - 1].extension().getPrioridad() > prioridad) {
+            posicion--;
+        }
+        ExtensionRegistrada<?, ?>[] copia = new ExtensionRegistrada<?, ?>[actuales.length + 1];
+        System.arraycopy(actuales, 0, copia, 0, posicion);
+        copia[posicion] = nueva;
+        System.arraycopy(actuales, posicion, copia, posicion + 1, actuales.length - posicion);
+        return copia;
+    }
+
+    /**
+     * Punto de extensión registrado junto con sus métricas, su protección de Resilience4j y,
+     * si es cacheable, su caché de resultados por huella. Caffeine no admite valores nulos,
+     * por eso se guardan en un Optional. Un {@code tiempoMaximoNs} de cero indica que la
+     * extensión no tiene límite de tiempo.
+     */
+    private record ExtensionRegistrada<T, R>(PuntoExtension<T, R> extension, Timer tiempo, Counter fallos,
+                                             Cache<String, Optional<Object>> cache, Proteccion proteccion,
+                                             long tiempoMaximoNs) {
+    }
+
+    /**
+     * Bulkhead, circuit breaker y límite de tiempo de una extensión; sin límite de tiempo
+     * configurado, {@code limiteTiempo} es nulo.
+     */
+    private record Proteccion(Bulkhead bulkhead, CircuitBreaker circuito, TimeLimiter limiteTiempo) {
+    }
+
+    /**
+     * Extensión independiente en ejecución con su límite de tiempo en nanosegundos.
+     */
+    private record TareaParalela(ExtensionRegistrada<?, ?> registrada, Future<?> futuro,
+                                 CompletableFuture<Void> terminada, long limite) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,121 @@
+package mx.gob.vucem.componente.application.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
+import mx.gob.vucem.componente.application.dtos.CambiosRecursosDTO;
+import mx.gob.vucem.componente.application.mappers.RecursoMapper;
+import mx.gob.vucem.componente.domain.entities.Recurso;
+import mx.gob.vucem.componente.domain.exceptions.BusinessException;
+import mx.gob.vucem.componente.domain.exceptions.ResincronizacionRequeridaException;
+import mx.gob.vucem.componente.domain.repositories.RecursoRepository;
+import mx.gob.vucem.componente.domain.valueobjects.MarcaEliminacion;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Servicio de sincronización incremental de recursos.
+ * Entrega los recursos modificados y las eliminaciones posteriores a un token,
+ * que corresponde a la secuencia del último cambio recibido por el cliente.
+ * Sólo se entregan los cambios más antiguos que {@code margen-consistencia}: el repositorio
+ * toma la secuencia de cada cambio al confirmar su transacción, y el margen cubre lo que tarda
+ * esa confirmación, acotada por el límite de tiempo de las escrituras. La fecha del cambio y
+ * el reloj de esta instancia deben estar sincronizados dentro de ese mismo margen.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SincronizacionRecursoService {
+
+    private final RecursoRepository recursoRepository;
+    private final RecursoMapper recursoMapper;
+    private final ComponenteProperties properties;
+
+    /**
+     * Obtiene los cambios posteriores a un token de sincronización.
+     * Con el token 0 se entrega el estado completo de los recursos existentes.
+     *
+     * @param desde Token de la última sincronización del cliente
+     * @param limite Número máximo de cambios solicitado, o null para usar el máximo
+     * @return Cambios y token para la siguiente consulta
+     * @throws ResincronizacionRequeridaException si el token es anterior a la ventana de retención
+     */
+    @Transactional(readOnly = true)
+    public CambiosRecursosDTO obtenerCambios(long desde, Integer limite) {
+        if (desde < 0) {
+            throw new BusinessException("TOKEN_INVALIDO", "El token de sincronización no es válido: " + desde);
+        }
+        ComponenteProperties.Sincronizacion configuracion = properties.getSincronizacion();
+        int tamano = limite == null ? configuracion.getTamanoPaginaMaximo()
+                : Math.max(1, Math.min(limite, configuracion.getTamanoPaginaMaximo()));
+
+        if (desde > 0) {
+            long secuenciaMinima = recursoRepository.obtenerSecuenciaMinima();
+            if (desde < secuenciaMinima) {
+                throw new ResincronizacionRequeridaException(desde, secuenciaMinima);
+            }
+        }
+
+        // Se pide un elemento adicional de cada fuente para saber si quedan más cambios
+        List<Recurso> recursos = recursoRepository.findCambiadosDesde(desde, tamano + 1);
+        List<MarcaEliminacion> eliminados = desde > 0
+                ? recursoRepository.findEliminadosDesde(desde, tamano + 1)
+                : List.of();
+
+        LocalDateTime limiteConsistencia = LocalDateTime.now().minus(configuracion.getMargenConsistencia());
+        CambiosRecursosDTO cambios = new CambiosRecursosDTO();
+        long token = desde;
+        int i = 0;
+        int j = 0;
+        while (i + j < tamano && (i < recursos.size() || j < eliminados.size())) {
+            boolean tomarRecurso = j >= eliminados.size()
+                    || (i < recursos.size() && recursos.get(i).getSecuenciaCambio() < eliminados.get(j).secuenciaCambio());
+            LocalDateTime fecha;
+            long secuencia;
+            if (tomarRecurso) {
+                Recurso recurso = recursos.get(i);
+                fecha = recurso.getFechaModificacion() != null ? recurso.getFechaModificacion() : recurso.getFechaCreacion();
+                secuencia = recurso.getSecuenciaCambio();
+            } else {
+                fecha = eliminados.get(j).fechaEliminacion();
+                secuencia = eliminados.get(j).secuenciaCambio();
+            }
+            // La secuencia se toma al confirmar, dentro del límite de tiempo de las escrituras: un
+            // cambio más reciente que ese límite puede tener transacciones con secuencias menores
+            // aún sin confirmar
+            if (fecha != null && fecha.isAfter(limiteConsistencia)) {
+                break;
+            }
+            if (tomarRecurso) {
+                cambios.getRecursos().add(recursoMapper.toDto(recursos.get(i++)));
+            } else {
+                cambios.getEliminados().add(eliminados.get(j++).id());
+            }
+            token = secuencia;
+        }
+
+        cambios.setHayMas(i + j == tamano && (i < recursos.size() || j < eliminados.size()));
+        cambios.setSiguienteToken(Long.toString(token));
+        log.debug("Sincronización desde {}: {} recursos, {} eliminados, siguiente token {}",
+                desde, cambios.getRecursos().size(), cambios.getEliminados().size(), token);
+        return cambios;
+    }
+
+    /**
+     * Elimina las marcas de eliminación que superan la ventana de retención.
+     * Los clientes con tokens anteriores deberán realizar una sincronización completa.
+     */
+    @Scheduled(cron = "${vucem.componente.sincronizacion.cron-purga:0 0 3 * * *}")
+    @Transactional
+    public void purgarMarcasEliminacion() {
+        LocalDateTime limite = LocalDateTime.now().minusDays(properties.getSincronizacion().getDiasRetencionEliminados());
+        int purgadas = recursoRepository.purgarEliminadosAntesDe(limite);
+        if (purgadas > 0) {
+            log.info("Purgadas {} marcas de eliminación anteriores a {}", purgadas, limite);
+        }
+    }
+}
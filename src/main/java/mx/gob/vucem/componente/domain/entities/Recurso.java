@@ -44,6 +44,11 @@ public class Recurso extends AuditableEntity {
      */
     private Map<String, String> atributos = new HashMap<>();
 
+    /**
+     * Número de secuencia del último cambio del recurso.
+     */
+    private Long secuenciaCambio;
+
     /**
      * Valida si el recurso es válido según las reglas de negocio.
      *
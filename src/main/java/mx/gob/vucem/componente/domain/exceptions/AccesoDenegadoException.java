@@ -0,0 +1,18 @@
+package mx.gob.vucem.componente.domain.exceptions;
+
+/**
+ * Excepción que indica que el usuario autenticado no tiene los permisos necesarios para la
+ * operación solicitada.
+ */
+public class AccesoDenegadoException extends BusinessException {
+
+    /**
+     * Constructor para crear una excepción de acceso denegado.
+     *
+     * @param codigo Código de error
+     * @param mensaje Mensaje descriptivo del error
+     */
+    public AccesoDenegadoException(String codigo, String mensaje) {
+        super(codigo, mensaje);
+    }
+}
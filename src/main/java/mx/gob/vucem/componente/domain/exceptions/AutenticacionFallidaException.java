@@ -0,0 +1,17 @@
+package mx.gob.vucem.componente.domain.exceptions;
+
+/**
+ * Excepción que indica que las credenciales presentadas no permiten iniciar sesión.
+ */
+public class AutenticacionFallidaException extends BusinessException {
+
+    /**
+     * Constructor para crear una excepción de autenticación fallida.
+     *
+     * @param codigo Código de error
+     * @param mensaje Mensaje descriptivo del error
+     */
+    public AutenticacionFallidaException(String codigo, String mensaje) {
+        super(codigo, mensaje);
+    }
+}
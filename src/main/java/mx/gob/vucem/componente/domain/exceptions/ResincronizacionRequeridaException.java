@@ -0,0 +1,20 @@
+package mx.gob.vucem.componente.domain.exceptions;
+
+/**
+ * Excepción que indica que el token de sincronización del cliente es anterior a la
+ * ventana de retención de cambios y debe realizarse una sincronización completa.
+ */
+public class ResincronizacionRequeridaException extends BusinessException {
+
+    /**
+     * Constructor para crear una excepción de resincronización requerida.
+     *
+     * @param desde Token de sincronización recibido
+     * @param secuenciaMinima Token mínimo que aún puede atenderse
+     */
+    public ResincronizacionRequeridaException(long desde, long secuenciaMinima) {
+        super("RESINCRONIZACION_REQUERIDA",
+                "El token " + desde + " es anterior a la ventana de cambios disponible (" + secuenciaMinima
+                        + "); se requiere una sincronización completa");
+    }
+}
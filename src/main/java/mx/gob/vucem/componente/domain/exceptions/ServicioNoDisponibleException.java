@@ -0,0 +1,29 @@
+package mx.gob.vucem.componente.domain.exceptions;
+
+/**
+ * Excepción que indica que el servicio no puede atender la solicitud por falta de capacidad.
+ * El cliente puede reintentar más tarde.
+ */
+public class ServicioNoDisponibleException extends BusinessException {
+
+    /**
+     * Constructor para crear una excepción de servicio no disponible.
+     *
+     * @param codigo Código de error
+     * @param mensaje Mensaje descriptivo del error
+     */
+    public ServicioNoDisponibleException(String codigo, String mensaje) {
+        super(codigo, mensaje);
+    }
+
+    /**
+     * Constructor para crear una excepción de servicio no disponible basada en otra excepción.
+     *
+     * @param codigo Código de error
+     * @param mensaje Mensaje descriptivo del error
+     * @param cause Excepción original que causó este error
+     */
+    public ServicioNoDisponibleException(String codigo, String mensaje, Throwable cause) {
+        super(codigo, mensaje, cause);
+    }
+}
@@ -0,0 +1,25 @@
+package mx.gob.vucem.componente.domain.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Excepción que indica que el cliente excedió su límite de solicitudes.
+ * El cliente puede reintentar una vez transcurrido el tiempo indicado.
+ */
+@Getter
+public class SolicitudesExcedidasException extends BusinessException {
+
+    private final long reintentarDespuesSegundos;
+
+    /**
+     * Constructor para crear una excepción de límite de solicitudes excedido.
+     *
+     * @param codigo Código de error
+     * @param mensaje Mensaje descriptivo del error
+     * @param reintentarDespuesSegundos Segundos tras los cuales el cliente puede reintentar
+     */
+    public SolicitudesExcedidasException(String codigo, String mensaje, long reintentarDespuesSegundos) {
+        super(codigo, mensaje);
+        this.reintentarDespuesSegundos = reintentarDespuesSegundos;
+    }
+}
@@ -1,7 +1,11 @@
 package mx.gob.vucem.componente.domain.repositories;
 
 import mx.gob.vucem.componente.domain.entities.Recurso;
+import mx.gob.vucem.componente.domain.valueobjects.CamposRecurso;
+import mx.gob.vucem.componente.domain.valueobjects.MarcaEliminacion;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -42,6 +46,49 @@ public interface RecursoRepository {
      */
     Optional<Recurso> findById(UUID id);
 
+    /**
+     * Busca los recursos con los IDs indicados en una sola consulta.
+     * Los IDs que no existen se omiten y el orden del resultado no está definido.
+     *
+     * @param ids IDs de los recursos
+     * @return Lista de recursos encontrados
+     */
+    List<Recurso> findAllById(Collection<UUID> ids);
+
+    /**
+     * Obtiene todos los recursos con sólo los campos indicados.
+     *
+     * @param campos Campos a consultar
+     * @return Lista de recursos con los campos indicados
+     */
+    List<Recurso> findAll(CamposRecurso campos);
+
+    /**
+     * Obtiene los recursos activos con sólo los campos indicados.
+     *
+     * @param campos Campos a consultar
+     * @return Lista de recursos activos con los campos indicados
+     */
+    List<Recurso> findByActivoTrue(CamposRecurso campos);
+
+    /**
+     * Busca recursos por nombre con sólo los campos indicados.
+     *
+     * @param nombre Nombre o parte del nombre a buscar
+     * @param campos Campos a consultar
+     * @return Lista de recursos que coinciden con el nombre
+     */
+    List<Recurso> findByNombreContaining(String nombre, CamposRecurso campos);
+
+    /**
+     * Busca un recurso por su ID con sólo los campos indicados.
+     *
+     * @param id ID del recurso
+     * @param campos Campos a consultar
+     * @return Opcional que contiene el recurso si existe
+     */
+    Optional<Recurso> findById(UUID id, CamposRecurso campos);
+
     /**
      * Guarda un recurso.
      *
@@ -56,4 +103,39 @@ public interface RecursoRepository {
      * @param id ID del recurso a eliminar
      */
     void deleteById(UUID id);
-}
\ No newline at end of file
+
+    /**
+     * Obtiene los recursos cuyo último cambio es posterior a una secuencia,
+     * ordenados por secuencia de cambio.
+     *
+     * @param secuencia Secuencia a partir de la cual se buscan cambios (exclusiva)
+     * @param limite Número máximo de recursos
+     * @return Recursos modificados
+     */
+    List<Recurso> findCambiadosDesde(long secuencia, int limite);
+
+    /**
+     * Obtiene las marcas de eliminación posteriores a una secuencia,
+     * ordenadas por secuencia de cambio.
+     *
+     * @param secuencia Secuencia a partir de la cual se buscan eliminaciones (exclusiva)
+     * @param limite Número máximo de marcas
+     * @return Marcas de eliminación
+     */
+    List<MarcaEliminacion> findEliminadosDesde(long secuencia, int limite);
+
+    /**
+     * Obtiene la secuencia mínima a partir de la cual los cambios siguen disponibles.
+     *
+     * @return Secuencia mínima de sincronización
+     */
+    long obtenerSecuenciaMinima();
+
+    /**
+     * Elimina las marcas de eliminación anteriores a una fecha y avanza la secuencia mínima.
+     *
+     * @param limite Fecha límite de retención
+     * @return Número de marcas eliminadas
+     */
+    int purgarEliminadosAntesDe(LocalDateTime limite);
+}
@@ -0,0 +1,45 @@
+package mx.gob.vucem.componente.domain.repositories;
+
+import mx.gob.vucem.componente.domain.entities.Recurso;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Interfaz de repositorio reactivo para la entidad Recurso.
+ * Define las operaciones de lectura de {@link RecursoRepository} con tipos de Reactor, de modo
+ * que las listas se entregan como un flujo con contrapresión en lugar de cargarse completas.
+ */
+public interface RecursoRepositoryReactivo {
+
+    /**
+     * Obtiene todos los recursos como un flujo.
+     *
+     * @return Flujo de todos los recursos
+     */
+    Flux<Recurso> findAll();
+
+    /**
+     * Obtiene todos los recursos activos como un flujo.
+     *
+     * @return Flujo de recursos activos
+     */
+    Flux<Recurso> findByActivoTrue();
+
+    /**
+     * Busca recursos por nombre.
+     *
+     * @param nombre Nombre o parte del nombre a buscar
+     * @return Flujo de recursos que coinciden con el nombre
+     */
+    Flux<Recurso> findByNombreContaining(String nombre);
+
+    /**
+     * Busca un recurso por su ID.
+     *
+     * @param id ID del recurso
+     * @return Recurso o vacío si no existe
+     */
+    Mono<Recurso> findById(UUID id);
+}
@@ -1,6 +1,8 @@
 package mx.gob.vucem.componente.domain.services;
 
 import mx.gob.vucem.componente.domain.entities.Recurso;
+import mx.gob.vucem.componente.domain.valueobjects.CamposRecurso;
+import mx.gob.vucem.componente.domain.valueobjects.ClaveContexto;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,6 +14,11 @@ import java.util.UUID;
  */
 public interface RecursoService {
 
+    /**
+     * Clave del contexto de extensiones con el recurso antes de una actualización.
+     */
+    ClaveContexto<Recurso> RECURSO_EXISTENTE = ClaveContexto.de("recursoExistente", Recurso.class);
+
     /**
      * Obtiene todos los recursos.
      *
@@ -43,6 +50,41 @@ public interface RecursoService {
      */
     Recurso obtenerPorId(UUID id);
 
+    /**
+     * Obtiene todos los recursos con sólo los campos indicados.
+     *
+     * @param campos Campos a obtener
+     * @return Lista de recursos
+     */
+    List<Recurso> obtenerTodos(CamposRecurso campos);
+
+    /**
+     * Obtiene todos los recursos activos con sólo los campos indicados.
+     *
+     * @param campos Campos a obtener
+     * @return Lista de recursos activos
+     */
+    List<Recurso> obtenerActivos(CamposRecurso campos);
+
+    /**
+     * Busca recursos por nombre con sólo los campos indicados.
+     *
+     * @param nombre Nombre o parte del nombre a buscar
+     * @param campos Campos a obtener
+     * @return Lista de recursos que coinciden con el nombre
+     */
+    List<Recurso> buscarPorNombre(String nombre, CamposRecurso campos);
+
+    /**
+     * Obtiene un recurso por su ID con sólo los campos indicados.
+     *
+     * @param id ID del recurso
+     * @param campos Campos a obtener
+     * @return Recurso si existe
+     * @throws mx.gob.vucem.componente.domain.exceptions.BusinessException si el recurso no existe
+     */
+    Recurso obtenerPorId(UUID id, CamposRecurso campos);
+
     /**
      * Crea un nuevo recurso.
      *
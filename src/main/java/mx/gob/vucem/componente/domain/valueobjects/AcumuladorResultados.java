@@ -0,0 +1,20 @@
+package mx.gob.vucem.componente.domain.valueobjects;
+
+/**
+ * Recibe los resultados de los puntos de extensión conforme se ejecutan, sin acumularlos
+ * en una lista intermedia.
+ *
+ * @param <R> Tipo de retorno de los puntos de extensión
+ */
+@FunctionalInterface
+public interface AcumuladorResultados<R> {
+
+    /**
+     * Recibe el resultado de un punto de extensión.
+     *
+     * @param extension Punto de extensión que produjo el resultado
+     * @param resultado Resultado de la ejecución
+     * @return true para continuar con la siguiente extensión, false para detener la ejecución
+     */
+    boolean acumular(PuntoExtension<?, R> extension, R resultado);
+}
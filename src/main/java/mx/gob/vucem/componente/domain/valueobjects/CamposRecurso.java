@@ -0,0 +1,175 @@
+package mx.gob.vucem.componente.domain.valueobjects;
+
+import mx.gob.vucem.componente.domain.exceptions.BusinessException;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Subconjunto de campos de un recurso solicitado por el cliente, por ejemplo
+ * {@code id,nombre,atributos.tipo}.
+ *
+ * <p>{@code atributos} incluye el mapa completo y {@code atributos.<clave>} sólo las claves
+ * indicadas. Dos expresiones con los mismos campos en distinto orden tienen la misma
+ * {@linkplain #getClave() clave canónica}.
+ */
+public final class CamposRecurso {
+
+    /**
+     * Número máximo de claves de atributos en una expresión.
+     */
+    public static final int MAXIMO_ATRIBUTOS = 20;
+
+    private static final String PREFIJO_ATRIBUTO = "atributos.";
+    private static final Pattern CLAVE_ATRIBUTO = Pattern.compile("[A-Za-z0-9_-]{1,50}");
+
+    /**
+     * Campos de un recurso que se pueden seleccionar.
+     */
+    public enum Campo {
+        ID("id"),
+        NOMBRE("nombre"),
+        DESCRIPCION("descripcion"),
+        ACTIVO("activo"),
+        ATRIBUTOS("atributos"),
+        FECHA_CREACION("fechaCreacion"),
+        FECHA_MODIFICACION("fechaModificacion");
+
+        private final String nombre;
+
+        Campo(String nombre) {
+            this.nombre = nombre;
+        }
+
+        /**
+         * Obtiene el nombre del campo en la entidad y en la representación JSON.
+         *
+         * @return Nombre del campo
+         */
+        public String getNombre() {
+            return nombre;
+        }
+
+        private static Campo buscar(String nombre) {
+            for (Campo campo : values()) {
+                if (campo.nombre.equals(nombre)) {
+                    return campo;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Set<Campo> campos;
+    private final Set<String> atributos;
+    private final String clave;
+
+    private CamposRecurso(Set<Campo> campos, Set<String> atributos) {
+        this.campos = Collections.unmodifiableSet(campos);
+        this.atributos = atributos != null ? Collections.unmodifiableSet(atributos) : null;
+        StringJoiner canonica = new StringJoiner(",");
+        for (Campo campo : campos) {
+            if (campo != Campo.ATRIBUTOS || atributos == null) {
+                canonica.add(campo.nombre);
+            } else {
+                atributos.forEach(atributo -> canonica.add(PREFIJO_ATRIBUTO + atributo));
+            }
+        }
+        this.clave = canonica.toString();
+    }
+
+    /**
+     * Interpreta una expresión de campos separados por comas.
+     *
+     * @param expresion Expresión, por ejemplo {@code id,nombre,atributos.tipo}
+     * @return Campos solicitados
+     * @throws BusinessException si la expresión está vacía o incluye campos desconocidos
+     */
+    public static CamposRecurso de(String expresion) {
+        if (expresion == null || expresion.isBlank()) {
+            throw new BusinessException("CAMPOS_INVALIDOS", "Debe indicar al menos un campo");
+        }
+        Set<Campo> campos = EnumSet.noneOf(Campo.class);
+        Set<String> atributos = new TreeSet<>();
+        boolean todosLosAtributos = false;
+        for (String parte : expresion.split(",")) {
+            String nombre = parte.trim();
+            if (nombre.startsWith(PREFIJO_ATRIBUTO)) {
+                String atributo = nombre.substring(PREFIJO_ATRIBUTO.length());
+                if (!CLAVE_ATRIBUTO.matcher(atributo).matches()) {
+                    throw new BusinessException("CAMPOS_INVALIDOS", "Atributo no válido: " + nombre);
+                }
+                campos.add(Campo.ATRIBUTOS);
+                atributos.add(atributo);
+                continue;
+            }
+            Campo campo = Campo.buscar(nombre);
+            if (campo == null) {
+                throw new BusinessException("CAMPOS_INVALIDOS", "Campo desconocido: " + nombre);
+            }
+            campos.add(campo);
+            todosLosAtributos |= campo == Campo.ATRIBUTOS;
+        }
+        if (atributos.size() > MAXIMO_ATRIBUTOS) {
+            throw new BusinessException("CAMPOS_INVALIDOS",
+                    "No se pueden solicitar más de " + MAXIMO_ATRIBUTOS + " atributos");
+        }
+        return new CamposRecurso(campos, todosLosAtributos ? null : atributos);
+    }
+
+    /**
+     * Obtiene los campos solicitados, en el orden de {@link Campo}.
+     *
+     * @return Campos solicitados
+     */
+    public Set<Campo> getCampos() {
+        return campos;
+    }
+
+    /**
+     * Indica si se solicitó un campo.
+     *
+     * @param campo Campo
+     * @return true si el campo está incluido
+     */
+    public boolean incluye(Campo campo) {
+        return campos.contains(campo);
+    }
+
+    /**
+     * Obtiene las claves de atributos solicitadas.
+     *
+     * @return Claves de atributos, o null si se solicitó el mapa completo
+     */
+    public Set<String> getAtributos() {
+        return atributos;
+    }
+
+    /**
+     * Obtiene la representación canónica de los campos, independiente del orden de la expresión.
+     *
+     * @return Clave canónica
+     */
+    public String getClave() {
+        return clave;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof CamposRecurso otros && clave.equals(otros.clave));
+    }
+
+    @Override
+    public int hashCode() {
+        return clave.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return clave;
+    }
+}
@@ -0,0 +1,92 @@
+package mx.gob.vucem.componente.domain.valueobjects;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Clave tipada del contexto de ejecución de los puntos de extensión.
+ *
+ * <p>Cada clave recibe un índice fijo al crearse, de modo que {@link ContextoExtension}
+ * guarda los valores en un arreglo en lugar de un mapa. Las claves deben declararse como
+ * constantes: una clave con el mismo nombre se reutiliza y no puede cambiar de tipo.
+ *
+ * @param <V> Tipo del valor asociado a la clave
+ */
+public final class ClaveContexto<V> {
+
+    private static final Map<String, ClaveContexto<?>> POR_NOMBRE = new ConcurrentHashMap<>();
+    private static volatile ClaveContexto<?>[] porIndice = new ClaveContexto<?>[0];
+
+    private final String nombre;
+    private final Class<V> tipo;
+    private final int indice;
+
+    private ClaveContexto(String nombre, Class<V> tipo, int indice) {
+        this.nombre = nombre;
+        this.tipo = tipo;
+        this.indice = indice;
+    }
+
+    /**
+     * Obtiene la clave con el nombre indicado, creándola si no existe.
+     *
+     * @param <V> Tipo del valor asociado a la clave
+     * @param nombre Nombre de la clave, el mismo que se usa en el contexto como mapa
+     * @param tipo Clase del valor asociado a la clave
+     * @return Clave tipada
+     * @throws IllegalArgumentException si ya existe una clave con el mismo nombre y otro tipo
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized <V> ClaveContexto<V> de(String nombre, Class<V> tipo) {
+        ClaveContexto<?> existente = POR_NOMBRE.get(nombre);
+        if (existente != null) {
+            if (!existente.tipo.equals(tipo)) {
+                throw new IllegalArgumentException("La clave de contexto '" + nombre
+                        + "' ya está registrada con el tipo " + existente.tipo.getName());
+            }
+            return (ClaveContexto<V>) existente;
+        }
+        ClaveContexto<?>[] actuales = porIndice;
+        ClaveContexto<V> clave = new ClaveContexto<>(nombre, tipo, actuales.length);
+        ClaveContexto<?>[] nuevas = Arrays.copyOf(actuales, actuales.length + 1);
+        nuevas[clave.indice] = clave;
+        POR_NOMBRE.put(nombre, clave);
+        porIndice = nuevas;
+        return clave;
+    }
+
+    /**
+     * Busca una clave por su nombre.
+     *
+     * @param nombre Nombre de la clave
+     * @return Clave registrada o null si no existe
+     */
+    static ClaveContexto<?> buscar(Object nombre) {
+        return POR_NOMBRE.get(nombre);
+    }
+
+    /**
+     * Obtiene las claves registradas ordenadas por índice.
+     */
+    static ClaveContexto<?>[] registradas() {
+        return porIndice;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public Class<V> getTipo() {
+        return tipo;
+    }
+
+    int getIndice() {
+        return indice;
+    }
+
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
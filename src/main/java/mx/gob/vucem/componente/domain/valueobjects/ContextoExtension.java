@@ -0,0 +1,352 @@
+package mx.gob.vucem.componente.domain.valueobjects;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Contexto de ejecución de los puntos de extensión con acceso tipado por {@link ClaveContexto}.
+ *
+ * <p>Los valores se guardan en un arreglo indexado por la clave, sin conversiones ni
+ * búsquedas en un mapa. {@link #obtener()} entrega un contexto reutilizable por hilo que se
+ * limpia al cerrarlo, por lo que una escritura no crea objetos nuevos:
+ *
+ * <pre>{@code
+ * try (ContextoExtension contexto = ContextoExtension.obtener()) {
+ *     contexto.asignar(RecursoService.RECURSO_EXISTENTE, existente);
+ *     registroExtensiones.validar(Recurso.class, recurso, contexto);
+ * }
+ * }</pre>
+ *
+ * <p>Las extensiones que usan la interfaz original reciben la vista {@link #comoMapa()},
+ * donde cada clave se expone con su nombre. Un contexto no es seguro para uso concurrente.
+ */
+public final class ContextoExtension implements AutoCloseable {
+
+    private static final ThreadLocal<ContextoExtension> DEL_HILO = ThreadLocal.withInitial(ContextoExtension::new);
+
+    private final Map<String, Object> respaldo;
+    private Object[] valores;
+    private Map<String, Object> adicionales;
+    private Map<String, Object> mapa;
+    private boolean soloLectura;
+    private boolean enUso;
+
+    private ContextoExtension() {
+        this.respaldo = null;
+        this.valores = new Object[Math.max(4, ClaveContexto.registradas().length)];
+    }
+
+    private ContextoExtension(Map<String, Object> respaldo) {
+        this.respaldo = respaldo;
+    }
+
+    /**
+     * Obtiene el contexto reutilizable del hilo actual. Si ya está en uso, por ejemplo en una
+     * escritura anidada, se entrega un contexto nuevo.
+     *
+     * @return Contexto vacío que debe cerrarse al terminar
+     */
+    public static ContextoExtension obtener() {
+        ContextoExtension contexto = DEL_HILO.get();
+        if (contexto.enUso) {
+            contexto = new ContextoExtension();
+        }
+        contexto.enUso = true;
+        return contexto;
+    }
+
+    /**
+     * Crea un contexto respaldado por un mapa existente; las lecturas y escrituras se hacen
+     * directamente sobre el mapa. Permite usar la API tipada con código que aún usa mapas.
+     *
+     * @param mapa Mapa de contexto
+     * @return Contexto respaldado por el mapa
+     */
+    public static ContextoExtension envolver(Map<String, Object> mapa) {
+        return new ContextoExtension(mapa);
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave.
+     *
+     * @param <V> Tipo del valor
+     * @param clave Clave del valor
+     * @return Valor o null si no está asignado
+     */
+    public <V> V obtener(ClaveContexto<V> clave) {
+        if (respaldo != null) {
+            return clave.getTipo().cast(respaldo.get(clave.getNombre()));
+        }
+        int indice = clave.getIndice();
+        // El valor sólo pudo asignarse con la misma clave, por lo que ya tiene el tipo correcto
+        @SuppressWarnings("unchecked")
+        V valor = indice < valores.length ? (V) valores[indice] : null;
+        return valor;
+    }
+
+    /**
+     * Asigna el valor de una clave; un valor nulo elimina la asignación.
+     *
+     * @param <V> Tipo del valor
+     * @param clave Clave del valor
+     * @param valor Valor a asignar
+     * @return Este contexto
+     */
+    public <V> ContextoExtension asignar(ClaveContexto<V> clave, V valor) {
+        verificarEscritura();
+        if (respaldo != null) {
+            if (valor == null) {
+                respaldo.remove(clave.getNombre());
+            } else {
+                respaldo.put(clave.getNombre(), valor);
+            }
+            return this;
+        }
+        int indice = clave.getIndice();
+        if (indice >= valores.length) {
+            valores = Arrays.copyOf(valores, Math.max(indice + 1, valores.length * 2));
+        }
+        valores[indice] = valor;
+        return this;
+    }
+
+    /**
+     * Indica si la clave tiene un valor asignado.
+     *
+     * @param clave Clave a consultar
+     * @return true si tiene valor
+     */
+    public boolean contiene(ClaveContexto<?> clave) {
+        return obtener(clave) != null;
+    }
+
+    /**
+     * Obtiene una vista del contexto como mapa para las extensiones que usan la interfaz
+     * original. Los cambios en la vista se reflejan en el contexto y viceversa.
+     *
+     * @return Vista del contexto como mapa
+     */
+    public Map<String, Object> comoMapa() {
+        if (respaldo != null) {
+            return soloLectura ? Collections.unmodifiableMap(respaldo) : respaldo;
+        }
+        if (mapa == null) {
+            mapa = new VistaMapa();
+        }
+        return mapa;
+    }
+
+    /**
+     * Crea una copia de sólo lectura, apta para compartirse con extensiones que se ejecutan
+     * en otros hilos.
+     *
+     * @return Copia de sólo lectura del contexto
+     */
+    public ContextoExtension copiaSoloLectura() {
+        ContextoExtension copia = copiar();
+        copia.soloLectura = true;
+        return copia;
+    }
+
+    /**
+     * Crea una copia independiente para una llamada que se ejecuta en otro hilo. Los cambios
+     * de la llamada se trasladan con {@link #actualizarDesde} sólo si termina a tiempo; si se
+     * abandona, sigue escribiendo en su copia y nunca en este contexto, que puede cerrarse y
+     * reutilizarse.
+     *
+     * @return Copia del contexto, de sólo lectura si este lo es
+     */
+    public ContextoExtension copia() {
+        ContextoExtension copia = copiar();
+        copia.soloLectura = soloLectura;
+        return copia;
+    }
+
+    /**
+     * Reemplaza los valores del contexto por los de una copia obtenida con {@link #copia()}
+     * cuya llamada ya terminó.
+     *
+     * @param origen Copia con los valores a trasladar
+     */
+    public void actualizarDesde(ContextoExtension origen) {
+        if (origen == this || origen.soloLectura) {
+            return;
+        }
+        verificarEscritura();
+        if (respaldo != null) {
+            respaldo.clear();
+            respaldo.putAll(origen.respaldo);
+            return;
+        }
+        if (valores.length == origen.valores.length) {
+            System.arraycopy(origen.valores, 0, valores, 0, valores.length);
+        } else {
+            valores = origen.valores.clone();
+        }
+        adicionales = origen.adicionales != null ? new HashMap<>(origen.adicionales) : null;
+    }
+
+    /**
+     * Elimina todos los valores del contexto.
+     */
+    public void limpiar() {
+        verificarEscritura();
+        if (respaldo != null) {
+            respaldo.clear();
+            return;
+        }
+        Arrays.fill(valores, null);
+        if (adicionales != null) {
+            adicionales.clear();
+        }
+    }
+
+    /**
+     * Limpia el contexto y lo libera para reutilizarse en el hilo.
+     */
+    @Override
+    public void close() {
+        if (!soloLectura && respaldo == null) {
+            limpiar();
+        }
+        enUso = false;
+    }
+
+    private ContextoExtension copiar() {
+        if (respaldo != null) {
+            return new ContextoExtension(new HashMap<>(respaldo));
+        }
+        ContextoExtension copia = new ContextoExtension();
+        copia.valores = valores.clone();
+        copia.adicionales = adicionales != null ? new HashMap<>(adicionales) : null;
+        return copia;
+    }
+
+    private void verificarEscritura() {
+        if (soloLectura) {
+            throw new UnsupportedOperationException("El contexto es de sólo lectura");
+        }
+    }
+
+    /**
+     * Vista del arreglo de valores como mapa por nombre de clave. Los nombres que no
+     * corresponden a una clave tipada se guardan en un mapa adicional.
+     */
+    private final class VistaMapa extends AbstractMap<String, Object> {
+
+        @Override
+        public Object get(Object nombre) {
+            ClaveContexto<?> clave = ClaveContexto.buscar(nombre);
+            if (clave != null) {
+                return obtener(clave);
+            }
+            return adicionales != null ? adicionales.get(nombre) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object nombre) {
+            return get(nombre) != null;
+        }
+
+        @Override
+        public Object put(String nombre, Object valor) {
+            verificarEscritura();
+            ClaveContexto<?> clave = ClaveContexto.buscar(nombre);
+            if (clave != null) {
+                Object anterior = obtener(clave);
+                asignarSinTipo(clave, valor);
+                return anterior;
+            }
+            if (adicionales == null) {
+                adicionales = new HashMap<>();
+            }
+            return adicionales.put(nombre, valor);
+        }
+
+        @Override
+        public Object remove(Object nombre) {
+            verificarEscritura();
+            ClaveContexto<?> clave = ClaveContexto.buscar(nombre);
+            if (clave != null) {
+                Object anterior = obtener(clave);
+                asignarSinTipo(clave, null);
+                return anterior;
+            }
+            return adicionales != null ? adicionales.remove(nombre) : null;
+        }
+
+        @Override
+        public void clear() {
+            limpiar();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new IteradorEntradas();
+                }
+
+                @Override
+                public int size() {
+                    int total = adicionales != null ? adicionales.size() : 0;
+                    for (Object valor : valores) {
+                        if (valor != null) {
+                            total++;
+                        }
+                    }
+                    return total;
+                }
+            };
+        }
+
+        private <V> void asignarSinTipo(ClaveContexto<V> clave, Object valor) {
+            asignar(clave, clave.getTipo().cast(valor));
+        }
+    }
+
+    /**
+     * Recorre primero las claves tipadas con valor y después los valores adicionales.
+     */
+    private final class IteradorEntradas implements Iterator<Map.Entry<String, Object>> {
+
+        private final ClaveContexto<?>[] claves = ClaveContexto.registradas();
+        private final Iterator<Map.Entry<String, Object>> resto =
+                adicionales != null ? adicionales.entrySet().iterator() : Collections.emptyIterator();
+        private int indice = avanzar(0);
+
+        private int avanzar(int desde) {
+            int posicion = desde;
+            while (posicion < claves.length && obtener(claves[posicion]) == null) {
+                posicion++;
+            }
+            return posicion;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return indice < claves.length || resto.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (indice < claves.length) {
+                ClaveContexto<?> clave = claves[indice];
+                indice = avanzar(indice + 1);
+                return new AbstractMap.SimpleImmutableEntry<>(clave.getNombre(), obtener(clave));
+            }
+            if (!resto.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return resto.next();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package mx.gob.vucem.componente.domain.valueobjects;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Marca que registra la eliminación de un recurso para la sincronización incremental.
+ *
+ * @param id Identificador del recurso eliminado
+ * @param secuenciaCambio Número de secuencia del cambio de eliminación
+ * @param fechaEliminacion Fecha en que se eliminó el recurso
+ */
+public record MarcaEliminacion(UUID id, long secuenciaCambio, LocalDateTime fechaEliminacion) {
+}
@@ -1,5 +1,7 @@
 package mx.gob.vucem.componente.domain.valueobjects;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -7,6 +9,9 @@ import java.util.Map;
  * Permite implementar el patrón de extensión para añadir funcionalidad
  * sin modificar el código base del componente.
  *
+ * <p>Con el límite de tiempo habilitado la extensión se ejecuta fuera del hilo del
+ * solicitante y de su transacción; sólo conserva su contexto de seguridad y su MDC.
+ *
  * @param <T> Tipo de entrada para el punto de extensión
  * @param <R> Tipo de retorno del punto de extensión
  */
@@ -21,6 +26,24 @@ public interface PuntoExtension<T, R> {
      */
     R ejecutar(T entrada, Map<String, Object> contexto);
 
+    /**
+     * Ejecuta la lógica del punto de extensión sobre un lote de entradas. Por defecto
+     * ejecuta cada entrada por separado; las extensiones que consultan datos de referencia
+     * pueden sobrescribirlo para hacer una sola consulta por lote e indicarlo con
+     * {@link #soportaLote()}.
+     *
+     * @param entradas Datos de entrada para el punto de extensión
+     * @param contexto Contexto adicional para la ejecución, compartido por todo el lote
+     * @return Resultados en el mismo orden que las entradas
+     */
+    default List<R> ejecutarLote(List<T> entradas, Map<String, Object> contexto) {
+        List<R> resultados = new ArrayList<>(entradas.size());
+        for (T entrada : entradas) {
+            resultados.add(ejecutar(entrada, contexto));
+        }
+        return resultados;
+    }
+
     /**
      * Obtiene el identificador único del punto de extensión.
      *
@@ -35,4 +58,45 @@ public interface PuntoExtension<T, R> {
      * @return Prioridad del punto de extensión
      */
     int getPrioridad();
-}
\ No newline at end of file
+
+    /**
+     * Indica si el punto de extensión es independiente: no depende del resultado de otras
+     * extensiones ni modifica el contexto, por lo que puede ejecutarse en paralelo con ellas.
+     *
+     * @return true si puede ejecutarse en paralelo
+     */
+    default boolean esIndependiente() {
+        return false;
+    }
+
+    /**
+     * Indica si el punto de extensión procesa un lote completo en {@link #ejecutarLote}.
+     * Si no lo hace, el registro de extensiones ejecuta cada entrada del lote por separado.
+     *
+     * @return true si implementa la ejecución por lote
+     */
+    default boolean soportaLote() {
+        return false;
+    }
+
+    /**
+     * Obtiene el tiempo máximo de ejecución en milisegundos.
+     * Un valor menor o igual a cero indica que se usa el tiempo configurado para el componente.
+     *
+     * @return Tiempo máximo en milisegundos
+     */
+    default long getTiempoMaximoMs() {
+        return 0;
+    }
+
+    /**
+     * Obtiene el resultado que se usa cuando la extensión no puede ejecutarse porque su
+     * circuito está abierto o alcanzó sus ejecuciones concurrentes máximas.
+     * Un valor nulo indica que la extensión se omite sin resultado.
+     *
+     * @return Resultado por defecto
+     */
+    default R getResultadoPorDefecto() {
+        return null;
+    }
+}
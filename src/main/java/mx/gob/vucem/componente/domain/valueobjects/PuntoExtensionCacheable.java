@@ -0,0 +1,34 @@
+package mx.gob.vucem.componente.domain.valueobjects;
+
+/**
+ * Punto de extensión determinista cuyo resultado puede memorizarse.
+ *
+ * <p>El resultado debe depender únicamente de los datos de la entrada que se reflejan en
+ * {@link #huella(Object)}: el registro de extensiones reutiliza el último resultado obtenido
+ * para una misma huella sin volver a ejecutar la extensión ni consultar el contexto.
+ * Las excepciones no se memorizan.
+ *
+ * @param <T> Tipo de entrada para el punto de extensión
+ * @param <R> Tipo de retorno del punto de extensión
+ */
+public interface PuntoExtensionCacheable<T, R> extends PuntoExtension<T, R> {
+
+    /**
+     * Calcula la huella de los datos de la entrada de los que depende el resultado.
+     * Dos entradas con la misma huella deben producir el mismo resultado.
+     *
+     * @param entrada Datos de entrada para el punto de extensión
+     * @return Huella del contenido relevante de la entrada
+     */
+    String huella(T entrada);
+
+    /**
+     * Obtiene el número máximo de resultados memorizados para esta extensión.
+     * Un valor menor o igual a cero indica que se usa el tamaño configurado para el componente.
+     *
+     * @return Número máximo de resultados memorizados
+     */
+    default long getTamanoMaximoCache() {
+        return 0;
+    }
+}
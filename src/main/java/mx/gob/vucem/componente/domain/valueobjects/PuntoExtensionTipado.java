@@ -0,0 +1,54 @@
+package mx.gob.vucem.componente.domain.valueobjects;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Punto de extensión que recibe el contexto tipado en lugar de un mapa.
+ *
+ * <p>El registro de extensiones invoca directamente {@link #ejecutar(Object, ContextoExtension)};
+ * la versión con mapa se conserva como adaptador para quien invoque la extensión con la
+ * interfaz original.
+ *
+ * @param <T> Tipo de entrada para el punto de extensión
+ * @param <R> Tipo de retorno del punto de extensión
+ */
+public interface PuntoExtensionTipado<T, R> extends PuntoExtension<T, R> {
+
+    /**
+     * Ejecuta la lógica del punto de extensión.
+     *
+     * @param entrada Datos de entrada para el punto de extensión
+     * @param contexto Contexto tipado de la ejecución
+     * @return Resultado de la ejecución
+     */
+    R ejecutar(T entrada, ContextoExtension contexto);
+
+    /**
+     * Ejecuta la lógica del punto de extensión sobre un lote de entradas.
+     * Por defecto ejecuta cada entrada por separado.
+     *
+     * @param entradas Datos de entrada para el punto de extensión
+     * @param contexto Contexto tipado de la ejecución, compartido por todo el lote
+     * @return Resultados en el mismo orden que las entradas
+     * @see PuntoExtension#ejecutarLote(List, Map)
+     */
+    default List<R> ejecutarLote(List<T> entradas, ContextoExtension contexto) {
+        List<R> resultados = new ArrayList<>(entradas.size());
+        for (T entrada : entradas) {
+            resultados.add(ejecutar(entrada, contexto));
+        }
+        return resultados;
+    }
+
+    @Override
+    default R ejecutar(T entrada, Map<String, Object> contexto) {
+        return ejecutar(entrada, ContextoExtension.envolver(contexto));
+    }
+
+    @Override
+    default List<R> ejecutarLote(List<T> entradas, Map<String, Object> contexto) {
+        return ejecutarLote(entradas, ContextoExtension.envolver(contexto));
+    }
+}
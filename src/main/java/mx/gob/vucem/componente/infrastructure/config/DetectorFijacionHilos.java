@@ -0,0 +1,100 @@
+package mx.gob.vucem.componente.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detecta con JFR los hilos virtuales que quedan fijos a su hilo portador.
+ *
+ * <p>Un hilo virtual que se bloquea dentro de un bloque {@code synchronized} o de código
+ * nativo no libera a su portador; si ocurre a menudo, los pocos portadores se agotan y se
+ * pierde la ventaja de los hilos virtuales. El detector escucha el evento
+ * {@code jdk.VirtualThreadPinned} y publica la cantidad y duración de las fijaciones en la
+ * métrica {@code vucem.hilos.virtuales.fijados}. Cada método que causa fijaciones se
+ * registra en la bitácora una sola vez, con el marco de la pila más cercano al bloqueo.
+ */
+@Slf4j
+public class DetectorFijacionHilos implements AutoCloseable {
+
+    static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final int MAXIMO_ORIGENES_REPORTADOS = 1000;
+
+    private final Duration umbral;
+    private final Timer fijaciones;
+    private final Set<String> origenesReportados = ConcurrentHashMap.newKeySet();
+    private RecordingStream grabacion;
+
+    /**
+     * Crea el detector.
+     *
+     * @param meterRegistry Registro de métricas
+     * @param umbral Duración mínima de una fijación para reportarla
+     */
+    public DetectorFijacionHilos(MeterRegistry meterRegistry, Duration umbral) {
+        this.umbral = umbral;
+        this.fijaciones = Timer.builder("vucem.hilos.virtuales.fijados")
+                .description("Hilos virtuales fijos a su hilo portador mientras se bloqueaban")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Inicia la grabación de JFR en segundo plano.
+     */
+    public synchronized void iniciar() {
+        if (grabacion != null) {
+            return;
+        }
+        grabacion = new RecordingStream();
+        grabacion.enable(EVENTO).withThreshold(umbral).withStackTrace();
+        grabacion.onEvent(EVENTO, this::registrar);
+        grabacion.startAsync();
+        log.info("Detección de fijación de hilos virtuales iniciada con umbral de {} ms", umbral.toMillis());
+    }
+
+    /**
+     * Detiene la grabación de JFR.
+     */
+    @Override
+    public synchronized void close() {
+        if (grabacion != null) {
+            grabacion.close();
+            grabacion = null;
+        }
+    }
+
+    private void registrar(RecordedEvent evento) {
+        fijaciones.record(evento.getDuration());
+        String origen = origen(evento.getStackTrace());
+        if (origenesReportados.size() < MAXIMO_ORIGENES_REPORTADOS && origenesReportados.add(origen)) {
+            log.warn("Hilo virtual fijo a su portador durante {} ms en {}", evento.getDuration().toMillis(), origen);
+        }
+    }
+
+    /**
+     * Obtiene el primer marco de la pila fuera del JDK, que suele ser el código que se
+     * bloqueó dentro de un bloque sincronizado.
+     */
+    private static String origen(RecordedStackTrace pila) {
+        if (pila == null) {
+            return "desconocido";
+        }
+        List<RecordedFrame> marcos = pila.getFrames();
+        for (RecordedFrame marco : marcos) {
+            String clase = marco.getMethod().getType().getName();
+            if (!clase.startsWith("java.") && !clase.startsWith("jdk.") && !clase.startsWith("sun.")) {
+                return clase + "." + marco.getMethod().getName() + ":" + marco.getLineNumber();
+            }
+        }
+        return marcos.isEmpty() ? "desconocido" : marcos.get(0).getMethod().getType().getName();
+    }
+}
@@ -0,0 +1,122 @@
+package mx.gob.vucem.componente.infrastructure.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import mx.gob.vucem.componente.infrastructure.persistence.CompuertaConexiones;
+import mx.gob.vucem.componente.infrastructure.persistence.LimiteTiempoConsultas;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Configuración del perfil {@code virtual}, que atiende las solicitudes con hilos virtuales
+ * ({@code spring.threads.virtual.enabled} en {@code application-virtual.yml}).
+ *
+ * <p>Con hilos virtuales la concurrencia ya no la limita el pool de Tomcat, sino el pool de
+ * conexiones. Por ello el DataSource se envuelve con una {@link CompuertaConexiones} del
+ * tamaño del pool, y se detectan con JFR los hilos virtuales que quedan fijos a su portador.
+ * El perfil deshabilita el límite adaptativo de la API y eleva los bulkheads de
+ * {@link mx.gob.vucem.componente.infrastructure.persistence.ProteccionBaseDatos}, de modo que
+ * las solicitudes se forman en la compuerta hasta su espera máxima en lugar de rechazarse antes.
+ */
+@Configuration
+@Profile("virtual")
+public class HilosVirtualesConfig {
+
+    /**
+     * Envuelve el DataSource del pool con la compuerta de conexiones. Se ordena antes que
+     * {@link ResilienceConfig#limiteTiempoDataSource()}, de modo que la compuerta queda por
+     * debajo del proxy perezoso y sólo se ocupa un permiso al obtener la conexión física.
+     *
+     * @param maximoConexiones Conexiones de la compuerta; por defecto el tamaño del pool de Hikari
+     * @param esperaMaxima Tiempo máximo de espera en la compuerta
+     * @return Post-procesador del DataSource
+     */
+    @Bean
+    public static BeanPostProcessor compuertaConexionesDataSource(
+            @Value("${vucem.hilos-virtuales.compuerta.maximo-conexiones:${spring.datasource.hikari.maximum-pool-size:10}}")
+            int maximoConexiones,
+            @Value("${vucem.hilos-virtuales.compuerta.espera-maxima:2s}") Duration esperaMaxima) {
+        return new CompuertaPostProcessor(maximoConexiones, esperaMaxima);
+    }
+
+    /**
+     * Publica en Micrometer el estado de la compuerta de conexiones.
+     *
+     * @param dataSource DataSource de la aplicación
+     * @return Registro de las métricas de la compuerta
+     */
+    @Bean
+    public MeterBinder compuertaConexionesMetrics(DataSource dataSource) {
+        return registry -> {
+            CompuertaConexiones compuerta = compuerta(dataSource);
+            if (compuerta == null) {
+                return;
+            }
+            Gauge.builder("vucem.compuerta.conexiones.en.uso", compuerta, CompuertaConexiones::getEnUso)
+                    .description("Conexiones en uso obtenidas a través de la compuerta")
+                    .register(registry);
+            Gauge.builder("vucem.compuerta.conexiones.en.espera", compuerta, CompuertaConexiones::getEnEspera)
+                    .description("Hilos formados en la compuerta de conexiones")
+                    .register(registry);
+            FunctionCounter.builder("vucem.compuerta.conexiones.rechazadas", compuerta,
+                            CompuertaConexiones::getRechazadas)
+                    .description("Solicitudes de conexión rechazadas por exceder la espera máxima")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Detecta los hilos virtuales fijos a su portador.
+     *
+     * @param meterRegistry Registro de métricas
+     * @param umbral Duración mínima de una fijación para reportarla
+     * @return Detector iniciado
+     */
+    @Bean(initMethod = "iniciar", destroyMethod = "close")
+    public DetectorFijacionHilos detectorFijacionHilos(
+            MeterRegistry meterRegistry,
+            @Value("${vucem.hilos-virtuales.umbral-fijacion:20ms}") Duration umbral) {
+        return new DetectorFijacionHilos(meterRegistry, umbral);
+    }
+
+    private static CompuertaConexiones compuerta(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(CompuertaConexiones.class)
+                    ? dataSource.unwrap(CompuertaConexiones.class)
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Post-procesador que envuelve los DataSource sin compuerta ni límite de tiempo.
+     */
+    private record CompuertaPostProcessor(int maximoConexiones, Duration esperaMaxima)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof CompuertaConexiones)
+                    && !LimiteTiempoConsultas.aplicado(dataSource)) {
+                return new CompuertaConexiones(dataSource, maximoConexiones, esperaMaxima);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
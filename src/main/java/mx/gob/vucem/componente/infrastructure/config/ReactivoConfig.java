@@ -0,0 +1,73 @@
+package mx.gob.vucem.componente.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configuración del perfil {@code reactivo}, que atiende la API de recursos con WebFlux sobre
+ * Netty ({@code spring.main.web-application-type} en {@code application-reactivo.yml}).
+ *
+ * <p>El acceso a datos sigue siendo JDBC, por lo que las consultas se ejecutan en un
+ * planificador con tantos hilos como conexiones tiene el pool: los hilos de Netty nunca se
+ * bloquean y las solicitudes que esperan la base de datos sólo ocupan una tarea en la cola.
+ */
+@Configuration
+@Profile("reactivo")
+public class ReactivoConfig {
+
+    /**
+     * Planificador para las operaciones bloqueantes de JDBC.
+     *
+     * @param hilos Hilos del planificador; por defecto el tamaño del pool de Hikari
+     * @param cola Tareas que pueden esperar un hilo antes de rechazarse
+     * @return Planificador acotado
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler planificadorJdbc(
+            @Value("${vucem.reactivo.jdbc.hilos:${spring.datasource.hikari.maximum-pool-size:10}}") int hilos,
+            @Value("${vucem.reactivo.jdbc.cola:10000}") int cola) {
+        return Schedulers.newBoundedElastic(hilos, cola, "vucem-jdbc");
+    }
+
+    /**
+     * Cadena de seguridad de WebFlux. La autenticación con JWT y la autorización por
+     * permisos las realiza el filtro de las rutas, como en la pila de servlets lo hacen
+     * {@code JwtAuthenticationFilter} e {@code InterceptorPermisos}.
+     *
+     * <p>Esos filtros e interceptores no se ejecutan en WebFlux, y WebFlux también mapea los
+     * controladores anotados que sigan registrados, por lo que la cadena sólo deja pasar las
+     * rutas de {@code RecursoRouter}, las sondas de salud, la información y las métricas del
+     * actuator y {@code /api/health}, y rechaza cualquier otra solicitud.
+     *
+     * @param http Configuración de seguridad de WebFlux
+     * @return Cadena de filtros de seguridad
+     */
+    @Bean
+    public SecurityWebFilterChain seguridadReactiva(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .exceptionHandling(excepciones -> excepciones
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .authorizeExchange(intercambios -> intercambios
+                        .pathMatchers(HttpMethod.GET, "/api/recursos", "/api/recursos/{id}").permitAll()
+                        .pathMatchers(HttpMethod.POST, "/api/recursos").permitAll()
+                        .pathMatchers(HttpMethod.PUT, "/api/recursos/{id}").permitAll()
+                        .pathMatchers(HttpMethod.DELETE, "/api/recursos/{id}").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**", "/actuator/info",
+                                "/actuator/prometheus", "/actuator/metrics", "/actuator/metrics/**",
+                                "/api/health").permitAll()
+                        .anyExchange().denyAll())
+                .build();
+    }
+}
@@ -1,26 +1,39 @@
 package mx.gob.vucem.componente.infrastructure.config;
 
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.core.registry.EntryAddedEvent;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedTimeLimiterMetrics;
 import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
 import io.github.resilience4j.timelimiter.TimeLimiterConfig;
 import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import mx.gob.vucem.componente.infrastructure.persistence.LimiteTiempoConsultas;
+import mx.gob.vucem.componente.infrastructure.resiliencia.ClasificadorTransitorios;
+import mx.gob.vucem.componente.infrastructure.resiliencia.PoliticaReintentos;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
 import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
 import org.springframework.cloud.client.circuitbreaker.Customizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
+import javax.sql.DataSource;
 import java.time.Duration;
 
 /**
  * Configuración de resiliencia para la aplicación.
- * Define la configuración de circuit breaker, retry y timeout.
+ * Define la configuración de circuit breaker, retry, timeout y bulkhead, y exporta
+ * su estado a Micrometer.
  */
 @Configuration
 public class ResilienceConfig {
@@ -35,9 +48,18 @@ public class ResilienceConfig {
     @Value("${vucem.circuit-breaker.retry-attempts:3}")
     private int retryAttempts;
 
+    @Value("${vucem.reintentos.espera-base:500ms}")
+    private Duration esperaBaseReintento;
+
+    @Value("${vucem.reintentos.espera-maxima:10s}")
+    private Duration esperaMaximaReintento;
+
     @Value("${vucem.circuit-breaker.failure-rate-threshold:50}")
     private float failureRateThreshold;
 
+    @Value("${vucem.bulkhead.max-concurrent-calls:25}")
+    private int maxConcurrentCalls;
+
     /**
      * Configura el registry de CircuitBreaker para monitoreo
      */
@@ -62,14 +84,18 @@ public class ResilienceConfig {
     }
 
     /**
-     * Configura el registry de Retry para monitoreo
+     * Configura el registry de Retry para monitoreo.
+     * Sólo se reintentan errores transitorios, con espera exponencial y jitter completo para
+     * que los clientes no reintenten sincronizados; {@link PoliticaReintentos} agrega el
+     * presupuesto de reintentos por dependencia.
      */
     @Bean
     public RetryRegistry retryRegistry() {
         RetryConfig retryConfig = RetryConfig.custom()
                 .maxAttempts(retryAttempts)
-                .waitDuration(Duration.ofMillis(500))
-                .retryExceptions(Exception.class)
+                .intervalFunction(PoliticaReintentos.esperaConJitterCompleto(
+                        esperaBaseReintento, esperaMaximaReintento))
+                .retryOnException(ClasificadorTransitorios::esTransitoria)
                 .build();
 
         return RetryRegistry.of(retryConfig);
@@ -87,6 +113,73 @@ public class ResilienceConfig {
         return TimeLimiterRegistry.of(timeLimiterConfig);
     }
 
+    /**
+     * Configura el registry de Bulkhead para monitoreo.
+     * Sin espera: cuando no hay lugar la llamada se rechaza de inmediato.
+     */
+    @Bean
+    public BulkheadRegistry bulkheadRegistry() {
+        BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+
+        return BulkheadRegistry.of(bulkheadConfig);
+    }
+
+    /**
+     * Envuelve el DataSource para que las operaciones protegidas por
+     * {@link mx.gob.vucem.componente.infrastructure.persistence.ProteccionBaseDatos} tengan
+     * límite de tiempo por sentencia. La conexión física se obtiene del pool hasta la primera
+     * sentencia y se retiene hasta que termina la transacción, que ya fue admitida por
+     * {@link mx.gob.vucem.componente.infrastructure.persistence.AdmisionTransacciones}.
+     */
+    @Bean
+    public static BeanPostProcessor limiteTiempoDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !LimiteTiempoConsultas.aplicado(dataSource)) {
+                    return LimiteTiempoConsultas.aplicar(new LazyConnectionDataSourceProxy(dataSource));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Exporta a Micrometer el estado de los circuit breakers del registry,
+     * incluidos los que se creen después.
+     */
+    @Bean
+    public TaggedCircuitBreakerMetrics circuitBreakerMetrics(CircuitBreakerRegistry circuitBreakerRegistry) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry);
+    }
+
+    /**
+     * Exporta a Micrometer las llamadas y reintentos de los retries del registry.
+     */
+    @Bean
+    public TaggedRetryMetrics retryMetrics(RetryRegistry retryRegistry) {
+        return TaggedRetryMetrics.ofRetryRegistry(retryRegistry);
+    }
+
+    /**
+     * Exporta a Micrometer las llamadas de los time limiters del registry.
+     */
+    @Bean
+    public TaggedTimeLimiterMetrics timeLimiterMetrics(TimeLimiterRegistry timeLimiterRegistry) {
+        return TaggedTimeLimiterMetrics.ofTimeLimiterRegistry(timeLimiterRegistry);
+    }
+
+    /**
+     * Exporta a Micrometer las llamadas disponibles de los bulkheads del registry.
+     */
+    @Bean
+    public TaggedBulkheadMetrics bulkheadMetrics(BulkheadRegistry bulkheadRegistry) {
+        return TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry);
+    }
+
     /**
      * Configura el circuit breaker global para la aplicación.
      *
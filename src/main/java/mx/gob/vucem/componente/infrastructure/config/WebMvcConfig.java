@@ -0,0 +1,28 @@
+package mx.gob.vucem.componente.infrastructure.config;
+
+import lombok.RequiredArgsConstructor;
+import mx.gob.vucem.componente.interfaces.api.filters.InterceptorLimiteSolicitudes;
+import mx.gob.vucem.componente.interfaces.api.filters.InterceptorPermisos;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuración de Spring MVC para la aplicación.
+ * Registra los interceptores de la API.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final InterceptorLimiteSolicitudes interceptorLimiteSolicitudes;
+    private final InterceptorPermisos interceptorPermisos;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptorLimiteSolicitudes).addPathPatterns("/api/**");
+        registry.addInterceptor(interceptorPermisos).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,359 @@
+package mx.gob.vucem.componente.infrastructure.eventos;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import mx.gob.vucem.componente.interfaces.events.CodecBinarioEventos;
+import mx.gob.vucem.componente.interfaces.events.EventoVucem;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Bitácora local de eventos de solo anexado sobre segmentos mapeados a memoria.
+ * Permite reproducir los eventos recientes a consumidores nuevos o en recuperación
+ * sin depender de un broker.
+ *
+ * <p>Los segmentos se nombran con el offset de su primer registro y se rotan al
+ * llenarse; los más antiguos se eliminan según la retención configurada, a partir de
+ * la fecha de su último registro. La
+ * sincronización a disco se realiza en grupo: un hilo dedicado fuerza los cambios
+ * acumulados y libera a todos los publicadores que esperaban por ellos.
+ */
+@Component
+@ConditionalOnProperty(prefix = "vucem.componente.eventos.bitacora", name = "habilitada", havingValue = "true")
+@Slf4j
+public class BitacoraEventos {
+
+    private static final String EXTENSION_SEGMENTO = ".log";
+
+    private final ComponenteProperties.Eventos.Bitacora configuracion;
+    private final CodecBinarioEventos codec;
+    private final Counter registrosEscritos;
+    private final Counter bytesEscritos;
+    private final Timer tiempoSincronizacion;
+
+    private final List<SegmentoBitacora> segmentos = new CopyOnWriteArrayList<>();
+    private final Object escritura = new Object();
+    private final Object monitorSincronizacion = new Object();
+
+    private Path directorio;
+    private volatile SegmentoBitacora activo;
+    private volatile long ultimoEscrito = -1;
+    private volatile long ultimoSincronizado = -1;
+    private volatile boolean abierta;
+    private int esperando;
+    private Thread hiloSincronizacion;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param properties Propiedades del componente
+     * @param codec Codec binario de eventos
+     * @param meterRegistry Registro de métricas
+     */
+    public BitacoraEventos(ComponenteProperties properties, CodecBinarioEventos codec, MeterRegistry meterRegistry) {
+        this.configuracion = properties.getEventos().getBitacora();
+        this.codec = codec;
+        this.registrosEscritos = meterRegistry.counter("vucem.bitacora.registros");
+        this.bytesEscritos = meterRegistry.counter("vucem.bitacora.bytes");
+        this.tiempoSincronizacion = meterRegistry.timer("vucem.bitacora.sincronizacion");
+    }
+
+    /**
+     * Abre la bitácora, recuperando los segmentos existentes, y arranca la sincronización.
+     *
+     * @throws UncheckedIOException si el directorio o los segmentos no pueden abrirse
+     */
+    @PostConstruct
+    public void abrir() {
+        try {
+            directorio = Paths.get(configuracion.getDirectorio());
+            Files.createDirectories(directorio);
+            for (Path archivo : listarSegmentos()) {
+                long base = Long.parseLong(nombreBase(archivo));
+                SegmentoBitacora segmento = SegmentoBitacora.abrir(archivo, base,
+                        configuracion.getTamanoSegmento(), configuracion.getIntervaloIndice(), codec);
+                if (!segmentos.isEmpty() && base != segmentos.get(segmentos.size() - 1).getSiguienteOffset()) {
+                    log.warn("Segmento {} no es contiguo con el anterior; se descartan los segmentos previos",
+                            archivo.getFileName());
+                    eliminar(new ArrayList<>(segmentos));
+                }
+                segmentos.add(segmento);
+            }
+            if (segmentos.isEmpty()) {
+                segmentos.add(crearSegmento(0));
+            }
+            activo = segmentos.get(segmentos.size() - 1);
+            ultimoEscrito = activo.getSiguienteOffset() - 1;
+            ultimoSincronizado = ultimoEscrito;
+            aplicarRetencion();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No fue posible abrir la bitácora de eventos", ex);
+        }
+
+        abierta = true;
+        hiloSincronizacion = new Thread(this::sincronizarEnGrupo, "bitacora-sincronizacion");
+        hiloSincronizacion.setDaemon(true);
+        hiloSincronizacion.start();
+        log.info("Bitácora de eventos abierta en {} con {} segmentos, offsets [{}, {})",
+                directorio, segmentos.size(), getOffsetInicial(), getSiguienteOffset());
+    }
+
+    /**
+     * Detiene la sincronización, fuerza los cambios pendientes y cierra los segmentos.
+     */
+    @PreDestroy
+    public void cerrar() {
+        abierta = false;
+        if (hiloSincronizacion != null) {
+            hiloSincronizacion.interrupt();
+            try {
+                hiloSincronizacion.join(1000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (escritura) {
+            activo.sincronizar();
+            liberarEsperas(ultimoEscrito);
+            for (SegmentoBitacora segmento : segmentos) {
+                cerrarSegmento(segmento);
+            }
+        }
+    }
+
+    /**
+     * Agrega un evento al final de la bitácora.
+     *
+     * @param evento Evento a agregar
+     * @return Offset asignado al evento
+     * @throws IllegalArgumentException si el evento no cabe en un segmento vacío
+     */
+    public long agregar(EventoVucem<RecursoDTO> evento) {
+        int tamano = codec.calcularTamano(evento);
+        long offset;
+        synchronized (escritura) {
+            if (!abierta) {
+                throw new IllegalStateException("La bitácora de eventos está cerrada");
+            }
+            if (!activo.cabe(tamano)) {
+                rotar(tamano);
+            }
+            offset = activo.agregar(evento, codec, tamano);
+            ultimoEscrito = offset;
+        }
+        registrosEscritos.increment();
+        bytesEscritos.increment(tamano + SegmentoBitacora.TAMANO_ENCABEZADO_REGISTRO);
+        return offset;
+    }
+
+    /**
+     * Espera a que el registro indicado esté sincronizado a disco.
+     * Todas las esperas concurrentes se resuelven con una misma sincronización.
+     *
+     * @param offset Offset del registro
+     */
+    public void esperarSincronizacion(long offset) {
+        synchronized (monitorSincronizacion) {
+            esperando++;
+            monitorSincronizacion.notifyAll();
+            try {
+                while (ultimoSincronizado < offset && abierta) {
+                    monitorSincronizacion.wait(configuracion.getIntervaloSincronizacionMs() * 10);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                esperando--;
+            }
+        }
+    }
+
+    /**
+     * Recorre secuencialmente los registros a partir de un offset.
+     * Si el offset ya fue eliminado por retención, la lectura inicia en el registro más antiguo.
+     *
+     * @param desde Offset del primer registro a leer
+     * @param lector Lector que procesa cada registro
+     */
+    public void recorrer(long desde, LectorBitacora lector) {
+        List<SegmentoBitacora> vista = new ArrayList<>(segmentos);
+        int indice = 0;
+        for (int i = 0; i < vista.size(); i++) {
+            if (vista.get(i).getOffsetBase() <= desde) {
+                indice = i;
+            }
+        }
+        for (int i = indice; i < vista.size(); i++) {
+            if (!vista.get(i).recorrer(desde, lector)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Lee y decodifica hasta un número máximo de eventos a partir de un offset.
+     *
+     * @param desde Offset del primer evento a leer
+     * @param maximo Número máximo de eventos
+     * @return Eventos leídos en orden de offset
+     */
+    public List<EventoVucem<RecursoDTO>> leer(long desde, int maximo) {
+        List<EventoVucem<RecursoDTO>> eventos = new ArrayList<>(Math.min(maximo, 1024));
+        recorrer(desde, (offset, carga) -> {
+            eventos.add(codec.leer(carga));
+            return eventos.size() < maximo;
+        });
+        return eventos;
+    }
+
+    /**
+     * Obtiene el offset del registro más antiguo conservado.
+     *
+     * @return Offset inicial
+     */
+    public long getOffsetInicial() {
+        return segmentos.get(0).getOffsetBase();
+    }
+
+    /**
+     * Obtiene el offset que se asignará al siguiente registro.
+     *
+     * @return Siguiente offset
+     */
+    public long getSiguienteOffset() {
+        return activo.getSiguienteOffset();
+    }
+
+    private void sincronizarEnGrupo() {
+        while (abierta) {
+            try {
+                synchronized (monitorSincronizacion) {
+                    if (esperando == 0) {
+                        monitorSincronizacion.wait(configuracion.getIntervaloSincronizacionMs());
+                    }
+                }
+                long objetivo = ultimoEscrito;
+                if (objetivo > ultimoSincronizado) {
+                    tiempoSincronizacion.record(activo::sincronizar);
+                    liberarEsperas(objetivo);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Error al sincronizar la bitácora de eventos", ex);
+            }
+        }
+    }
+
+    private void liberarEsperas(long objetivo) {
+        synchronized (monitorSincronizacion) {
+            ultimoSincronizado = Math.max(ultimoSincronizado, objetivo);
+            monitorSincronizacion.notifyAll();
+        }
+    }
+
+    private void rotar(int tamano) {
+        if (SegmentoBitacora.TAMANO_ENCABEZADO_REGISTRO + tamano > configuracion.getTamanoSegmento()) {
+            throw new IllegalArgumentException("El evento de " + tamano + " bytes excede el tamaño del segmento");
+        }
+        try {
+            SegmentoBitacora anterior = activo;
+            anterior.sincronizar();
+            liberarEsperas(anterior.getSiguienteOffset() - 1);
+            SegmentoBitacora nuevo = crearSegmento(anterior.getSiguienteOffset());
+            segmentos.add(nuevo);
+            activo = nuevo;
+            aplicarRetencion();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No fue posible crear un nuevo segmento de la bitácora", ex);
+        }
+    }
+
+    private void aplicarRetencion() {
+        Instant limite = Instant.now().minus(Duration.ofHours(configuracion.getHorasRetencion()));
+        List<SegmentoBitacora> expirados = new ArrayList<>();
+        int restantes = segmentos.size();
+        for (SegmentoBitacora segmento : segmentos) {
+            if (segmento == activo || restantes <= 1) {
+                break;
+            }
+            if (restantes > configuracion.getSegmentosRetenidos() || expiradoAntesDe(segmento, limite)) {
+                expirados.add(segmento);
+                restantes--;
+            } else {
+                break;
+            }
+        }
+        eliminar(expirados);
+    }
+
+    private void eliminar(List<SegmentoBitacora> expirados) {
+        for (SegmentoBitacora segmento : expirados) {
+            segmentos.remove(segmento);
+            cerrarSegmento(segmento);
+            try {
+                Files.deleteIfExists(segmento.getArchivo());
+                log.info("Eliminado segmento de bitácora {}", segmento.getArchivo().getFileName());
+            } catch (IOException ex) {
+                log.warn("No fue posible eliminar el segmento {}", segmento.getArchivo(), ex);
+            }
+        }
+    }
+
+    /**
+     * La antigüedad se toma de la fecha del último registro y no de la fecha de modificación
+     * del archivo, que no se actualiza de forma confiable con escrituras en memoria mapeada.
+     */
+    private static boolean expiradoAntesDe(SegmentoBitacora segmento, Instant limite) {
+        Instant ultimo = segmento.getFechaUltimoRegistro();
+        return ultimo != null && ultimo.isBefore(limite);
+    }
+
+    private SegmentoBitacora crearSegmento(long offsetBase) throws IOException {
+        Path archivo = directorio.resolve(String.format("%020d%s", offsetBase, EXTENSION_SEGMENTO));
+        return SegmentoBitacora.abrir(archivo, offsetBase,
+                configuracion.getTamanoSegmento(), configuracion.getIntervaloIndice(), codec);
+    }
+
+    private List<Path> listarSegmentos() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos
+                    .filter(archivo -> archivo.getFileName().toString().endsWith(EXTENSION_SEGMENTO))
+                    .filter(archivo -> nombreBase(archivo).chars().allMatch(Character::isDigit))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String nombreBase(Path archivo) {
+        String nombre = archivo.getFileName().toString();
+        return nombre.substring(0, nombre.length() - EXTENSION_SEGMENTO.length());
+    }
+
+    private static void cerrarSegmento(SegmentoBitacora segmento) {
+        try {
+            segmento.close();
+        } catch (IOException ex) {
+            log.warn("Error al cerrar el segmento {}", segmento.getArchivo(), ex);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package mx.gob.vucem.componente.infrastructure.eventos;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Lector secuencial de registros de la bitácora de eventos.
+ */
+@FunctionalInterface
+public interface LectorBitacora {
+
+    /**
+     * Procesa un registro de la bitácora.
+     * La carga es una vista de sólo lectura sobre la memoria mapeada y sólo es válida
+     * durante la invocación; si se necesita conservarla debe copiarse o decodificarse.
+     *
+     * @param offset Offset lógico del registro
+     * @param carga Evento codificado con {@link mx.gob.vucem.componente.interfaces.events.CodecBinarioEventos}
+     * @return true para continuar con el siguiente registro, false para detener la lectura
+     */
+    boolean procesar(long offset, ByteBuffer carga);
+}
@@ -0,0 +1,277 @@
+package mx.gob.vucem.componente.infrastructure.eventos;
+
+import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import mx.gob.vucem.componente.interfaces.events.CodecBinarioEventos;
+import mx.gob.vucem.componente.interfaces.events.EventoVucem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Segmento de la bitácora de eventos almacenado en un archivo mapeado a memoria.
+ *
+ * <p>Cada registro tiene un encabezado de 16 bytes (longitud de la carga, CRC32C de la
+ * carga y offset lógico) seguido de la carga codificada. La longitud se escribe al
+ * final, de modo que un registro sólo es visible en la recuperación cuando está completo.
+ * El segmento conserva la fecha del evento de su último registro, que determina su
+ * antigüedad para la retención.
+ *
+ * <p>Las escrituras deben serializarse externamente; las lecturas pueden ser concurrentes.
+ */
+@Slf4j
+final class SegmentoBitacora implements AutoCloseable {
+
+    static final int TAMANO_ENCABEZADO_REGISTRO = 16;
+    private static final int BLOQUE_LIMPIEZA = 4096;
+
+    private final Path archivo;
+    private final long offsetBase;
+    private final int intervaloIndice;
+    private final FileChannel canal;
+    private final MappedByteBuffer mapa;
+    private final int capacidad;
+
+    private long[] offsetsIndice = new long[16];
+    private int[] posicionesIndice = new int[16];
+    private volatile int entradasIndice;
+
+    private volatile int posicionEscritura;
+    private volatile long siguienteOffset;
+    private volatile Instant fechaUltimoRegistro;
+
+    private SegmentoBitacora(Path archivo, long offsetBase, int capacidad, int intervaloIndice) throws IOException {
+        this.archivo = archivo;
+        this.offsetBase = offsetBase;
+        this.intervaloIndice = intervaloIndice;
+        this.canal = FileChannel.open(archivo,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.capacidad = (int) Math.max(capacidad, canal.size());
+        this.mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, this.capacidad);
+        this.siguienteOffset = offsetBase;
+    }
+
+    /**
+     * Abre un segmento, creándolo si no existe, y recupera sus registros válidos.
+     *
+     * @param archivo Archivo del segmento
+     * @param offsetBase Offset del primer registro del segmento
+     * @param capacidad Tamaño del segmento en bytes
+     * @param intervaloIndice Registros entre entradas del índice disperso
+     * @param codec Codec para leer la fecha del último registro recuperado
+     * @return Segmento abierto
+     * @throws IOException si el archivo no puede abrirse o mapearse
+     */
+    static SegmentoBitacora abrir(Path archivo, long offsetBase, int capacidad, int intervaloIndice,
+                                  CodecBinarioEventos codec) throws IOException {
+        SegmentoBitacora segmento = new SegmentoBitacora(archivo, offsetBase, capacidad, intervaloIndice);
+        segmento.recuperar(codec);
+        return segmento;
+    }
+
+    Path getArchivo() {
+        return archivo;
+    }
+
+    long getOffsetBase() {
+        return offsetBase;
+    }
+
+    long getSiguienteOffset() {
+        return siguienteOffset;
+    }
+
+    int getPosicionEscritura() {
+        return posicionEscritura;
+    }
+
+    /**
+     * Obtiene la fecha del evento del último registro.
+     *
+     * @return Fecha del último registro, o null si el segmento está vacío o no pudo leerse
+     */
+    Instant getFechaUltimoRegistro() {
+        return fechaUltimoRegistro;
+    }
+
+    boolean cabe(int tamanoCarga) {
+        return posicionEscritura + TAMANO_ENCABEZADO_REGISTRO + tamanoCarga <= capacidad;
+    }
+
+    /**
+     * Agrega un evento al final del segmento. El llamador debe verificar antes que cabe.
+     *
+     * @param evento Evento a escribir
+     * @param codec Codec para la carga
+     * @param tamanoCarga Tamaño de la carga ya calculado
+     * @return Offset asignado al registro
+     */
+    long agregar(EventoVucem<RecursoDTO> evento, CodecBinarioEventos codec, int tamanoCarga) {
+        int posicion = posicionEscritura;
+        long offset = siguienteOffset;
+
+        ByteBuffer carga = mapa.slice(posicion + TAMANO_ENCABEZADO_REGISTRO, tamanoCarga);
+        codec.escribir(evento, carga);
+        CRC32C crc = new CRC32C();
+        crc.update(mapa.slice(posicion + TAMANO_ENCABEZADO_REGISTRO, tamanoCarga));
+
+        mapa.putInt(posicion + 4, (int) crc.getValue());
+        mapa.putLong(posicion + 8, offset);
+        mapa.putInt(posicion, tamanoCarga);
+
+        indexar(offset, posicion);
+        posicionEscritura = posicion + TAMANO_ENCABEZADO_REGISTRO + tamanoCarga;
+        siguienteOffset = offset + 1;
+        fechaUltimoRegistro = evento.getFechaCreacion().toInstant();
+        return offset;
+    }
+
+    /**
+     * Recorre secuencialmente los registros a partir de un offset. Cada carga se entrega
+     * como una vista de sólo lectura sobre la memoria mapeada, sin copiarla.
+     *
+     * @param desde Offset del primer registro a leer
+     * @param lector Lector que procesa cada registro
+     * @return true si el lector quiere seguir leyendo en el siguiente segmento
+     */
+    boolean recorrer(long desde, LectorBitacora lector) {
+        long hasta = siguienteOffset;
+        if (desde >= hasta) {
+            return true;
+        }
+        long inicio = Math.max(desde, offsetBase);
+        int posicion = buscarPosicion(inicio);
+        long offset = offsetBase;
+        while (offset < hasta) {
+            int longitud = mapa.getInt(posicion);
+            offset = mapa.getLong(posicion + 8);
+            int inicioCarga = posicion + TAMANO_ENCABEZADO_REGISTRO;
+            if (offset >= inicio
+                    && !lector.procesar(offset, mapa.slice(inicioCarga, longitud).asReadOnlyBuffer())) {
+                return false;
+            }
+            offset++;
+            posicion = inicioCarga + longitud;
+        }
+        return true;
+    }
+
+    /**
+     * Fuerza la escritura a disco de los cambios del segmento.
+     */
+    void sincronizar() {
+        mapa.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    /**
+     * Recorre los registros existentes validando su CRC y su secuencia de offsets.
+     * El contenido posterior al último registro válido se descarta y se limpia.
+     */
+    private void recuperar(CodecBinarioEventos codec) {
+        int posicion = 0;
+        int ultimo = -1;
+        long esperado = offsetBase;
+        while (posicion + TAMANO_ENCABEZADO_REGISTRO <= capacidad) {
+            int longitud = mapa.getInt(posicion);
+            if (longitud <= 0 || posicion + TAMANO_ENCABEZADO_REGISTRO + longitud > capacidad) {
+                break;
+            }
+            int crcEsperado = mapa.getInt(posicion + 4);
+            long offset = mapa.getLong(posicion + 8);
+            CRC32C crc = new CRC32C();
+            crc.update(mapa.slice(posicion + TAMANO_ENCABEZADO_REGISTRO, longitud));
+            if (offset != esperado || (int) crc.getValue() != crcEsperado) {
+                log.warn("Registro inválido en {} (offset {}, posición {}); se descarta el resto del segmento",
+                        archivo.getFileName(), esperado, posicion);
+                break;
+            }
+            indexar(offset, posicion);
+            ultimo = posicion;
+            posicion += TAMANO_ENCABEZADO_REGISTRO + longitud;
+            esperado++;
+        }
+        posicionEscritura = posicion;
+        siguienteOffset = esperado;
+        limpiarDesde(posicion);
+        if (ultimo >= 0) {
+            fechaUltimoRegistro = leerFecha(codec, ultimo);
+        }
+    }
+
+    private Instant leerFecha(CodecBinarioEventos codec, int posicion) {
+        try {
+            ByteBuffer carga = mapa.slice(posicion + TAMANO_ENCABEZADO_REGISTRO, mapa.getInt(posicion));
+            return codec.leer(carga).getFechaCreacion().toInstant();
+        } catch (IllegalArgumentException ex) {
+            log.warn("No fue posible leer la fecha del último registro de {}", archivo.getFileName(), ex);
+            return null;
+        }
+    }
+
+    private void limpiarDesde(int posicion) {
+        byte[] ceros = new byte[BLOQUE_LIMPIEZA];
+        int inicio = posicion;
+        while (inicio < capacidad) {
+            int longitud = Math.min(BLOQUE_LIMPIEZA, capacidad - inicio);
+            if (estaVacio(inicio, longitud)) {
+                return;
+            }
+            mapa.put(inicio, ceros, 0, longitud);
+            inicio += longitud;
+        }
+    }
+
+    private boolean estaVacio(int inicio, int longitud) {
+        int fin = inicio + longitud;
+        int i = inicio;
+        for (; i + Long.BYTES <= fin; i += Long.BYTES) {
+            if (mapa.getLong(i) != 0) {
+                return false;
+            }
+        }
+        for (; i < fin; i++) {
+            if (mapa.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void indexar(long offset, int posicion) {
+        if ((offset - offsetBase) % intervaloIndice != 0) {
+            return;
+        }
+        int entradas = entradasIndice;
+        if (entradas == offsetsIndice.length) {
+            offsetsIndice = Arrays.copyOf(offsetsIndice, entradas * 2);
+            posicionesIndice = Arrays.copyOf(posicionesIndice, entradas * 2);
+        }
+        offsetsIndice[entradas] = offset;
+        posicionesIndice[entradas] = posicion;
+        entradasIndice = entradas + 1;
+    }
+
+    private int buscarPosicion(long offset) {
+        int entradas = entradasIndice;
+        long[] offsets = offsetsIndice;
+        int[] posiciones = posicionesIndice;
+        entradas = Math.min(entradas, Math.min(offsets.length, posiciones.length));
+        int indice = Arrays.binarySearch(offsets, 0, entradas, offset);
+        if (indice < 0) {
+            indice = -indice - 2;
+        }
+        return indice < 0 ? 0 : posiciones[indice];
+    }
+}
@@ -0,0 +1,63 @@
+package mx.gob.vucem.componente.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+
+/**
+ * Admite las transacciones de los servicios de aplicación antes de que inicien.
+ *
+ * <p>El interceptor de {@code @Transactional} abre la transacción y desde su primera
+ * sentencia retiene una conexión del pool hasta confirmarla, así que la capacidad de la base
+ * de datos se controla por transacción y no por operación del repositorio. Este aspecto se
+ * ordena antes que el interceptor de transacciones y pasa cada transacción por
+ * {@link ProteccionBaseDatos#admitir}, como lectura si es de sólo lectura y como escritura en
+ * otro caso; una solicitud rechazada nunca llega a pedir una conexión.
+ */
+@Aspect
+@Component
+@Order(AdmisionTransacciones.ORDEN)
+@RequiredArgsConstructor
+public class AdmisionTransacciones {
+
+    /**
+     * Orden del aspecto, anterior al del interceptor de transacciones, que
+     * {@code @EnableTransactionManagement} registra con {@link Ordered#LOWEST_PRECEDENCE}.
+     */
+    public static final int ORDEN = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private final ProteccionBaseDatos proteccion;
+
+    /**
+     * Admite la transacción de un método de un servicio de aplicación.
+     *
+     * @param punto Invocación del método transaccional
+     * @return Resultado del método
+     * @throws Throwable si el método falla o la transacción no se admite
+     */
+    @Around("within(mx.gob.vucem.componente.application..*) && ("
+            + "@within(org.springframework.transaction.annotation.Transactional) || "
+            + "@annotation(org.springframework.transaction.annotation.Transactional))")
+    public Object admitir(ProceedingJoinPoint punto) throws Throwable {
+        Method metodo = AopUtils.getMostSpecificMethod(((MethodSignature) punto.getSignature()).getMethod(),
+                AopUtils.getTargetClass(punto.getTarget()));
+        Transactional transaccional = AnnotatedElementUtils.findMergedAnnotation(metodo, Transactional.class);
+        if (transaccional == null) {
+            transaccional = AnnotatedElementUtils.findMergedAnnotation(metodo.getDeclaringClass(), Transactional.class);
+        }
+        PresionPoolConexiones.TipoOperacion tipo = transaccional != null && transaccional.readOnly()
+                ? PresionPoolConexiones.TipoOperacion.LECTURA
+                : PresionPoolConexiones.TipoOperacion.ESCRITURA;
+        return proteccion.admitir(tipo, punto::proceed);
+    }
+}
@@ -0,0 +1,143 @@
+package mx.gob.vucem.componente.infrastructure.persistence;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DataSource que limita las conexiones en uso con un semáforo justo del tamaño del pool.
+ *
+ * <p>Con hilos virtuales, miles de solicitudes pueden llegar a la vez al pool de Hikari. La
+ * compuerta las forma en orden de llegada antes del pool: la espera en el semáforo libera
+ * el hilo portador, y una solicitud que no obtiene permiso dentro de la espera máxima
+ * recibe {@link SQLTransientConnectionException} en lugar de quedarse formada hasta el
+ * {@code connection-timeout} de Hikari. El permiso se devuelve al cerrar la conexión.
+ */
+public class CompuertaConexiones extends DelegatingDataSource {
+
+    private final Semaphore permisos;
+    private final int maximoConexiones;
+    private final long esperaMaximaNanos;
+    private final AtomicLong rechazadas = new AtomicLong();
+
+    /**
+     * Crea la compuerta.
+     *
+     * @param destino DataSource del pool
+     * @param maximoConexiones Conexiones que pueden estar en uso a la vez, normalmente el tamaño del pool
+     * @param esperaMaxima Tiempo máximo de espera en la compuerta
+     */
+    public CompuertaConexiones(DataSource destino, int maximoConexiones, Duration esperaMaxima) {
+        super(destino);
+        if (maximoConexiones < 1) {
+            throw new IllegalArgumentException("La compuerta requiere al menos una conexión");
+        }
+        this.permisos = new Semaphore(maximoConexiones, true);
+        this.maximoConexiones = maximoConexiones;
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return envolver(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String contrasena) throws SQLException {
+        adquirir();
+        try {
+            return envolver(obtainTargetDataSource().getConnection(usuario, contrasena));
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Obtiene el número de conexiones que pueden estar en uso a la vez.
+     *
+     * @return Máximo de conexiones
+     */
+    public int getMaximoConexiones() {
+        return maximoConexiones;
+    }
+
+    /**
+     * Obtiene las conexiones en uso obtenidas a través de la compuerta.
+     *
+     * @return Conexiones en uso
+     */
+    public int getEnUso() {
+        return maximoConexiones - permisos.availablePermits();
+    }
+
+    /**
+     * Obtiene una estimación de los hilos formados en la compuerta.
+     *
+     * @return Hilos en espera
+     */
+    public int getEnEspera() {
+        return permisos.getQueueLength();
+    }
+
+    /**
+     * Obtiene las solicitudes de conexión rechazadas por exceder la espera máxima.
+     *
+     * @return Solicitudes rechazadas
+     */
+    public long getRechazadas() {
+        return rechazadas.get();
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permisos.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS)) {
+                rechazadas.incrementAndGet();
+                throw new SQLTransientConnectionException("No hubo una conexión disponible en "
+                        + TimeUnit.NANOSECONDS.toMillis(esperaMaximaNanos) + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido en espera de una conexión", e);
+        }
+    }
+
+    private Connection envolver(Connection conexion) {
+        AtomicBoolean liberada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(CompuertaConexiones.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("close")) {
+                        // Cerrar de nuevo una conexión cerrada no tiene efecto, como indica JDBC
+                        if (liberada.compareAndSet(false, true)) {
+                            try {
+                                conexion.close();
+                            } finally {
+                                permisos.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return metodo.invoke(conexion, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
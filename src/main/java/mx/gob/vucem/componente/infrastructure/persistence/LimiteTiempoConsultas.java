@@ -0,0 +1,142 @@
+package mx.gob.vucem.componente.infrastructure.persistence;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Límite de tiempo de las sentencias SQL ejecutadas por el hilo actual.
+ *
+ * <p>{@link ProteccionBaseDatos} fija un plazo antes de cada operación del repositorio y las
+ * conexiones entregadas por {@link #aplicar(DataSource)} lo trasladan a cada sentencia con
+ * {@link Statement#setQueryTimeout(int)}, de modo que el controlador cancela la consulta en
+ * el servidor. La operación se ejecuta en el hilo del solicitante y conserva su transacción.
+ */
+public final class LimiteTiempoConsultas {
+
+    private static final ThreadLocal<long[]> PLAZO = ThreadLocal.withInitial(() -> new long[1]);
+
+    private LimiteTiempoConsultas() {
+    }
+
+    /**
+     * Fija el plazo del hilo actual. Si ya había uno más cercano, por ejemplo en una
+     * operación anidada, se conserva.
+     *
+     * @param tiempoMaximo Tiempo máximo a partir de ahora
+     * @return Plazo anterior, que debe restablecerse al terminar
+     */
+    static long establecer(Duration tiempoMaximo) {
+        long[] plazo = PLAZO.get();
+        long anterior = plazo[0];
+        long nuevo = System.nanoTime() + tiempoMaximo.toNanos();
+        if (anterior == 0 || nuevo - anterior < 0) {
+            plazo[0] = nuevo;
+        }
+        return anterior;
+    }
+
+    /**
+     * Restablece el plazo que había antes de {@link #establecer(Duration)}.
+     *
+     * @param anterior Plazo anterior
+     */
+    static void restablecer(long anterior) {
+        PLAZO.get()[0] = anterior;
+    }
+
+    /**
+     * Obtiene el tiempo que queda del plazo del hilo actual.
+     *
+     * @return Nanosegundos restantes, negativo si ya venció, o {@link Long#MAX_VALUE} sin plazo
+     */
+    static long restanteNanos() {
+        long plazo = PLAZO.get()[0];
+        return plazo == 0 ? Long.MAX_VALUE : plazo - System.nanoTime();
+    }
+
+    /**
+     * Envuelve un DataSource para que sus sentencias respeten el plazo del hilo actual.
+     *
+     * @param dataSource DataSource original
+     * @return DataSource con límite de tiempo por sentencia
+     */
+    public static DataSource aplicar(DataSource dataSource) {
+        return new DataSourceConLimite(dataSource);
+    }
+
+    /**
+     * Indica si un DataSource ya tiene aplicado el límite de tiempo por sentencia.
+     *
+     * @param dataSource DataSource a revisar
+     * @return {@code true} si lo entregó {@link #aplicar(DataSource)}
+     */
+    public static boolean aplicado(DataSource dataSource) {
+        return dataSource instanceof DataSourceConLimite;
+    }
+
+    private static Connection envolver(Connection conexion) {
+        return (Connection) Proxy.newProxyInstance(LimiteTiempoConsultas.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, metodo, argumentos) -> {
+                    String nombre = metodo.getName();
+                    boolean creaSentencia = nombre.equals("createStatement")
+                            || nombre.equals("prepareStatement") || nombre.equals("prepareCall");
+                    long restante = creaSentencia ? restanteNanos() : Long.MAX_VALUE;
+                    if (restante <= 0) {
+                        throw new SQLTimeoutException("Se excedió el tiempo máximo de la operación");
+                    }
+                    Object resultado;
+                    try {
+                        resultado = metodo.invoke(conexion, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                    if (restante != Long.MAX_VALUE && resultado instanceof Statement sentencia) {
+                        // setQueryTimeout usa segundos; se redondea hacia arriba para no cancelar antes
+                        sentencia.setQueryTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(
+                                restante + TimeUnit.SECONDS.toNanos(1) - 1)));
+                    }
+                    return resultado;
+                });
+    }
+
+    /**
+     * DataSource cuyas conexiones aplican el plazo del hilo a cada sentencia. Al cerrarse
+     * cierra el DataSource original, como lo haría el pool sin envolver.
+     */
+    private static final class DataSourceConLimite extends DelegatingDataSource implements AutoCloseable {
+
+        DataSourceConLimite(DataSource destino) {
+            super(destino);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return envolver(obtainTargetDataSource().getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String usuario, String contrasena) throws SQLException {
+            return envolver(obtainTargetDataSource().getConnection(usuario, contrasena));
+        }
+
+        @Override
+        public void close() throws Exception {
+            DataSource destino = obtainTargetDataSource();
+            while (destino instanceof DelegatingDataSource delegado) {
+                destino = delegado.getTargetDataSource();
+            }
+            if (destino instanceof AutoCloseable cerrable) {
+                cerrable.close();
+            }
+        }
+    }
+}
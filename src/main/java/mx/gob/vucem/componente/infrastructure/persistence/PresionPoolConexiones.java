@@ -0,0 +1,228 @@
+package mx.gob.vucem.componente.infrastructure.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Detecta la presión sobre el pool de conexiones de Hikari y decide qué operaciones de base
+ * de datos se admiten mientras dura.
+ *
+ * <p>Los incidentes de latencia suelen empezar con el pool agotado: para cuando Hikari
+ * rechaza por {@code connection-timeout}, las solicitudes ya esperaron hasta 20 segundos.
+ * Este componente observa dos señales, los hilos que esperan una conexión y el tiempo
+ * promedio de adquisición desde la muestra anterior, y define un nivel de presión:
+ *
+ * <ul>
+ *   <li>{@code NORMAL}: se admiten todas las operaciones.</li>
+ *   <li>{@code DEGRADADO}: sólo se admiten las del tipo prioritario, lecturas o escrituras
+ *       según la configuración.</li>
+ *   <li>{@code CRITICO}: no se admiten operaciones nuevas hasta que el pool se recupere.</li>
+ * </ul>
+ *
+ * <p>El nivel sube en cuanto una señal cruza su umbral, pero sólo baja cuando ambas están
+ * por debajo de una fracción del umbral durante al menos {@code permanencia-minima}, para
+ * no oscilar en el borde. Las señales se muestrean a lo más una vez por
+ * {@code intervalo-muestreo} en el hilo de la solicitud, sin procesos en segundo plano. Si
+ * el {@link DataSource} no es de Hikari el componente admite todas las operaciones.
+ */
+@Component
+@Slf4j
+public class PresionPoolConexiones {
+
+    private static final String METRICA_ADQUISICION = "hikaricp.connections.acquire";
+
+    /**
+     * Tipo de operación sobre la base de datos.
+     */
+    public enum TipoOperacion { LECTURA, ESCRITURA }
+
+    /**
+     * Nivel de presión del pool de conexiones.
+     */
+    public enum Nivel { NORMAL, DEGRADADO, CRITICO }
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${vucem.persistencia.presion.habilitada:true}")
+    private boolean habilitada;
+
+    @Value("${vucem.persistencia.presion.prioridad:ESCRITURA}")
+    private TipoOperacion prioridad;
+
+    @Value("${vucem.persistencia.presion.pendientes-degradado:2}")
+    private int pendientesDegradado;
+
+    @Value("${vucem.persistencia.presion.pendientes-critico:8}")
+    private int pendientesCritico;
+
+    @Value("${vucem.persistencia.presion.adquisicion-degradado:100ms}")
+    private Duration adquisicionDegradado;
+
+    @Value("${vucem.persistencia.presion.adquisicion-critico:1s}")
+    private Duration adquisicionCritico;
+
+    @Value("${vucem.persistencia.presion.factor-recuperacion:0.5}")
+    private double factorRecuperacion;
+
+    @Value("${vucem.persistencia.presion.permanencia-minima:2s}")
+    private Duration permanenciaMinima;
+
+    @Value("${vucem.persistencia.presion.intervalo-muestreo:100ms}")
+    private Duration intervaloMuestreo;
+
+    private LongSupplier reloj = System::nanoTime;
+    private final AtomicLong proximaMuestra = new AtomicLong();
+    private final Map<TipoOperacion, Counter> rechazadas = new EnumMap<>(TipoOperacion.class);
+    private volatile Nivel nivel = Nivel.NORMAL;
+    private volatile int pendientes;
+    private volatile long adquisicionNanos;
+    private long cambioNivel;
+    private long adquisicionesPrevias;
+    private double nanosAdquisicionPrevios;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param dataSource Origen de datos de la aplicación
+     * @param meterRegistry Registro de métricas, donde Hikari publica sus tiempos de adquisición
+     */
+    public PresionPoolConexiones(DataSource dataSource, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registra las métricas del nivel de presión y de las operaciones rechazadas.
+     */
+    @PostConstruct
+    public void init() {
+        long ahora = reloj.getAsLong();
+        this.proximaMuestra.set(ahora);
+        this.cambioNivel = ahora;
+        Gauge.builder("vucem.persistencia.presion.nivel", this, presion -> presion.nivel.ordinal())
+                .description("Nivel de presión del pool de conexiones: 0 normal, 1 degradado, 2 crítico")
+                .register(meterRegistry);
+        for (TipoOperacion tipo : TipoOperacion.values()) {
+            rechazadas.put(tipo, Counter.builder("vucem.persistencia.presion.rechazadas")
+                    .description("Operaciones rechazadas por presión sobre el pool de conexiones")
+                    .tag("tipo", tipo.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Indica si se admite una operación nueva del tipo indicado con la presión actual.
+     *
+     * @param tipo Tipo de operación
+     * @return {@code true} si la operación puede pedir una conexión
+     */
+    public boolean admite(TipoOperacion tipo) {
+        if (!habilitada) {
+            return true;
+        }
+        long ahora = reloj.getAsLong();
+        long proxima = proximaMuestra.get();
+        if (ahora - proxima >= 0 && proximaMuestra.compareAndSet(proxima, ahora + intervaloMuestreo.toNanos())) {
+            muestrear(ahora);
+        }
+        Nivel actual = nivel;
+        boolean admitida = actual == Nivel.NORMAL || (actual == Nivel.DEGRADADO && tipo == prioridad);
+        if (!admitida) {
+            rechazadas.get(tipo).increment();
+        }
+        return admitida;
+    }
+
+    /**
+     * Obtiene el nivel de presión de la última muestra.
+     *
+     * @return Nivel de presión
+     */
+    public Nivel getNivel() {
+        return nivel;
+    }
+
+    private synchronized void muestrear(long ahora) {
+        HikariPoolMXBean pool = pool();
+        if (pool == null) {
+            return;
+        }
+        this.pendientes = pool.getThreadsAwaitingConnection();
+        this.adquisicionNanos = adquisicionPromedio();
+
+        Nivel objetivo = clasificar(1.0);
+        Nivel anterior = nivel;
+        if (objetivo.compareTo(anterior) > 0) {
+            cambiarNivel(objetivo, ahora);
+        } else if (anterior != Nivel.NORMAL && ahora - cambioNivel >= permanenciaMinima.toNanos()
+                && clasificar(factorRecuperacion).compareTo(anterior) < 0) {
+            // Se baja un nivel a la vez y cada nivel cumple su permanencia mínima
+            cambiarNivel(Nivel.values()[anterior.ordinal() - 1], ahora);
+        }
+    }
+
+    private Nivel clasificar(double factor) {
+        if (pendientes >= pendientesCritico * factor || adquisicionNanos >= adquisicionCritico.toNanos() * factor) {
+            return Nivel.CRITICO;
+        }
+        if (pendientes >= pendientesDegradado * factor
+                || adquisicionNanos >= adquisicionDegradado.toNanos() * factor) {
+            return Nivel.DEGRADADO;
+        }
+        return Nivel.NORMAL;
+    }
+
+    private void cambiarNivel(Nivel nuevo, long ahora) {
+        log.warn("Presión del pool de conexiones: {} -> {} ({} hilos esperando, adquisición promedio {} ms)",
+                nivel, nuevo, pendientes, TimeUnit.NANOSECONDS.toMillis(adquisicionNanos));
+        nivel = nuevo;
+        cambioNivel = ahora;
+    }
+
+    /**
+     * Calcula el tiempo promedio de adquisición de conexiones desde la muestra anterior a
+     * partir del timer que publica Hikari.
+     */
+    private long adquisicionPromedio() {
+        long adquisiciones = 0;
+        double nanos = 0;
+        for (Timer timer : meterRegistry.find(METRICA_ADQUISICION).timers()) {
+            adquisiciones += timer.count();
+            nanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        long nuevas = adquisiciones - adquisicionesPrevias;
+        double promedio = nuevas > 0 ? (nanos - nanosAdquisicionPrevios) / nuevas : 0;
+        adquisicionesPrevias = adquisiciones;
+        nanosAdquisicionPrevios = nanos;
+        return (long) promedio;
+    }
+
+    private HikariPoolMXBean pool() {
+        try {
+            // El pool de Hikari se crea con la primera conexión
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean()
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
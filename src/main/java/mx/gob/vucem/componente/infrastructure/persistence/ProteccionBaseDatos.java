@@ -0,0 +1,271 @@
+package mx.gob.vucem.componente.infrastructure.persistence;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.domain.exceptions.BusinessException;
+import mx.gob.vucem.componente.domain.exceptions.ServicioNoDisponibleException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Protege el acceso a la base de datos con un bulkhead de semáforo, un circuit breaker y
+ * un límite de tiempo, con límites separados para lecturas y escrituras.
+ *
+ * <p>Una transacción retiene su conexión desde que la toma hasta confirmarse, por lo que el
+ * bulkhead se ocupa por transacción: {@link AdmisionTransacciones} llama a
+ * {@link #admitir} antes de que inicie cada transacción de los servicios de aplicación y
+ * el lugar se libera al terminar. Con la suma de ambos límites por debajo del tamaño del
+ * pool, una degradación de PostgreSQL no deja a los hilos de Tomcat esperando el
+ * {@code connection-timeout} de Hikari: las solicitudes excedentes se rechazan de inmediato,
+ * sin haber pedido una conexión. Antes de ocupar el bulkhead se consulta
+ * {@link PresionPoolConexiones}, que rechaza las transacciones nuevas cuando el pool de
+ * Hikari, compartido con el resto de la aplicación, ya tiene hilos esperando conexión. Las
+ * operaciones del repositorio fuera de una transacción admitida pasan por ambas
+ * verificaciones y ocupan el bulkhead sólo mientras duran.
+ *
+ * <p>Cada operación del repositorio se ejecuta en el hilo del solicitante, dentro de su
+ * transacción. El límite de tiempo se aplica a cada sentencia mediante
+ * {@link LimiteTiempoConsultas} y el circuit breaker deja de enviar operaciones mientras la
+ * base de datos falla o responde lento. Los rechazos se reportan como
+ * {@link ServicioNoDisponibleException}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProteccionBaseDatos {
+
+    public static final String LECTURAS = "repositorio.lecturas";
+    public static final String ESCRITURAS = "repositorio.escrituras";
+
+    private static final ThreadLocal<PresionPoolConexiones.TipoOperacion> ADMITIDA = new ThreadLocal<>();
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final PresionPoolConexiones presionPool;
+
+    @Value("${vucem.persistencia.lecturas.maximo-concurrentes:6}")
+    private int maximoLecturas;
+
+    @Value("${vucem.persistencia.lecturas.tiempo-maximo:2s}")
+    private Duration tiempoMaximoLecturas;
+
+    @Value("${vucem.persistencia.escrituras.maximo-concurrentes:3}")
+    private int maximoEscrituras;
+
+    @Value("${vucem.persistencia.escrituras.tiempo-maximo:5s}")
+    private Duration tiempoMaximoEscrituras;
+
+    private Proteccion lecturas;
+    private Proteccion escrituras;
+
+    /**
+     * Crea las protecciones de lecturas y escrituras a partir de la configuración por
+     * defecto de los registries.
+     */
+    @PostConstruct
+    public void init() {
+        this.lecturas = crearProteccion(LECTURAS, PresionPoolConexiones.TipoOperacion.LECTURA,
+                maximoLecturas, tiempoMaximoLecturas);
+        this.escrituras = crearProteccion(ESCRITURAS, PresionPoolConexiones.TipoOperacion.ESCRITURA,
+                maximoEscrituras, tiempoMaximoEscrituras);
+    }
+
+    /**
+     * Admite una transacción antes de que tome una conexión del pool, si el pool no está bajo
+     * presión, y ocupa un lugar del bulkhead de su tipo hasta que termina. Las transacciones anidadas y las operaciones del
+     * repositorio dentro de una transacción admitida no vuelven a ocupar lugar.
+     *
+     * @param <T> Tipo del resultado
+     * @param tipo Tipo de operación de la transacción
+     * @param transaccion Transacción a ejecutar
+     * @return Resultado de la transacción
+     * @throws ServicioNoDisponibleException si no hay capacidad
+     * @throws Throwable si la transacción falla
+     */
+    public <T> T admitir(PresionPoolConexiones.TipoOperacion tipo, Transaccion<T> transaccion) throws Throwable {
+        if (ADMITIDA.get() != null) {
+            return transaccion.ejecutar();
+        }
+        Proteccion proteccion = tipo == PresionPoolConexiones.TipoOperacion.LECTURA ? lecturas : escrituras;
+        verificarPresion(proteccion);
+        ocupar(proteccion);
+        ADMITIDA.set(tipo);
+        try {
+            return transaccion.ejecutar();
+        } finally {
+            ADMITIDA.remove();
+            proteccion.bulkhead().onComplete();
+        }
+    }
+
+    /**
+     * Ejecuta una operación de lectura.
+     *
+     * @param <T> Tipo del resultado
+     * @param operacion Operación sobre el repositorio
+     * @return Resultado de la operación
+     * @throws ServicioNoDisponibleException si no hay capacidad, el circuito está abierto o
+     *         se excedió el tiempo máximo
+     */
+    public <T> T leer(Supplier<T> operacion) {
+        return ejecutar(lecturas, operacion);
+    }
+
+    /**
+     * Ejecuta una operación de escritura.
+     *
+     * @param <T> Tipo del resultado
+     * @param operacion Operación sobre el repositorio
+     * @return Resultado de la operación
+     * @throws ServicioNoDisponibleException si no hay capacidad, el circuito está abierto o
+     *         se excedió el tiempo máximo
+     */
+    public <T> T escribir(Supplier<T> operacion) {
+        return ejecutar(escrituras, operacion);
+    }
+
+    /**
+     * Ejecuta una operación de escritura sin resultado.
+     *
+     * @param operacion Operación sobre el repositorio
+     * @throws ServicioNoDisponibleException si no hay capacidad, el circuito está abierto o
+     *         se excedió el tiempo máximo
+     */
+    public void escribir(Runnable operacion) {
+        ejecutar(escrituras, () -> {
+            operacion.run();
+            return null;
+        });
+    }
+
+    private <T> T ejecutar(Proteccion proteccion, Supplier<T> operacion) {
+        boolean admitida = ADMITIDA.get() != null;
+        if (!admitida) {
+            verificarPresion(proteccion);
+            ocupar(proteccion);
+        }
+        try {
+            if (!proteccion.circuito().tryAcquirePermission()) {
+                throw new ServicioNoDisponibleException("BASE_DATOS_NO_DISPONIBLE",
+                        "La base de datos no está disponible temporalmente");
+            }
+            long inicio = System.nanoTime();
+            long plazoAnterior = LimiteTiempoConsultas.establecer(proteccion.tiempoMaximo());
+            try {
+                T resultado = operacion.get();
+                proteccion.circuito().onSuccess(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                proteccion.limiteTiempo().onSuccess();
+                return resultado;
+            } catch (RuntimeException e) {
+                long duracion = System.nanoTime() - inicio;
+                proteccion.circuito().onError(duracion, TimeUnit.NANOSECONDS, e);
+                if (excedioTiempo(e, duracion, proteccion)) {
+                    proteccion.limiteTiempo().onError(new TimeoutException(e.getMessage()));
+                    log.warn("Operación de {} excedió su tiempo máximo de {}",
+                            proteccion.limiteTiempo().getName(), proteccion.tiempoMaximo());
+                    throw new ServicioNoDisponibleException("BASE_DATOS_TIEMPO_EXCEDIDO",
+                            "La base de datos no respondió a tiempo", e);
+                }
+                proteccion.limiteTiempo().onError(e);
+                throw e;
+            } finally {
+                LimiteTiempoConsultas.restablecer(plazoAnterior);
+            }
+        } finally {
+            if (!admitida) {
+                proteccion.bulkhead().onComplete();
+            }
+        }
+    }
+
+    private void verificarPresion(Proteccion proteccion) {
+        if (!presionPool.admite(proteccion.tipo())) {
+            throw new ServicioNoDisponibleException("BASE_DATOS_SATURADA",
+                    "El pool de conexiones de la base de datos está saturado");
+        }
+    }
+
+    private static void ocupar(Proteccion proteccion) {
+        if (!proteccion.bulkhead().tryAcquirePermission()) {
+            throw new ServicioNoDisponibleException("BASE_DATOS_SATURADA",
+                    "La base de datos no tiene capacidad para atender la solicitud");
+        }
+    }
+
+    private static boolean excedioTiempo(RuntimeException e, long duracion, Proteccion proteccion) {
+        if (e instanceof QueryTimeoutException || e instanceof jakarta.persistence.QueryTimeoutException) {
+            return true;
+        }
+        for (Throwable causa = e.getCause(); causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLTimeoutException) {
+                return true;
+            }
+        }
+        // PostgreSQL reporta la cancelación por tiempo como un error genérico de la sentencia
+        return duracion >= proteccion.tiempoMaximo().toNanos();
+    }
+
+    private Proteccion crearProteccion(String nombre, PresionPoolConexiones.TipoOperacion tipo,
+                                       int maximoConcurrentes, Duration tiempoMaximo) {
+        BulkheadConfig bulkhead = BulkheadConfig.from(bulkheadRegistry.getDefaultConfig())
+                .maxConcurrentCalls(maximoConcurrentes)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+        // Los errores del solicitante no indican una falla de la base de datos
+        CircuitBreakerConfig circuito = CircuitBreakerConfig.from(circuitBreakerRegistry.getDefaultConfig())
+                .ignoreExceptions(BusinessException.class, DataIntegrityViolationException.class,
+                        OptimisticLockingFailureException.class)
+                .build();
+        TimeLimiterConfig limiteTiempo = TimeLimiterConfig.from(timeLimiterRegistry.getDefaultConfig())
+                .timeoutDuration(tiempoMaximo)
+                .build();
+
+        return new Proteccion(tipo, bulkheadRegistry.bulkhead(nombre, bulkhead),
+                circuitBreakerRegistry.circuitBreaker(nombre, circuito),
+                timeLimiterRegistry.timeLimiter(nombre, limiteTiempo), tiempoMaximo);
+    }
+
+    /**
+     * Transacción admitida por {@link #admitir}.
+     *
+     * @param <T> Tipo del resultado
+     */
+    @FunctionalInterface
+    public interface Transaccion<T> {
+
+        /**
+         * Ejecuta la transacción.
+         *
+         * @return Resultado de la transacción
+         * @throws Throwable si la transacción falla
+         */
+        T ejecutar() throws Throwable;
+    }
+
+    /**
+     * Bulkhead, circuit breaker y límite de tiempo de un tipo de operación.
+     */
+    private record Proteccion(PresionPoolConexiones.TipoOperacion tipo, Bulkhead bulkhead, CircuitBreaker circuito, TimeLimiter limiteTiempo,
+                              Duration tiempoMaximo) {
+    }
+}
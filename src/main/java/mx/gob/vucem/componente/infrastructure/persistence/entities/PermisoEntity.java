@@ -0,0 +1,49 @@
+package mx.gob.vucem.componente.infrastructure.persistence.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import mx.gob.vucem.componente.domain.entities.AuditableEntity;
+
+import java.util.UUID;
+
+/**
+ * Entidad JPA que representa un permiso asignable a roles.
+ */
+@Entity
+@Table(name = "permisos")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermisoEntity extends AuditableEntity {
+
+    /**
+     * Identificador único del permiso.
+     */
+    @Id
+    private UUID id;
+
+    /**
+     * Nombre del permiso, por ejemplo RECURSOS_LEER.
+     */
+    @Column(name = "nombre", nullable = false, length = 100)
+    private String nombre;
+
+    /**
+     * Descripción del permiso.
+     */
+    @Column(name = "descripcion", length = 200)
+    private String descripcion;
+
+    /**
+     * Indica si el permiso está activo.
+     */
+    @Column(name = "activo", nullable = false)
+    private Boolean activo = true;
+}
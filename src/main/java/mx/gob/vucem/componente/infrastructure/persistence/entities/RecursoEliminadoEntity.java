@@ -0,0 +1,49 @@
+package mx.gob.vucem.componente.infrastructure.persistence.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidad JPA que representa la marca de eliminación de un recurso.
+ */
+@Entity
+@Table(name = "recursos_eliminados")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecursoEliminadoEntity {
+
+    /**
+     * Identificador del recurso eliminado.
+     */
+    @Id
+    private UUID id;
+
+    /**
+     * Número de secuencia del cambio de eliminación.
+     */
+    @Column(name = "secuencia_cambio", nullable = false)
+    private Long secuenciaCambio;
+
+    /**
+     * Fecha en que se eliminó el recurso.
+     */
+    @Column(name = "fecha_eliminacion", nullable = false)
+    private LocalDateTime fechaEliminacion;
+
+    /**
+     * Usuario que eliminó el recurso.
+     */
+    @Column(name = "eliminado_por", length = 50)
+    private String eliminadoPor;
+}
@@ -55,4 +55,10 @@ public class RecursoEntity extends AuditableEntity {
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "atributos", columnDefinition = "jsonb")
     private Map<String, String> atributos = new HashMap<>();
+
+    /**
+     * Número de secuencia del último cambio, asignado en cada escritura.
+     */
+    @Column(name = "secuencia_cambio", nullable = false)
+    private Long secuenciaCambio;
 }
\ No newline at end of file
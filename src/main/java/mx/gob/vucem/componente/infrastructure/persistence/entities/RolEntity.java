@@ -0,0 +1,66 @@
+package mx.gob.vucem.componente.infrastructure.persistence.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import mx.gob.vucem.componente.domain.entities.AuditableEntity;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Entidad JPA que representa un rol con sus permisos.
+ *
+ * <p>La asignación de permisos se administra por migraciones, por lo que la relación
+ * sólo se usa para lectura.
+ */
+@Entity
+@Table(name = "roles")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RolEntity extends AuditableEntity {
+
+    /**
+     * Identificador único del rol.
+     */
+    @Id
+    private UUID id;
+
+    /**
+     * Nombre del rol, por ejemplo ADMINISTRADOR.
+     */
+    @Column(name = "nombre", nullable = false, length = 50)
+    private String nombre;
+
+    /**
+     * Descripción del rol.
+     */
+    @Column(name = "descripcion", length = 200)
+    private String descripcion;
+
+    /**
+     * Indica si el rol está activo.
+     */
+    @Column(name = "activo", nullable = false)
+    private Boolean activo = true;
+
+    /**
+     * Permisos asignados al rol.
+     */
+    @ManyToMany
+    @JoinTable(name = "roles_permisos",
+            joinColumns = @JoinColumn(name = "rol_id", insertable = false, updatable = false),
+            inverseJoinColumns = @JoinColumn(name = "permiso_id", insertable = false, updatable = false))
+    private Set<PermisoEntity> permisos = new HashSet<>();
+}
@@ -0,0 +1,55 @@
+package mx.gob.vucem.componente.infrastructure.persistence.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA que representa un token JWT revocado antes de su expiración.
+ */
+@Entity
+@Table(name = "tokens_revocados")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocadoEntity {
+
+    /**
+     * Identificador único del token (JTI).
+     */
+    @Id
+    @Column(name = "jti", length = 64)
+    private String jti;
+
+    /**
+     * Usuario al que pertenece el token.
+     */
+    @Column(name = "usuario", nullable = false, length = 50)
+    private String usuario;
+
+    /**
+     * Fecha de expiración del token; después de ella la revocación ya no es necesaria.
+     */
+    @Column(name = "expiracion", nullable = false)
+    private LocalDateTime expiracion;
+
+    /**
+     * Fecha en que se revocó el token.
+     */
+    @Column(name = "fecha_revocacion", nullable = false)
+    private LocalDateTime fechaRevocacion;
+
+    /**
+     * Usuario que revocó el token.
+     */
+    @Column(name = "revocado_por", length = 50)
+    private String revocadoPor;
+}
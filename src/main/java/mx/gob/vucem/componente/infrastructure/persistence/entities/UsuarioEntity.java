@@ -0,0 +1,97 @@
+package mx.gob.vucem.componente.infrastructure.persistence.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import mx.gob.vucem.componente.domain.entities.AuditableEntity;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Entidad JPA que representa un usuario del componente.
+ *
+ * <p>La asignación de roles se administra por migraciones, por lo que la relación
+ * sólo se usa para lectura.
+ */
+@Entity
+@Table(name = "usuarios")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsuarioEntity extends AuditableEntity {
+
+    /**
+     * Identificador único del usuario.
+     */
+    @Id
+    private UUID id;
+
+    /**
+     * Nombre de usuario.
+     */
+    @Column(name = "username", nullable = false, length = 50)
+    private String username;
+
+    /**
+     * Contraseña codificada con BCrypt.
+     */
+    @Column(name = "password", nullable = false, length = 100)
+    private String password;
+
+    /**
+     * Nombre completo del usuario.
+     */
+    @Column(name = "nombre_completo", length = 100)
+    private String nombreCompleto;
+
+    /**
+     * Correo electrónico del usuario.
+     */
+    @Column(name = "email", length = 100)
+    private String email;
+
+    /**
+     * Indica si el usuario está activo.
+     */
+    @Column(name = "activo", nullable = false)
+    private Boolean activo = true;
+
+    /**
+     * Indica si el usuario está bloqueado.
+     */
+    @Column(name = "bloqueado", nullable = false)
+    private Boolean bloqueado = false;
+
+    /**
+     * Fecha del último acceso exitoso.
+     */
+    @Column(name = "fecha_ultimo_acceso")
+    private LocalDateTime fechaUltimoAcceso;
+
+    /**
+     * Número de intentos de acceso fallidos consecutivos.
+     */
+    @Column(name = "intentos_fallidos", nullable = false)
+    private Integer intentosFallidos = 0;
+
+    /**
+     * Roles asignados al usuario.
+     */
+    @ManyToMany
+    @JoinTable(name = "usuarios_roles",
+            joinColumns = @JoinColumn(name = "usuario_id", insertable = false, updatable = false),
+            inverseJoinColumns = @JoinColumn(name = "rol_id", insertable = false, updatable = false))
+    private Set<RolEntity> roles = new HashSet<>();
+}
@@ -0,0 +1,68 @@
+package mx.gob.vucem.componente.infrastructure.persistence.repositories;
+
+import mx.gob.vucem.componente.infrastructure.persistence.entities.RecursoEliminadoEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositorio JPA para las marcas de eliminación de recursos.
+ */
+@Repository
+public interface RecursoEliminadoJpaRepository extends JpaRepository<RecursoEliminadoEntity, UUID> {
+
+    /**
+     * Busca las marcas de eliminación posteriores a una secuencia.
+     *
+     * @param secuencia Secuencia de cambio (exclusiva)
+     * @param pageable Límite de resultados
+     * @return Marcas ordenadas por secuencia de cambio
+     */
+    List<RecursoEliminadoEntity> findBySecuenciaCambioGreaterThanOrderBySecuenciaCambioAsc(
+            long secuencia, Pageable pageable);
+
+    /**
+     * Obtiene la mayor secuencia de cambio entre las marcas anteriores a una fecha.
+     *
+     * @param limite Fecha límite
+     * @return Mayor secuencia, o null si no hay marcas anteriores
+     */
+    @Query("select max(e.secuenciaCambio) from RecursoEliminadoEntity e where e.fechaEliminacion < :limite")
+    Long findMaxSecuenciaCambioAntesDe(@Param("limite") LocalDateTime limite);
+
+    /**
+     * Elimina las marcas hasta una secuencia de cambio.
+     *
+     * @param secuencia Secuencia de cambio (inclusiva)
+     * @return Número de marcas eliminadas
+     */
+    @Modifying
+    @Query("delete from RecursoEliminadoEntity e where e.secuenciaCambio <= :secuencia")
+    int deleteHastaSecuencia(@Param("secuencia") long secuencia);
+
+    /**
+     * Obtiene la secuencia mínima a partir de la cual los cambios siguen disponibles.
+     *
+     * @return Secuencia mínima
+     */
+    @Query(value = "SELECT secuencia_minima FROM recursos_cambios_horizonte WHERE id = 1", nativeQuery = true)
+    Long findSecuenciaMinima();
+
+    /**
+     * Avanza la secuencia mínima de sincronización sin retrocederla.
+     *
+     * @param secuencia Nueva secuencia mínima
+     * @return Número de filas actualizadas
+     */
+    @Modifying
+    @Query(value = "UPDATE recursos_cambios_horizonte SET secuencia_minima = GREATEST(secuencia_minima, :secuencia) "
+            + "WHERE id = 1", nativeQuery = true)
+    int avanzarSecuenciaMinima(@Param("secuencia") long secuencia);
+}
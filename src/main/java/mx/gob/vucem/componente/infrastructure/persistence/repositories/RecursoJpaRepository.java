@@ -1,7 +1,9 @@
 package mx.gob.vucem.componente.infrastructure.persistence.repositories;
 
 import mx.gob.vucem.componente.infrastructure.persistence.entities.RecursoEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -27,4 +29,21 @@ public interface RecursoJpaRepository extends JpaRepository<RecursoEntity, UUID>
      * @return Lista de recursos que coinciden con el nombre
      */
     List<RecursoEntity> findByNombreContainingIgnoreCase(String nombre);
-}
\ No newline at end of file
+
+    /**
+     * Busca los recursos cuyo último cambio es posterior a una secuencia.
+     *
+     * @param secuencia Secuencia de cambio (exclusiva)
+     * @param pageable Límite de resultados
+     * @return Recursos ordenados por secuencia de cambio
+     */
+    List<RecursoEntity> findBySecuenciaCambioGreaterThanOrderBySecuenciaCambioAsc(long secuencia, Pageable pageable);
+
+    /**
+     * Obtiene el siguiente valor de la secuencia de cambios.
+     *
+     * @return Siguiente número de secuencia
+     */
+    @Query(value = "SELECT nextval('recursos_cambios_seq')", nativeQuery = true)
+    long siguienteSecuenciaCambio();
+}
@@ -1,30 +1,61 @@
 package mx.gob.vucem.componente.infrastructure.persistence.repositories;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import lombok.RequiredArgsConstructor;
 import mx.gob.vucem.componente.domain.entities.Recurso;
 import mx.gob.vucem.componente.domain.repositories.RecursoRepository;
+import mx.gob.vucem.componente.domain.valueobjects.CamposRecurso;
+import mx.gob.vucem.componente.domain.valueobjects.CamposRecurso.Campo;
+import mx.gob.vucem.componente.domain.valueobjects.MarcaEliminacion;
+import mx.gob.vucem.componente.infrastructure.persistence.ProteccionBaseDatos;
+import mx.gob.vucem.componente.infrastructure.persistence.entities.RecursoEliminadoEntity;
 import mx.gob.vucem.componente.infrastructure.persistence.entities.RecursoEntity;
 import mx.gob.vucem.componente.infrastructure.persistence.mappers.RecursoEntityMapper;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 /**
  * Implementación de RecursoRepository que utiliza JPA.
+ * Cada operación se ejecuta dentro de {@link ProteccionBaseDatos}, con límites separados
+ * para lecturas y escrituras; las escrituras se envían a la base de datos antes de salir de
+ * la protección para que su límite de tiempo cubra también las sentencias de modificación.
  */
 @Component
 @RequiredArgsConstructor
 public class RecursoRepositoryImpl implements RecursoRepository {
 
     private final RecursoJpaRepository recursoJpaRepository;
+    private final RecursoEliminadoJpaRepository recursoEliminadoJpaRepository;
     private final RecursoEntityMapper mapper;
+    private final AuditorAware<String> auditorProvider;
+    private final ProteccionBaseDatos proteccion;
+    private final EntityManager entityManager;
 
     @Override
     public List<Recurso> findAll() {
-        return recursoJpaRepository.findAll()
+        return proteccion.leer(recursoJpaRepository::findAll)
                 .stream()
                 .map(mapper::toDomain)
                 .collect(Collectors.toList());
@@ -32,7 +63,7 @@ public class RecursoRepositoryImpl implements RecursoRepository {
 
     @Override
     public List<Recurso> findByActivoTrue() {
-        return recursoJpaRepository.findByActivoTrue()
+        return proteccion.leer(recursoJpaRepository::findByActivoTrue)
                 .stream()
                 .map(mapper::toDomain)
                 .collect(Collectors.toList());
@@ -40,7 +71,7 @@ public class RecursoRepositoryImpl implements RecursoRepository {
 
     @Override
     public List<Recurso> findByNombreContaining(String nombre) {
-        return recursoJpaRepository.findByNombreContainingIgnoreCase(nombre)
+        return proteccion.leer(() -> recursoJpaRepository.findByNombreContainingIgnoreCase(nombre))
                 .stream()
                 .map(mapper::toDomain)
                 .collect(Collectors.toList());
@@ -48,19 +79,199 @@ public class RecursoRepositoryImpl implements RecursoRepository {
 
     @Override
     public Optional<Recurso> findById(UUID id) {
-        return recursoJpaRepository.findById(id)
+        return proteccion.leer(() -> recursoJpaRepository.findById(id))
                 .map(mapper::toDomain);
     }
 
+    @Override
+    public List<Recurso> findAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return proteccion.leer(() -> recursoJpaRepository.findAllById(ids))
+                .stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Recurso> findAll(CamposRecurso campos) {
+        return proteccion.leer(() -> seleccionar(campos, null));
+    }
+
+    @Override
+    public List<Recurso> findByActivoTrue(CamposRecurso campos) {
+        return proteccion.leer(() -> seleccionar(campos, (cb, raiz) -> cb.isTrue(raiz.get("activo"))));
+    }
+
+    @Override
+    public List<Recurso> findByNombreContaining(String nombre, CamposRecurso campos) {
+        String patron = "%" + nombre.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return proteccion.leer(() -> seleccionar(campos,
+                (cb, raiz) -> cb.like(cb.lower(raiz.get("nombre")), patron, '\\')));
+    }
+
+    @Override
+    public Optional<Recurso> findById(UUID id, CamposRecurso campos) {
+        return proteccion.leer(() -> seleccionar(campos, (cb, raiz) -> cb.equal(raiz.get("id"), id)))
+                .stream()
+                .findFirst();
+    }
+
     @Override
     public Recurso save(Recurso recurso) {
         RecursoEntity entity = mapper.toEntity(recurso);
-        RecursoEntity savedEntity = recursoJpaRepository.save(entity);
+        RecursoEntity savedEntity = proteccion.escribir(() -> {
+            entity.setSecuenciaCambio(recursoJpaRepository.siguienteSecuenciaCambio());
+            return recursoJpaRepository.saveAndFlush(entity);
+        });
+        renumerarAlConfirmar(() -> {
+            savedEntity.setSecuenciaCambio(recursoJpaRepository.siguienteSecuenciaCambio());
+            recursoJpaRepository.flush();
+        });
         return mapper.toDomain(savedEntity);
     }
 
     @Override
+    @Transactional
     public void deleteById(UUID id) {
-        recursoJpaRepository.deleteById(id);
+        String eliminadoPor = auditorProvider.getCurrentAuditor().orElse(null);
+        RecursoEliminadoEntity guardada = proteccion.escribir(() -> {
+            recursoJpaRepository.deleteById(id);
+
+            // Registrar la marca de eliminación para los clientes que sincronizan por cambios
+            RecursoEliminadoEntity marca = recursoEliminadoJpaRepository.findById(id)
+                    .orElseGet(RecursoEliminadoEntity::new);
+            marca.setId(id);
+            marca.setSecuenciaCambio(recursoJpaRepository.siguienteSecuenciaCambio());
+            marca.setFechaEliminacion(LocalDateTime.now());
+            marca.setEliminadoPor(eliminadoPor);
+            return recursoEliminadoJpaRepository.saveAndFlush(marca);
+        });
+        renumerarAlConfirmar(() -> {
+            guardada.setSecuenciaCambio(recursoJpaRepository.siguienteSecuenciaCambio());
+            guardada.setFechaEliminacion(LocalDateTime.now());
+            recursoEliminadoJpaRepository.flush();
+        });
+    }
+
+    @Override
+    public List<Recurso> findCambiadosDesde(long secuencia, int limite) {
+        return proteccion.leer(() -> recursoJpaRepository
+                        .findBySecuenciaCambioGreaterThanOrderBySecuenciaCambioAsc(secuencia, PageRequest.of(0, limite)))
+                .stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<MarcaEliminacion> findEliminadosDesde(long secuencia, int limite) {
+        return proteccion.leer(() -> recursoEliminadoJpaRepository
+                        .findBySecuenciaCambioGreaterThanOrderBySecuenciaCambioAsc(secuencia, PageRequest.of(0, limite)))
+                .stream()
+                .map(e -> new MarcaEliminacion(e.getId(), e.getSecuenciaCambio(), e.getFechaEliminacion()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long obtenerSecuenciaMinima() {
+        Long secuenciaMinima = proteccion.leer(recursoEliminadoJpaRepository::findSecuenciaMinima);
+        return secuenciaMinima != null ? secuenciaMinima : 0L;
+    }
+
+    @Override
+    @Transactional
+    public int purgarEliminadosAntesDe(LocalDateTime limite) {
+        // Tarea programada fuera de las solicitudes: no ocupa la capacidad de las escrituras
+        // ni se sujeta a su límite de tiempo, que una purga grande podría exceder
+        Long secuencia = recursoEliminadoJpaRepository.findMaxSecuenciaCambioAntesDe(limite);
+        if (secuencia == null) {
+            return 0;
+        }
+        // El horizonte avanza antes de borrar para que ningún cliente pierda una eliminación
+        recursoEliminadoJpaRepository.avanzarSecuenciaMinima(secuencia);
+        return recursoEliminadoJpaRepository.deleteHastaSecuencia(secuencia);
+    }
+
+    /**
+     * Vuelve a tomar la secuencia de cambio justo antes de confirmar la transacción actual.
+     * La secuencia que se toma al escribir sólo cumple con la columna obligatoria: si la
+     * transacción siguiera abierta, otra con una secuencia mayor podría confirmarse antes y
+     * un cliente avanzaría su token sin ver este cambio. Tomada al confirmar, y dentro del
+     * límite de tiempo de las escrituras, sólo esa sentencia y la confirmación la separan de
+     * ser visible; ese intervalo es el que cubre el margen de consistencia de
+     * {@code SincronizacionRecursoService}. La fecha del cambio se actualiza con ella.
+     */
+    private void renumerarAlConfirmar(Runnable renumerar) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Sin transacción externa la escritura ya se confirmó
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                proteccion.escribir(renumerar);
+            }
+        });
+    }
+
+    /**
+     * Consulta sólo las columnas de los campos solicitados, sin cargar entidades completas,
+     * y arma recursos parciales. Las claves de atributos se filtran al leer, ya que el mapa
+     * se almacena en una sola columna.
+     */
+    private List<Recurso> seleccionar(CamposRecurso campos,
+                                      BiFunction<CriteriaBuilder, Root<RecursoEntity>, Predicate> filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+        Root<RecursoEntity> raiz = consulta.from(RecursoEntity.class);
+        List<Campo> columnas = List.copyOf(campos.getCampos());
+        consulta.multiselect(columnas.stream()
+                .<Selection<?>>map(campo -> raiz.get(campo.getNombre()))
+                .toList());
+        if (filtro != null) {
+            consulta.where(filtro.apply(cb, raiz));
+        }
+        return entityManager.createQuery(consulta).getResultList()
+                .stream()
+                .map(fila -> parcial(fila, columnas, campos.getAtributos()))
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Recurso parcial(Tuple fila, List<Campo> columnas, Set<String> claves) {
+        Recurso recurso = new Recurso();
+        recurso.setActivo(null);
+        recurso.setAtributos(null);
+        for (int i = 0; i < columnas.size(); i++) {
+            Object valor = fila.get(i);
+            switch (columnas.get(i)) {
+                case ID -> recurso.setId((UUID) valor);
+                case NOMBRE -> recurso.setNombre((String) valor);
+                case DESCRIPCION -> recurso.setDescripcion((String) valor);
+                case ACTIVO -> recurso.setActivo((Boolean) valor);
+                case ATRIBUTOS -> recurso.setAtributos(filtrar((Map<String, String>) valor, claves));
+                case FECHA_CREACION -> recurso.setFechaCreacion((LocalDateTime) valor);
+                case FECHA_MODIFICACION -> recurso.setFechaModificacion((LocalDateTime) valor);
+            }
+        }
+        return recurso;
+    }
+
+    private static Map<String, String> filtrar(Map<String, String> atributos, Set<String> claves) {
+        if (atributos == null || claves == null) {
+            return atributos;
+        }
+        Map<String, String> filtrados = new HashMap<>();
+        for (String clave : claves) {
+            String valor = atributos.get(clave);
+            if (valor != null) {
+                filtrados.put(clave, valor);
+            }
+        }
+        return filtrados;
     }
-}
\ No newline at end of file
+}
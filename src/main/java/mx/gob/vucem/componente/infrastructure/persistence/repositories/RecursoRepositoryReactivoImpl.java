@@ -0,0 +1,85 @@
+package mx.gob.vucem.componente.infrastructure.persistence.repositories;
+
+import mx.gob.vucem.componente.domain.entities.Recurso;
+import mx.gob.vucem.componente.domain.repositories.RecursoRepository;
+import mx.gob.vucem.componente.domain.repositories.RecursoRepositoryReactivo;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Implementación de RecursoRepositoryReactivo sobre el repositorio JDBC.
+ *
+ * <p>Cada consulta se ejecuta en el planificador de JDBC, acotado al tamaño del pool de
+ * conexiones, para no bloquear los hilos de Netty. Las listas completas se recorren por
+ * páginas de secuencia de cambio: mientras el cliente consume una página se consulta la
+ * siguiente y ninguna más, por lo que un flujo retiene a lo más dos páginas en memoria.
+ */
+@Component
+@Profile("reactivo")
+public class RecursoRepositoryReactivoImpl implements RecursoRepositoryReactivo {
+
+    private final RecursoRepository recursoRepository;
+    private final Scheduler planificadorJdbc;
+    private final int tamanoPagina;
+
+    /**
+     * Crea el repositorio reactivo.
+     *
+     * @param recursoRepository Repositorio JDBC
+     * @param planificadorJdbc Planificador acotado al pool de conexiones
+     * @param tamanoPagina Recursos consultados por página al recorrer una lista
+     */
+    public RecursoRepositoryReactivoImpl(
+            RecursoRepository recursoRepository,
+            @Qualifier("planificadorJdbc") Scheduler planificadorJdbc,
+            @Value("${vucem.reactivo.tamano-pagina:500}") int tamanoPagina) {
+        if (tamanoPagina < 1) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo");
+        }
+        this.recursoRepository = recursoRepository;
+        this.planificadorJdbc = planificadorJdbc;
+        this.tamanoPagina = tamanoPagina;
+    }
+
+    @Override
+    public Flux<Recurso> findAll() {
+        return pagina(0L)
+                .expand(pagina -> pagina.size() < tamanoPagina
+                        ? Mono.empty()
+                        : pagina(pagina.get(pagina.size() - 1).getSecuenciaCambio()))
+                // Se pide una página a la vez para que la contrapresión llegue hasta la consulta
+                .flatMapIterable(Function.identity(), 1);
+    }
+
+    @Override
+    public Flux<Recurso> findByActivoTrue() {
+        return findAll().filter(recurso -> Boolean.TRUE.equals(recurso.getActivo()));
+    }
+
+    @Override
+    public Flux<Recurso> findByNombreContaining(String nombre) {
+        return Mono.fromCallable(() -> recursoRepository.findByNombreContaining(nombre))
+                .subscribeOn(planificadorJdbc)
+                .flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Mono<Recurso> findById(UUID id) {
+        return Mono.fromCallable(() -> recursoRepository.findById(id).orElse(null))
+                .subscribeOn(planificadorJdbc);
+    }
+
+    private Mono<List<Recurso>> pagina(long secuencia) {
+        return Mono.fromCallable(() -> recursoRepository.findCambiadosDesde(secuencia, tamanoPagina))
+                .subscribeOn(planificadorJdbc);
+    }
+}
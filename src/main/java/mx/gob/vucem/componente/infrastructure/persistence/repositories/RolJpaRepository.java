@@ -0,0 +1,24 @@
+package mx.gob.vucem.componente.infrastructure.persistence.repositories;
+
+import mx.gob.vucem.componente.infrastructure.persistence.entities.RolEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositorio JPA para la entidad RolEntity.
+ */
+@Repository
+public interface RolJpaRepository extends JpaRepository<RolEntity, UUID> {
+
+    /**
+     * Obtiene los roles activos con sus permisos en una sola consulta.
+     *
+     * @return Roles activos con permisos inicializados
+     */
+    @Query("select distinct r from RolEntity r left join fetch r.permisos where r.activo = true")
+    List<RolEntity> findActivosConPermisos();
+}
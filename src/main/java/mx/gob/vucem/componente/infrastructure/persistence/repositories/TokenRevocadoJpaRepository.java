@@ -0,0 +1,46 @@
+package mx.gob.vucem.componente.infrastructure.persistence.repositories;
+
+import mx.gob.vucem.componente.infrastructure.persistence.entities.TokenRevocadoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio JPA para los tokens revocados.
+ */
+@Repository
+public interface TokenRevocadoJpaRepository extends JpaRepository<TokenRevocadoEntity, String> {
+
+    /**
+     * Busca las revocaciones de tokens que aún no expiran.
+     *
+     * @param ahora Fecha actual
+     * @return Revocaciones vigentes
+     */
+    List<TokenRevocadoEntity> findByExpiracionAfter(LocalDateTime ahora);
+
+    /**
+     * Busca las revocaciones registradas a partir de una fecha de tokens que aún no expiran.
+     *
+     * @param desde Fecha de revocación (inclusiva)
+     * @param ahora Fecha actual
+     * @return Revocaciones vigentes registradas desde la fecha
+     */
+    List<TokenRevocadoEntity> findByFechaRevocacionGreaterThanEqualAndExpiracionAfter(
+            LocalDateTime desde, LocalDateTime ahora);
+
+    /**
+     * Elimina las revocaciones de tokens ya expirados.
+     *
+     * @param ahora Fecha actual
+     * @return Número de revocaciones eliminadas
+     */
+    @Modifying
+    @Query("delete from TokenRevocadoEntity t where t.expiracion <= :ahora")
+    int deleteExpirados(@Param("ahora") LocalDateTime ahora);
+}
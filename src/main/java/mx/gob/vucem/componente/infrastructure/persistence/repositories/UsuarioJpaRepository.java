@@ -0,0 +1,29 @@
+package mx.gob.vucem.componente.infrastructure.persistence.repositories;
+
+import mx.gob.vucem.componente.infrastructure.persistence.entities.UsuarioEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repositorio JPA para la entidad UsuarioEntity.
+ */
+@Repository
+public interface UsuarioJpaRepository extends JpaRepository<UsuarioEntity, UUID> {
+
+    /**
+     * Busca un usuario con sus roles y permisos en una sola consulta.
+     *
+     * @param username Nombre de usuario
+     * @return Usuario con roles y permisos inicializados
+     */
+    @Query("select distinct u from UsuarioEntity u "
+            + "left join fetch u.roles r "
+            + "left join fetch r.permisos "
+            + "where u.username = :username")
+    Optional<UsuarioEntity> findConRolesYPermisos(@Param("username") String username);
+}
@@ -0,0 +1,88 @@
+package mx.gob.vucem.componente.infrastructure.resiliencia;
+
+import feign.FeignException;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import mx.gob.vucem.componente.domain.exceptions.BusinessException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Clasifica las excepciones que vale la pena reintentar.
+ *
+ * <p>Sólo se reintentan fallas que pueden desaparecer por sí solas: errores de red, tiempos
+ * excedidos, errores transitorios de la base de datos y respuestas HTTP 429, 502, 503 y 504.
+ * Los rechazos locales de un circuit breaker, bulkhead o limitador no se reintentan, pues su
+ * propósito es responder de inmediato, y tampoco los errores de negocio o de validación, que
+ * fallarían igual en el siguiente intento.
+ */
+public final class ClasificadorTransitorios {
+
+    private ClasificadorTransitorios() {
+    }
+
+    /**
+     * Indica si una excepción, o alguna de sus causas, es transitoria.
+     *
+     * @param error Excepción a clasificar
+     * @return true si conviene reintentar la operación
+     */
+    public static boolean esTransitoria(Throwable error) {
+        for (Throwable actual = error; actual != null; actual = actual.getCause()) {
+            if (esRechazoLocal(actual) || actual instanceof BusinessException) {
+                return false;
+            }
+            if (esTransitoriaDirecta(actual)) {
+                return true;
+            }
+            if (actual.getCause() == actual) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static boolean esRechazoLocal(Throwable error) {
+        return error instanceof CallNotPermittedException
+                || error instanceof BulkheadFullException
+                || error instanceof RequestNotPermitted;
+    }
+
+    private static boolean esTransitoriaDirecta(Throwable error) {
+        if (error instanceof RetryableException) {
+            return true;
+        }
+        if (error instanceof FeignException feign) {
+            return esEstadoTransitorio(feign.status());
+        }
+        if (error instanceof WebClientResponseException respuesta) {
+            return esEstadoTransitorio(respuesta.getStatusCode().value());
+        }
+        return error instanceof WebClientRequestException
+                || error instanceof ConnectException
+                || error instanceof NoRouteToHostException
+                || error instanceof SocketException
+                || error instanceof InterruptedIOException
+                || error instanceof TimeoutException
+                || error instanceof TransientDataAccessException
+                || error instanceof RecoverableDataAccessException
+                || error instanceof SQLTransientException
+                || error instanceof SQLRecoverableException;
+    }
+
+    private static boolean esEstadoTransitorio(int estado) {
+        return estado == 429 || estado == 502 || estado == 503 || estado == 504;
+    }
+}
@@ -0,0 +1,195 @@
+package mx.gob.vucem.componente.infrastructure.resiliencia;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Cubetas de tokens por clave, repartidas en franjas y sin bloqueos en el consumo.
+ *
+ * <p>Cada cubeta se representa con un solo {@code long}: el instante teórico en que la
+ * cubeta vuelve a estar llena (algoritmo GCRA, equivalente a una cubeta de tokens). Consumir
+ * un token adelanta ese instante un intervalo de emisión; la solicitud se admite si el
+ * instante no queda más de {@code capacidad} intervalos en el futuro. Así no hace falta un
+ * proceso que reponga tokens, y el consumo es una lectura y un {@code compareAndSet}.
+ *
+ * <p>Una cubeta cuyo instante ya pasó está llena y es indistinguible de una nueva, por lo
+ * que se puede desalojar sin perder información. El desalojo marca la cubeta como retirada
+ * con {@code compareAndSet} antes de quitarla del mapa; un consumo concurrente que encuentra
+ * la marca crea una cubeta nueva en lugar de descontar de la retirada. Las cubetas se
+ * reparten en franjas para que el desalojo en línea, que ocurre cuando una franja supera
+ * {@code maximoClavesPorFranja}, recorra sólo una parte de las claves; con ello las claves
+ * en memoria se acotan al doble de las cubetas que aún no se llenan.
+ */
+public class CubetasTokens {
+
+    private static final long RETIRADA = Long.MIN_VALUE;
+
+    private final long capacidad;
+    private final double porSegundo;
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final int maximoClavesPorFranja;
+    private final LongSupplier reloj;
+    private final Franja[] franjas;
+
+    /**
+     * Crea las cubetas.
+     *
+     * @param capacidad Tokens de una cubeta llena, es decir, solicitudes en ráfaga
+     * @param porSegundo Tokens que se reponen por segundo
+     * @param franjas Número de franjas; se redondea a potencia de dos
+     * @param maximoClavesPorFranja Cubetas por franja a partir de las cuales se desalojan las llenas
+     */
+    public CubetasTokens(long capacidad, double porSegundo, int franjas, int maximoClavesPorFranja) {
+        this(capacidad, porSegundo, franjas, maximoClavesPorFranja, System::nanoTime);
+    }
+
+    CubetasTokens(long capacidad, double porSegundo, int franjas, int maximoClavesPorFranja, LongSupplier reloj) {
+        if (capacidad < 1 || porSegundo <= 0 || franjas < 1 || maximoClavesPorFranja < 1) {
+            throw new IllegalArgumentException("Configuración inválida de las cubetas de tokens");
+        }
+        this.capacidad = capacidad;
+        this.porSegundo = porSegundo;
+        this.intervaloNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / porSegundo));
+        this.toleranciaNanos = capacidad * intervaloNanos;
+        this.maximoClavesPorFranja = maximoClavesPorFranja;
+        this.reloj = reloj;
+        int tamano = 1;
+        while (tamano < Math.min(franjas, 1 << 16)) {
+            tamano <<= 1;
+        }
+        this.franjas = new Franja[tamano];
+        for (int i = 0; i < tamano; i++) {
+            this.franjas[i] = new Franja(maximoClavesPorFranja);
+        }
+    }
+
+    /**
+     * Intenta consumir un token de la cubeta de la clave.
+     *
+     * @param clave Clave del cliente
+     * @return Resultado del consumo
+     */
+    public Consumo consumir(String clave) {
+        long ahora = reloj.getAsLong();
+        Franja franja = franja(clave);
+        while (true) {
+            AtomicLong cubeta = franja.cubetas.get(clave);
+            if (cubeta == null) {
+                cubeta = crear(franja, clave, ahora);
+            }
+            long llena = cubeta.get();
+            if (llena == RETIRADA) {
+                franja.cubetas.remove(clave, cubeta);
+                continue;
+            }
+            long nueva = Math.max(llena, ahora) + intervaloNanos;
+            if (nueva - ahora > toleranciaNanos) {
+                return new Consumo(false, 0, llena - ahora, nueva - ahora - toleranciaNanos);
+            }
+            if (cubeta.compareAndSet(llena, nueva)) {
+                return new Consumo(true, (toleranciaNanos - (nueva - ahora)) / intervaloNanos, nueva - ahora, 0);
+            }
+        }
+    }
+
+    /**
+     * Desaloja las cubetas llenas de todas las franjas.
+     *
+     * @return Número de cubetas desalojadas
+     */
+    public int purgar() {
+        long ahora = reloj.getAsLong();
+        int desalojadas = 0;
+        for (Franja franja : franjas) {
+            desalojadas += limpiar(franja, ahora);
+        }
+        return desalojadas;
+    }
+
+    /**
+     * Obtiene el número de cubetas en memoria.
+     *
+     * @return Número de claves con cubeta
+     */
+    public long getClaves() {
+        long total = 0;
+        for (Franja franja : franjas) {
+            total += franja.cubetas.size();
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene la capacidad de una cubeta.
+     *
+     * @return Tokens de una cubeta llena
+     */
+    public long getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Obtiene la tasa de reposición.
+     *
+     * @return Tokens que se reponen por segundo
+     */
+    public double getPorSegundo() {
+        return porSegundo;
+    }
+
+    private AtomicLong crear(Franja franja, String clave, long ahora) {
+        int umbral = franja.umbralLimpieza.get();
+        if (franja.cubetas.size() >= umbral && franja.umbralLimpieza.compareAndSet(umbral, Integer.MAX_VALUE)) {
+            limpiar(franja, ahora);
+            // Si la mayoría de las cubetas siguen activas, la siguiente limpieza espera a que
+            // la franja duplique su tamaño, de modo que su costo se reparte entre las altas
+            franja.umbralLimpieza.set(Math.max(maximoClavesPorFranja, 2 * franja.cubetas.size()));
+        }
+        // Una cubeta nueva está llena: su instante de llenado es el actual
+        return franja.cubetas.computeIfAbsent(clave, k -> new AtomicLong(ahora));
+    }
+
+    private static int limpiar(Franja franja, long ahora) {
+        int desalojadas = 0;
+        for (Map.Entry<String, AtomicLong> entrada : franja.cubetas.entrySet()) {
+            AtomicLong cubeta = entrada.getValue();
+            long llena = cubeta.get();
+            if (llena != RETIRADA && llena - ahora <= 0 && cubeta.compareAndSet(llena, RETIRADA)) {
+                franja.cubetas.remove(entrada.getKey(), cubeta);
+                desalojadas++;
+            }
+        }
+        return desalojadas;
+    }
+
+    private Franja franja(String clave) {
+        // Bits altos de un hash multiplicativo: ConcurrentHashMap usa los bajos dentro de la franja
+        int hash = clave.hashCode() * 0x9E3779B9;
+        return franjas[(hash >>> 16) & (franjas.length - 1)];
+    }
+
+    private static final class Franja {
+        private final ConcurrentHashMap<String, AtomicLong> cubetas = new ConcurrentHashMap<>();
+        private final AtomicInteger umbralLimpieza;
+
+        private Franja(int umbralLimpieza) {
+            this.umbralLimpieza = new AtomicInteger(umbralLimpieza);
+        }
+    }
+
+    /**
+     * Resultado de consumir un token.
+     *
+     * @param permitido Si se admitió la solicitud
+     * @param restantes Tokens que quedan en la cubeta
+     * @param nanosParaLlenarse Tiempo hasta que la cubeta vuelve a estar llena
+     * @param nanosParaReintentar Tiempo hasta que hay un token disponible, 0 si se admitió
+     */
+    public record Consumo(boolean permitido, long restantes, long nanosParaLlenarse, long nanosParaReintentar) {
+    }
+}
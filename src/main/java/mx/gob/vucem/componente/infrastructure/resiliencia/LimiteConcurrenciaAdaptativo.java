@@ -0,0 +1,191 @@
+package mx.gob.vucem.componente.infrastructure.resiliencia;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite de concurrencia que se ajusta según la latencia medida, con el algoritmo de
+ * gradiente de los limitadores tipo Vegas.
+ *
+ * <p>Se comparan dos latencias: la latencia sin cola, estimada con la mínima observada, y
+ * el promedio de la ventana actual. Al cerrar cada ventana:
+ *
+ * <pre>
+ * gradiente = max(0.5, min(1, tolerancia * latenciaSinCola / latenciaVentana))
+ * nuevo     = limite * gradiente + sqrt(limite)
+ * limite    = limite * (1 - suavizado) + nuevo * suavizado
+ * </pre>
+ *
+ * <p>Mientras la latencia no crece el gradiente es 1 y el límite sube con la raíz del límite
+ * actual; cuando las solicitudes empiezan a formarse, el promedio de la ventana supera a la
+ * latencia sin cola y el límite baja hasta que la cola se reduce. Si el tráfico no llega ni
+ * a la mitad del límite la ventana no lo modifica, pues no informa sobre la capacidad. La
+ * latencia sin cola se vuelve a estimar en cada época de {@value #VENTANAS_POR_EPOCA}
+ * ventanas, para seguir un cambio permanente del servicio.
+ *
+ * <p>La adquisición de permisos no usa bloqueos; el registro de la latencia se sincroniza,
+ * pero sólo acumula la muestra salvo al cerrar una ventana.
+ */
+public class LimiteConcurrenciaAdaptativo {
+
+    private static final double GRADIENTE_MINIMO = 0.5;
+    private static final int VENTANAS_POR_EPOCA = 60;
+
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final double tolerancia;
+    private final double suavizado;
+    private final int muestrasPorVentana;
+    private final long duracionVentanaNanos;
+    private final LongSupplier reloj;
+    private final AtomicInteger enCurso = new AtomicInteger();
+
+    private volatile double limite;
+    private long inicioVentana;
+    private long sumaLatencias;
+    private long minimoVentana = Long.MAX_VALUE;
+    private int muestras;
+    private int maximoEnCurso;
+    private long latenciaSinCola = Long.MAX_VALUE;
+    private long minimoEpoca = Long.MAX_VALUE;
+    private int ventanasEpoca;
+
+    /**
+     * Crea un límite adaptativo.
+     *
+     * @param limiteInicial Límite al arrancar
+     * @param limiteMinimo Límite mínimo
+     * @param limiteMaximo Límite máximo
+     * @param tolerancia Aumento de latencia tolerado antes de reducir el límite, por ejemplo 1.5
+     * @param suavizado Peso del nuevo límite en cada ajuste, entre 0 y 1
+     * @param muestrasPorVentana Muestras mínimas para cerrar una ventana
+     * @param duracionVentanaNanos Duración mínima de una ventana
+     */
+    public LimiteConcurrenciaAdaptativo(int limiteInicial, int limiteMinimo, int limiteMaximo, double tolerancia,
+                                        double suavizado, int muestrasPorVentana, long duracionVentanaNanos) {
+        this(limiteInicial, limiteMinimo, limiteMaximo, tolerancia, suavizado, muestrasPorVentana,
+                duracionVentanaNanos, System::nanoTime);
+    }
+
+    LimiteConcurrenciaAdaptativo(int limiteInicial, int limiteMinimo, int limiteMaximo, double tolerancia,
+                                 double suavizado, int muestrasPorVentana, long duracionVentanaNanos,
+                                 LongSupplier reloj) {
+        if (limiteMinimo < 1 || limiteMaximo < limiteMinimo || tolerancia < 1 || suavizado <= 0 || suavizado > 1) {
+            throw new IllegalArgumentException("Configuración inválida del límite de concurrencia");
+        }
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.tolerancia = tolerancia;
+        this.suavizado = suavizado;
+        this.muestrasPorVentana = Math.max(1, muestrasPorVentana);
+        this.duracionVentanaNanos = duracionVentanaNanos;
+        this.reloj = reloj;
+        this.limite = Math.max(limiteMinimo, Math.min(limiteMaximo, limiteInicial));
+        this.inicioVentana = reloj.getAsLong();
+    }
+
+    /**
+     * Intenta ocupar un lugar dentro del límite.
+     *
+     * @return Solicitudes en curso incluyendo la nueva, o -1 si se alcanzó el límite
+     */
+    public int intentarAdquirir() {
+        int actual;
+        do {
+            actual = enCurso.get();
+            if (actual >= (int) limite) {
+                return -1;
+            }
+        } while (!enCurso.compareAndSet(actual, actual + 1));
+        return actual + 1;
+    }
+
+    /**
+     * Libera un lugar y registra la latencia de la solicitud.
+     *
+     * @param latenciaNanos Latencia de la solicitud
+     * @param enCursoAlIniciar Solicitudes en curso cuando inició, según {@link #intentarAdquirir()}
+     */
+    public void liberar(long latenciaNanos, int enCursoAlIniciar) {
+        enCurso.decrementAndGet();
+        registrarMuestra(latenciaNanos, enCursoAlIniciar);
+    }
+
+    /**
+     * Libera un lugar sin registrar latencia, para solicitudes cuya duración no refleja la
+     * capacidad del servicio, como las que fallaron o continúan de forma asíncrona.
+     */
+    public void liberarSinMuestra() {
+        enCurso.decrementAndGet();
+    }
+
+    /**
+     * Obtiene el límite actual.
+     *
+     * @return Límite de solicitudes concurrentes
+     */
+    public int getLimite() {
+        return (int) limite;
+    }
+
+    /**
+     * Obtiene las solicitudes en curso.
+     *
+     * @return Solicitudes en curso
+     */
+    public int getEnCurso() {
+        return enCurso.get();
+    }
+
+    /**
+     * Obtiene la latencia sin cola estimada.
+     *
+     * @return Latencia en nanosegundos, o 0 si aún no hay muestras
+     */
+    public synchronized long getLatenciaSinColaNanos() {
+        return latenciaSinCola == Long.MAX_VALUE ? 0 : latenciaSinCola;
+    }
+
+    private synchronized void registrarMuestra(long latenciaNanos, int enCursoAlIniciar) {
+        sumaLatencias += latenciaNanos;
+        minimoVentana = Math.min(minimoVentana, latenciaNanos);
+        muestras++;
+        maximoEnCurso = Math.max(maximoEnCurso, enCursoAlIniciar);
+        long ahora = reloj.getAsLong();
+        if (muestras < muestrasPorVentana || ahora - inicioVentana < duracionVentanaNanos) {
+            return;
+        }
+        actualizarLatenciaSinCola(minimoVentana);
+        ajustar((double) sumaLatencias / muestras, maximoEnCurso);
+        inicioVentana = ahora;
+        sumaLatencias = 0;
+        minimoVentana = Long.MAX_VALUE;
+        muestras = 0;
+        maximoEnCurso = 0;
+    }
+
+    private void actualizarLatenciaSinCola(long minimo) {
+        latenciaSinCola = Math.min(latenciaSinCola, minimo);
+        minimoEpoca = Math.min(minimoEpoca, minimo);
+        if (++ventanasEpoca >= VENTANAS_POR_EPOCA) {
+            // La nueva época parte del mínimo de la anterior, que puede ser mayor que el histórico
+            latenciaSinCola = minimoEpoca;
+            minimoEpoca = Long.MAX_VALUE;
+            ventanasEpoca = 0;
+        }
+    }
+
+    private void ajustar(double latenciaVentana, int enCursoVentana) {
+        if (latenciaVentana <= 0) {
+            return;
+        }
+        double actual = limite;
+        if (enCursoVentana < actual / 2) {
+            return;
+        }
+        double gradiente = Math.max(GRADIENTE_MINIMO, Math.min(1.0, tolerancia * latenciaSinCola / latenciaVentana));
+        double nuevo = actual * gradiente + Math.sqrt(actual);
+        nuevo = actual * (1 - suavizado) + nuevo * suavizado;
+        limite = Math.max(limiteMinimo, Math.min(limiteMaximo, nuevo));
+    }
+}
@@ -0,0 +1,140 @@
+package mx.gob.vucem.componente.infrastructure.resiliencia;
+
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Reintentos hacia dependencias externas con espera exponencial con jitter completo y un
+ * presupuesto de reintentos compartido por dependencia.
+ *
+ * <p>Cada dependencia tiene su propio {@link Retry}, creado a partir de la configuración por
+ * defecto del {@link RetryRegistry}, y su propio {@link PresupuestoReintentos}. Un error se
+ * reintenta sólo si {@link ClasificadorTransitorios} lo considera transitorio y el
+ * presupuesto tiene tokens:
+ *
+ * <pre>{@code
+ * Respuesta respuesta = politicaReintentos.ejecutar("catalogos", () -> cliente.consultar(clave));
+ * }</pre>
+ */
+@Component
+@RequiredArgsConstructor
+public class PoliticaReintentos {
+
+    private final RetryRegistry retryRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${vucem.reintentos.presupuesto.porcentaje:0.1}")
+    private double porcentaje;
+
+    @Value("${vucem.reintentos.presupuesto.capacidad:20}")
+    private int capacidad;
+
+    @Value("${vucem.reintentos.presupuesto.minimo-por-segundo:2}")
+    private int minimoPorSegundo;
+
+    private final Map<String, Dependencia> dependencias = new ConcurrentHashMap<>();
+
+    /**
+     * Crea la función de espera exponencial con jitter completo: antes del intento n se
+     * espera un tiempo aleatorio entre cero y {@code min(maxima, base * 2^(n-1))}, de modo
+     * que los clientes que fallaron juntos no reintenten al mismo tiempo.
+     *
+     * @param base Espera máxima antes del primer reintento
+     * @param maxima Tope de la espera
+     * @return Función de espera para {@link RetryConfig}
+     */
+    public static IntervalFunction esperaConJitterCompleto(Duration base, Duration maxima) {
+        long baseMs = Math.max(1, base.toMillis());
+        long maximaMs = Math.max(baseMs, maxima.toMillis());
+        return intento -> {
+            int exponente = Math.min(Math.max(intento, 1) - 1, 30);
+            long tope = Math.min(maximaMs, baseMs << exponente);
+            return ThreadLocalRandom.current().nextLong(tope + 1);
+        };
+    }
+
+    /**
+     * Ejecuta una llamada a una dependencia con reintentos sujetos a su presupuesto.
+     *
+     * @param <T> Tipo del resultado
+     * @param dependencia Nombre de la dependencia
+     * @param llamada Llamada a la dependencia
+     * @return Resultado de la llamada
+     */
+    public <T> T ejecutar(String dependencia, Supplier<T> llamada) {
+        Dependencia registrada = dependencias.computeIfAbsent(dependencia, this::registrar);
+        registrada.presupuesto().registrarSolicitud();
+        return registrada.reintento().executeSupplier(llamada);
+    }
+
+    /**
+     * Obtiene el presupuesto de reintentos de una dependencia.
+     *
+     * @param dependencia Nombre de la dependencia
+     * @return Presupuesto de la dependencia
+     */
+    public PresupuestoReintentos presupuesto(String dependencia) {
+        return dependencias.computeIfAbsent(dependencia, this::registrar).presupuesto();
+    }
+
+    private Dependencia registrar(String dependencia) {
+        PresupuestoReintentos presupuesto = new PresupuestoReintentos(porcentaje, capacidad, minimoPorSegundo);
+        Counter permitidos = Counter.builder("vucem.reintentos.presupuesto.permitidos")
+                .description("Reintentos permitidos por el presupuesto")
+                .tag("dependencia", dependencia)
+                .register(meterRegistry);
+        Counter rechazados = Counter.builder("vucem.reintentos.presupuesto.rechazados")
+                .description("Reintentos descartados por falta de presupuesto")
+                .tag("dependencia", dependencia)
+                .register(meterRegistry);
+        Gauge.builder("vucem.reintentos.presupuesto.utilizacion", presupuesto, PresupuestoReintentos::getUtilizacion)
+                .description("Fracción del presupuesto de reintentos en uso")
+                .tag("dependencia", dependencia)
+                .register(meterRegistry);
+        Gauge.builder("vucem.reintentos.presupuesto.disponibles", presupuesto, PresupuestoReintentos::getDisponibles)
+                .description("Reintentos disponibles en el presupuesto")
+                .tag("dependencia", dependencia)
+                .register(meterRegistry);
+
+        RetryConfig config = RetryConfig.from(retryRegistry.getDefaultConfig())
+                .retryOnException(error -> {
+                    if (!ClasificadorTransitorios.esTransitoria(error)) {
+                        return false;
+                    }
+                    if (presupuesto.puedeReintentar()) {
+                        return true;
+                    }
+                    rechazados.increment();
+                    return false;
+                })
+                .build();
+        Retry reintento = retryRegistry.retry(dependencia, config);
+        // Retry evalúa el predicado también tras el último intento; el token se consume sólo
+        // cuando el reintento realmente ocurre
+        reintento.getEventPublisher().onRetry(evento -> {
+            presupuesto.registrarReintento();
+            permitidos.increment();
+        });
+        return new Dependencia(reintento, presupuesto);
+    }
+
+    /**
+     * Retry y presupuesto de una dependencia.
+     */
+    private record Dependencia(Retry reintento, PresupuestoReintentos presupuesto) {
+    }
+}
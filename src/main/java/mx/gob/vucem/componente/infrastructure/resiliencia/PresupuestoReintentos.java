@@ -0,0 +1,122 @@
+package mx.gob.vucem.componente.infrastructure.resiliencia;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Cubeta de tokens que limita los reintentos hacia una dependencia a un porcentaje del
+ * tráfico normal.
+ *
+ * <p>Cada solicitud original deposita una fracción de token y cada reintento retira uno
+ * completo, de modo que con un porcentaje de 0.1 a lo más una de cada diez solicitudes
+ * puede reintentarse. Además se recarga un mínimo de tokens por segundo para que un
+ * tráfico bajo aún pueda reintentar. Durante una caída el presupuesto se agota y los
+ * reintentos se detienen, en lugar de multiplicar la carga sobre la dependencia.
+ *
+ * <p>Los tokens se guardan en milésimas dentro de un {@link AtomicLong} y se actualizan sin
+ * bloqueos.
+ */
+public class PresupuestoReintentos {
+
+    private static final long ESCALA = 1000;
+
+    private final long capacidad;
+    private final long deposito;
+    private final long nanosPorUnidad;
+    private final LongSupplier reloj;
+    private final AtomicLong tokens;
+    private final AtomicLong ultimaRecarga;
+
+    /**
+     * Crea un presupuesto lleno.
+     *
+     * @param porcentaje Fracción de las solicitudes que puede reintentarse, entre 0 y 1
+     * @param capacidad Máximo de reintentos acumulables
+     * @param minimoPorSegundo Reintentos por segundo permitidos aunque no haya tráfico
+     */
+    public PresupuestoReintentos(double porcentaje, int capacidad, int minimoPorSegundo) {
+        this(porcentaje, capacidad, minimoPorSegundo, System::nanoTime);
+    }
+
+    PresupuestoReintentos(double porcentaje, int capacidad, int minimoPorSegundo, LongSupplier reloj) {
+        if (porcentaje < 0 || porcentaje > 1 || capacidad < 1 || minimoPorSegundo < 0) {
+            throw new IllegalArgumentException("Configuración inválida del presupuesto de reintentos");
+        }
+        this.capacidad = capacidad * ESCALA;
+        this.deposito = Math.round(porcentaje * ESCALA);
+        this.nanosPorUnidad = minimoPorSegundo > 0 ? TimeUnit.SECONDS.toNanos(1) / (minimoPorSegundo * ESCALA) : 0;
+        this.reloj = reloj;
+        this.tokens = new AtomicLong(this.capacidad);
+        this.ultimaRecarga = new AtomicLong(reloj.getAsLong());
+    }
+
+    /**
+     * Registra una solicitud original hacia la dependencia.
+     */
+    public void registrarSolicitud() {
+        depositar(deposito);
+    }
+
+    /**
+     * Indica si el presupuesto tiene al menos un token para reintentar.
+     *
+     * @return true si el presupuesto permite un reintento
+     */
+    public boolean puedeReintentar() {
+        recargar();
+        return tokens.get() >= ESCALA;
+    }
+
+    /**
+     * Consume un token por un reintento que se va a realizar. Los reintentos concurrentes
+     * pueden dejar el saldo ligeramente negativo; se repone con las siguientes solicitudes.
+     */
+    public void registrarReintento() {
+        tokens.addAndGet(-ESCALA);
+    }
+
+    /**
+     * Obtiene los reintentos disponibles.
+     *
+     * @return Tokens disponibles
+     */
+    public double getDisponibles() {
+        recargar();
+        return (double) tokens.get() / ESCALA;
+    }
+
+    /**
+     * Obtiene la fracción del presupuesto en uso, de 0 (lleno) a 1 (agotado).
+     *
+     * @return Utilización del presupuesto
+     */
+    public double getUtilizacion() {
+        recargar();
+        return Math.min(1, 1 - (double) tokens.get() / capacidad);
+    }
+
+    private void recargar() {
+        if (nanosPorUnidad == 0) {
+            return;
+        }
+        long anterior = ultimaRecarga.get();
+        long unidades = (reloj.getAsLong() - anterior) / nanosPorUnidad;
+        // Sólo el hilo que avanza la marca de tiempo deposita las unidades transcurridas
+        if (unidades > 0 && ultimaRecarga.compareAndSet(anterior, anterior + unidades * nanosPorUnidad)) {
+            depositar(unidades);
+        }
+    }
+
+    private void depositar(long unidades) {
+        long actual;
+        long nuevo;
+        do {
+            actual = tokens.get();
+            nuevo = Math.min(capacidad, actual + unidades);
+            if (nuevo == actual) {
+                return;
+            }
+        } while (!tokens.compareAndSet(actual, nuevo));
+    }
+}
@@ -0,0 +1,50 @@
+package mx.gob.vucem.componente.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reclamaciones de un token JWT cuya firma, emisor y vigencia ya fueron verificados.
+ *
+ * <p>Es inmutable, por lo que puede conservarse en caché y compartirse entre solicitudes
+ * hasta la expiración del token.
+ *
+ * @param usuario Sujeto del token
+ * @param id Identificador único del token (JTI)
+ * @param expiracion Instante de expiración del token
+ * @param permisos Máscara de permisos ({@link PermisoSistema}) al emitirse el token, o null si no
+ *                 la incluye; es informativa y no se usa para autorizar
+ * @param claims Todas las reclamaciones del token, de sólo lectura
+ */
+public record ClaimsVerificados(String usuario, String id, Instant expiracion, Long permisos,
+                                Map<String, Object> claims) {
+
+    /**
+     * Crea las reclamaciones verificadas a partir del cuerpo de un token ya validado.
+     *
+     * @param claims Reclamaciones del token
+     * @return Reclamaciones verificadas
+     */
+    static ClaimsVerificados de(Claims claims) {
+        return new ClaimsVerificados(
+                claims.getSubject(),
+                claims.getId(),
+                claims.getExpiration().toInstant(),
+                claims.get(JwtService.CLAIM_PERMISOS) instanceof Number mascara ? mascara.longValue() : null,
+                Collections.unmodifiableMap(new HashMap<>(claims)));
+    }
+
+    /**
+     * Indica si el token sigue vigente.
+     *
+     * @param ahora Instante de referencia
+     * @return true si el token no ha expirado
+     */
+    public boolean vigente(Instant ahora) {
+        return expiracion.isAfter(ahora);
+    }
+}
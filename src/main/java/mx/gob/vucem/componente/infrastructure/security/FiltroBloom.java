@@ -0,0 +1,115 @@
+package mx.gob.vucem.componente.infrastructure.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de cadenas, seguro para agregar y consultar desde varios hilos.
+ *
+ * <p>Una respuesta negativa es definitiva; una positiva puede ser un falso positivo y debe
+ * confirmarse contra el conjunto exacto. Las posiciones se derivan de un hash de 64 bits con
+ * doble hashing, por lo que una consulta cuesta sólo {@link #getNumeroHashes()} pruebas de bits.
+ */
+final class FiltroBloom {
+
+    private static final int BITS_MINIMOS = 64;
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long numeroBits;
+    private final int numeroHashes;
+    private final long capacidad;
+    private final AtomicInteger elementos = new AtomicInteger();
+
+    /**
+     * Crea un filtro dimensionado para una capacidad y una tasa de falsos positivos.
+     *
+     * @param capacidad Número esperado de elementos
+     * @param tasaFalsosPositivos Tasa de falsos positivos deseada con la capacidad completa
+     */
+    FiltroBloom(long capacidad, double tasaFalsosPositivos) {
+        long n = Math.max(1, capacidad);
+        long m = (long) Math.ceil(-n * Math.log(tasaFalsosPositivos) / (LN2 * LN2));
+        m = Math.min(Math.max(m, BITS_MINIMOS), Integer.MAX_VALUE);
+        this.numeroBits = (m + Long.SIZE - 1) / Long.SIZE * Long.SIZE;
+        this.numeroHashes = (int) Math.max(1, Math.round((double) numeroBits / n * LN2));
+        this.bits = new AtomicLongArray((int) (numeroBits / Long.SIZE));
+        this.capacidad = n;
+    }
+
+    /**
+     * Agrega un valor al filtro.
+     *
+     * @param valor Valor a agregar
+     */
+    void agregar(String valor) {
+        long hash = hash(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numeroHashes; i++) {
+            long posicion = posicion(h1, h2, i);
+            long mascara = 1L << posicion;
+            int indice = (int) (posicion >>> 6);
+            if ((bits.get(indice) & mascara) == 0) {
+                bits.getAndAccumulate(indice, mascara, (actual, bit) -> actual | bit);
+            }
+        }
+        elementos.incrementAndGet();
+    }
+
+    /**
+     * Indica si el valor pudo haberse agregado.
+     *
+     * @param valor Valor a consultar
+     * @return false si el valor no se agregó; true si pudo agregarse
+     */
+    boolean puedeContener(String valor) {
+        long hash = hash(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numeroHashes; i++) {
+            long posicion = posicion(h1, h2, i);
+            if ((bits.get((int) (posicion >>> 6)) & (1L << posicion)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indica si el filtro ya recibió más elementos que su capacidad, con lo que la tasa de
+     * falsos positivos supera la configurada.
+     *
+     * @return true si el filtro está saturado
+     */
+    boolean saturado() {
+        return elementos.get() > capacidad;
+    }
+
+    int getNumeroHashes() {
+        return numeroHashes;
+    }
+
+    private long posicion(int h1, int h2, int i) {
+        int combinado = h1 + i * h2;
+        return Math.floorMod(combinado < 0 ? ~combinado : combinado, numeroBits);
+    }
+
+    /**
+     * Hash FNV-1a de 64 bits con mezcla final, suficiente para distribuir identificadores
+     * aleatorios como los JTI.
+     */
+    private static long hash(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            hash ^= valor.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -1,11 +1,17 @@
 package mx.gob.vucem.componente.infrastructure.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -14,19 +20,34 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 
 /**
  * Servicio para la gestión de tokens JWT con implementación mejorada de seguridad.
+ *
+ * <p>Los tokens se verifican con un único parser construido al iniciar. Las reclamaciones
+ * verificadas se conservan en una caché acotada, indexada por la huella SHA-256 del token,
+ * hasta la expiración del propio token; así un token repetido no vuelve a verificar su firma.
+ *
+ * <p>Cada token incluye en la reclamación {@value #CLAIM_PERMISOS} la máscara de permisos del
+ * usuario al momento de emitirse. Es sólo informativa para los clientes: la autorización usa la
+ * máscara de las autoridades vigentes del usuario, para que un permiso retirado no siga
+ * autorizando hasta que el token expire.
+ * Los tokens revocados en {@link RegistroRevocaciones} se rechazan aunque sigan en la caché.
  */
 @Service
 @RequiredArgsConstructor
@@ -34,6 +55,11 @@ public class JwtService {
     private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
     private static final int MINIMUM_KEY_LENGTH_BYTES = 32; // 256 bits (requisito mínimo para HMAC-SHA256)
 
+    /**
+     * Reclamación informativa con la máscara de permisos del usuario al emitirse el token.
+     */
+    public static final String CLAIM_PERMISOS = "pm";
+
     @Value("${vucem.seguridad.jwt.secret:${JWT_SECRET:}}")
     private String secretKey;
 
@@ -46,13 +72,39 @@ public class JwtService {
     @Value("${vucem.seguridad.jwt.audience:api}")
     private String audience;
 
+    @Value("${vucem.seguridad.jwt.cache-maximo:10000}")
+    private long cacheMaximo;
+
+    private final MeterRegistry meterRegistry;
+    private final MatrizPermisos matrizPermisos;
+    private final RegistroRevocaciones registroRevocaciones;
+
     private Key signingKey;
+    private JwtParser parser;
+    private Cache<String, ClaimsVerificados> verificados;
 
     /**
-     * Inicializa la clave de firma del token con manejo robusto de errores.
+     * Inicializa la clave de firma, el parser y la caché de tokens verificados.
      */
     @PostConstruct
     public void init() {
+        inicializarClave();
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .requireIssuer(issuer)
+                .build();
+        this.verificados = Caffeine.newBuilder()
+                .maximumSize(cacheMaximo)
+                .expireAfter(new ExpiracionToken())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verificados, "jwt.verificados");
+    }
+
+    /**
+     * Inicializa la clave de firma del token con manejo robusto de errores.
+     */
+    private void inicializarClave() {
         try {
             // Verificar si la clave secreta fue proporcionada y es válida
             if (secretKey != null && !secretKey.trim().isEmpty()) {
@@ -103,14 +155,65 @@ public class JwtService {
         }
     }
 
+    /**
+     * Verifica un token JWT una sola vez: firma, emisor y vigencia. Si el token ya fue
+     * verificado y sigue vigente, se reutilizan sus reclamaciones sin repetir la verificación.
+     * En ambos casos se rechaza el token si fue revocado.
+     *
+     * @param token Token JWT
+     * @return Reclamaciones verificadas o vacío si el token es inválido
+     */
+    public Optional<ClaimsVerificados> verificar(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String huella = huella(token);
+        ClaimsVerificados verificado = verificados.getIfPresent(huella);
+        if (verificado == null || !verificado.vigente(Instant.now())) {
+            verificado = verificarFirma(token);
+            if (verificado == null) {
+                return Optional.empty();
+            }
+            verificados.put(huella, verificado);
+        }
+        if (registroRevocaciones.estaRevocado(verificado.id())) {
+            logger.warn("Token JWT revocado: {}", verificado.id());
+            return Optional.empty();
+        }
+        return Optional.of(verificado);
+    }
+
+    /**
+     * Verifica la firma, el emisor y la vigencia de un token.
+     *
+     * @param token Token JWT
+     * @return Reclamaciones verificadas o null si el token es inválido
+     */
+    private ClaimsVerificados verificarFirma(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                logger.warn("Token JWT sin sujeto o expiración");
+                return null;
+            }
+            return ClaimsVerificados.de(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.warn("Token JWT inválido: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Extrae el nombre de usuario del token JWT.
      *
      * @param token Token JWT
      * @return Nombre de usuario
+     * @throws JwtException si el token es inválido
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verificar(token)
+                .map(ClaimsVerificados::usuario)
+                .orElseThrow(() -> new JwtException("Token JWT inválido"));
     }
 
     /**
@@ -137,7 +240,8 @@ public class JwtService {
     }
 
     /**
-     * Genera un token JWT para un usuario con reclamaciones adicionales.
+     * Genera un token JWT para un usuario con reclamaciones adicionales. Si las reclamaciones
+     * no incluyen la máscara de permisos, se calcula a partir de las autoridades del usuario.
      *
      * @param extraClaims Reclamaciones adicionales
      * @param userDetails Detalles del usuario
@@ -145,9 +249,11 @@ public class JwtService {
      */
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         Instant now = Instant.now();
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.putIfAbsent(CLAIM_PERMISOS, matrizPermisos.mascara(userDetails.getAuthorities()));
 
         return Jwts.builder()
-                .setClaims(extraClaims)
+                .setClaims(claims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(Date.from(now))
                 .setNotBefore(Date.from(now))  // El token no es válido antes de ahora
@@ -167,61 +273,56 @@ public class JwtService {
      * @return true si el token es válido, false en caso contrario
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        try {
-            final String username = extractUsername(token);
-            return username != null &&
-                    username.equals(userDetails.getUsername()) &&
-                    !isTokenExpired(token) &&
-                    validateTokenIssuer(token);
-        } catch (JwtException | IllegalArgumentException e) {
-            logger.warn("Token JWT inválido: {}", e.getMessage());
-            return false;
-        }
+        return verificar(token)
+                .map(claims -> claims.usuario().equals(userDetails.getUsername()))
+                .orElse(false);
     }
 
     /**
-     * Valida el emisor del token.
+     * Extrae todas las reclamaciones de un token JWT.
      *
      * @param token Token JWT
-     * @return true si el emisor es válido
+     * @return Reclamaciones
+     * @throws JwtException si el token es inválido
      */
-    private boolean validateTokenIssuer(String token) {
-        String tokenIssuer = extractClaim(token, Claims::getIssuer);
-        return issuer.equals(tokenIssuer);
+    private Claims extractAllClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     /**
-     * Verifica si un token JWT ha expirado.
+     * Calcula la huella del token que sirve como llave de la caché, para no conservar
+     * los tokens completos en memoria.
      *
      * @param token Token JWT
-     * @return true si el token ha expirado, false en caso contrario
+     * @return Huella SHA-256 en Base64
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static String huella(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
     }
 
     /**
-     * Extrae la fecha de expiración de un token JWT.
-     *
-     * @param token Token JWT
-     * @return Fecha de expiración
+     * Conserva cada entrada de la caché hasta la expiración del token que la originó.
      */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
+    private static final class ExpiracionToken implements Expiry<String, ClaimsVerificados> {
 
-    /**
-     * Extrae todas las reclamaciones de un token JWT.
-     *
-     * @param token Token JWT
-     * @return Reclamaciones
-     * @throws JwtException si el token es inválido
-     */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        @Override
+        public long expireAfterCreate(String huella, ClaimsVerificados claims, long tiempoActual) {
+            return Math.max(0, Duration.between(Instant.now(), claims.expiracion()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String huella, ClaimsVerificados claims, long tiempoActual, long duracionActual) {
+            return expireAfterCreate(huella, claims, tiempoActual);
+        }
+
+        @Override
+        public long expireAfterRead(String huella, ClaimsVerificados claims, long tiempoActual, long duracionActual) {
+            return duracionActual;
+        }
     }
-}
\ No newline at end of file
+}
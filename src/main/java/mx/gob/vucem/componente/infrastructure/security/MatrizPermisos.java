@@ -0,0 +1,117 @@
+package mx.gob.vucem.componente.infrastructure.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.infrastructure.persistence.entities.PermisoEntity;
+import mx.gob.vucem.componente.infrastructure.persistence.entities.RolEntity;
+import mx.gob.vucem.componente.infrastructure.persistence.repositories.RolJpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Matriz compilada de roles a máscaras de permisos.
+ *
+ * <p>La asignación de {@code roles_permisos} se compila en un mapa inmutable de
+ * {@code ROLE_<nombre>} a la máscara de bits de sus permisos activos ({@link PermisoSistema}).
+ * La matriz se vuelve a compilar periódicamente y sólo se reemplaza si cambió, por lo que las
+ * consultas nunca ven una matriz a medio construir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MatrizPermisos {
+
+    /**
+     * Rol del usuario de sistema, que tiene todos los permisos.
+     */
+    static final String ROL_SISTEMA = "ROLE_SYSTEM";
+
+    private static final String PREFIJO_ROL = "ROLE_";
+
+    private final RolJpaRepository rolJpaRepository;
+
+    private volatile Map<String, Long> mascarasPorRol = Map.of();
+
+    /**
+     * Compila la matriz al iniciar. Si la base de datos no está disponible, la matriz queda
+     * vacía hasta el siguiente refresco.
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            refrescar();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo compilar la matriz de permisos al iniciar: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Vuelve a compilar la matriz desde las tablas de roles y permisos y la reemplaza si cambió.
+     */
+    @Scheduled(fixedDelayString = "${vucem.seguridad.permisos.intervalo-refresco-ms:60000}",
+            initialDelayString = "${vucem.seguridad.permisos.intervalo-refresco-ms:60000}")
+    public void refrescar() {
+        Map<String, Long> compilada = new HashMap<>();
+        for (RolEntity rol : rolJpaRepository.findActivosConPermisos()) {
+            long mascara = 0;
+            for (PermisoEntity permiso : rol.getPermisos()) {
+                PermisoSistema permisoSistema = PermisoSistema.buscar(permiso.getNombre());
+                if (permisoSistema == null) {
+                    log.debug("Permiso sin bit asignado: {}", permiso.getNombre());
+                } else if (Boolean.TRUE.equals(permiso.getActivo())) {
+                    mascara |= permisoSistema.getBit();
+                }
+            }
+            compilada.put(PREFIJO_ROL + rol.getNombre(), mascara);
+        }
+        if (!compilada.equals(mascarasPorRol)) {
+            mascarasPorRol = Map.copyOf(compilada);
+            log.info("Matriz de permisos actualizada: {} roles", compilada.size());
+        }
+    }
+
+    /**
+     * Obtiene la máscara de permisos de un rol.
+     *
+     * @param rol Rol con prefijo, por ejemplo ROLE_ADMINISTRADOR
+     * @return Máscara de permisos del rol, o 0 si el rol no existe o está inactivo
+     */
+    public long mascaraDeRol(String rol) {
+        if (ROL_SISTEMA.equals(rol)) {
+            return PermisoSistema.TODOS;
+        }
+        return mascarasPorRol.getOrDefault(rol, 0L);
+    }
+
+    /**
+     * Calcula la máscara de permisos de un conjunto de autoridades: la unión de las máscaras
+     * de sus roles y de los permisos asignados directamente.
+     *
+     * @param autoridades Autoridades del usuario
+     * @return Máscara de permisos
+     */
+    public long mascara(Collection<? extends GrantedAuthority> autoridades) {
+        long mascara = 0;
+        for (GrantedAuthority autoridad : autoridades) {
+            String nombre = autoridad.getAuthority();
+            if (nombre == null) {
+                continue;
+            }
+            if (nombre.startsWith(PREFIJO_ROL)) {
+                mascara |= mascaraDeRol(nombre);
+            } else {
+                PermisoSistema permiso = PermisoSistema.buscar(nombre);
+                if (permiso != null) {
+                    mascara |= permiso.getBit();
+                }
+            }
+        }
+        return mascara;
+    }
+}
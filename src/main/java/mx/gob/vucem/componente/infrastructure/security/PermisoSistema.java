@@ -0,0 +1,79 @@
+package mx.gob.vucem.componente.infrastructure.security;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Permisos del componente, con la posición de su bit en la máscara de permisos.
+ *
+ * <p>Los nombres corresponden a la tabla {@code permisos}. La posición de cada permiso es
+ * parte del formato de los tokens emitidos, por lo que no debe cambiar: los permisos nuevos se
+ * agregan al final.
+ */
+public enum PermisoSistema {
+
+    RECURSOS_LEER(0),
+    RECURSOS_CREAR(1),
+    RECURSOS_ACTUALIZAR(2),
+    RECURSOS_ELIMINAR(3),
+    USUARIOS_ADMINISTRAR(4);
+
+    /**
+     * Máscara con todos los permisos.
+     */
+    public static final long TODOS = mascara(List.of(values()));
+
+    private final long bit;
+
+    PermisoSistema(int posicion) {
+        this.bit = 1L << posicion;
+    }
+
+    /**
+     * Obtiene el bit del permiso.
+     *
+     * @return Máscara con sólo este permiso
+     */
+    public long getBit() {
+        return bit;
+    }
+
+    /**
+     * Indica si una máscara incluye este permiso.
+     *
+     * @param mascara Máscara de permisos
+     * @return true si el bit del permiso está encendido
+     */
+    public boolean presenteEn(long mascara) {
+        return (mascara & bit) != 0;
+    }
+
+    /**
+     * Busca un permiso por su nombre.
+     *
+     * @param nombre Nombre del permiso
+     * @return Permiso o null si no existe
+     */
+    public static PermisoSistema buscar(String nombre) {
+        for (PermisoSistema permiso : values()) {
+            if (permiso.name().equals(nombre)) {
+                return permiso;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Calcula la máscara de un conjunto de permisos.
+     *
+     * @param permisos Permisos
+     * @return Máscara con los bits de los permisos
+     */
+    public static long mascara(Collection<PermisoSistema> permisos) {
+        long mascara = 0;
+        for (PermisoSistema permiso : permisos) {
+            mascara |= permiso.bit;
+        }
+        return mascara;
+    }
+}
@@ -0,0 +1,167 @@
+package mx.gob.vucem.componente.infrastructure.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro asíncrono de los resultados de inicio de sesión.
+ *
+ * <p>Los intentos se acumulan en memoria por usuario y se escriben en lote cada
+ * {@code vucem.seguridad.login.intervalo-escritura-ms}, en lugar de una escritura síncrona por
+ * intento. Un acceso exitoso reinicia los intentos fallidos y actualiza
+ * {@code fecha_ultimo_acceso}; los fallos incrementan {@code intentos_fallidos} y bloquean al
+ * usuario al alcanzar {@code maximo-intentos}. Si la escritura falla, los resultados se
+ * reintegran a los pendientes para el siguiente lote, y mientras no se escriben los fallos
+ * acumulados ya cuentan para el bloqueo mediante {@link #alcanzoMaximoIntentos}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RegistroAccesos {
+
+    private static final String SQL_EXITO =
+            "UPDATE usuarios SET intentos_fallidos = 0, fecha_ultimo_acceso = ? WHERE username = ?";
+    private static final String SQL_FALLOS =
+            "UPDATE usuarios SET intentos_fallidos = intentos_fallidos + ?, "
+                    + "bloqueado = bloqueado OR intentos_fallidos + ? >= ? WHERE username = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher publisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${vucem.seguridad.login.maximo-intentos:5}")
+    private int maximoIntentos;
+
+    private final Map<String, Pendiente> pendientes = new ConcurrentHashMap<>();
+    private Counter escrituras;
+
+    /**
+     * Inicializa las métricas del registro.
+     */
+    @PostConstruct
+    public void init() {
+        this.escrituras = Counter.builder("vucem.seguridad.login.escrituras")
+                .description("Lotes de resultados de inicio de sesión escritos en la base de datos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra un inicio de sesión exitoso.
+     *
+     * @param username Nombre de usuario
+     */
+    public void registrarExito(String username) {
+        pendientes.put(username, new Pendiente(0, LocalDateTime.now()));
+    }
+
+    /**
+     * Registra un intento de inicio de sesión fallido.
+     *
+     * @param username Nombre de usuario
+     */
+    public void registrarFallo(String username) {
+        pendientes.merge(username, new Pendiente(1, null),
+                (actual, nuevo) -> new Pendiente(actual.fallidos() + 1, actual.ultimoAcceso()));
+    }
+
+    /**
+     * Indica si los intentos fallidos aún no escritos de un usuario ya alcanzan
+     * {@code maximo-intentos}, de modo que se le trate como bloqueado sin esperar el lote.
+     *
+     * @param username Nombre de usuario
+     * @return true si los fallos pendientes alcanzan el máximo
+     */
+    public boolean alcanzoMaximoIntentos(String username) {
+        Pendiente pendiente = pendientes.get(username);
+        return pendiente != null && pendiente.fallidos() >= maximoIntentos;
+    }
+
+    /**
+     * Escribe en lote los resultados acumulados. Los éxitos se aplican antes que los fallos,
+     * que sólo cuentan los intentos posteriores al último éxito.
+     */
+    @Scheduled(fixedDelayString = "${vucem.seguridad.login.intervalo-escritura-ms:1000}")
+    public void escribir() {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        Map<String, Pendiente> lote = new HashMap<>();
+        List<Object[]> exitos = new ArrayList<>();
+        List<Object[]> fallos = new ArrayList<>();
+        for (String username : pendientes.keySet()) {
+            Pendiente pendiente = pendientes.remove(username);
+            if (pendiente == null) {
+                continue;
+            }
+            lote.put(username, pendiente);
+            if (pendiente.ultimoAcceso() != null) {
+                exitos.add(new Object[]{Timestamp.valueOf(pendiente.ultimoAcceso()), username});
+            }
+            if (pendiente.fallidos() > 0) {
+                fallos.add(new Object[]{pendiente.fallidos(), pendiente.fallidos(), maximoIntentos, username});
+            }
+        }
+        try {
+            if (!exitos.isEmpty()) {
+                jdbcTemplate.batchUpdate(SQL_EXITO, exitos);
+            }
+            if (!fallos.isEmpty()) {
+                jdbcTemplate.batchUpdate(SQL_FALLOS, fallos);
+            }
+            escrituras.increment();
+        } catch (RuntimeException e) {
+            log.error("No se pudieron registrar {} accesos y {} fallos", exitos.size(), fallos.size(), e);
+            // Se reintentan en el siguiente lote, antes que los resultados que llegaron mientras tanto
+            lote.forEach((username, pendiente) -> pendientes.merge(username, pendiente,
+                    (posterior, anterior) -> anterior.seguidoDe(posterior)));
+            return;
+        }
+        // Los fallos pudieron bloquear al usuario; su información en caché ya no es válida
+        for (Object[] fallo : fallos) {
+            publisher.publishEvent(new UsuarioModificado((String) fallo[3]));
+        }
+    }
+
+    /**
+     * Escribe los resultados pendientes antes de detener la aplicación.
+     */
+    @PreDestroy
+    public void detener() {
+        escribir();
+    }
+
+    /**
+     * Resultados acumulados de un usuario desde la última escritura.
+     *
+     * @param fallidos Intentos fallidos posteriores al último éxito
+     * @param ultimoAcceso Fecha del último éxito o null si no hubo
+     */
+    private record Pendiente(int fallidos, LocalDateTime ultimoAcceso) {
+
+        /**
+         * Combina estos resultados con otros posteriores: un éxito posterior reinicia los fallos.
+         */
+        Pendiente seguidoDe(Pendiente posterior) {
+            return posterior.ultimoAcceso() != null
+                    ? posterior
+                    : new Pendiente(fallidos + posterior.fallidos(), ultimoAcceso);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package mx.gob.vucem.componente.infrastructure.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.infrastructure.persistence.entities.TokenRevocadoEntity;
+import mx.gob.vucem.componente.infrastructure.persistence.repositories.TokenRevocadoJpaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de tokens JWT revocados antes de su expiración.
+ *
+ * <p>Las revocaciones se guardan en la tabla {@code tokens_revocados} y se reflejan en memoria
+ * en un conjunto exacto precedido por un {@link FiltroBloom}. El caso común, un token no
+ * revocado, se resuelve con unas cuantas pruebas de bits; los positivos del filtro se confirman
+ * contra el conjunto exacto, sin consultar la base de datos. Cada nodo incorpora
+ * periódicamente las revocaciones registradas por los demás y descarta las de tokens
+ * expirados, reconstruyendo el filtro.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RegistroRevocaciones {
+
+    private static final ZoneId ZONA = ZoneId.systemDefault();
+
+    private final TokenRevocadoJpaRepository tokenRevocadoJpaRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${vucem.seguridad.revocacion.capacidad:100000}")
+    private long capacidad;
+
+    @Value("${vucem.seguridad.revocacion.tasa-falsos-positivos:0.01}")
+    private double tasaFalsosPositivos;
+
+    @Value("${vucem.seguridad.revocacion.margen-refresco-ms:30000}")
+    private long margenRefrescoMs;
+
+    private final Map<String, Instant> revocados = new ConcurrentHashMap<>();
+    private volatile FiltroBloom filtro;
+    private LocalDateTime ultimaConsulta;
+    private Counter falsosPositivos;
+    private Counter rechazados;
+
+    /**
+     * Inicializa el filtro y carga las revocaciones vigentes. Si la base de datos no está
+     * disponible, la carga se completa en el siguiente refresco.
+     */
+    @PostConstruct
+    public void init() {
+        this.filtro = new FiltroBloom(capacidad, tasaFalsosPositivos);
+        this.falsosPositivos = Counter.builder("vucem.seguridad.revocacion.falsos.positivos")
+                .description("Positivos del filtro de Bloom descartados por el conjunto exacto")
+                .register(meterRegistry);
+        this.rechazados = Counter.builder("vucem.seguridad.revocacion.rechazados")
+                .description("Tokens rechazados por estar revocados")
+                .register(meterRegistry);
+        Gauge.builder("vucem.seguridad.revocacion.vigentes", revocados, Map::size)
+                .description("Revocaciones vigentes en memoria")
+                .register(meterRegistry);
+        try {
+            refrescar();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron cargar los tokens revocados al iniciar: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Indica si un token fue revocado.
+     *
+     * @param jti Identificador único del token
+     * @return true si el token está revocado
+     */
+    public boolean estaRevocado(String jti) {
+        if (jti == null || !filtro.puedeContener(jti)) {
+            return false;
+        }
+        if (!revocados.containsKey(jti)) {
+            falsosPositivos.increment();
+            return false;
+        }
+        rechazados.increment();
+        return true;
+    }
+
+    /**
+     * Revoca un token hasta su expiración.
+     *
+     * @param claims Reclamaciones verificadas del token
+     * @param revocadoPor Usuario que revoca el token
+     */
+    @Transactional
+    public void revocar(ClaimsVerificados claims, String revocadoPor) {
+        if (claims.id() == null) {
+            throw new IllegalArgumentException("El token no tiene identificador (JTI)");
+        }
+        tokenRevocadoJpaRepository.save(new TokenRevocadoEntity(
+                claims.id(),
+                claims.usuario(),
+                LocalDateTime.ofInstant(claims.expiracion(), ZONA),
+                LocalDateTime.now(),
+                revocadoPor));
+        agregar(claims.id(), claims.expiracion());
+        log.info("Token {} del usuario {} revocado por {}", claims.id(), claims.usuario(), revocadoPor);
+    }
+
+    /**
+     * Incorpora las revocaciones registradas por cualquier nodo desde la consulta anterior.
+     * La consulta se traslapa con la anterior por {@code margen-refresco-ms} para tolerar
+     * transacciones que confirman tarde y diferencias de reloj entre nodos.
+     */
+    @Scheduled(fixedDelayString = "${vucem.seguridad.revocacion.intervalo-refresco-ms:5000}",
+            initialDelayString = "${vucem.seguridad.revocacion.intervalo-refresco-ms:5000}")
+    public synchronized void refrescar() {
+        LocalDateTime inicio = LocalDateTime.now();
+        List<TokenRevocadoEntity> nuevos = ultimaConsulta == null
+                ? tokenRevocadoJpaRepository.findByExpiracionAfter(inicio)
+                : tokenRevocadoJpaRepository.findByFechaRevocacionGreaterThanEqualAndExpiracionAfter(
+                        ultimaConsulta.minusNanos(margenRefrescoMs * 1_000_000), inicio);
+        for (TokenRevocadoEntity token : nuevos) {
+            agregar(token.getJti(), token.getExpiracion().atZone(ZONA).toInstant());
+        }
+        ultimaConsulta = inicio;
+    }
+
+    /**
+     * Descarta las revocaciones de tokens expirados, en memoria y en la base de datos, y
+     * reconstruye el filtro si hubo descartes o si se saturó.
+     */
+    @Scheduled(fixedDelayString = "${vucem.seguridad.revocacion.intervalo-purga-ms:60000}",
+            initialDelayString = "${vucem.seguridad.revocacion.intervalo-purga-ms:60000}")
+    @Transactional
+    public synchronized void purgar() {
+        Instant ahora = Instant.now();
+        boolean descartados = revocados.values().removeIf(expiracion -> !expiracion.isAfter(ahora));
+        if (descartados || filtro.saturado()) {
+            reconstruirFiltro();
+        }
+        int eliminados = tokenRevocadoJpaRepository.deleteExpirados(LocalDateTime.ofInstant(ahora, ZONA));
+        if (eliminados > 0) {
+            log.info("Eliminadas {} revocaciones de tokens expirados", eliminados);
+        }
+    }
+
+    /**
+     * Registra la revocación en el conjunto exacto antes que en el filtro, de modo que un
+     * positivo del filtro siempre encuentra la revocación al confirmarse.
+     */
+    private void agregar(String jti, Instant expiracion) {
+        revocados.put(jti, expiracion);
+        filtro.agregar(jti);
+    }
+
+    /**
+     * Construye un filtro nuevo con las revocaciones vigentes. Después del reemplazo se vuelven
+     * a agregar las revocaciones, para incluir las que llegaron mientras se construía.
+     */
+    private void reconstruirFiltro() {
+        FiltroBloom nuevo = new FiltroBloom(Math.max(capacidad, revocados.size() * 2L), tasaFalsosPositivos);
+        revocados.keySet().forEach(nuevo::agregar);
+        filtro = nuevo;
+        for (String jti : revocados.keySet()) {
+            if (!nuevo.puedeContener(jti)) {
+                nuevo.agregar(jti);
+            }
+        }
+    }
+}
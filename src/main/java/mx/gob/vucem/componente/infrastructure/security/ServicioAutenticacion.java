@@ -0,0 +1,142 @@
+package mx.gob.vucem.componente.infrastructure.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.domain.exceptions.AutenticacionFallidaException;
+import mx.gob.vucem.componente.domain.exceptions.ServicioNoDisponibleException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servicio de inicio de sesión con usuario y contraseña.
+ *
+ * <p>La verificación BCrypt, deliberadamente costosa, se ejecuta en un ejecutor propio con
+ * {@code vucem.seguridad.login.hilos} hilos y una cola de {@code capacidad-cola} solicitudes.
+ * Cuando ambos están ocupados la solicitud se rechaza de inmediato, de modo que una ráfaga de
+ * intentos no ocupa los hilos del servidor que atienden el resto de la API. Los resultados se
+ * registran de forma asíncrona en {@link RegistroAccesos}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ServicioAutenticacion {
+
+    private static final String CREDENCIALES_INVALIDAS = "Usuario o contraseña incorrectos";
+
+    private final UserDetailsService userDetailsService;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+    private final RegistroAccesos registroAccesos;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${vucem.seguridad.login.hilos:2}")
+    private int hilos;
+
+    @Value("${vucem.seguridad.login.capacidad-cola:32}")
+    private int capacidadCola;
+
+    private ThreadPoolExecutor ejecutor;
+    private String hashSinUsuario;
+    private Counter rechazados;
+
+    /**
+     * Inicializa el ejecutor de verificación y sus métricas.
+     */
+    @PostConstruct
+    public void init() {
+        AtomicInteger contador = new AtomicInteger();
+        this.ejecutor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola), r -> {
+                    Thread hilo = new Thread(r, "autenticacion-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(ejecutor, "autenticacion", List.of()).bindTo(meterRegistry);
+        this.rechazados = Counter.builder("vucem.seguridad.login.rechazados")
+                .description("Inicios de sesión rechazados por saturación del ejecutor")
+                .register(meterRegistry);
+        // Los usuarios inexistentes también pagan una verificación, para no delatarse por el tiempo de respuesta
+        this.hashSinUsuario = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Detiene el ejecutor de verificación.
+     */
+    @PreDestroy
+    public void detener() {
+        ejecutor.shutdownNow();
+    }
+
+    /**
+     * Verifica las credenciales de un usuario y emite un token JWT.
+     *
+     * @param username Nombre de usuario
+     * @param password Contraseña en claro
+     * @return Token JWT, o una falla con {@link AutenticacionFallidaException} si las
+     *         credenciales no son válidas
+     * @throws ServicioNoDisponibleException si el ejecutor de verificación está saturado
+     */
+    public CompletableFuture<String> autenticar(String username, String password) {
+        CompletableFuture<String> resultado = new CompletableFuture<>();
+        try {
+            ejecutor.execute(() -> {
+                try {
+                    resultado.complete(verificar(username, password));
+                } catch (RuntimeException e) {
+                    resultado.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rechazados.increment();
+            throw new ServicioNoDisponibleException("AUTENTICACION_SATURADA",
+                    "El servicio de autenticación está saturado, intente más tarde");
+        }
+        return resultado;
+    }
+
+    private String verificar(String username, String password) {
+        UserDetails usuario;
+        try {
+            usuario = userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            passwordEncoder.matches(password, hashSinUsuario);
+            throw new AutenticacionFallidaException("CREDENCIALES_INVALIDAS", CREDENCIALES_INVALIDAS);
+        }
+
+        // El bloqueo se revisa antes que la contraseña: la respuesta de un usuario bloqueado no
+        // debe depender de si acertó, o el bloqueo dejaría de detener los intentos. Los fallos que
+        // aún no se escriben también bloquean, para que el lote no abra una ventana de intentos
+        if (!usuario.isEnabled() || !usuario.isAccountNonLocked()
+                || registroAccesos.alcanzoMaximoIntentos(username)) {
+            passwordEncoder.matches(password, hashSinUsuario);
+            throw new AutenticacionFallidaException("USUARIO_BLOQUEADO", "El usuario está inactivo o bloqueado");
+        }
+        if (usuario.getPassword() == null || usuario.getPassword().isEmpty()
+                || !passwordEncoder.matches(password, usuario.getPassword())) {
+            registroAccesos.registrarFallo(username);
+            throw new AutenticacionFallidaException("CREDENCIALES_INVALIDAS", CREDENCIALES_INVALIDAS);
+        }
+
+        registroAccesos.registrarExito(username);
+        log.debug("Inicio de sesión exitoso: {}", username);
+        return jwtService.generateToken(usuario);
+    }
+}
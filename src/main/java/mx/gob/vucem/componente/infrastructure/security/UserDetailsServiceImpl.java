@@ -1,6 +1,21 @@
 package mx.gob.vucem.componente.infrastructure.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.infrastructure.persistence.entities.PermisoEntity;
+import mx.gob.vucem.componente.infrastructure.persistence.entities.RolEntity;
+import mx.gob.vucem.componente.infrastructure.persistence.entities.UsuarioEntity;
+import mx.gob.vucem.componente.infrastructure.persistence.repositories.UsuarioJpaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -8,21 +23,66 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
 /**
- * Implementación de UserDetailsService para la autenticación de usuarios.
- * En un entorno real, esta clase debería obtener los usuarios de una base de datos
- * o un servicio de autenticación externo.
+ * Implementación de UserDetailsService que obtiene los usuarios, sus roles y permisos de la
+ * base de datos.
+ *
+ * <p>Cada usuario se consulta con una sola consulta y se conserva en caché durante
+ * {@code vucem.seguridad.usuarios.ttl-segundos}; los usuarios inexistentes también se
+ * recuerdan, por un tiempo menor, para que un token con un usuario desconocido no llegue a la
+ * base de datos en cada solicitud. La entrada de un usuario se descarta al publicarse
+ * {@link UsuarioModificado}, por ejemplo al bloquearlo.
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     /**
-     * Carga un usuario por su nombre de usuario.
-     * Esta implementación es solo para pruebas y debería ser reemplazada 
-     * por una implementación real que obtenga los usuarios de una base de datos.
+     * Usuario de sistema usado por los tokens de prueba; no existe en la base de datos.
+     */
+    static final String USUARIO_SISTEMA = "sistema";
+
+    private final UsuarioJpaRepository usuarioJpaRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${vucem.seguridad.usuarios.ttl-segundos:300}")
+    private long ttlSegundos;
+
+    @Value("${vucem.seguridad.usuarios.ttl-negativo-segundos:30}")
+    private long ttlNegativoSegundos;
+
+    @Value("${vucem.seguridad.usuarios.cache-maximo:10000}")
+    private long cacheMaximo;
+
+    private Cache<String, Optional<UserDetails>> usuarios;
+    private Timer consultas;
+
+    /**
+     * Inicializa la caché de usuarios y sus métricas.
+     */
+    @PostConstruct
+    public void init() {
+        this.usuarios = Caffeine.newBuilder()
+                .maximumSize(cacheMaximo)
+                .expireAfter(new ExpiracionUsuario(Duration.ofSeconds(ttlSegundos).toNanos(),
+                        Duration.ofSeconds(ttlNegativoSegundos).toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usuarios, "usuarios");
+        this.consultas = Timer.builder("vucem.seguridad.usuarios.consultas")
+                .description("Consultas de usuarios a la base de datos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carga un usuario por su nombre de usuario, desde la caché o la base de datos.
      *
      * @param username Nombre de usuario
      * @return Detalles del usuario
@@ -30,20 +90,90 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        log.debug("Buscando usuario: {}", username);
-        
-        // En un entorno real, aquí se consultaría un recurso externo
-        // Esta implementación es solo para pruebas
-        
-        // Simular un usuario de sistema para el ejemplo
-        if ("sistema".equals(username)) {
+        if (USUARIO_SISTEMA.equals(username)) {
             return new User(
-                    "sistema",
+                    USUARIO_SISTEMA,
                     "", // La contraseña no se utiliza en autenticación por token
                     Collections.singletonList(new SimpleGrantedAuthority("ROLE_SYSTEM"))
             );
         }
-        
-        throw new UsernameNotFoundException("Usuario no encontrado: " + username);
+
+        return usuarios.get(username, this::consultar)
+                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
+    }
+
+    /**
+     * Descarta la información en caché de un usuario.
+     *
+     * @param username Nombre de usuario
+     */
+    public void invalidar(String username) {
+        usuarios.invalidate(username);
+    }
+
+    /**
+     * Descarta la información en caché de un usuario modificado.
+     *
+     * @param evento Evento de modificación
+     */
+    @EventListener
+    public void alModificarUsuario(UsuarioModificado evento) {
+        log.debug("Invalidando usuario en caché: {}", evento.username());
+        invalidar(evento.username());
+    }
+
+    private Optional<UserDetails> consultar(String username) {
+        log.debug("Buscando usuario: {}", username);
+        return consultas.record(() -> usuarioJpaRepository.findConRolesYPermisos(username))
+                .map(UserDetailsServiceImpl::aUserDetails);
+    }
+
+    /**
+     * Convierte un usuario en sus detalles de autenticación. Cada rol activo se expone como
+     * {@code ROLE_<nombre>} y cada permiso activo con su nombre.
+     */
+    private static UserDetails aUserDetails(UsuarioEntity usuario) {
+        List<GrantedAuthority> autoridades = new ArrayList<>();
+        for (RolEntity rol : usuario.getRoles()) {
+            if (!Boolean.TRUE.equals(rol.getActivo())) {
+                continue;
+            }
+            autoridades.add(new SimpleGrantedAuthority("ROLE_" + rol.getNombre()));
+            for (PermisoEntity permiso : rol.getPermisos()) {
+                SimpleGrantedAuthority autoridad = new SimpleGrantedAuthority(permiso.getNombre());
+                if (Boolean.TRUE.equals(permiso.getActivo()) && !autoridades.contains(autoridad)) {
+                    autoridades.add(autoridad);
+                }
+            }
+        }
+        return User.withUsername(usuario.getUsername())
+                .password(usuario.getPassword())
+                .authorities(autoridades)
+                .disabled(!Boolean.TRUE.equals(usuario.getActivo()))
+                .accountLocked(Boolean.TRUE.equals(usuario.getBloqueado()))
+                .build();
+    }
+
+    /**
+     * Conserva los usuarios existentes y los inexistentes durante tiempos distintos.
+     */
+    private record ExpiracionUsuario(long ttlNs, long ttlNegativoNs) implements Expiry<String, Optional<UserDetails>> {
+
+        @Override
+        public long expireAfterCreate(String username, Optional<UserDetails> usuario, long tiempoActual) {
+            return usuario.isPresent() ? ttlNs : ttlNegativoNs;
+        }
+
+        @Override
+        public long expireAfterUpdate(String username, Optional<UserDetails> usuario, long tiempoActual,
+                                      long duracionActual) {
+            return expireAfterCreate(username, usuario, tiempoActual);
+        }
+
+        @Override
+        public long expireAfterRead(String username, Optional<UserDetails> usuario, long tiempoActual,
+                                    long duracionActual) {
+            return duracionActual;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,10 @@
+package mx.gob.vucem.componente.infrastructure.security;
+
+/**
+ * Evento que indica que los datos de autenticación de un usuario cambiaron, por ejemplo
+ * al bloquearse o al modificar sus roles, y que su información en caché ya no es válida.
+ *
+ * @param username Nombre del usuario modificado
+ */
+public record UsuarioModificado(String username) {
+}
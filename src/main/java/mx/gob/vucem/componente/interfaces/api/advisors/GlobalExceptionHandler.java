@@ -2,7 +2,15 @@ package mx.gob.vucem.componente.interfaces.api.advisors;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.domain.exceptions.AccesoDenegadoException;
+import mx.gob.vucem.componente.domain.exceptions.AutenticacionFallidaException;
 import mx.gob.vucem.componente.domain.exceptions.BusinessException;
+import mx.gob.vucem.componente.domain.exceptions.ResincronizacionRequeridaException;
+import mx.gob.vucem.componente.domain.exceptions.ServicioNoDisponibleException;
+import mx.gob.vucem.componente.domain.exceptions.SolicitudesExcedidasException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -77,6 +85,135 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.UNPROCESSABLE_ENTITY);
     }
 
+    /**
+     * Maneja excepciones de resincronización requerida.
+     *
+     * @param ex Excepción de resincronización requerida
+     * @param request Solicitud web
+     * @return Respuesta indicando que el cliente debe sincronizar desde cero
+     */
+    @ExceptionHandler(ResincronizacionRequeridaException.class)
+    public ResponseEntity<Map<String, Object>> handleResincronizacionRequeridaExceptions(
+            ResincronizacionRequeridaException ex, WebRequest request) {
+        
+        Map<String, Object> response = createErrorResponse(
+                ex.getCodigo(),
+                ex.getMensaje(),
+                HttpStatus.GONE,
+                request.getDescription(false));
+        
+        log.info("Resincronización requerida: {}", ex.getMensaje());
+        return new ResponseEntity<>(response, HttpStatus.GONE);
+    }
+
+    /**
+     * Maneja excepciones de servicio no disponible por falta de capacidad.
+     *
+     * @param ex Excepción de servicio no disponible
+     * @param request Solicitud web
+     * @return Respuesta con error de servicio no disponible
+     */
+    @ExceptionHandler(ServicioNoDisponibleException.class)
+    public ResponseEntity<Map<String, Object>> handleServicioNoDisponibleExceptions(
+            ServicioNoDisponibleException ex, WebRequest request) {
+        
+        Map<String, Object> response = createErrorResponse(
+                ex.getCodigo(),
+                ex.getMensaje(),
+                HttpStatus.SERVICE_UNAVAILABLE,
+                request.getDescription(false));
+        
+        log.warn("Servicio no disponible: {} - {}", ex.getCodigo(), ex.getMensaje());
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Maneja excepciones de límite de solicitudes excedido por un cliente.
+     *
+     * @param ex Excepción de límite de solicitudes excedido
+     * @param request Solicitud web
+     * @return Respuesta con error de demasiadas solicitudes
+     */
+    @ExceptionHandler(SolicitudesExcedidasException.class)
+    public ResponseEntity<Map<String, Object>> handleSolicitudesExcedidasExceptions(
+            SolicitudesExcedidasException ex, WebRequest request) {
+        
+        Map<String, Object> response = createErrorResponse(
+                ex.getCodigo(),
+                ex.getMensaje(),
+                HttpStatus.TOO_MANY_REQUESTS,
+                request.getDescription(false));
+        
+        log.debug("Límite de solicitudes excedido: {}", request.getDescription(false));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getReintentarDespuesSegundos()))
+                .body(response);
+    }
+
+    /**
+     * Maneja fallas de acceso a la base de datos que no pasaron por la protección del
+     * repositorio, como un pool agotado o una consulta cancelada por tiempo.
+     *
+     * @param ex Excepción de acceso a datos
+     * @param request Solicitud web
+     * @return Respuesta con error de servicio no disponible
+     */
+    @ExceptionHandler({DataAccessResourceFailureException.class, TransientDataAccessException.class})
+    public ResponseEntity<Map<String, Object>> handleBaseDatosNoDisponibleExceptions(
+            RuntimeException ex, WebRequest request) {
+        
+        Map<String, Object> response = createErrorResponse(
+                "BASE_DATOS_NO_DISPONIBLE",
+                "La base de datos no está disponible temporalmente",
+                HttpStatus.SERVICE_UNAVAILABLE,
+                request.getDescription(false));
+        
+        log.warn("Base de datos no disponible: {}", ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Maneja excepciones de autenticación fallida.
+     *
+     * @param ex Excepción de autenticación fallida
+     * @param request Solicitud web
+     * @return Respuesta con error de no autorizado
+     */
+    @ExceptionHandler(AutenticacionFallidaException.class)
+    public ResponseEntity<Map<String, Object>> handleAutenticacionFallidaExceptions(
+            AutenticacionFallidaException ex, WebRequest request) {
+        
+        Map<String, Object> response = createErrorResponse(
+                ex.getCodigo(),
+                ex.getMensaje(),
+                HttpStatus.UNAUTHORIZED,
+                request.getDescription(false));
+        
+        log.warn("Autenticación fallida: {}", ex.getCodigo());
+        return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * Maneja excepciones de acceso denegado por falta de permisos.
+     *
+     * @param ex Excepción de acceso denegado
+     * @param request Solicitud web
+     * @return Respuesta con error de acceso prohibido
+     */
+    @ExceptionHandler(AccesoDenegadoException.class)
+    public ResponseEntity<Map<String, Object>> handleAccesoDenegadoExceptions(
+            AccesoDenegadoException ex, WebRequest request) {
+        
+        Map<String, Object> response = createErrorResponse(
+                ex.getCodigo(),
+                ex.getMensaje(),
+                HttpStatus.FORBIDDEN,
+                request.getDescription(false));
+        
+        log.warn("Acceso denegado: {} - {}", ex.getCodigo(), ex.getMensaje());
+        return new ResponseEntity<>(response, HttpStatus.FORBIDDEN);
+    }
+
     /**
      * Maneja excepciones de entidad no encontrada.
      *
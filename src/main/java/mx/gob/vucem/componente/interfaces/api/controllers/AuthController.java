@@ -6,18 +6,31 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.application.dtos.LoginDTO;
+import mx.gob.vucem.componente.infrastructure.security.ClaimsVerificados;
 import mx.gob.vucem.componente.infrastructure.security.JwtService;
+import mx.gob.vucem.componente.infrastructure.security.RegistroRevocaciones;
+import mx.gob.vucem.componente.infrastructure.security.ServicioAutenticacion;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controlador para autenticación y gestión de tokens.
@@ -25,6 +38,7 @@ import java.util.Map;
  * En un entorno real, la autenticación debería realizarse contra un servicio centralizado.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 @Slf4j
@@ -32,6 +46,38 @@ import java.util.Map;
 public class AuthController {
 
     private final JwtService jwtService;
+    private final RegistroRevocaciones registroRevocaciones;
+    private final ServicioAutenticacion servicioAutenticacion;
+
+    /**
+     * Inicia sesión con usuario y contraseña y entrega un token JWT.
+     * La verificación se realiza fuera de los hilos del servidor; si su capacidad está
+     * agotada la solicitud se rechaza de inmediato con 503.
+     *
+     * @param login Credenciales del usuario
+     * @return Token JWT generado
+     */
+    @PostMapping("/login")
+    @Operation(
+        summary = "Inicia sesión con usuario y contraseña",
+        description = "Verifica las credenciales y entrega un token JWT",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Credenciales válidas",
+                content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "401", description = "Credenciales inválidas o usuario bloqueado"),
+            @ApiResponse(responseCode = "503", description = "Servicio de autenticación saturado")
+        }
+    )
+    public CompletableFuture<ResponseEntity<Map<String, String>>> login(@Valid @RequestBody LoginDTO login) {
+        return servicioAutenticacion.autenticar(login.getUsername(), login.getPassword())
+                .thenApply(token -> {
+                    Map<String, String> response = new HashMap<>();
+                    response.put("token", token);
+                    response.put("tipo", "Bearer");
+                    response.put("usuario", login.getUsername());
+                    return ResponseEntity.ok(response);
+                });
+    }
 
     /**
      * Genera un token de sistema para pruebas.
@@ -72,4 +118,33 @@ public class AuthController {
         
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Revoca el token con el que se autentica la solicitud, de modo que deje de aceptarse
+     * antes de su expiración.
+     *
+     * @param autorizacion Encabezado Authorization con el token Bearer
+     * @return Respuesta sin contenido si el token se revocó
+     */
+    @PostMapping("/revocar")
+    @Operation(
+        summary = "Revoca el token actual",
+        description = "Invalida el token presentado antes de su expiración en todos los nodos",
+        responses = {
+            @ApiResponse(responseCode = "204", description = "Token revocado correctamente"),
+            @ApiResponse(responseCode = "401", description = "Token ausente o inválido")
+        }
+    )
+    public ResponseEntity<Void> revocarToken(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String autorizacion) {
+        if (autorizacion == null || !autorizacion.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Optional<ClaimsVerificados> claims = jwtService.verificar(autorizacion.substring(7));
+        if (claims.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        registroRevocaciones.revocar(claims.get(), claims.get().usuario());
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
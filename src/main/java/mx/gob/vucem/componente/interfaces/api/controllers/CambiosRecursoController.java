@@ -0,0 +1,107 @@
+package mx.gob.vucem.componente.interfaces.api.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.application.dtos.CambiosRecursosDTO;
+import mx.gob.vucem.componente.application.services.SincronizacionRecursoService;
+import mx.gob.vucem.componente.infrastructure.security.PermisoSistema;
+import mx.gob.vucem.componente.interfaces.api.filters.RequierePermiso;
+import mx.gob.vucem.componente.interfaces.events.DifusorCambiosRecurso;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controlador REST para la consulta de cambios de recursos.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/recursos/cambios")
+@RequiredArgsConstructor
+@Slf4j
+@RequierePermiso(PermisoSistema.RECURSOS_LEER)
+@Tag(name = "Cambios de recursos", description = "API para recibir los cambios de recursos")
+public class CambiosRecursoController {
+
+    private final DifusorCambiosRecurso difusorCambios;
+    private final SincronizacionRecursoService sincronizacionService;
+
+    /**
+     * Obtiene los cambios de recursos posteriores a un token de sincronización.
+     *
+     * @param desde Token de la última sincronización; 0 para obtener el estado completo
+     * @param limite Número máximo de cambios
+     * @return Cambios y token para la siguiente consulta
+     */
+    @GetMapping
+    @Operation(
+        summary = "Obtiene los cambios de recursos",
+        description = "Recupera los recursos modificados y los identificadores eliminados desde el token indicado. "
+                + "Si el token ya no está dentro de la ventana de retención se responde 410 y el cliente "
+                + "debe sincronizar desde el token 0",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Cambios obtenidos correctamente",
+                content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                responseCode = "410",
+                description = "Se requiere una sincronización completa"
+            )
+        }
+    )
+    public ResponseEntity<CambiosRecursosDTO> obtenerCambios(
+            @Parameter(description = "Token de la última sincronización")
+            @RequestParam(defaultValue = "0") long desde,
+
+            @Parameter(description = "Número máximo de cambios")
+            @RequestParam(required = false) Integer limite
+    ) {
+        log.debug("Obteniendo cambios de recursos desde: {}", desde);
+        return ResponseEntity.ok(sincronizacionService.obtenerCambios(desde, limite));
+    }
+
+    /**
+     * Abre un flujo de Server-Sent Events con los cambios de recursos.
+     *
+     * @param ultimoId Identificador del último evento recibido por el cliente
+     * @return Emisor de eventos
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Flujo de cambios de recursos",
+        description = "Envía las creaciones, actualizaciones y eliminaciones de recursos conforme ocurren. "
+                + "Con Last-Event-ID se reanuda desde el último cambio recibido; si ya no está disponible "
+                + "se envía el evento 'resincronizar'",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Flujo de cambios abierto",
+                content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "503",
+                description = "Se alcanzó el número máximo de suscriptores"
+            )
+        }
+    )
+    public SseEmitter stream(
+            @Parameter(description = "Identificador del último evento recibido")
+            @RequestHeader(name = "Last-Event-ID", required = false) String ultimoId
+    ) {
+        log.debug("Nueva suscripción al flujo de cambios desde: {}", ultimoId);
+        return difusorCambios.suscribir(ultimoId);
+    }
+}
@@ -1,5 +1,6 @@
 package mx.gob.vucem.componente.interfaces.api.controllers;
 
+import com.fasterxml.jackson.databind.JsonSerializable;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,18 +11,29 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import mx.gob.vucem.componente.application.dtos.RecursosPorIdDTO;
+import mx.gob.vucem.componente.application.dtos.SolicitudRecursosPorIdDTO;
+import mx.gob.vucem.componente.application.services.ConsultaMultipleRecursoService;
 import mx.gob.vucem.componente.application.services.RecursoApplicationService;
+import mx.gob.vucem.componente.domain.valueobjects.CamposRecurso;
+import mx.gob.vucem.componente.infrastructure.security.PermisoSistema;
+import mx.gob.vucem.componente.interfaces.api.filters.RequierePermiso;
+import mx.gob.vucem.componente.interfaces.api.serializers.SerializadoresRecursoParcial;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Controlador REST para la gestión de recursos.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/recursos")
 @RequiredArgsConstructor
 @Slf4j
@@ -29,6 +41,8 @@ import java.util.UUID;
 public class RecursoController {
 
     private final RecursoApplicationService recursoService;
+    private final SerializadoresRecursoParcial serializadores;
+    private final ConsultaMultipleRecursoService consultaMultiple;
 
     /**
      * Obtiene todos los recursos.
@@ -36,6 +50,7 @@ public class RecursoController {
      * @return Lista de recursos
      */
     @GetMapping
+    @RequierePermiso(PermisoSistema.RECURSOS_LEER)
     @Operation(
         summary = "Obtiene todos los recursos",
         description = "Recupera la lista completa de recursos disponibles en el sistema",
@@ -70,6 +85,129 @@ public class RecursoController {
         return ResponseEntity.ok(recursos);
     }
 
+    /**
+     * Obtiene los recursos con sólo los campos solicitados.
+     *
+     * @param campos Campos separados por comas
+     * @param soloActivos Filtrar recursos activos únicamente
+     * @param nombre Buscar por nombre
+     * @return Lista de recursos con los campos solicitados
+     */
+    @GetMapping(params = {"campos", "!ids"})
+    @RequierePermiso(PermisoSistema.RECURSOS_LEER)
+    @Operation(
+        summary = "Obtiene los recursos con un subconjunto de campos",
+        description = "Recupera la lista de recursos consultando y devolviendo sólo los campos indicados",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Lista de recursos obtenida correctamente",
+                content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                responseCode = "422",
+                description = "Campos no válidos"
+            )
+        }
+    )
+    public ResponseEntity<JsonSerializable> obtenerTodosParciales(
+            @Parameter(description = "Campos a devolver, por ejemplo id,nombre,atributos.tipo", required = true)
+            @RequestParam String campos,
+
+            @Parameter(description = "Filtrar recursos activos únicamente")
+            @RequestParam(required = false) Boolean soloActivos,
+
+            @Parameter(description = "Buscar por nombre")
+            @RequestParam(required = false) String nombre
+    ) {
+        CamposRecurso seleccion = CamposRecurso.de(campos);
+        List<RecursoDTO> recursos;
+
+        if (nombre != null && !nombre.trim().isEmpty()) {
+            log.debug("Buscando recursos por nombre: {} con campos: {}", nombre, seleccion);
+            recursos = recursoService.buscarPorNombre(nombre, seleccion);
+        } else if (soloActivos != null && soloActivos) {
+            log.debug("Obteniendo recursos activos con campos: {}", seleccion);
+            recursos = recursoService.obtenerActivos(seleccion);
+        } else {
+            log.debug("Obteniendo todos los recursos con campos: {}", seleccion);
+            recursos = recursoService.obtenerTodos(seleccion);
+        }
+
+        return ResponseEntity.ok(serializadores.para(seleccion).lista(recursos));
+    }
+
+    /**
+     * Obtiene varios recursos por sus IDs.
+     *
+     * @param ids IDs de los recursos separados por comas
+     * @param campos Campos separados por comas, o null para devolver todos
+     * @return Recursos encontrados e IDs no encontrados, en el orden solicitado
+     */
+    @GetMapping(params = "ids")
+    @RequierePermiso(PermisoSistema.RECURSOS_LEER)
+    @Operation(
+        summary = "Obtiene varios recursos por ID",
+        description = "Recupera los recursos indicados en el orden solicitado e informa los IDs que no existen",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Recursos obtenidos correctamente",
+                content = @Content(mediaType = "application/json",
+                        schema = @Schema(implementation = RecursosPorIdDTO.class))
+            ),
+            @ApiResponse(
+                responseCode = "422",
+                description = "Demasiados IDs o campos no válidos"
+            )
+        }
+    )
+    public ResponseEntity<Object> obtenerPorIds(
+            @Parameter(description = "IDs de los recursos separados por comas", required = true)
+            @RequestParam List<UUID> ids,
+
+            @Parameter(description = "Campos a devolver, por ejemplo id,nombre,atributos.tipo")
+            @RequestParam(required = false) String campos
+    ) {
+        return consultarPorIds(ids, campos);
+    }
+
+    /**
+     * Obtiene varios recursos por sus IDs enviados en el cuerpo de la solicitud, para listas
+     * que no caben en la URL.
+     *
+     * @param solicitud IDs de los recursos y campos a devolver
+     * @return Recursos encontrados e IDs no encontrados, en el orden solicitado
+     */
+    @PostMapping("/_mget")
+    @RequierePermiso(PermisoSistema.RECURSOS_LEER)
+    @Operation(
+        summary = "Obtiene varios recursos por ID",
+        description = "Recupera los recursos indicados en el cuerpo en el orden solicitado e informa los IDs que no existen",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Recursos obtenidos correctamente",
+                content = @Content(mediaType = "application/json",
+                        schema = @Schema(implementation = RecursosPorIdDTO.class))
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Solicitud sin IDs"
+            ),
+            @ApiResponse(
+                responseCode = "422",
+                description = "Demasiados IDs o campos no válidos"
+            )
+        }
+    )
+    public ResponseEntity<Object> obtenerVariosPorId(
+            @Parameter(description = "IDs de los recursos y campos a devolver", required = true)
+            @Valid @RequestBody SolicitudRecursosPorIdDTO solicitud
+    ) {
+        return consultarPorIds(solicitud.getIds(), solicitud.getCampos());
+    }
+
     /**
      * Obtiene un recurso por su ID.
      *
@@ -77,6 +215,7 @@ public class RecursoController {
      * @return Recurso
      */
     @GetMapping("/{id}")
+    @RequierePermiso(PermisoSistema.RECURSOS_LEER)
     @Operation(
         summary = "Obtiene un recurso por ID",
         description = "Recupera un recurso específico basado en su identificador único",
@@ -101,6 +240,43 @@ public class RecursoController {
         return ResponseEntity.ok(recurso);
     }
 
+    /**
+     * Obtiene un recurso por su ID con sólo los campos solicitados.
+     *
+     * @param id ID del recurso
+     * @param campos Campos separados por comas
+     * @return Recurso con los campos solicitados
+     */
+    @GetMapping(value = "/{id}", params = "campos")
+    @RequierePermiso(PermisoSistema.RECURSOS_LEER)
+    @Operation(
+        summary = "Obtiene un recurso por ID con un subconjunto de campos",
+        description = "Recupera un recurso consultando y devolviendo sólo los campos indicados",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Recurso encontrado",
+                content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                responseCode = "422",
+                description = "Recurso no encontrado o campos no válidos"
+            )
+        }
+    )
+    public ResponseEntity<JsonSerializable> obtenerParcialPorId(
+            @Parameter(description = "ID del recurso", required = true)
+            @PathVariable UUID id,
+
+            @Parameter(description = "Campos a devolver, por ejemplo id,nombre,atributos.tipo", required = true)
+            @RequestParam String campos
+    ) {
+        CamposRecurso seleccion = CamposRecurso.de(campos);
+        log.debug("Obteniendo recurso por ID: {} con campos: {}", id, seleccion);
+        RecursoDTO recurso = recursoService.obtenerPorId(id, seleccion);
+        return ResponseEntity.ok(serializadores.para(seleccion).uno(recurso));
+    }
+
     /**
      * Crea un nuevo recurso.
      *
@@ -108,6 +284,7 @@ public class RecursoController {
      * @return Recurso creado
      */
     @PostMapping
+    @RequierePermiso(PermisoSistema.RECURSOS_CREAR)
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(
         summary = "Crea un nuevo recurso",
@@ -141,6 +318,7 @@ public class RecursoController {
      * @return Recurso actualizado
      */
     @PutMapping("/{id}")
+    @RequierePermiso(PermisoSistema.RECURSOS_ACTUALIZAR)
     @Operation(
         summary = "Actualiza un recurso existente",
         description = "Actualiza los datos de un recurso existente en el sistema",
@@ -179,6 +357,7 @@ public class RecursoController {
      * @return Respuesta sin contenido
      */
     @DeleteMapping("/{id}")
+    @RequierePermiso(PermisoSistema.RECURSOS_ELIMINAR)
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(
         summary = "Elimina un recurso",
@@ -202,4 +381,17 @@ public class RecursoController {
         recursoService.eliminar(id);
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<Object> consultarPorIds(List<UUID> ids, String campos) {
+        CamposRecurso seleccion = campos != null ? CamposRecurso.de(campos) : null;
+        log.debug("Obteniendo {} recursos por ID", ids.size());
+        RecursosPorIdDTO resultado = consultaMultiple.obtenerPorIds(ids);
+        if (seleccion == null) {
+            return ResponseEntity.ok(resultado);
+        }
+        Map<String, Object> parcial = new LinkedHashMap<>();
+        parcial.put("recursos", serializadores.para(seleccion).lista(resultado.getRecursos()));
+        parcial.put("noEncontrados", resultado.getNoEncontrados());
+        return ResponseEntity.ok(parcial);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,217 @@
+package mx.gob.vucem.componente.interfaces.api.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import mx.gob.vucem.componente.infrastructure.resiliencia.LimiteConcurrenciaAdaptativo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro que limita las solicitudes concurrentes a la API con un límite adaptativo.
+ *
+ * <p>En lugar de dejar que las solicitudes excedentes se formen en Tomcat, donde la cola
+ * aumenta la latencia de todas, las que superan el límite reciben de inmediato un 503 con
+ * {@code Retry-After}. El límite se ajusta con {@link LimiteConcurrenciaAdaptativo} según la
+ * latencia medida. Las solicitudes de operación ({@code /actuator/**}) usan un carril propio
+ * de capacidad fija, de modo que las sondas de salud y las métricas responden aunque la API
+ * esté saturada. Se aplica antes de la autenticación para no gastar en solicitudes que se
+ * van a rechazar.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class FiltroLimiteConcurrencia extends OncePerRequestFilter {
+
+    private static final String RUTA_API = "/api/";
+    private static final String RUTA_OPERACION = "/actuator";
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${vucem.concurrencia.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${vucem.concurrencia.limite-inicial:20}")
+    private int limiteInicial;
+
+    @Value("${vucem.concurrencia.limite-minimo:4}")
+    private int limiteMinimo;
+
+    @Value("${vucem.concurrencia.limite-maximo:150}")
+    private int limiteMaximo;
+
+    @Value("${vucem.concurrencia.tolerancia:1.5}")
+    private double tolerancia;
+
+    @Value("${vucem.concurrencia.suavizado:0.2}")
+    private double suavizado;
+
+    @Value("${vucem.concurrencia.muestras-por-ventana:20}")
+    private int muestrasPorVentana;
+
+    @Value("${vucem.concurrencia.ventana-ms:1000}")
+    private long ventanaMs;
+
+    @Value("${vucem.concurrencia.carril-operacion:8}")
+    private int capacidadCarrilOperacion;
+
+    @Value("${vucem.concurrencia.reintentar-despues-segundos:1}")
+    private long reintentarDespuesSegundos;
+
+    private LimiteConcurrenciaAdaptativo limite;
+    private Semaphore carrilOperacion;
+    private Counter rechazadosApi;
+    private Counter rechazadosOperacion;
+
+    /**
+     * Crea el límite adaptativo y el carril de operación y registra sus métricas.
+     */
+    @PostConstruct
+    public void init() {
+        this.limite = new LimiteConcurrenciaAdaptativo(limiteInicial, limiteMinimo, limiteMaximo, tolerancia,
+                suavizado, muestrasPorVentana, TimeUnit.MILLISECONDS.toNanos(ventanaMs));
+        this.carrilOperacion = new Semaphore(capacidadCarrilOperacion);
+
+        Gauge.builder("vucem.concurrencia.limite", limite, LimiteConcurrenciaAdaptativo::getLimite)
+                .description("Límite adaptativo de solicitudes concurrentes a la API")
+                .register(meterRegistry);
+        Gauge.builder("vucem.concurrencia.en.curso", limite, LimiteConcurrenciaAdaptativo::getEnCurso)
+                .description("Solicitudes en curso por carril")
+                .tag("carril", "api")
+                .register(meterRegistry);
+        Gauge.builder("vucem.concurrencia.en.curso", carrilOperacion,
+                        carril -> capacidadCarrilOperacion - carril.availablePermits())
+                .description("Solicitudes en curso por carril")
+                .tag("carril", "operacion")
+                .register(meterRegistry);
+        this.rechazadosApi = Counter.builder("vucem.concurrencia.rechazados")
+                .description("Solicitudes rechazadas por exceder el límite de concurrencia")
+                .tag("carril", "api")
+                .register(meterRegistry);
+        this.rechazadosOperacion = Counter.builder("vucem.concurrencia.rechazados")
+                .description("Solicitudes rechazadas por exceder el límite de concurrencia")
+                .tag("carril", "operacion")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Obtiene el límite adaptativo de la API.
+     *
+     * @return Límite de concurrencia
+     */
+    public LimiteConcurrenciaAdaptativo getLimite() {
+        return limite;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!habilitado) {
+            return true;
+        }
+        String ruta = ruta(request);
+        return !ruta.startsWith(RUTA_API) && !ruta.startsWith(RUTA_OPERACION);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (ruta(request).startsWith(RUTA_OPERACION)) {
+            filtrarOperacion(request, response, filterChain);
+            return;
+        }
+
+        int enCurso = limite.intentarAdquirir();
+        if (enCurso < 0) {
+            rechazadosApi.increment();
+            rechazar(request, response);
+            return;
+        }
+        long inicio = System.nanoTime();
+        boolean conMuestra = false;
+        try {
+            filterChain.doFilter(request, response);
+            // Las respuestas asíncronas liberan el hilo aquí y los errores no miden la capacidad
+            conMuestra = !request.isAsyncStarted() && esMuestra(response.getStatus());
+        } finally {
+            if (conMuestra) {
+                limite.liberar(System.nanoTime() - inicio, enCurso);
+            } else {
+                limite.liberarSinMuestra();
+            }
+        }
+    }
+
+    /**
+     * Indica si la latencia de una respuesta mide la capacidad del servicio. Sólo cuentan las
+     * exitosas: los 401, 403, 404 o 429 se responden en microsegundos, antes del trabajo real,
+     * y tomarlos como latencia sin cola fijaría el gradiente en su mínimo y el límite cerca
+     * de 4 sin importar la capacidad.
+     *
+     * @param status Estado HTTP de la respuesta
+     * @return true si la respuesta es 2xx o 3xx
+     */
+    static boolean esMuestra(int status) {
+        return status >= 200 && status < 400;
+    }
+
+    private void filtrarOperacion(HttpServletRequest request, HttpServletResponse response,
+                                  FilterChain filterChain) throws ServletException, IOException {
+        if (!carrilOperacion.tryAcquire()) {
+            rechazadosOperacion.increment();
+            rechazar(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            carrilOperacion.release();
+        }
+    }
+
+    private void rechazar(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("timestamp", LocalDateTime.now().toString());
+        error.put("codigo", "SERVICIO_SATURADO");
+        error.put("mensaje", "El servicio está saturado, intente más tarde");
+        error.put("status", status.value());
+        error.put("error", status.getReasonPhrase());
+        error.put("path", "uri=" + request.getRequestURI());
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(reintentarDespuesSegundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static String ruta(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
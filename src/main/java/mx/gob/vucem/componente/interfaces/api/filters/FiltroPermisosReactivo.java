@@ -0,0 +1,97 @@
+package mx.gob.vucem.componente.interfaces.api.filters;
+
+import mx.gob.vucem.componente.domain.exceptions.AccesoDenegadoException;
+import mx.gob.vucem.componente.infrastructure.security.ClaimsVerificados;
+import mx.gob.vucem.componente.infrastructure.security.JwtService;
+import mx.gob.vucem.componente.infrastructure.security.MatrizPermisos;
+import mx.gob.vucem.componente.infrastructure.security.PermisoSistema;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Filtro de las rutas reactivas que autentica el token JWT y autoriza por permisos.
+ *
+ * <p>Equivale a {@link JwtAuthenticationFilter} e {@link InterceptorPermisos} en la pila de
+ * servlets: el token se verifica una sola vez, los usuarios inactivos o bloqueados no se
+ * autorizan, la máscara del usuario se calcula con sus autoridades vigentes y la requerida
+ * se calcula al construir la ruta. La consulta del usuario
+ * puede llegar a la base de datos, por lo que se ejecuta en el planificador de JDBC.
+ */
+@Component
+@Profile("reactivo")
+public class FiltroPermisosReactivo {
+
+    private static final String PREFIJO_BEARER = "Bearer ";
+
+    private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+    private final MatrizPermisos matrizPermisos;
+    private final Scheduler planificadorJdbc;
+
+    public FiltroPermisosReactivo(JwtService jwtService, UserDetailsService userDetailsService,
+                                  MatrizPermisos matrizPermisos,
+                                  @Qualifier("planificadorJdbc") Scheduler planificadorJdbc) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.matrizPermisos = matrizPermisos;
+        this.planificadorJdbc = planificadorJdbc;
+    }
+
+    /**
+     * Crea el filtro de una ruta que requiere los permisos indicados.
+     *
+     * @param permisos Permisos requeridos
+     * @return Filtro de la ruta
+     */
+    public HandlerFilterFunction<ServerResponse, ServerResponse> requiere(PermisoSistema... permisos) {
+        long requerido = PermisoSistema.mascara(List.of(permisos));
+        return (request, siguiente) -> mascara(request)
+                .filter(mascara -> (mascara & requerido) == requerido)
+                .switchIfEmpty(Mono.error(() -> new AccesoDenegadoException("ACCESO_DENEGADO",
+                        "No cuenta con los permisos necesarios para esta operación")))
+                .flatMap(mascara -> siguiente.handle(request));
+    }
+
+    /**
+     * Obtiene la máscara de permisos del usuario del token, o vacío si el token no es
+     * válido o el usuario no puede autenticarse.
+     */
+    private Mono<Long> mascara(ServerRequest request) {
+        String authHeader = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(PREFIJO_BEARER)) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> {
+                    Optional<ClaimsVerificados> claims = jwtService.verificar(authHeader.substring(PREFIJO_BEARER.length()));
+                    if (claims.isEmpty()) {
+                        return null;
+                    }
+                    UserDetails userDetails;
+                    try {
+                        userDetails = userDetailsService.loadUserByUsername(claims.get().usuario());
+                    } catch (UsernameNotFoundException e) {
+                        return null;
+                    }
+                    // Los usuarios inactivos o bloqueados no se autorizan aunque su token siga vigente
+                    if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked()) {
+                        return null;
+                    }
+                    // La máscara sale de las autoridades vigentes, no del token
+                    return matrizPermisos.mascara(userDetails.getAuthorities());
+                })
+                .subscribeOn(planificadorJdbc);
+    }
+}
@@ -0,0 +1,161 @@
+package mx.gob.vucem.componente.interfaces.api.filters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
+import mx.gob.vucem.componente.domain.exceptions.SolicitudesExcedidasException;
+import mx.gob.vucem.componente.infrastructure.resiliencia.CubetasTokens;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Interceptor que limita las solicitudes de cada cliente a la API con cubetas de tokens.
+ *
+ * <p>El cliente se identifica con el usuario del token que deja {@link JwtAuthenticationFilter}
+ * en la solicitud o, en solicitudes anónimas, con la dirección remota. Los encabezados que el
+ * cliente elige, como una API key que nadie verifica, no identifican al cliente: rotarlos
+ * daría una cubeta llena en cada solicitud. La cuota de cada endpoint se resuelve una sola vez por método y patrón
+ * de ruta; una cuota puede abarcar varios métodos, como todos los de escritura, que
+ * comparten sus cubetas, y los endpoints sin cuota propia comparten la cuota general. Cada respuesta informa
+ * el estado de la cuota con los encabezados {@code RateLimit-*}, y las solicitudes que la
+ * exceden reciben un 429 con {@code Retry-After}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class InterceptorLimiteSolicitudes implements HandlerInterceptor {
+
+    /**
+     * Atributo de la solicitud con el identificador del cliente autenticado.
+     */
+    public static final String ATRIBUTO_CLIENTE = InterceptorLimiteSolicitudes.class.getName() + ".CLIENTE";
+
+    private static final String CUOTA_GENERAL = "general";
+
+    private final ComponenteProperties.LimiteSolicitudes configuracion;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher comparador = new AntPathMatcher();
+    private final Cuota general;
+    private final List<Cuota> cuotas = new ArrayList<>();
+    private final Map<String, Cuota> cuotaPorEndpoint = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param properties Propiedades del componente
+     * @param meterRegistry Registro de métricas
+     */
+    public InterceptorLimiteSolicitudes(ComponenteProperties properties, MeterRegistry meterRegistry) {
+        this.configuracion = properties.getLimiteSolicitudes();
+        this.meterRegistry = meterRegistry;
+        this.general = crearCuota(CUOTA_GENERAL, null, List.of(), configuracion.getCapacidad(),
+                configuracion.getPorSegundo());
+        for (ComponenteProperties.LimiteSolicitudes.Cuota cuota : configuracion.getCuotas()) {
+            cuotas.add(crearCuota(cuota.getNombre(), cuota.getPatron(), cuota.getMetodos(), cuota.getCapacidad(),
+                    cuota.getPorSegundo()));
+        }
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!configuracion.isHabilitado()) {
+            return true;
+        }
+        Cuota cuota = resolverCuota(request);
+        CubetasTokens.Consumo consumo = cuota.cubetas.consumir(cliente(request));
+
+        response.setHeader("RateLimit-Policy", cuota.politica);
+        response.setHeader("RateLimit-Limit", cuota.limite);
+        response.setHeader("RateLimit-Remaining", String.valueOf(consumo.restantes()));
+        response.setHeader("RateLimit-Reset", String.valueOf(segundos(consumo.nanosParaLlenarse())));
+        if (consumo.permitido()) {
+            return true;
+        }
+        cuota.rechazados.increment();
+        throw new SolicitudesExcedidasException("LIMITE_SOLICITUDES_EXCEDIDO",
+                "Se excedió el límite de solicitudes, intente más tarde",
+                Math.max(1, segundos(consumo.nanosParaReintentar())));
+    }
+
+    /**
+     * Desaloja periódicamente las cubetas de los clientes inactivos, que ya están llenas.
+     */
+    @Scheduled(fixedDelayString = "${vucem.componente.limite-solicitudes.intervalo-purga-ms:30000}",
+            initialDelayString = "${vucem.componente.limite-solicitudes.intervalo-purga-ms:30000}")
+    public void purgar() {
+        general.cubetas.purgar();
+        for (Cuota cuota : cuotas) {
+            cuota.cubetas.purgar();
+        }
+    }
+
+    private Cuota resolverCuota(HttpServletRequest request) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (!(patron instanceof String ruta) || cuotas.isEmpty()) {
+            return general;
+        }
+        String metodo = request.getMethod();
+        return cuotaPorEndpoint.computeIfAbsent(metodo + " " + ruta, endpoint -> {
+            for (Cuota cuota : cuotas) {
+                if ((cuota.metodos.isEmpty() || cuota.metodos.contains(metodo.toUpperCase(Locale.ROOT)))
+                        && comparador.match(cuota.patron, ruta)) {
+                    return cuota;
+                }
+            }
+            return general;
+        });
+    }
+
+    private static String cliente(HttpServletRequest request) {
+        if (request.getAttribute(ATRIBUTO_CLIENTE) instanceof String usuario) {
+            return "usuario:" + usuario;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private Cuota crearCuota(String nombre, String patron, List<String> metodos, long capacidad,
+                             double porSegundo) {
+        CubetasTokens cubetas = new CubetasTokens(capacidad, porSegundo, configuracion.getFranjas(),
+                configuracion.getMaximoClavesPorFranja());
+        Gauge.builder("vucem.limite.solicitudes.clientes", cubetas, CubetasTokens::getClaves)
+                .description("Clientes con cubeta de tokens en memoria")
+                .tag("cuota", nombre)
+                .register(meterRegistry);
+        Counter rechazados = Counter.builder("vucem.limite.solicitudes.rechazados")
+                .description("Solicitudes rechazadas por exceder el límite de solicitudes del cliente")
+                .tag("cuota", nombre)
+                .register(meterRegistry);
+        // La ventana de la política es el tiempo en que se repone una cubeta vacía
+        long ventana = Math.max(1, (long) Math.ceil(capacidad / porSegundo));
+        Set<String> metodosCuota = metodos.stream()
+                .map(metodo -> metodo.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        return new Cuota(patron, metodosCuota, cubetas, String.valueOf(capacidad),
+                capacidad + ";w=" + ventana + ";name=\"" + nombre + "\"", rechazados);
+    }
+
+    private static long segundos(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private record Cuota(String patron, Set<String> metodos, CubetasTokens cubetas, String limite, String politica,
+                         Counter rechazados) {
+    }
+}
@@ -0,0 +1,61 @@
+package mx.gob.vucem.componente.interfaces.api.filters;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import mx.gob.vucem.componente.domain.exceptions.AccesoDenegadoException;
+import mx.gob.vucem.componente.infrastructure.security.PermisoSistema;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interceptor que autoriza los endpoints anotados con {@link RequierePermiso}.
+ *
+ * <p>La máscara requerida de cada método se calcula una sola vez; la máscara del usuario la
+ * deja {@link JwtAuthenticationFilter} en la solicitud, por lo que autorizar es una prueba de
+ * bits sin recorrer las autoridades del usuario.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class InterceptorPermisos implements HandlerInterceptor {
+
+    /**
+     * Atributo de la solicitud con la máscara de permisos del usuario autenticado.
+     */
+    public static final String ATRIBUTO_PERMISOS = InterceptorPermisos.class.getName() + ".PERMISOS";
+
+    private final Map<Method, Long> requeridos = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!(handler instanceof HandlerMethod metodo)) {
+            return true;
+        }
+        long requerido = requeridos.computeIfAbsent(metodo.getMethod(), m -> mascaraRequerida(metodo));
+        if (requerido == 0) {
+            return true;
+        }
+        if (request.getAttribute(ATRIBUTO_PERMISOS) instanceof Long mascara && (mascara & requerido) == requerido) {
+            return true;
+        }
+        throw new AccesoDenegadoException("ACCESO_DENEGADO",
+                "No cuenta con los permisos necesarios para esta operación");
+    }
+
+    private static long mascaraRequerida(HandlerMethod metodo) {
+        RequierePermiso anotacion = AnnotatedElementUtils.findMergedAnnotation(metodo.getMethod(), RequierePermiso.class);
+        if (anotacion == null) {
+            anotacion = AnnotatedElementUtils.findMergedAnnotation(metodo.getBeanType(), RequierePermiso.class);
+        }
+        return anotacion != null ? PermisoSistema.mascara(List.of(anotacion.value())) : 0;
+    }
+}
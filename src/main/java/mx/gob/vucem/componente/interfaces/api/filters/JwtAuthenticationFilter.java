@@ -4,7 +4,10 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import mx.gob.vucem.componente.infrastructure.security.ClaimsVerificados;
 import mx.gob.vucem.componente.infrastructure.security.JwtService;
+import mx.gob.vucem.componente.infrastructure.security.MatrizPermisos;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,20 +18,25 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Filtro para validar tokens JWT en cada solicitud.
  * Verifica la autenticación basada en JWT y establece el contexto de seguridad.
  */
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final MatrizPermisos matrizPermisos;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
+                                   MatrizPermisos matrizPermisos) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.matrizPermisos = matrizPermisos;
     }
 
     @Override
@@ -38,8 +46,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String username;
 
         // Si no hay encabezado de autorización o no comienza con "Bearer ", continuar con la cadena de filtros
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -47,16 +53,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        // Extraer el token JWT del encabezado
-        jwt = authHeader.substring(7);
-        username = jwtService.extractUsername(jwt);
+        // Verificar el token una sola vez; las reclamaciones verificadas incluyen el usuario
+        Optional<ClaimsVerificados> claims = jwtService.verificar(authHeader.substring(7));
 
-        // Si se encontró un nombre de usuario y no hay autenticación en el contexto de seguridad
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            
-            // Si el token es válido, establecer la autenticación en el contexto de seguridad
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+        // Si el token es válido y no hay autenticación en el contexto de seguridad
+        if (claims.isPresent() && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.get().usuario());
+            // Los usuarios inactivos o bloqueados no se autentican aunque su token siga vigente
+            if (userDetails.isEnabled() && userDetails.isAccountNonLocked()) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -66,9 +70,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         new WebAuthenticationDetailsSource().buildDetails(request)
                 );
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+
+                // La máscara sale de las autoridades vigentes, no del token: un rol o permiso
+                // retirado deja de autorizar sin esperar a que el token expire
+                request.setAttribute(InterceptorPermisos.ATRIBUTO_PERMISOS,
+                        matrizPermisos.mascara(userDetails.getAuthorities()));
+                request.setAttribute(InterceptorLimiteSolicitudes.ATRIBUTO_CLIENTE, claims.get().usuario());
             }
         }
-        
+
         filterChain.doFilter(request, response);
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package mx.gob.vucem.componente.interfaces.api.filters;
+
+import mx.gob.vucem.componente.infrastructure.security.PermisoSistema;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indica los permisos que requiere un endpoint. Si se usa en la clase aplica a todos sus
+ * métodos, salvo los que declaran sus propios permisos.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface RequierePermiso {
+
+    /**
+     * Permisos requeridos; el usuario debe tenerlos todos.
+     *
+     * @return Permisos requeridos
+     */
+    PermisoSistema[] value();
+}
@@ -0,0 +1,264 @@
+package mx.gob.vucem.componente.interfaces.api.handlers;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import mx.gob.vucem.componente.application.services.RecursoReactivoService;
+import mx.gob.vucem.componente.domain.exceptions.AccesoDenegadoException;
+import mx.gob.vucem.componente.domain.exceptions.AutenticacionFallidaException;
+import mx.gob.vucem.componente.domain.exceptions.BusinessException;
+import mx.gob.vucem.componente.domain.exceptions.ResincronizacionRequeridaException;
+import mx.gob.vucem.componente.domain.exceptions.ServicioNoDisponibleException;
+import mx.gob.vucem.componente.domain.exceptions.SolicitudesExcedidasException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Manejador funcional de la API reactiva de recursos.
+ *
+ * <p>Atiende las mismas operaciones que {@code RecursoController}. Las listas se escriben
+ * conforme llegan de la base de datos: como {@code application/x-ndjson} si el cliente lo
+ * acepta, o como un arreglo JSON. Los errores se responden con el mismo formato y los mismos
+ * estados que {@code GlobalExceptionHandler}.
+ */
+@Slf4j
+@Component
+@Profile("reactivo")
+public class RecursoHandler {
+
+    private final RecursoReactivoService recursoService;
+    private final Validator validator;
+
+    public RecursoHandler(RecursoReactivoService recursoService, Validator validator) {
+        this.recursoService = recursoService;
+        this.validator = validator;
+    }
+
+    /**
+     * Obtiene los recursos como un flujo, filtrados por nombre o por activos.
+     *
+     * @param request Solicitud
+     * @return Respuesta con el flujo de recursos
+     */
+    public Mono<ServerResponse> listar(ServerRequest request) {
+        String nombre = request.queryParam("nombre").orElse(null);
+        boolean soloActivos = request.queryParam("soloActivos").map(Boolean::parseBoolean).orElse(false);
+
+        Flux<RecursoDTO> recursos;
+        if (nombre != null && !nombre.trim().isEmpty()) {
+            log.debug("Buscando recursos por nombre: {}", nombre);
+            recursos = recursoService.buscarPorNombre(nombre);
+        } else if (soloActivos) {
+            log.debug("Obteniendo recursos activos");
+            recursos = recursoService.obtenerActivos();
+        } else {
+            log.debug("Obteniendo todos los recursos");
+            recursos = recursoService.obtenerTodos();
+        }
+
+        MediaType tipo = request.headers().accept().stream().anyMatch(MediaType.APPLICATION_NDJSON::isCompatibleWith)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(tipo).body(recursos, RecursoDTO.class);
+    }
+
+    /**
+     * Obtiene un recurso por su ID.
+     *
+     * @param request Solicitud con el ID en la ruta
+     * @return Respuesta con el recurso
+     */
+    public Mono<ServerResponse> obtener(ServerRequest request) {
+        return id(request)
+                .doOnNext(id -> log.debug("Obteniendo recurso por ID: {}", id))
+                .flatMap(recursoService::obtenerPorId)
+                .flatMap(recurso -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(recurso));
+    }
+
+    /**
+     * Crea un nuevo recurso.
+     *
+     * @param request Solicitud con los datos del recurso
+     * @return Respuesta con el recurso creado
+     */
+    public Mono<ServerResponse> crear(ServerRequest request) {
+        return cuerpoValido(request)
+                .doOnNext(recurso -> log.debug("Creando nuevo recurso: {}", recurso.getNombre()))
+                .flatMap(recursoService::crear)
+                .flatMap(creado -> ServerResponse.created(URI.create(request.path() + "/" + creado.getId()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(creado));
+    }
+
+    /**
+     * Actualiza un recurso existente.
+     *
+     * @param request Solicitud con el ID en la ruta y los nuevos datos del recurso
+     * @return Respuesta con el recurso actualizado
+     */
+    public Mono<ServerResponse> actualizar(ServerRequest request) {
+        return id(request)
+                .doOnNext(id -> log.debug("Actualizando recurso con ID: {}", id))
+                .flatMap(id -> cuerpoValido(request).flatMap(recurso -> recursoService.actualizar(id, recurso)))
+                .flatMap(actualizado -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(actualizado));
+    }
+
+    /**
+     * Elimina un recurso.
+     *
+     * @param request Solicitud con el ID en la ruta
+     * @return Respuesta sin contenido
+     */
+    public Mono<ServerResponse> eliminar(ServerRequest request) {
+        return id(request)
+                .doOnNext(id -> log.debug("Eliminando recurso con ID: {}", id))
+                .flatMap(recursoService::eliminar)
+                .then(ServerResponse.noContent().build());
+    }
+
+    /**
+     * Convierte una excepción en la respuesta de error estándar.
+     *
+     * @param ex Excepción
+     * @param request Solicitud
+     * @return Respuesta de error
+     */
+    public Mono<ServerResponse> error(Throwable ex, ServerRequest request) {
+        String path = "uri=" + request.path();
+        if (ex instanceof ValidacionFallida validacion) {
+            Map<String, Object> response = createErrorResponse("ERR_VALIDACION",
+                    "Error de validación en los datos de entrada", HttpStatus.BAD_REQUEST, path);
+            response.put("errores", validacion.errores);
+            log.warn("Error de validación: {}", validacion.errores);
+            return responder(HttpStatus.BAD_REQUEST, response);
+        }
+        if (ex instanceof ServerWebInputException entrada) {
+            log.warn("Solicitud inválida: {}", entrada.getReason());
+            return responder(HttpStatus.BAD_REQUEST, createErrorResponse("ERR_SOLICITUD",
+                    entrada.getReason(), HttpStatus.BAD_REQUEST, path));
+        }
+        if (ex instanceof SolicitudesExcedidasException excedidas) {
+            return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(excedidas.getReintentarDespuesSegundos()))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(createErrorResponse(excedidas.getCodigo(), excedidas.getMensaje(),
+                            HttpStatus.TOO_MANY_REQUESTS, path));
+        }
+        if (ex instanceof BusinessException negocio) {
+            HttpStatus status = estado(negocio);
+            log.warn("Error de negocio: {} - {}", negocio.getCodigo(), negocio.getMensaje());
+            return responder(status, createErrorResponse(negocio.getCodigo(), negocio.getMensaje(), status, path));
+        }
+        if (ex instanceof DataAccessResourceFailureException || ex instanceof TransientDataAccessException
+                || ex instanceof RejectedExecutionException) {
+            // La cola del planificador de JDBC llena equivale a un pool agotado
+            log.warn("Base de datos no disponible: {}", ex.getMessage());
+            return responder(HttpStatus.SERVICE_UNAVAILABLE, createErrorResponse("BASE_DATOS_NO_DISPONIBLE",
+                    "La base de datos no está disponible temporalmente", HttpStatus.SERVICE_UNAVAILABLE, path));
+        }
+        log.error("Error no controlado: ", ex);
+        return responder(HttpStatus.INTERNAL_SERVER_ERROR, createErrorResponse("ERR_INTERNO",
+                "Error interno del servidor", HttpStatus.INTERNAL_SERVER_ERROR, path));
+    }
+
+    private Mono<RecursoDTO> cuerpoValido(ServerRequest request) {
+        return request.bodyToMono(RecursoDTO.class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("El cuerpo de la solicitud es requerido")))
+                .handle((recurso, sink) -> {
+                    Set<ConstraintViolation<RecursoDTO>> violaciones = validator.validate(recurso);
+                    if (violaciones.isEmpty()) {
+                        sink.next(recurso);
+                    } else {
+                        sink.error(new ValidacionFallida(violaciones.stream().collect(Collectors.toMap(
+                                violacion -> violacion.getPropertyPath().toString(),
+                                ConstraintViolation::getMessage,
+                                (e1, e2) -> e1 + ", " + e2))));
+                    }
+                });
+    }
+
+    private static Mono<UUID> id(ServerRequest request) {
+        try {
+            return Mono.just(UUID.fromString(request.pathVariable("id")));
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new ServerWebInputException("El ID del recurso no es válido"));
+        }
+    }
+
+    private static HttpStatus estado(BusinessException ex) {
+        if (ex instanceof ResincronizacionRequeridaException) {
+            return HttpStatus.GONE;
+        }
+        if (ex instanceof ServicioNoDisponibleException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        if (ex instanceof AutenticacionFallidaException) {
+            return HttpStatus.UNAUTHORIZED;
+        }
+        if (ex instanceof AccesoDenegadoException) {
+            return HttpStatus.FORBIDDEN;
+        }
+        return HttpStatus.UNPROCESSABLE_ENTITY;
+    }
+
+    private static Mono<ServerResponse> responder(HttpStatus status, Map<String, Object> response) {
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(response);
+    }
+
+    /**
+     * Crea una respuesta de error estándar.
+     *
+     * @param codigo Código de error
+     * @param mensaje Mensaje de error
+     * @param status Estado HTTP
+     * @param path Ruta de la solicitud
+     * @return Mapa con la respuesta de error
+     */
+    private static Map<String, Object> createErrorResponse(
+            String codigo, String mensaje, HttpStatus status, String path) {
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now().toString());
+        errorResponse.put("codigo", codigo);
+        errorResponse.put("mensaje", mensaje);
+        errorResponse.put("status", status.value());
+        errorResponse.put("error", status.getReasonPhrase());
+        errorResponse.put("path", path);
+
+        return errorResponse;
+    }
+
+    /**
+     * Errores de validación del cuerpo de la solicitud.
+     */
+    private static final class ValidacionFallida extends RuntimeException {
+
+        private final transient Map<String, String> errores;
+
+        ValidacionFallida(Map<String, String> errores) {
+            super("Error de validación en los datos de entrada", null, false, false);
+            this.errores = errores;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package mx.gob.vucem.componente.interfaces.api.handlers;
+
+import mx.gob.vucem.componente.infrastructure.security.PermisoSistema;
+import mx.gob.vucem.componente.interfaces.api.filters.FiltroPermisosReactivo;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Rutas funcionales de la API reactiva de recursos en {@code /api/recursos}.
+ *
+ * <p>Cada grupo de rutas exige el mismo permiso que el método equivalente de
+ * {@code RecursoController}. Las rutas funcionales tienen precedencia sobre los
+ * controladores anotados, por lo que en el perfil {@code reactivo} atienden esta ruta.
+ */
+@Configuration
+@Profile("reactivo")
+public class RecursoRouter {
+
+    /**
+     * Define las rutas de recursos.
+     *
+     * @param handler Manejador de recursos
+     * @param filtro Filtro de autenticación y permisos
+     * @return Función de ruteo
+     */
+    @Bean
+    public RouterFunction<ServerResponse> rutasRecursos(RecursoHandler handler, FiltroPermisosReactivo filtro) {
+        return route()
+                .path("/api/recursos", recursos -> recursos
+                        .add(route()
+                                .GET("", handler::listar)
+                                .GET("/{id}", handler::obtener)
+                                .filter(filtro.requiere(PermisoSistema.RECURSOS_LEER))
+                                .build())
+                        .add(route()
+                                .POST("", handler::crear)
+                                .filter(filtro.requiere(PermisoSistema.RECURSOS_CREAR))
+                                .build())
+                        .add(route()
+                                .PUT("/{id}", handler::actualizar)
+                                .filter(filtro.requiere(PermisoSistema.RECURSOS_ACTUALIZAR))
+                                .build())
+                        .add(route()
+                                .DELETE("/{id}", handler::eliminar)
+                                .filter(filtro.requiere(PermisoSistema.RECURSOS_ELIMINAR))
+                                .build()))
+                .onError(Throwable.class, handler::error)
+                .build();
+    }
+}
@@ -0,0 +1,178 @@
+package mx.gob.vucem.componente.interfaces.api.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import mx.gob.vucem.componente.domain.valueobjects.CamposRecurso;
+import mx.gob.vucem.componente.domain.valueobjects.CamposRecurso.Campo;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Serializador de recursos con un subconjunto de campos.
+ *
+ * <p>Al crearlo se arma un escritor por campo solicitado, con el nombre del campo ya
+ * codificado; serializar un recurso sólo recorre esos escritores, sin introspección del DTO
+ * en cada solicitud. Como la configuración de Jackson de la aplicación, omite los valores
+ * nulos; las fechas se escriben con el serializador de Jackson para conservar su formato.
+ */
+public final class SerializadorRecursoParcial {
+
+    private final CamposRecurso campos;
+    private final EscritorCampo[] escritores;
+
+    /**
+     * Crea el serializador de un conjunto de campos.
+     *
+     * @param campos Campos a serializar
+     */
+    public SerializadorRecursoParcial(CamposRecurso campos) {
+        this.campos = campos;
+        this.escritores = campos.getCampos().stream()
+                .map(SerializadorRecursoParcial::escritor)
+                .toArray(EscritorCampo[]::new);
+    }
+
+    /**
+     * Obtiene los campos que escribe el serializador.
+     *
+     * @return Campos serializados
+     */
+    public CamposRecurso getCampos() {
+        return campos;
+    }
+
+    /**
+     * Envuelve un recurso para serializarlo con los campos solicitados.
+     *
+     * @param recurso DTO del recurso
+     * @return Valor serializable por Jackson
+     */
+    public JsonSerializable uno(RecursoDTO recurso) {
+        return new Respuesta((generador, proveedor) -> escribir(recurso, generador, proveedor));
+    }
+
+    /**
+     * Envuelve una lista de recursos para serializarla con los campos solicitados.
+     *
+     * @param recursos DTOs de los recursos
+     * @return Valor serializable por Jackson
+     */
+    public JsonSerializable lista(List<RecursoDTO> recursos) {
+        return new Respuesta((generador, proveedor) -> {
+            generador.writeStartArray(recursos, recursos.size());
+            for (RecursoDTO recurso : recursos) {
+                escribir(recurso, generador, proveedor);
+            }
+            generador.writeEndArray();
+        });
+    }
+
+    private void escribir(RecursoDTO recurso, JsonGenerator generador, SerializerProvider proveedor)
+            throws IOException {
+        generador.writeStartObject(recurso);
+        for (EscritorCampo escritor : escritores) {
+            escritor.escribir(recurso, generador, proveedor);
+        }
+        generador.writeEndObject();
+    }
+
+    private static EscritorCampo escritor(Campo campo) {
+        SerializedString nombre = new SerializedString(campo.getNombre());
+        return switch (campo) {
+            case ID -> (recurso, generador, proveedor) -> {
+                UUID id = recurso.getId();
+                if (id != null) {
+                    generador.writeFieldName(nombre);
+                    generador.writeString(id.toString());
+                }
+            };
+            case NOMBRE -> texto(nombre, RecursoDTO::getNombre);
+            case DESCRIPCION -> texto(nombre, RecursoDTO::getDescripcion);
+            case ACTIVO -> (recurso, generador, proveedor) -> {
+                Boolean activo = recurso.getActivo();
+                if (activo != null) {
+                    generador.writeFieldName(nombre);
+                    generador.writeBoolean(activo);
+                }
+            };
+            case ATRIBUTOS -> (recurso, generador, proveedor) -> {
+                Map<String, String> atributos = recurso.getAtributos();
+                if (atributos != null) {
+                    generador.writeFieldName(nombre);
+                    generador.writeStartObject(atributos);
+                    for (Map.Entry<String, String> atributo : atributos.entrySet()) {
+                        if (atributo.getValue() != null) {
+                            generador.writeStringField(atributo.getKey(), atributo.getValue());
+                        }
+                    }
+                    generador.writeEndObject();
+                }
+            };
+            case FECHA_CREACION -> fecha(nombre, RecursoDTO::getFechaCreacion);
+            case FECHA_MODIFICACION -> fecha(nombre, RecursoDTO::getFechaModificacion);
+        };
+    }
+
+    private static EscritorCampo texto(SerializedString nombre, Function<RecursoDTO, String> valor) {
+        return (recurso, generador, proveedor) -> {
+            String texto = valor.apply(recurso);
+            if (texto != null) {
+                generador.writeFieldName(nombre);
+                generador.writeString(texto);
+            }
+        };
+    }
+
+    private static EscritorCampo fecha(SerializedString nombre,
+                                       Function<RecursoDTO, LocalDateTime> valor) {
+        return (recurso, generador, proveedor) -> {
+            LocalDateTime fecha = valor.apply(recurso);
+            if (fecha != null) {
+                generador.writeFieldName(nombre);
+                proveedor.defaultSerializeValue(fecha, generador);
+            }
+        };
+    }
+
+    /**
+     * Escribe un campo de un recurso.
+     */
+    @FunctionalInterface
+    private interface EscritorCampo {
+        void escribir(RecursoDTO recurso, JsonGenerator generador, SerializerProvider proveedor) throws IOException;
+    }
+
+    /**
+     * Contenido que Jackson serializa delegando en los escritores precalculados.
+     */
+    private record Respuesta(Contenido contenido) implements JsonSerializable {
+
+        @Override
+        public void serialize(JsonGenerator generador, SerializerProvider proveedor) throws IOException {
+            contenido.escribir(generador, proveedor);
+        }
+
+        @Override
+        public void serializeWithType(JsonGenerator generador, SerializerProvider proveedor,
+                                      TypeSerializer tipo) throws IOException {
+            serialize(generador, proveedor);
+        }
+    }
+
+    /**
+     * Contenido serializable de una respuesta.
+     */
+    @FunctionalInterface
+    private interface Contenido {
+        void escribir(JsonGenerator generador, SerializerProvider proveedor) throws IOException;
+    }
+}
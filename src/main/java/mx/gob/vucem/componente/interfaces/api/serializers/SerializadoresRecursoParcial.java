@@ -0,0 +1,33 @@
+package mx.gob.vucem.componente.interfaces.api.serializers;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import mx.gob.vucem.componente.domain.valueobjects.CamposRecurso;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serializadores de recursos parciales, uno por conjunto de campos.
+ *
+ * <p>Cada serializador se crea la primera vez que se solicita su conjunto de campos y se
+ * reutiliza en las solicitudes siguientes, sin importar el orden en que el cliente escriba
+ * los campos. La caché está acotada porque las claves de atributos las elige el cliente.
+ */
+@Component
+public class SerializadoresRecursoParcial {
+
+    private static final int MAXIMO_SERIALIZADORES = 1000;
+
+    private final Cache<String, SerializadorRecursoParcial> serializadores = Caffeine.newBuilder()
+            .maximumSize(MAXIMO_SERIALIZADORES)
+            .build();
+
+    /**
+     * Obtiene el serializador de un conjunto de campos.
+     *
+     * @param campos Campos solicitados
+     * @return Serializador de los campos
+     */
+    public SerializadorRecursoParcial para(CamposRecurso campos) {
+        return serializadores.get(campos.getClave(), clave -> new SerializadorRecursoParcial(campos));
+    }
+}
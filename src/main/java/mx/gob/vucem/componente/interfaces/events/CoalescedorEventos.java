@@ -0,0 +1,192 @@
+package mx.gob.vucem.componente.interfaces.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Etapa de coalescencia del flujo de eventos.
+ * Agrupa los eventos del mismo tipo dentro de una ventana de tamaño y tiempo,
+ * conserva únicamente el evento más reciente para cada clave y publica el
+ * resultado como un {@link LoteEventos}.
+ */
+@Component
+@Slf4j
+public class CoalescedorEventos {
+
+    private static final String ORIGEN = "vucem-componente";
+
+    private final ApplicationEventPublisher publisher;
+    private final ComponenteProperties.Eventos.Coalescencia configuracion;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Acumulador> acumuladores = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService planificador;
+    private volatile boolean detenido;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param publisher Publicador de eventos de Spring
+     * @param properties Propiedades del componente
+     * @param meterRegistry Registro de métricas
+     */
+    public CoalescedorEventos(ApplicationEventPublisher publisher, ComponenteProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.publisher = publisher;
+        this.configuracion = properties.getEventos().getCoalescencia();
+        this.meterRegistry = meterRegistry;
+        this.planificador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "coalescedor-eventos");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Indica si la coalescencia de eventos está habilitada.
+     *
+     * @return true si los eventos se agrupan en lotes
+     */
+    public boolean isHabilitado() {
+        return configuracion.isHabilitada();
+    }
+
+    /**
+     * Agrega un evento al lote en curso de su tipo.
+     * Si el lote alcanza el tamaño máximo se publica de inmediato; en caso contrario
+     * se publica al cumplirse la ventana de tiempo. Una vez detenido el coalescedor, los
+     * eventos se publican de inmediato sin esperar la ventana.
+     *
+     * @param evento Evento a agregar
+     */
+    public void agregar(EventoVucem<?> evento) {
+        Acumulador acumulador = acumuladores.computeIfAbsent(evento.getTipo(), Acumulador::new);
+        acumulador.recibidos.increment();
+
+        LoteEventos<?> lote = null;
+        boolean programar = false;
+        synchronized (acumulador) {
+            Object clave = evento.getClave() != null ? evento.getClave() : new Object();
+            if (acumulador.pendientes.remove(clave) != null) {
+                acumulador.coalescidos.increment();
+            }
+            acumulador.pendientes.put(clave, evento);
+            acumulador.recibidosEnLote++;
+
+            if (acumulador.pendientes.size() >= configuracion.getTamanoMaximo()) {
+                lote = acumulador.extraerLote();
+            } else if (!acumulador.programado) {
+                acumulador.programado = true;
+                programar = true;
+            }
+        }
+
+        if (programar && !programarVaciado(acumulador)) {
+            vaciar(acumulador);
+        }
+        if (lote != null) {
+            entregar(acumulador, lote);
+        }
+    }
+
+    /**
+     * Publica de inmediato todos los lotes pendientes.
+     */
+    public void vaciarTodo() {
+        acumuladores.values().forEach(this::vaciar);
+    }
+
+    /**
+     * Publica los lotes pendientes y detiene el planificador.
+     */
+    @PreDestroy
+    public void detener() {
+        detenido = true;
+        planificador.shutdownNow();
+        vaciarTodo();
+    }
+
+    /**
+     * Programa la publicación del lote al cumplirse la ventana.
+     *
+     * @return false si el planificador ya se detuvo y el lote debe publicarse de inmediato
+     */
+    private boolean programarVaciado(Acumulador acumulador) {
+        if (detenido) {
+            return false;
+        }
+        try {
+            planificador.schedule(() -> vaciar(acumulador), configuracion.getVentanaMs(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException ex) {
+            // El coalescedor se detuvo entre la comprobación y la programación
+            return false;
+        }
+    }
+
+    private void vaciar(Acumulador acumulador) {
+        LoteEventos<?> lote;
+        synchronized (acumulador) {
+            acumulador.programado = false;
+            lote = acumulador.pendientes.isEmpty() ? null : acumulador.extraerLote();
+        }
+        if (lote != null) {
+            entregar(acumulador, lote);
+        }
+    }
+
+    private void entregar(Acumulador acumulador, LoteEventos<?> lote) {
+        try {
+            publisher.publishEvent(lote);
+            acumulador.lotes.increment();
+            log.debug("Publicado lote de {} eventos de tipo {} ({} recibidos)",
+                    lote.getTamano(), lote.getTipoEventos(), lote.getEventosRecibidos());
+        } catch (Exception ex) {
+            log.error("Error al publicar lote de eventos de tipo: {}", lote.getTipoEventos(), ex);
+        }
+    }
+
+    /**
+     * Eventos pendientes de un tipo junto con sus métricas.
+     */
+    private final class Acumulador {
+
+        private final String tipo;
+        private final Counter recibidos;
+        private final Counter coalescidos;
+        private final Counter lotes;
+        private LinkedHashMap<Object, EventoVucem<?>> pendientes = new LinkedHashMap<>();
+        private int recibidosEnLote;
+        private boolean programado;
+
+        private Acumulador(String tipo) {
+            this.tipo = tipo;
+            this.recibidos = meterRegistry.counter("vucem.eventos.recibidos", "tipo", tipo);
+            this.coalescidos = meterRegistry.counter("vucem.eventos.coalescidos", "tipo", tipo);
+            this.lotes = meterRegistry.counter("vucem.eventos.lotes", "tipo", tipo);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private LoteEventos<?> extraerLote() {
+            List eventos = new ArrayList<>(pendientes.values());
+            LoteEventos<?> lote = new LoteEventos<>(tipo, eventos, recibidosEnLote, ORIGEN);
+            pendientes = new LinkedHashMap<>();
+            recibidosEnLote = 0;
+            return lote;
+        }
+    }
+}
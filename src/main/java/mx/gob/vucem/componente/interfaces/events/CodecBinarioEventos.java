@@ -0,0 +1,515 @@
+package mx.gob.vucem.componente.interfaces.events;
+
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import org.springframework.stereotype.Component;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Codec binario compacto y versionado para eventos VUCEM con carga {@link RecursoDTO}.
+ *
+ * <p>Formato de un mensaje:
+ * <pre>
+ *   u16  magia (0x5645, "VE")
+ *   u8   versión del formato
+ *   u8   tipo de carga (1 = RecursoDTO)
+ *   u32  longitud del cuerpo en bytes
+ *   cuerpo:
+ *     tipo, origen                  cadenas de diccionario
+ *     i64 segundos, i32 nanos, zona fecha de creación del evento
+ *     carga                         campos del recurso en orden fijo
+ * </pre>
+ *
+ * <p>Reglas de evolución del esquema:
+ * <ul>
+ *   <li>Los campos nuevos sólo se agregan al final del cuerpo. Los lectores anteriores
+ *       los omiten gracias a la longitud del cuerpo, y los lectores nuevos sólo los leen
+ *       si el mensaje los contiene.</li>
+ *   <li>El diccionario de cadenas sólo crece al final; sus índices forman parte del
+ *       formato y nunca se reordenan ni se eliminan.</li>
+ *   <li>Eliminar o cambiar el significado de un campo requiere incrementar la versión;
+ *       los lectores conservan la decodificación de todas las versiones anteriores.</li>
+ * </ul>
+ *
+ * <p>La lectura y escritura operan directamente sobre el {@link ByteBuffer} recibido,
+ * sea de heap, directo o mapeado a memoria, sin copias intermedias del mensaje.
+ */
+@Component
+public class CodecBinarioEventos {
+
+    /**
+     * Magia que identifica un mensaje codificado ("VE").
+     */
+    public static final short MAGIA = 0x5645;
+
+    /**
+     * Versión del formato que produce este codec.
+     */
+    public static final byte VERSION_ACTUAL = 1;
+
+    /**
+     * Tamaño del encabezado fijo de cada mensaje.
+     */
+    public static final int TAMANO_ENCABEZADO = 8;
+
+    private static final byte CARGA_RECURSO = 1;
+
+    /**
+     * Diccionario de cadenas frecuentes. Sólo se permite agregar entradas al final.
+     */
+    private static final List<String> DICCIONARIO = List.of(
+            RecursoCreado.TIPO_EVENTO,
+            "recurso.actualizado",
+            "recurso.eliminado",
+            "vucem-componente",
+            "Z",
+            "UTC",
+            "America/Mexico_City",
+            "tipo",
+            "prioridad",
+            "categoria",
+            "estado",
+            "clave",
+            "descripcion",
+            "origen",
+            "version");
+
+    private static final Map<String, Integer> INDICES_DICCIONARIO = new HashMap<>();
+
+    static {
+        for (int i = 0; i < DICCIONARIO.size(); i++) {
+            INDICES_DICCIONARIO.put(DICCIONARIO.get(i), i);
+        }
+    }
+
+    private final Map<String, BiFunction<RecursoDTO, ZonedDateTime, EventoVucem<RecursoDTO>>> fabricas =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Constructor que registra los tipos de evento soportados.
+     */
+    public CodecBinarioEventos() {
+        fabricas.put(RecursoCreado.TIPO_EVENTO, RecursoCreado::new);
+        fabricas.put(RecursoActualizado.TIPO_EVENTO, RecursoActualizado::new);
+        fabricas.put(RecursoEliminado.TIPO_EVENTO, RecursoEliminado::new);
+    }
+
+    /**
+     * Calcula el tamaño exacto en bytes que ocupará un evento codificado.
+     *
+     * @param evento Evento a codificar
+     * @return Tamaño en bytes, incluyendo el encabezado
+     */
+    public int calcularTamano(EventoVucem<RecursoDTO> evento) {
+        return TAMANO_ENCABEZADO + tamanoCuerpo(evento);
+    }
+
+    /**
+     * Codifica un evento en un nuevo buffer de heap listo para lectura.
+     *
+     * @param evento Evento a codificar
+     * @return Buffer con el mensaje codificado
+     */
+    public ByteBuffer codificar(EventoVucem<RecursoDTO> evento) {
+        ByteBuffer buffer = ByteBuffer.allocate(calcularTamano(evento));
+        escribir(evento, buffer);
+        return buffer.flip();
+    }
+
+    /**
+     * Escribe un evento en la posición actual del buffer y la avanza.
+     * Si el espacio disponible no es suficiente, el buffer no se modifica.
+     *
+     * @param evento Evento a codificar
+     * @param destino Buffer de destino
+     * @return Número de bytes escritos
+     * @throws BufferOverflowException si el buffer no tiene espacio suficiente
+     */
+    public int escribir(EventoVucem<RecursoDTO> evento, ByteBuffer destino) {
+        int cuerpo = tamanoCuerpo(evento);
+        if (destino.remaining() < TAMANO_ENCABEZADO + cuerpo) {
+            throw new BufferOverflowException();
+        }
+
+        destino.putShort(MAGIA);
+        destino.put(VERSION_ACTUAL);
+        destino.put(CARGA_RECURSO);
+        destino.putInt(cuerpo);
+
+        escribirCadenaDiccionario(evento.getTipo(), destino);
+        escribirCadenaDiccionario(evento.getOrigen(), destino);
+        ZonedDateTime fecha = evento.getFechaCreacion();
+        destino.putLong(fecha.toEpochSecond());
+        destino.putInt(fecha.getNano());
+        escribirCadenaDiccionario(fecha.getZone().getId(), destino);
+        escribirRecurso(evento.getCarga(), destino);
+
+        return TAMANO_ENCABEZADO + cuerpo;
+    }
+
+    /**
+     * Lee un evento desde la posición actual del buffer y la avanza hasta el final del mensaje.
+     *
+     * @param origen Buffer de origen
+     * @return Evento decodificado
+     * @throws IllegalArgumentException si el mensaje no es válido, su cuerpo está truncado o su
+     *         versión no está soportada
+     */
+    public EventoVucem<RecursoDTO> leer(ByteBuffer origen) {
+        try {
+            if (origen.getShort() != MAGIA) {
+                throw new IllegalArgumentException("El buffer no contiene un evento codificado");
+            }
+            byte version = origen.get();
+            if (version < 1 || version > VERSION_ACTUAL) {
+                throw new IllegalArgumentException("Versión de formato no soportada: " + version);
+            }
+            byte tipoCarga = origen.get();
+            if (tipoCarga != CARGA_RECURSO) {
+                throw new IllegalArgumentException("Tipo de carga no soportado: " + tipoCarga);
+            }
+            int longitud = origen.getInt();
+            if (longitud < 0 || longitud > origen.remaining()) {
+                throw new IllegalArgumentException("Longitud de cuerpo inválida: " + longitud);
+            }
+            int fin = origen.position() + longitud;
+
+            // Los campos se leen de una vista acotada al cuerpo, de modo que un cuerpo truncado
+            // o corrupto falla en lugar de leer el mensaje siguiente
+            ByteBuffer cuerpo = origen.slice(origen.position(), longitud).order(origen.order());
+            String tipo = leerCadenaDiccionario(cuerpo);
+            leerCadenaDiccionario(cuerpo); // El origen lo determina el tipo de evento
+            long segundos = cuerpo.getLong();
+            int nanos = cuerpo.getInt();
+            ZoneId zona = ZoneId.of(leerCadenaDiccionario(cuerpo));
+            ZonedDateTime fecha = ZonedDateTime.ofInstant(Instant.ofEpochSecond(segundos, nanos), zona);
+            RecursoDTO recurso = leerRecurso(cuerpo);
+
+            // Omitir campos agregados por versiones posteriores del esquema
+            origen.position(fin);
+
+            BiFunction<RecursoDTO, ZonedDateTime, EventoVucem<RecursoDTO>> fabrica = fabricas.get(tipo);
+            if (fabrica == null) {
+                throw new IllegalArgumentException("Tipo de evento no soportado: " + tipo);
+            }
+            return fabrica.apply(recurso, fecha);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Evento codificado incompleto", ex);
+        }
+    }
+
+    /**
+     * Registra un tipo de evento adicional que puede reconstruirse al leer. Puede invocarse
+     * mientras otros hilos leen eventos.
+     *
+     * @param tipo Tipo del evento
+     * @param fabrica Función que reconstruye el evento a partir de su carga y fecha
+     */
+    public void registrarTipo(String tipo, BiFunction<RecursoDTO, ZonedDateTime, EventoVucem<RecursoDTO>> fabrica) {
+        fabricas.put(tipo, fabrica);
+    }
+
+    /**
+     * Indica si un tipo de evento puede reconstruirse al leer.
+     *
+     * @param tipo Tipo del evento
+     * @return true si el tipo está registrado
+     */
+    public boolean soporta(String tipo) {
+        return fabricas.containsKey(tipo);
+    }
+
+    private int tamanoCuerpo(EventoVucem<RecursoDTO> evento) {
+        ZonedDateTime fecha = evento.getFechaCreacion();
+        return tamanoCadenaDiccionario(evento.getTipo())
+                + tamanoCadenaDiccionario(evento.getOrigen())
+                + Long.BYTES + Integer.BYTES
+                + tamanoCadenaDiccionario(fecha.getZone().getId())
+                + tamanoRecurso(evento.getCarga());
+    }
+
+    private int tamanoRecurso(RecursoDTO recurso) {
+        int tamano = 1 + (recurso.getId() != null ? 2 * Long.BYTES : 0);
+        tamano += tamanoCadena(recurso.getNombre());
+        tamano += tamanoCadena(recurso.getDescripcion());
+        tamano += 1;
+        Map<String, String> atributos = recurso.getAtributos();
+        if (atributos == null) {
+            tamano += 1;
+        } else {
+            tamano += tamanoVarint(atributos.size() + 1);
+            for (Map.Entry<String, String> atributo : atributos.entrySet()) {
+                tamano += tamanoCadenaDiccionario(atributo.getKey());
+                tamano += tamanoCadenaDiccionario(atributo.getValue());
+            }
+        }
+        tamano += tamanoFecha(recurso.getFechaCreacion());
+        tamano += tamanoFecha(recurso.getFechaModificacion());
+        return tamano;
+    }
+
+    private void escribirRecurso(RecursoDTO recurso, ByteBuffer destino) {
+        UUID id = recurso.getId();
+        if (id == null) {
+            destino.put((byte) 0);
+        } else {
+            destino.put((byte) 1);
+            destino.putLong(id.getMostSignificantBits());
+            destino.putLong(id.getLeastSignificantBits());
+        }
+        escribirCadena(recurso.getNombre(), destino);
+        escribirCadena(recurso.getDescripcion(), destino);
+        destino.put(recurso.getActivo() == null ? 0 : (byte) (recurso.getActivo() ? 2 : 1));
+        Map<String, String> atributos = recurso.getAtributos();
+        if (atributos == null) {
+            escribirVarint(0, destino);
+        } else {
+            escribirVarint(atributos.size() + 1, destino);
+            for (Map.Entry<String, String> atributo : atributos.entrySet()) {
+                escribirCadenaDiccionario(atributo.getKey(), destino);
+                escribirCadenaDiccionario(atributo.getValue(), destino);
+            }
+        }
+        escribirFecha(recurso.getFechaCreacion(), destino);
+        escribirFecha(recurso.getFechaModificacion(), destino);
+    }
+
+    private RecursoDTO leerRecurso(ByteBuffer origen) {
+        RecursoDTO recurso = new RecursoDTO();
+        if (origen.get() != 0) {
+            recurso.setId(new UUID(origen.getLong(), origen.getLong()));
+        }
+        recurso.setNombre(leerCadena(origen));
+        recurso.setDescripcion(leerCadena(origen));
+        byte activo = origen.get();
+        recurso.setActivo(activo == 0 ? null : activo == 2);
+        int atributos = leerVarint(origen);
+        if (atributos == 0) {
+            recurso.setAtributos(null);
+        } else {
+            Map<String, String> mapa = new LinkedHashMap<>();
+            for (int i = 0; i < atributos - 1; i++) {
+                mapa.put(leerCadenaDiccionario(origen), leerCadenaDiccionario(origen));
+            }
+            recurso.setAtributos(mapa);
+        }
+        recurso.setFechaCreacion(leerFecha(origen));
+        recurso.setFechaModificacion(leerFecha(origen));
+        return recurso;
+    }
+
+    private static int tamanoFecha(LocalDateTime fecha) {
+        return fecha == null ? 1 : 1 + Long.BYTES + Integer.BYTES;
+    }
+
+    private static void escribirFecha(LocalDateTime fecha, ByteBuffer destino) {
+        if (fecha == null) {
+            destino.put((byte) 0);
+        } else {
+            destino.put((byte) 1);
+            destino.putLong(fecha.toEpochSecond(ZoneOffset.UTC));
+            destino.putInt(fecha.getNano());
+        }
+    }
+
+    private static LocalDateTime leerFecha(ByteBuffer origen) {
+        if (origen.get() == 0) {
+            return null;
+        }
+        long segundos = origen.getLong();
+        int nanos = origen.getInt();
+        return LocalDateTime.ofEpochSecond(segundos, nanos, ZoneOffset.UTC);
+    }
+
+    /*
+     * Cadenas: varint con la longitud UTF-8 más uno (0 = null) seguido de los bytes.
+     */
+
+    private static int tamanoCadena(String valor) {
+        if (valor == null) {
+            return 1;
+        }
+        int longitud = longitudUtf8(valor);
+        return tamanoVarint(longitud + 1) + longitud;
+    }
+
+    private static void escribirCadena(String valor, ByteBuffer destino) {
+        if (valor == null) {
+            escribirVarint(0, destino);
+            return;
+        }
+        escribirVarint(longitudUtf8(valor) + 1, destino);
+        escribirUtf8(valor, destino);
+    }
+
+    private static String leerCadena(ByteBuffer origen) {
+        int codigo = leerVarint(origen);
+        return codigo == 0 ? null : leerUtf8(origen, codigo - 1);
+    }
+
+    /*
+     * Cadenas de diccionario: varint 0 = null; impar = índice del diccionario;
+     * par = literal cuya longitud UTF-8 es (codigo / 2) - 1, seguida de los bytes.
+     */
+
+    private static int tamanoCadenaDiccionario(String valor) {
+        if (valor == null) {
+            return 1;
+        }
+        Integer indice = INDICES_DICCIONARIO.get(valor);
+        if (indice != null) {
+            return tamanoVarint((indice << 1) | 1);
+        }
+        int longitud = longitudUtf8(valor);
+        return tamanoVarint((longitud + 1) << 1) + longitud;
+    }
+
+    private static void escribirCadenaDiccionario(String valor, ByteBuffer destino) {
+        if (valor == null) {
+            escribirVarint(0, destino);
+            return;
+        }
+        Integer indice = INDICES_DICCIONARIO.get(valor);
+        if (indice != null) {
+            escribirVarint((indice << 1) | 1, destino);
+        } else {
+            escribirVarint((longitudUtf8(valor) + 1) << 1, destino);
+            escribirUtf8(valor, destino);
+        }
+    }
+
+    private static String leerCadenaDiccionario(ByteBuffer origen) {
+        int codigo = leerVarint(origen);
+        if (codigo == 0) {
+            return null;
+        }
+        if ((codigo & 1) == 1) {
+            int indice = codigo >>> 1;
+            if (indice >= DICCIONARIO.size()) {
+                throw new IllegalArgumentException("Índice de diccionario desconocido: " + indice);
+            }
+            return DICCIONARIO.get(indice);
+        }
+        return leerUtf8(origen, (codigo >>> 1) - 1);
+    }
+
+    /*
+     * Enteros sin signo de longitud variable (LEB128).
+     */
+
+    private static int tamanoVarint(int valor) {
+        int tamano = 1;
+        while ((valor & ~0x7F) != 0) {
+            valor >>>= 7;
+            tamano++;
+        }
+        return tamano;
+    }
+
+    private static void escribirVarint(int valor, ByteBuffer destino) {
+        while ((valor & ~0x7F) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+
+    private static int leerVarint(ByteBuffer origen) {
+        int valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 32; desplazamiento += 7) {
+            byte b = origen.get();
+            valor |= (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Entero de longitud variable mal formado");
+    }
+
+    /*
+     * UTF-8 escrito carácter por carácter para no asignar arreglos intermedios.
+     * Los sustitutos aislados se codifican como '?', igual que String.getBytes.
+     */
+
+    private static int longitudUtf8(String valor) {
+        int longitud = 0;
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c < 0x80) {
+                longitud++;
+            } else if (c < 0x800) {
+                longitud += 2;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < valor.length()
+                        && Character.isLowSurrogate(valor.charAt(i + 1))) {
+                    longitud += 4;
+                    i++;
+                } else {
+                    longitud++;
+                }
+            } else {
+                longitud += 3;
+            }
+        }
+        return longitud;
+    }
+
+    private static void escribirUtf8(String valor, ByteBuffer destino) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c < 0x80) {
+                destino.put((byte) c);
+            } else if (c < 0x800) {
+                destino.put((byte) (0xC0 | (c >> 6)));
+                destino.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < valor.length()
+                        && Character.isLowSurrogate(valor.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, valor.charAt(++i));
+                    destino.put((byte) (0xF0 | (codePoint >> 18)));
+                    destino.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    destino.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    destino.put((byte) (0x80 | (codePoint & 0x3F)));
+                } else {
+                    destino.put((byte) '?');
+                }
+            } else {
+                destino.put((byte) (0xE0 | (c >> 12)));
+                destino.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                destino.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static String leerUtf8(ByteBuffer origen, int longitud) {
+        if (longitud < 0 || longitud > origen.remaining()) {
+            throw new IllegalArgumentException("Longitud de cadena inválida: " + longitud);
+        }
+        String valor;
+        if (origen.hasArray()) {
+            valor = new String(origen.array(), origen.arrayOffset() + origen.position(), longitud,
+                    StandardCharsets.UTF_8);
+            origen.position(origen.position() + longitud);
+        } else {
+            byte[] bytes = new byte[longitud];
+            origen.get(bytes);
+            valor = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,534 @@
+package mx.gob.vucem.componente.interfaces.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
+import mx.gob.vucem.componente.application.dtos.CambioRecursoDTO;
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import mx.gob.vucem.componente.domain.exceptions.ServicioNoDisponibleException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Difunde los cambios de recursos a los suscriptores de Server-Sent Events.
+ *
+ * <p>Cada cambio confirmado recibe un número de secuencia, se serializa una sola vez
+ * y se conserva en un buffer circular para que los clientes puedan reanudar desde
+ * {@code Last-Event-ID}. El identificador de cada evento incluye además un
+ * identificador de arranque: la secuencia vive en memoria y reinicia con el servicio,
+ * por lo que un {@code Last-Event-ID} de otro arranque siempre pide resincronizar.
+ *
+ * <p>Cada suscriptor tiene una cola acotada que drena un grupo pequeño de hilos
+ * compartidos, sin requerir un hilo por conexión. Como {@link SseEmitter#send} es una
+ * escritura bloqueante, cada envío tiene un tiempo máximo: el suscriptor que lo excede
+ * se desconecta y, mientras su escritura siga detenida, el grupo suma un hilo para que
+ * los demás suscriptores sigan recibiendo cambios. Tampoco se cierra una conexión bajo el
+ * candado de la secuencia: cerrar espera a que termine el envío en curso, por lo que el
+ * suscriptor lento sólo se retira y su conexión la cierra después el hilo de despacho.
+ */
+@Component
+@Slf4j
+public class DifusorCambiosRecurso {
+
+    static final String EVENTO_RESINCRONIZAR = "resincronizar";
+    static final String EVENTO_CAMBIOS_PERDIDOS = "cambios-perdidos";
+
+    private static final int MAXIMO_ENVIOS_POR_TURNO = 64;
+    private static final Object LATIDO = new Object();
+
+    /**
+     * Acción a tomar cuando un suscriptor no consume sus cambios a tiempo.
+     */
+    enum PoliticaDesborde {
+        /** Se descartan los cambios nuevos y se avisa al suscriptor que perdió cambios. */
+        DESCARTAR,
+        /** Se cierra la conexión; el cliente se reconecta con Last-Event-ID. */
+        DESCONECTAR
+    }
+
+    private final ComponenteProperties.Eventos.Cambios configuracion;
+    private final PoliticaDesborde politica;
+    private final ObjectMapper objectMapper;
+    private final CambioSerializado[] reproduccion;
+    private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger totalSuscriptores = new AtomicInteger();
+    private final AtomicInteger enviosDetenidos = new AtomicInteger();
+    private final String arranque = UUID.randomUUID().toString().substring(0, 8);
+    private final long tiempoMaximoEnvioNanos;
+    private final ThreadPoolExecutor despachador;
+    private final ScheduledExecutorService planificadorLatidos;
+    private final Counter cambiosEnviados;
+    private final Counter cambiosDescartados;
+    private final Counter suscriptoresDesconectados;
+
+    private long secuencia;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param properties Propiedades del componente
+     * @param objectMapper Serializador JSON
+     * @param meterRegistry Registro de métricas
+     */
+    public DifusorCambiosRecurso(ComponenteProperties properties, ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.configuracion = properties.getEventos().getCambios();
+        this.politica = PoliticaDesborde.valueOf(configuracion.getPoliticaDesborde().toUpperCase());
+        this.objectMapper = objectMapper;
+        this.reproduccion = new CambioSerializado[configuracion.getCapacidadReproduccion()];
+        this.tiempoMaximoEnvioNanos = TimeUnit.MILLISECONDS.toNanos(configuracion.getTiempoMaximoEnvioMs());
+        this.despachador = new ThreadPoolExecutor(configuracion.getHilosDespacho(), configuracion.getHilosDespacho(),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), hilo("difusor-cambios"));
+        this.planificadorLatidos = Executors.newSingleThreadScheduledExecutor(hilo("difusor-cambios-latido"));
+        this.cambiosEnviados = meterRegistry.counter("vucem.cambios.enviados");
+        this.cambiosDescartados = meterRegistry.counter("vucem.cambios.descartados");
+        this.suscriptoresDesconectados = meterRegistry.counter("vucem.cambios.desconectados");
+        meterRegistry.gauge("vucem.cambios.suscriptores", totalSuscriptores);
+
+        long intervalo = configuracion.getIntervaloLatidoSegundos();
+        planificadorLatidos.scheduleAtFixedRate(this::enviarLatidos, intervalo, intervalo, TimeUnit.SECONDS);
+        long revision = Math.max(10, configuracion.getTiempoMaximoEnvioMs() / 2);
+        planificadorLatidos.scheduleWithFixedDelay(this::vigilarEnvios, revision, revision, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Recibe los eventos de recursos una vez confirmada la transacción que los originó
+     * y los distribuye a los suscriptores.
+     *
+     * @param evento Evento publicado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alPublicarEvento(EventoVucem<?> evento) {
+        if (!(evento.getCarga() instanceof RecursoDTO recurso) || !esCambioRecurso(evento.getTipo())) {
+            return;
+        }
+
+        List<Suscriptor> desconectados = new ArrayList<>(0);
+        synchronized (reproduccion) {
+            long numero = ++secuencia;
+            CambioRecursoDTO cambio = CambioRecursoDTO.builder()
+                    .secuencia(numero)
+                    .tipo(evento.getTipo())
+                    .recurso(recurso)
+                    .fecha(evento.getFechaCreacion())
+                    .build();
+            CambioSerializado serializado = new CambioSerializado(numero, evento.getTipo(), serializar(cambio));
+            reproduccion[(int) (numero % reproduccion.length)] = serializado;
+
+            // La distribución ocurre bajo el mismo candado para conservar el orden de secuencia
+            for (Suscriptor suscriptor : suscriptores) {
+                if (!suscriptor.encolar(serializado) && desbordar(suscriptor)) {
+                    desconectados.add(suscriptor);
+                }
+            }
+        }
+
+        for (Suscriptor suscriptor : suscriptores) {
+            programar(suscriptor);
+        }
+        for (Suscriptor suscriptor : desconectados) {
+            programar(suscriptor);
+        }
+    }
+
+    /**
+     * Registra un nuevo suscriptor, reproduciendo los cambios posteriores al último
+     * identificador recibido si aún están disponibles.
+     *
+     * @param ultimoId Valor de Last-Event-ID enviado por el cliente, o null
+     * @return Emisor de eventos del suscriptor
+     * @throws ServicioNoDisponibleException si se alcanzó el máximo de suscriptores
+     */
+    public SseEmitter suscribir(String ultimoId) {
+        if (totalSuscriptores.incrementAndGet() > configuracion.getMaximoSuscriptores()) {
+            totalSuscriptores.decrementAndGet();
+            throw new ServicioNoDisponibleException("SUSCRIPTORES_EXCEDIDOS",
+                    "Se alcanzó el número máximo de suscriptores al flujo de cambios");
+        }
+
+        SseEmitter emitter = new SseEmitter(configuracion.getTimeoutMs());
+        Suscriptor suscriptor = new Suscriptor(emitter, configuracion.getCapacidadSuscriptor());
+        emitter.onCompletion(() -> remover(suscriptor));
+        emitter.onTimeout(() -> {
+            remover(suscriptor);
+            emitter.complete();
+        });
+        emitter.onError(error -> remover(suscriptor));
+
+        synchronized (reproduccion) {
+            reproducir(suscriptor, ultimoId);
+            suscriptores.add(suscriptor);
+        }
+        programar(suscriptor);
+        return emitter;
+    }
+
+    /**
+     * Obtiene el número de suscriptores conectados.
+     *
+     * @return Número de suscriptores
+     */
+    public int getSuscriptores() {
+        return totalSuscriptores.get();
+    }
+
+    /**
+     * Cierra todas las conexiones y detiene los hilos de despacho.
+     */
+    @PreDestroy
+    public void detener() {
+        planificadorLatidos.shutdownNow();
+        despachador.shutdownNow();
+        for (Suscriptor suscriptor : suscriptores) {
+            suscriptor.emitter.complete();
+        }
+        suscriptores.clear();
+    }
+
+    /**
+     * Identificador SSE de un número de secuencia de este arranque.
+     *
+     * @param numero Número de secuencia
+     * @return Identificador de arranque y número de secuencia
+     */
+    String identificador(long numero) {
+        return arranque + "-" + numero;
+    }
+
+    private void reproducir(Suscriptor suscriptor, String ultimoId) {
+        if (ultimoId == null || ultimoId.isBlank()) {
+            return;
+        }
+        String id = ultimoId.trim();
+        int separador = id.lastIndexOf('-');
+        long desde;
+        try {
+            // Un identificador de otro arranque numera una secuencia que ya no existe
+            if (separador < 0 || !arranque.equals(id.substring(0, separador))) {
+                throw new NumberFormatException(id);
+            }
+            desde = Long.parseLong(id.substring(separador + 1));
+        } catch (NumberFormatException ex) {
+            suscriptor.encolarSinLimite(new Control(EVENTO_RESINCRONIZAR, secuencia));
+            return;
+        }
+        // Uno futuro no lo emitió este arranque; uno demasiado antiguo ya no está en el buffer
+        if (desde > secuencia || secuencia - desde > reproduccion.length) {
+            suscriptor.encolarSinLimite(new Control(EVENTO_RESINCRONIZAR, secuencia));
+            return;
+        }
+        for (long numero = desde + 1; numero <= secuencia; numero++) {
+            suscriptor.encolarSinLimite(reproduccion[(int) (numero % reproduccion.length)]);
+        }
+    }
+
+    /**
+     * Aplica la política de desborde a un suscriptor cuya cola está llena. Se invoca bajo el
+     * candado de la secuencia, por lo que no cierra la conexión: sólo retira al suscriptor.
+     *
+     * @return true si el suscriptor se desconectó y su conexión queda por cerrar
+     */
+    private boolean desbordar(Suscriptor suscriptor) {
+        cambiosDescartados.increment();
+        if (politica == PoliticaDesborde.DESCONECTAR) {
+            log.debug("Suscriptor lento desconectado del flujo de cambios");
+            suscriptoresDesconectados.increment();
+            suscriptor.desconectado = true;
+            remover(suscriptor);
+            return true;
+        }
+        suscriptor.perdioCambios = true;
+        return false;
+    }
+
+    private void enviarLatidos() {
+        for (Suscriptor suscriptor : suscriptores) {
+            if (suscriptor.estaVacio()) {
+                suscriptor.encolarSinLimite(LATIDO);
+                programar(suscriptor);
+            }
+        }
+    }
+
+    /**
+     * Desconecta a los suscriptores cuyo envío en curso excede el tiempo máximo y compensa
+     * al grupo de despacho por cada hilo que queda detenido en una escritura.
+     */
+    private void vigilarEnvios() {
+        long limite = System.nanoTime() - tiempoMaximoEnvioNanos;
+        for (Suscriptor suscriptor : suscriptores) {
+            if (suscriptor.abandonarSiExcede(limite)) {
+                log.debug("Suscriptor desconectado por exceder el tiempo máximo de envío");
+                suscriptoresDesconectados.increment();
+                remover(suscriptor);
+                ajustarDespachador(enviosDetenidos.incrementAndGet());
+            }
+        }
+    }
+
+    private void ajustarDespachador(int detenidos) {
+        synchronized (despachador) {
+            int tamano = configuracion.getHilosDespacho() + Math.max(0, detenidos);
+            if (tamano > despachador.getMaximumPoolSize()) {
+                despachador.setMaximumPoolSize(tamano);
+                despachador.setCorePoolSize(tamano);
+            } else {
+                despachador.setCorePoolSize(tamano);
+                despachador.setMaximumPoolSize(tamano);
+            }
+        }
+    }
+
+    private void programar(Suscriptor suscriptor) {
+        boolean pendiente = suscriptor.activo ? !suscriptor.estaVacio() : suscriptor.porCerrar();
+        if (pendiente && suscriptor.programado.compareAndSet(false, true)) {
+            try {
+                despachador.execute(() -> drenar(suscriptor));
+            } catch (RuntimeException ex) {
+                suscriptor.programado.set(false);
+            }
+        }
+    }
+
+    private void drenar(Suscriptor suscriptor) {
+        try {
+            for (int i = 0; i < MAXIMO_ENVIOS_POR_TURNO && suscriptor.activo; i++) {
+                Object mensaje = suscriptor.siguiente();
+                if (mensaje == null) {
+                    break;
+                }
+                suscriptor.iniciarEnvio();
+                try {
+                    enviar(suscriptor, mensaje);
+                } finally {
+                    suscriptor.terminarEnvio();
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Suscriptor desconectado del flujo de cambios: {}", ex.getMessage());
+            remover(suscriptor);
+            return;
+        } finally {
+            suscriptor.programado.set(false);
+            if (suscriptor.liberarSiAbandonado()) {
+                liberarAbandonado(suscriptor);
+            } else if (suscriptor.cerrarSiDesconectado()) {
+                cerrar(suscriptor);
+            }
+        }
+        // Otro turno si llegaron cambios mientras se enviaba, sin monopolizar el hilo
+        programar(suscriptor);
+    }
+
+    private void enviar(Suscriptor suscriptor, Object mensaje) throws IOException {
+        SseEmitter emitter = suscriptor.emitter;
+        if (suscriptor.perdioCambios) {
+            suscriptor.perdioCambios = false;
+            emitter.send(SseEmitter.event().name(EVENTO_CAMBIOS_PERDIDOS).data("{}", MediaType.APPLICATION_JSON));
+        }
+        if (mensaje == LATIDO) {
+            emitter.send(SseEmitter.event().comment("latido"));
+        } else if (mensaje instanceof CambioSerializado cambio) {
+            emitter.send(SseEmitter.event()
+                    .id(identificador(cambio.secuencia()))
+                    .name(cambio.tipo())
+                    .data(cambio.json(), MediaType.APPLICATION_JSON));
+            cambiosEnviados.increment();
+        } else if (mensaje instanceof Control control) {
+            emitter.send(SseEmitter.event()
+                    .id(identificador(control.secuencia()))
+                    .name(control.evento())
+                    .data("{}", MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * Cierra la conexión de un suscriptor abandonado una vez que su escritura detenida
+     * terminó y devuelve al grupo de despacho el hilo que se le había sumado.
+     */
+    private void liberarAbandonado(Suscriptor suscriptor) {
+        Thread.interrupted();
+        ajustarDespachador(enviosDetenidos.decrementAndGet());
+        try {
+            suscriptor.emitter.complete();
+        } catch (RuntimeException ex) {
+            log.debug("No fue posible cerrar la conexión del suscriptor abandonado: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Cierra la conexión de un suscriptor desconectado por desborde, fuera del candado de la
+     * secuencia y una vez terminado cualquier envío en curso.
+     */
+    private void cerrar(Suscriptor suscriptor) {
+        try {
+            suscriptor.emitter.complete();
+        } catch (RuntimeException ex) {
+            log.debug("No fue posible cerrar la conexión del suscriptor desconectado: {}", ex.getMessage());
+        }
+    }
+
+    private void remover(Suscriptor suscriptor) {
+        suscriptor.activo = false;
+        if (suscriptor.registrado.compareAndSet(true, false)) {
+            suscriptores.remove(suscriptor);
+            totalSuscriptores.decrementAndGet();
+        }
+    }
+
+    private String serializar(CambioRecursoDTO cambio) {
+        try {
+            return objectMapper.writeValueAsString(cambio);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No fue posible serializar el cambio " + cambio.getSecuencia(), ex);
+        }
+    }
+
+    private static boolean esCambioRecurso(String tipo) {
+        return RecursoCreado.TIPO_EVENTO.equals(tipo)
+                || RecursoActualizado.TIPO_EVENTO.equals(tipo)
+                || RecursoEliminado.TIPO_EVENTO.equals(tipo);
+    }
+
+    private static ThreadFactory hilo(String nombre) {
+        AtomicInteger contador = new AtomicInteger();
+        return r -> {
+            Thread hilo = new Thread(r, nombre + "-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+
+    /**
+     * Cambio ya serializado, compartido por todos los suscriptores.
+     */
+    private record CambioSerializado(long secuencia, String tipo, String json) {
+    }
+
+    /**
+     * Evento de control que indica al cliente cómo continuar.
+     */
+    private record Control(String evento, long secuencia) {
+    }
+
+    /**
+     * Conexión de un suscriptor con su cola acotada de mensajes pendientes.
+     */
+    private static final class Suscriptor {
+
+        private final SseEmitter emitter;
+        private final int capacidad;
+        private final ArrayDeque<Object> pendientes = new ArrayDeque<>();
+        private final AtomicBoolean programado = new AtomicBoolean();
+        private final AtomicBoolean registrado = new AtomicBoolean(true);
+        private volatile boolean activo = true;
+        private volatile boolean perdioCambios;
+        private volatile boolean desconectado;
+        private boolean abandonado;
+        private boolean liberado;
+        private boolean cerrado;
+        private long envioDesde;
+        private Thread hiloEnvio;
+
+        Suscriptor(SseEmitter emitter, int capacidad) {
+            this.emitter = emitter;
+            this.capacidad = capacidad;
+        }
+
+        synchronized boolean encolar(Object mensaje) {
+            if (pendientes.size() >= capacidad) {
+                return false;
+            }
+            pendientes.addLast(mensaje);
+            return true;
+        }
+
+        synchronized void encolarSinLimite(Object mensaje) {
+            pendientes.addLast(mensaje);
+        }
+
+        synchronized Object siguiente() {
+            return pendientes.pollFirst();
+        }
+
+        synchronized boolean estaVacio() {
+            return pendientes.isEmpty();
+        }
+
+        synchronized void iniciarEnvio() {
+            envioDesde = System.nanoTime();
+            hiloEnvio = Thread.currentThread();
+        }
+
+        synchronized void terminarEnvio() {
+            hiloEnvio = null;
+        }
+
+        /**
+         * Marca al suscriptor como abandonado si su envío en curso comenzó antes del límite
+         * e interrumpe el hilo detenido en la escritura.
+         *
+         * @param limite Instante de {@link System#nanoTime()} antes del cual el envío se considera detenido
+         * @return true si el suscriptor se abandonó en esta llamada
+         */
+        synchronized boolean abandonarSiExcede(long limite) {
+            if (hiloEnvio == null || abandonado || envioDesde - limite > 0) {
+                return false;
+            }
+            abandonado = true;
+            activo = false;
+            hiloEnvio.interrupt();
+            return true;
+        }
+
+        synchronized boolean porCerrar() {
+            return desconectado && !abandonado && !cerrado;
+        }
+
+        /**
+         * Marca como cerrado al suscriptor desconectado por desborde y descarta sus mensajes
+         * pendientes. El abandonado por el tiempo máximo de envío lo cierra
+         * {@link #liberarSiAbandonado()}.
+         *
+         * @return true si la conexión debe cerrarse en esta llamada
+         */
+        synchronized boolean cerrarSiDesconectado() {
+            if (!porCerrar()) {
+                return false;
+            }
+            cerrado = true;
+            pendientes.clear();
+            return true;
+        }
+
+        synchronized boolean liberarSiAbandonado() {
+            if (!abandonado || liberado) {
+                return false;
+            }
+            liberado = true;
+            return true;
+        }
+    }
+}
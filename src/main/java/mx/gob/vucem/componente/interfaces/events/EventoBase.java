@@ -23,9 +23,22 @@ public abstract class EventoBase<T> implements EventoVucem<T> {
      * @param origen Origen del evento
      */
     protected EventoBase(String tipo, T carga, String origen) {
+        this(tipo, carga, origen, ZonedDateTime.now());
+    }
+    
+    /**
+     * Constructor que conserva la fecha de creación original del evento.
+     * Se utiliza al reconstruir eventos previamente serializados.
+     * 
+     * @param tipo Tipo de evento
+     * @param carga Datos del evento
+     * @param origen Origen del evento
+     * @param fechaCreacion Fecha de creación original del evento
+     */
+    protected EventoBase(String tipo, T carga, String origen, ZonedDateTime fechaCreacion) {
         this.tipo = tipo;
         this.carga = carga;
-        this.fechaCreacion = ZonedDateTime.now();
+        this.fechaCreacion = fechaCreacion;
         this.origen = origen;
     }
     
@@ -40,4 +40,15 @@ public interface EventoVucem<T> {
      * @return Identificador del origen del evento
      */
     String getOrigen();
+    
+    /**
+     * Obtiene la clave de la entidad a la que se refiere el evento.
+     * Los eventos del mismo tipo con la misma clave pueden coalescerse,
+     * conservando únicamente el más reciente.
+     * 
+     * @return Clave de la entidad, o null si el evento no es coalescible
+     */
+    default String getClave() {
+        return null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package mx.gob.vucem.componente.interfaces.events;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sobre que agrupa varios eventos del mismo tipo para su entrega en lote.
+ * Los listeners que prefieren procesar eventos en bloque pueden suscribirse
+ * a este tipo en lugar de a cada evento individual.
+ *
+ * @param <T> Tipo de datos que transportan los eventos agrupados
+ */
+public class LoteEventos<T> extends EventoBase<List<EventoVucem<T>>> {
+
+    private static final String SUFIJO_LOTE = ".lote";
+
+    private final String tipoEventos;
+    private final int eventosRecibidos;
+
+    /**
+     * Constructor para crear un lote de eventos.
+     *
+     * @param tipoEventos Tipo de los eventos agrupados
+     * @param eventos Eventos agrupados, ya coalescidos
+     * @param eventosRecibidos Número de eventos recibidos antes de coalescer
+     * @param origen Origen del lote
+     */
+    public LoteEventos(String tipoEventos, List<EventoVucem<T>> eventos, int eventosRecibidos, String origen) {
+        super(tipoEventos + SUFIJO_LOTE, Collections.unmodifiableList(eventos), origen);
+        this.tipoEventos = tipoEventos;
+        this.eventosRecibidos = eventosRecibidos;
+    }
+
+    /**
+     * Obtiene el tipo de los eventos agrupados en el lote.
+     *
+     * @return Tipo de los eventos agrupados
+     */
+    public String getTipoEventos() {
+        return tipoEventos;
+    }
+
+    /**
+     * Obtiene el número de eventos incluidos en el lote.
+     *
+     * @return Número de eventos del lote
+     */
+    public int getTamano() {
+        return getCarga().size();
+    }
+
+    /**
+     * Obtiene el número de eventos recibidos para formar el lote,
+     * incluyendo los que fueron reemplazados por uno más reciente.
+     *
+     * @return Número de eventos recibidos
+     */
+    public int getEventosRecibidos() {
+        return eventosRecibidos;
+    }
+}
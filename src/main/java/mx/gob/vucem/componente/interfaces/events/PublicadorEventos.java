@@ -1,33 +1,102 @@
 package mx.gob.vucem.componente.interfaces.events;
 
+import lombok.extern.slf4j.Slf4j;
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import mx.gob.vucem.componente.infrastructure.eventos.BitacoraEventos;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Servicio para la publicación de eventos en el sistema.
  * Utiliza el mecanismo de eventos de Spring para la publicación.
+ * Cada evento se entrega a los listeners individuales y, si la coalescencia está
+ * habilitada, se agrega también al lote de su tipo.
+ * Los eventos publicados dentro de una transacción se agregan al lote y, cuando la bitácora
+ * está habilitada, se registran en ella una vez confirmada, de modo que una transacción
+ * revertida no deja eventos en los lotes ni en la bitácora y la transacción no espera la
+ * escritura a disco; los publicados fuera de una transacción se procesan de inmediato.
  */
 @Service
+@Slf4j
 public class PublicadorEventos {
-    
+
     private final ApplicationEventPublisher publisher;
-    
+    private final CoalescedorEventos coalescedor;
+    private final BitacoraEventos bitacora;
+    private final CodecBinarioEventos codec;
+    private final boolean esperarSincronizacion;
+
     /**
      * Constructor con inyección de dependencias.
-     * 
+     *
      * @param publisher Publicador de eventos de Spring
+     * @param coalescedor Etapa de agrupación de eventos en lotes
+     * @param bitacora Bitácora local de eventos, si está habilitada
+     * @param codec Codec binario usado por la bitácora
+     * @param properties Propiedades del componente
      */
-    public PublicadorEventos(ApplicationEventPublisher publisher) {
+    public PublicadorEventos(ApplicationEventPublisher publisher, CoalescedorEventos coalescedor,
+                             ObjectProvider<BitacoraEventos> bitacora, CodecBinarioEventos codec,
+                             ComponenteProperties properties) {
         this.publisher = publisher;
+        this.coalescedor = coalescedor;
+        this.bitacora = bitacora.getIfAvailable();
+        this.codec = codec;
+        this.esperarSincronizacion = properties.getEventos().getBitacora().isEsperarSincronizacion();
     }
-    
+
     /**
      * Publica un evento en el sistema.
-     * 
+     *
      * @param <T> Tipo de datos del evento
      * @param evento Evento a publicar
      */
     public <T> void publicar(EventoVucem<T> evento) {
+        if (bitacora != null && evento.getCarga() instanceof RecursoDTO && codec.soporta(evento.getTipo())) {
+            @SuppressWarnings("unchecked")
+            EventoVucem<RecursoDTO> eventoRecurso = (EventoVucem<RecursoDTO>) evento;
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                alConfirmarse(() -> bitacora.agregar(eventoRecurso), "registrar en la bitácora", evento);
+            } else {
+                long offset = bitacora.agregar(eventoRecurso);
+                if (esperarSincronizacion) {
+                    bitacora.esperarSincronizacion(offset);
+                }
+            }
+        }
+        // Los listeners individuales son transaccionales y deciden su propia fase
         publisher.publishEvent(evento);
+        if (coalescedor.isHabilitado()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                alConfirmarse(() -> coalescedor.agregar(evento), "agrupar", evento);
+            } else {
+                coalescedor.agregar(evento);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta la acción una vez confirmada la transacción en curso; si se revierte, la descarta.
+     *
+     * @param accion Acción a ejecutar tras la confirmación
+     * @param descripcion Descripción de la acción para el registro de errores
+     * @param evento Evento al que corresponde la acción
+     */
+    private static void alConfirmarse(Runnable accion, String descripcion, EventoVucem<?> evento) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    accion.run();
+                } catch (RuntimeException ex) {
+                    // La transacción ya se confirmó: no se propaga el error a quien la originó
+                    log.error("Error al {} el evento {}", descripcion, evento.getTipo(), ex);
+                }
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -2,12 +2,14 @@ package mx.gob.vucem.componente.interfaces.events;
 
 import mx.gob.vucem.componente.application.dtos.RecursoDTO;
 
+import java.time.ZonedDateTime;
+
 /**
  * Evento que representa la creación de un nuevo recurso.
  */
 public class RecursoCreado extends EventoBase<RecursoDTO> {
     
-    private static final String TIPO_EVENTO = "recurso.creado";
+    public static final String TIPO_EVENTO = "recurso.creado";
     private static final String ORIGEN = "vucem-componente";
     
     /**
@@ -18,4 +20,19 @@ public class RecursoCreado extends EventoBase<RecursoDTO> {
     public RecursoCreado(RecursoDTO recurso) {
         super(TIPO_EVENTO, recurso, ORIGEN);
     }
+    
+    /**
+     * Constructor para reconstruir un evento de recurso creado ya existente.
+     * 
+     * @param recurso El DTO del recurso creado
+     * @param fechaCreacion Fecha de creación original del evento
+     */
+    public RecursoCreado(RecursoDTO recurso, ZonedDateTime fechaCreacion) {
+        super(TIPO_EVENTO, recurso, ORIGEN, fechaCreacion);
+    }
+    
+    @Override
+    public String getClave() {
+        return getCarga() != null && getCarga().getId() != null ? getCarga().getId().toString() : null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package mx.gob.vucem.componente.interfaces.events;
+
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Evento que representa la eliminación de un recurso.
+ */
+public class RecursoEliminado extends EventoBase<RecursoDTO> {
+    
+    public static final String TIPO_EVENTO = "recurso.eliminado";
+    private static final String ORIGEN = "vucem-componente";
+    
+    /**
+     * Constructor para crear un evento de recurso eliminado.
+     * 
+     * @param recurso El DTO del recurso eliminado
+     */
+    public RecursoEliminado(RecursoDTO recurso) {
+        super(TIPO_EVENTO, recurso, ORIGEN);
+    }
+    
+    /**
+     * Constructor para reconstruir un evento de recurso eliminado ya existente.
+     * 
+     * @param recurso El DTO del recurso eliminado
+     * @param fechaCreacion Fecha de creación original del evento
+     */
+    public RecursoEliminado(RecursoDTO recurso, ZonedDateTime fechaCreacion) {
+        super(TIPO_EVENTO, recurso, ORIGEN, fechaCreacion);
+    }
+    
+    @Override
+    public String getClave() {
+        return getCarga() != null && getCarga().getId() != null ? getCarga().getId().toString() : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+-- Script de migracion para la sincronizacion incremental de recursos
+-- Version: 2.0
+
+-- Secuencia monotona de cambios compartida por recursos y marcas de eliminacion
+CREATE SEQUENCE recursos_cambios_seq START WITH 1 INCREMENT BY 1;
+
+ALTER TABLE recursos ADD COLUMN secuencia_cambio BIGINT;
+UPDATE recursos SET secuencia_cambio = nextval('recursos_cambios_seq');
+ALTER TABLE recursos ALTER COLUMN secuencia_cambio SET NOT NULL;
+
+CREATE INDEX idx_recursos_secuencia_cambio ON recursos (secuencia_cambio);
+
+-- Marcas de eliminacion conservadas durante la ventana de retencion
+CREATE TABLE recursos_eliminados (
+    id UUID PRIMARY KEY,
+    secuencia_cambio BIGINT NOT NULL,
+    fecha_eliminacion TIMESTAMP NOT NULL,
+    eliminado_por VARCHAR(50)
+);
+
+CREATE INDEX idx_recursos_eliminados_secuencia ON recursos_eliminados (secuencia_cambio);
+CREATE INDEX idx_recursos_eliminados_fecha ON recursos_eliminados (fecha_eliminacion);
+
+-- Horizonte de sincronizacion: los tokens anteriores requieren una resincronizacion completa
+CREATE TABLE recursos_cambios_horizonte (
+    id SMALLINT PRIMARY KEY,
+    secuencia_minima BIGINT NOT NULL
+);
+
+INSERT INTO recursos_cambios_horizonte (id, secuencia_minima) VALUES (1, 0);
@@ -0,0 +1,15 @@
+-- Script de migracion para la revocacion de tokens JWT
+-- Version: 3.0
+
+-- Tokens revocados antes de su expiracion, identificados por su JTI.
+-- Las filas se eliminan una vez que el token expira.
+CREATE TABLE tokens_revocados (
+    jti VARCHAR(64) PRIMARY KEY,
+    usuario VARCHAR(50) NOT NULL,
+    expiracion TIMESTAMP NOT NULL,
+    fecha_revocacion TIMESTAMP NOT NULL,
+    revocado_por VARCHAR(50)
+);
+
+CREATE INDEX idx_tokens_revocados_fecha ON tokens_revocados (fecha_revocacion);
+CREATE INDEX idx_tokens_revocados_expiracion ON tokens_revocados (expiracion);
@@ -0,0 +1,242 @@
+package mx.gob.vucem.componente.application.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import mx.gob.vucem.componente.application.dtos.RecursosPorIdDTO;
+import mx.gob.vucem.componente.application.mappers.RecursoMapper;
+import mx.gob.vucem.componente.domain.entities.Recurso;
+import mx.gob.vucem.componente.domain.exceptions.BusinessException;
+import mx.gob.vucem.componente.domain.repositories.RecursoRepository;
+import mx.gob.vucem.componente.interfaces.events.RecursoActualizado;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas de la consulta de varios recursos por ID y comparación con una consulta por
+ * recurso.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConsultaMultipleRecursoServiceTest {
+
+    private static final int RECURSOS = 200;
+
+    @Mock
+    private RecursoRepository recursoRepository;
+
+    private ComponenteProperties properties;
+    private ConsultaMultipleRecursoService consultaMultiple;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ComponenteProperties();
+        consultaMultiple = crearServicio();
+    }
+
+    @Test
+    void debeConservarElOrdenEInformarLosNoEncontrados() {
+        // Arrange: el repositorio devuelve los recursos en un orden distinto al solicitado
+        Recurso a = recurso();
+        Recurso b = recurso();
+        Recurso c = recurso();
+        UUID inexistente = UUID.randomUUID();
+        when(recursoRepository.findAllById(any())).thenReturn(List.of(a, b, c));
+
+        // Act
+        RecursosPorIdDTO resultado = consultaMultiple.obtenerPorIds(
+                List.of(c.getId(), a.getId(), inexistente, a.getId(), b.getId()));
+
+        // Assert: los repetidos se devuelven una vez
+        assertEquals(List.of(c.getId(), a.getId(), b.getId()),
+                resultado.getRecursos().stream().map(RecursoDTO::getId).toList());
+        assertEquals(List.of(inexistente), resultado.getNoEncontrados());
+        verify(recursoRepository).findAllById(List.of(c.getId(), a.getId(), inexistente, b.getId()));
+    }
+
+    @Test
+    void debeServirDeLaCacheYConsultarSoloLosFaltantes() {
+        // Arrange
+        Recurso a = recurso();
+        Recurso b = recurso();
+        Recurso c = recurso();
+        when(recursoRepository.findAllById(any())).thenAnswer(invocacion -> {
+            Collection<UUID> ids = invocacion.getArgument(0);
+            return List.of(a, b, c).stream().filter(recurso -> ids.contains(recurso.getId())).toList();
+        });
+        consultaMultiple.obtenerPorIds(List.of(a.getId(), b.getId()));
+
+        // Act
+        RecursosPorIdDTO resultado = consultaMultiple.obtenerPorIds(List.of(b.getId(), c.getId(), a.getId()));
+
+        // Assert
+        assertEquals(3, resultado.getRecursos().size());
+        verify(recursoRepository).findAllById(List.of(c.getId()));
+
+        // Act: una actualización confirmada descarta el recurso memorizado
+        consultaMultiple.alPublicarEvento(new RecursoActualizado(Mappers.getMapper(RecursoMapper.class).toDto(a)));
+        consultaMultiple.obtenerPorIds(List.of(a.getId(), b.getId()));
+
+        // Assert
+        verify(recursoRepository).findAllById(List.of(a.getId()));
+        verify(recursoRepository, times(3)).findAllById(any());
+    }
+
+    @Test
+    void debeConsultarLosFaltantesEnLotesHastaElMaximo() {
+        // Arrange
+        properties.getConsultaMultiple().setMaximoIds(250);
+        properties.getConsultaMultiple().setTamanoLote(100);
+        consultaMultiple = crearServicio();
+        List<UUID> ids = IntStream.range(0, 250).mapToObj(i -> UUID.randomUUID()).toList();
+        when(recursoRepository.findAllById(any())).thenReturn(List.of());
+
+        // Act
+        RecursosPorIdDTO resultado = consultaMultiple.obtenerPorIds(ids);
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<UUID>> lotes = ArgumentCaptor.forClass(Collection.class);
+        verify(recursoRepository, times(3)).findAllById(lotes.capture());
+        assertEquals(List.of(100, 100, 50), lotes.getAllValues().stream().map(Collection::size).toList());
+        assertEquals(ids, resultado.getNoEncontrados());
+
+        List<UUID> demasiados = new ArrayList<>(ids);
+        demasiados.add(UUID.randomUUID());
+        BusinessException error = assertThrows(BusinessException.class, () -> consultaMultiple.obtenerPorIds(demasiados));
+        assertEquals("DEMASIADOS_IDS", error.getCodigo());
+        assertThrows(BusinessException.class, () -> consultaMultiple.obtenerPorIds(List.of()));
+    }
+
+    @Test
+    void debeCompararUnaConsultaPorRecursoConConsultasEnLote() throws Exception {
+        // Arrange
+        try (Connection conexion = DriverManager.getConnection("jdbc:h2:mem:consulta-multiple", "sa", "")) {
+            List<UUID> ids = poblar(conexion);
+            conexion.setAutoCommit(false);
+
+            // Act
+            Lectura porRecurso = porRecurso(conexion, ids);
+            Lectura enLotes = enLotes(conexion, ids, 100);
+
+            // Assert: los mismos recursos con 400 idas y vueltas (consulta y confirmación por
+            // recurso) contra 3
+            assertEquals(RECURSOS, porRecurso.leidos());
+            assertEquals(RECURSOS, enLotes.leidos());
+            assertEquals(2 * RECURSOS, porRecurso.idasYVueltas());
+            assertEquals(3, enLotes.idasYVueltas());
+        }
+    }
+
+    /**
+     * Una sentencia, una consulta y una transacción por recurso, como las solicitudes individuales.
+     */
+    private static Lectura porRecurso(Connection conexion, List<UUID> ids) throws SQLException {
+        int leidos = 0;
+        int idasYVueltas = 0;
+        for (UUID id : ids) {
+            try (PreparedStatement consulta = conexion.prepareStatement(
+                    "SELECT id, nombre, descripcion, activo FROM recursos WHERE id = ?")) {
+                consulta.setObject(1, id);
+                idasYVueltas++;
+                try (ResultSet filas = consulta.executeQuery()) {
+                    while (filas.next()) {
+                        leidos++;
+                    }
+                }
+            }
+            idasYVueltas++;
+            conexion.commit();
+        }
+        return new Lectura(leidos, idasYVueltas);
+    }
+
+    /**
+     * Una transacción y una consulta {@code IN} por lote.
+     */
+    private static Lectura enLotes(Connection conexion, List<UUID> ids, int tamanoLote) throws SQLException {
+        int leidos = 0;
+        int idasYVueltas = 0;
+        for (int inicio = 0; inicio < ids.size(); inicio += tamanoLote) {
+            List<UUID> lote = ids.subList(inicio, Math.min(inicio + tamanoLote, ids.size()));
+            String marcadores = lote.stream().map(id -> "?").collect(Collectors.joining(","));
+            try (PreparedStatement consulta = conexion.prepareStatement(
+                    "SELECT id, nombre, descripcion, activo FROM recursos WHERE id IN (" + marcadores + ")")) {
+                for (int i = 0; i < lote.size(); i++) {
+                    consulta.setObject(i + 1, lote.get(i));
+                }
+                idasYVueltas++;
+                try (ResultSet filas = consulta.executeQuery()) {
+                    while (filas.next()) {
+                        leidos++;
+                    }
+                }
+            }
+        }
+        idasYVueltas++;
+        conexion.commit();
+        return new Lectura(leidos, idasYVueltas);
+    }
+
+    private static List<UUID> poblar(Connection conexion) throws SQLException {
+        try (Statement sentencia = conexion.createStatement()) {
+            sentencia.execute("CREATE TABLE recursos (id UUID PRIMARY KEY, nombre VARCHAR(100) NOT NULL, "
+                    + "descripcion VARCHAR(500), activo BOOLEAN NOT NULL)");
+        }
+        List<UUID> solicitados = new ArrayList<>();
+        try (PreparedStatement insercion = conexion.prepareStatement("INSERT INTO recursos VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < RECURSOS * 50; i++) {
+                UUID id = UUID.randomUUID();
+                insercion.setObject(1, id);
+                insercion.setString(2, "Recurso " + i);
+                insercion.setString(3, "Descripción del recurso " + i);
+                insercion.setBoolean(4, true);
+                insercion.addBatch();
+                if (i % 50 == 0) {
+                    solicitados.add(id);
+                }
+            }
+            insercion.executeBatch();
+        }
+        return solicitados;
+    }
+
+    private ConsultaMultipleRecursoService crearServicio() {
+        return new ConsultaMultipleRecursoService(recursoRepository, Mappers.getMapper(RecursoMapper.class),
+                properties, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Recursos leídos y sentencias o confirmaciones enviadas a la base de datos.
+     */
+    private record Lectura(int leidos, int idasYVueltas) {
+    }
+
+    private static Recurso recurso() {
+        Recurso recurso = new Recurso();
+        recurso.setId(UUID.randomUUID());
+        recurso.setNombre("Recurso");
+        return recurso;
+    }
+}
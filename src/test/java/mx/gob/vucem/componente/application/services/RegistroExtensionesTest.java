@@ -0,0 +1,858 @@
+package mx.gob.vucem.componente.application.services;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
+import mx.gob.vucem.componente.domain.entities.Recurso;
+import mx.gob.vucem.componente.domain.services.RecursoService;
+import mx.gob.vucem.componente.domain.valueobjects.ContextoExtension;
+import mx.gob.vucem.componente.domain.valueobjects.PuntoExtension;
+import mx.gob.vucem.componente.domain.valueobjects.PuntoExtensionCacheable;
+import mx.gob.vucem.componente.domain.valueobjects.PuntoExtensionTipado;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el registro de puntos de extensión.
+ */
+class RegistroExtensionesTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ComponenteProperties properties;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private RegistroExtensiones registroExtensiones;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ComponenteProperties();
+        properties.getExtensiones().setTiempoMaximoMs(1000L);
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .build());
+        registroExtensiones = crearRegistro();
+    }
+
+    private RegistroExtensiones crearRegistro() {
+        return new RegistroExtensiones(meterRegistry, properties, circuitBreakerRegistry,
+                TimeLimiterRegistry.ofDefaults(), BulkheadRegistry.ofDefaults());
+    }
+
+    @AfterEach
+    void tearDown() {
+        registroExtensiones.detener();
+    }
+
+    @Test
+    void debeEjecutarExtensionesEnOrdenDePrioridad() {
+        // Arrange
+        registroExtensiones.registrar(Recurso.class, extension("tercera", 30, (r, c) -> "C"));
+        registroExtensiones.registrar(Recurso.class, extension("primera", 10, (r, c) -> "A"));
+        registroExtensiones.registrar(Recurso.class, extension("segunda", 20, (r, c) -> "B"));
+        registroExtensiones.registrar(Recurso.class, extension("segunda-bis", 20, (r, c) -> "B2"));
+
+        // Act
+        List<String> resultados = registroExtensiones.ejecutarExtensiones(Recurso.class, new Recurso(), new HashMap<>());
+
+        // Assert
+        assertEquals(List.of("A", "B", "B2", "C"), resultados);
+    }
+
+    @Test
+    void debeRegistrarTiemposYFallosPorExtension() {
+        // Arrange
+        registroExtensiones.registrar(Recurso.class, extension("correcta", 1, (r, c) -> Boolean.TRUE));
+        registroExtensiones.registrar(Recurso.class, extension("fallida", 2, (r, c) -> {
+            throw new IllegalStateException("fallo simulado");
+        }));
+
+        // Act
+        List<Boolean> resultados = registroExtensiones.ejecutarExtensiones(Recurso.class, new Recurso(), new HashMap<>());
+
+        // Assert
+        assertEquals(List.of(Boolean.TRUE), resultados);
+        assertEquals(1, meterRegistry.get("vucem.extensiones.ejecucion").tag("extension", "correcta").timer().count());
+        assertEquals(1, meterRegistry.get("vucem.extensiones.ejecucion").tag("extension", "fallida").timer().count());
+        assertEquals(1.0, meterRegistry.get("vucem.extensiones.fallos").tag("extension", "fallida").counter().count());
+        assertEquals(0.0, meterRegistry.get("vucem.extensiones.fallos").tag("extension", "correcta").counter().count());
+    }
+
+    @Test
+    void debeDevolverListaVaciaSinExtensionesRegistradas() {
+        // Act
+        List<Object> resultados = registroExtensiones.ejecutarExtensiones(String.class, "entrada", new HashMap<>());
+
+        // Assert
+        assertTrue(resultados.isEmpty());
+        assertTrue(registroExtensiones.obtenerExtensiones(String.class).isEmpty());
+    }
+
+    @Test
+    void debePermitirRegistrarMientrasSeEjecuta() throws Exception {
+        // Arrange: sin resiliencia, la prueba se centra en la publicación del registro
+        registroExtensiones.detener();
+        properties.getExtensiones().setResilienciaHabilitada(false);
+        registroExtensiones = crearRegistro();
+        registroExtensiones.registrar(Recurso.class, extension("base", 0, (r, c) -> Boolean.TRUE));
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch inicio = new CountDownLatch(1);
+        Thread lector = new Thread(() -> {
+            try {
+                inicio.await();
+                for (int i = 0; i < 20_000; i++) {
+                    List<Boolean> resultados = registroExtensiones.ejecutarExtensiones(
+                            Recurso.class, new Recurso(), new HashMap<>());
+                    assertFalse(resultados.isEmpty());
+                }
+            } catch (Throwable ex) {
+                error.set(ex);
+            }
+        });
+        lector.start();
+
+        // Act
+        inicio.countDown();
+        for (int i = 0; i < 200; i++) {
+            registroExtensiones.registrar(Recurso.class, extension("ext-" + i, i % 7, (r, c) -> Boolean.TRUE));
+        }
+        lector.join();
+
+        // Assert
+        assertNull(error.get());
+        assertEquals(201, registroExtensiones.obtenerExtensiones(Recurso.class).size());
+    }
+
+    @Test
+    void debeValidarExtensionesIndependientesEnParalelo() {
+        // Arrange: cuatro validadores lentos de 200 ms cada uno
+        for (int i = 0; i < 4; i++) {
+            registroExtensiones.registrar(Recurso.class, independiente("lenta-" + i, i, 200, Boolean.TRUE, 0));
+        }
+
+        // Act
+        long inicioSecuencial = System.nanoTime();
+        registroExtensiones.ejecutarExtensiones(Recurso.class, new Recurso(), new HashMap<>());
+        long secuencialMs = (System.nanoTime() - inicioSecuencial) / 1_000_000;
+
+        long inicioParalelo = System.nanoTime();
+        boolean valido = registroExtensiones.validar(Recurso.class, new Recurso(), new HashMap<>());
+        long paraleloMs = (System.nanoTime() - inicioParalelo) / 1_000_000;
+
+        // Assert: la latencia pasa de la suma (~800 ms) a la mayor (~200 ms)
+        assertTrue(valido);
+        assertTrue(secuencialMs >= 800, "secuencial=" + secuencialMs);
+        assertTrue(paraleloMs < 500, "paralelo=" + paraleloMs + " secuencial=" + secuencialMs);
+    }
+
+    @Test
+    void debeCancelarLasDemasCuandoUnaRechaza() {
+        // Arrange
+        AtomicBoolean lentaTermino = new AtomicBoolean();
+        registroExtensiones.registrar(Recurso.class, independiente("rechaza", 1, 20, Boolean.FALSE, 0));
+        registroExtensiones.registrar(Recurso.class, extension("lenta", 2, true, 0, (r, c) -> {
+            dormir(2000);
+            lentaTermino.set(true);
+            return Boolean.TRUE;
+        }));
+
+        // Act
+        long inicio = System.nanoTime();
+        boolean valido = registroExtensiones.validar(Recurso.class, new Recurso(), new HashMap<>());
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        // Assert
+        assertFalse(valido);
+        assertTrue(duracionMs < 1000, "duracion=" + duracionMs);
+        assertFalse(lentaTermino.get());
+    }
+
+    @Test
+    void debeEjecutarDependientesEnOrdenYDetenerseAlRechazar() {
+        // Arrange
+        List<String> ejecutadas = new CopyOnWriteArrayList<>();
+        registroExtensiones.registrar(Recurso.class, extension("primera", 1, false, 0, (r, c) -> {
+            ejecutadas.add("primera");
+            c.put("marca", "valor");
+            return Boolean.TRUE;
+        }));
+        registroExtensiones.registrar(Recurso.class, extension("segunda", 2, false, 0, (r, c) -> {
+            ejecutadas.add("segunda:" + c.get("marca"));
+            return Boolean.FALSE;
+        }));
+        registroExtensiones.registrar(Recurso.class, extension("tercera", 3, false, 0, (r, c) -> {
+            ejecutadas.add("tercera");
+            return Boolean.TRUE;
+        }));
+
+        // Act
+        boolean valido = registroExtensiones.validar(Recurso.class, new Recurso(), new HashMap<>());
+
+        // Assert
+        assertFalse(valido);
+        assertEquals(List.of("primera", "segunda:valor"), ejecutadas);
+    }
+
+    @Test
+    void debeTratarTiempoExcedidoComoFalloSinRechazar() {
+        // Arrange
+        registroExtensiones.registrar(Recurso.class, independiente("excedida", 1, 2000, Boolean.FALSE, 100));
+        registroExtensiones.registrar(Recurso.class, independiente("rapida", 2, 10, Boolean.TRUE, 0));
+
+        // Act
+        long inicio = System.nanoTime();
+        boolean valido = registroExtensiones.validar(Recurso.class, new Recurso(), new HashMap<>());
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        // Assert
+        assertTrue(valido);
+        assertTrue(duracionMs < 1000, "duracion=" + duracionMs);
+        assertEquals(1.0, meterRegistry.get("vucem.extensiones.fallos").tag("extension", "excedida").counter().count());
+    }
+
+    @Test
+    void debeMemorizarResultadosPorHuellaDeLaEntrada() {
+        // Arrange
+        AtomicInteger ejecuciones = new AtomicInteger();
+        registroExtensiones.registrar(Recurso.class, cacheable("catalogo", ejecuciones));
+
+        // Act
+        List<Boolean> primera = registroExtensiones.ejecutarExtensiones(Recurso.class, recurso("A", "1"), new HashMap<>());
+        List<Boolean> segunda = registroExtensiones.ejecutarExtensiones(Recurso.class, recurso("A", "2"), new HashMap<>());
+        List<Boolean> otra = registroExtensiones.ejecutarExtensiones(Recurso.class, recurso("B", "1"), new HashMap<>());
+
+        // Assert: la descripción no forma parte de la huella
+        assertEquals(List.of(Boolean.TRUE), primera);
+        assertEquals(List.of(Boolean.TRUE), segunda);
+        assertEquals(List.of(Boolean.FALSE), otra);
+        assertEquals(2, ejecuciones.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("extension", "catalogo").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void debeVolverAEjecutarDespuesDeInvalidarLaCache() {
+        // Arrange
+        AtomicInteger ejecuciones = new AtomicInteger();
+        registroExtensiones.registrar(Recurso.class, cacheable("catalogo", ejecuciones));
+        registroExtensiones.validar(Recurso.class, recurso("A", "1"), new HashMap<>());
+
+        // Act
+        registroExtensiones.invalidarCache(Recurso.class, "catalogo");
+        registroExtensiones.validar(Recurso.class, recurso("A", "1"), new HashMap<>());
+        registroExtensiones.invalidarCache(Recurso.class);
+        registroExtensiones.validar(Recurso.class, recurso("A", "1"), new HashMap<>());
+
+        // Assert
+        assertEquals(3, ejecuciones.get());
+    }
+
+    @Test
+    void debeEjecutarExtensionesTipadasYOriginalesSobreElMismoContexto() {
+        // Arrange
+        Recurso existente = recurso("Anterior", null);
+        registroExtensiones.registrar(Recurso.class, tipada("tipada", 1));
+        registroExtensiones.registrar(Recurso.class, extension("original", 2,
+                (r, c) -> c.get("recursoExistente") == existente));
+
+        // Act
+        boolean valido;
+        try (ContextoExtension contexto = ContextoExtension.obtener()) {
+            contexto.asignar(RecursoService.RECURSO_EXISTENTE, existente);
+            valido = registroExtensiones.validar(Recurso.class, recurso("Anterior", "nueva"), contexto);
+        }
+
+        // Assert
+        assertTrue(valido);
+        assertFalse(registroExtensiones.validar(Recurso.class, recurso("Otro", null), new HashMap<>()));
+    }
+
+    @Test
+    void debeValidarSinAsignarMemoriaConContextoTipado() {
+        // Arrange: sustituye la medición de JMH -prof gc con el contador de asignación del hilo,
+        // con la configuración por defecto: resiliencia habilitada y sin límite de tiempo
+        registroExtensiones.detener();
+        properties = new ComponenteProperties();
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        registroExtensiones = crearRegistro();
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Recurso existente = recurso("Anterior", null);
+        Recurso recurso = recurso("Anterior", "nueva");
+        for (int i = 0; i < 3; i++) {
+            registroExtensiones.registrar(Recurso.class, tipada("tipada-" + i, i));
+        }
+        int iteraciones = 50_000;
+
+        // Act: se conserva la ronda con menos asignación, una vez que el JIT compiló la ruta
+        long bytesTipado = Long.MAX_VALUE;
+        long bytesMapa = Long.MAX_VALUE;
+        for (int ronda = 0; ronda < 10 && (bytesTipado >= 1024 || bytesMapa <= bytesTipado); ronda++) {
+            long inicio = hilos.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < iteraciones; i++) {
+                validarConContextoTipado(recurso, existente);
+            }
+            bytesTipado = Math.min(bytesTipado, (hilos.getCurrentThreadAllocatedBytes() - inicio) / iteraciones);
+
+            inicio = hilos.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < iteraciones; i++) {
+                validarConMapa(recurso, existente);
+            }
+            bytesMapa = Math.min(bytesMapa, (hilos.getCurrentThreadAllocatedBytes() - inicio) / iteraciones);
+        }
+
+        // Assert: en el hilo del solicitante, tres extensiones protegidas asignan sólo lo que
+        // registran el bulkhead y el circuit breaker, unos cientos de bytes aun sin análisis de
+        // escape; la copia del contexto y el traspaso a un hilo virtual suman cerca de 2 KB
+        assertTrue(bytesTipado < 1024, "tipado=" + bytesTipado + " mapa=" + bytesMapa);
+        assertTrue(bytesMapa > bytesTipado, "tipado=" + bytesTipado + " mapa=" + bytesMapa);
+    }
+
+    @Test
+    void debeLiberarAlSolicitanteCuandoUnaExtensionDependienteSeBloquea() {
+        // Arrange
+        registroExtensiones.registrar(Recurso.class, extension("bloqueada", 1, false, 100, (r, c) -> {
+            dormir(5000);
+            return Boolean.FALSE;
+        }));
+
+        // Act
+        long inicio = System.nanoTime();
+        List<Boolean> resultados = registroExtensiones.ejecutarExtensiones(Recurso.class, new Recurso(), new HashMap<>());
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        // Assert
+        assertTrue(resultados.isEmpty());
+        assertTrue(duracionMs < 1000, "duracion=" + duracionMs);
+        assertEquals(1.0, meterRegistry.get("vucem.extensiones.fallos").tag("extension", "bloqueada").counter().count());
+    }
+
+    @Test
+    void noDebeCompartirElContextoDelHiloConUnaLlamadaAbandonada() throws Exception {
+        // Arrange: la extensión ignora la interrupción y escribe en el contexto tras vencer su tiempo
+        CountDownLatch escribio = new CountDownLatch(1);
+        registroExtensiones.registrar(Recurso.class, extension("tardia", 1, false, 100, (r, c) -> {
+            long limite = System.nanoTime() + 300_000_000L;
+            while (System.nanoTime() < limite) {
+                LockSupport.parkNanos(limite - System.nanoTime());
+            }
+            c.put("tardio", Boolean.TRUE);
+            escribio.countDown();
+            return Boolean.TRUE;
+        }));
+        registroExtensiones.registrar(Recurso.class, extension("puntual", 2, (r, c) -> c.put("puntual", Boolean.TRUE)));
+        Recurso existente = new Recurso();
+
+        // Act
+        try (ContextoExtension contexto = ContextoExtension.obtener()) {
+            contexto.asignar(RecursoService.RECURSO_EXISTENTE, existente);
+            registroExtensiones.ejecutarExtensiones(Recurso.class, new Recurso(), contexto, (extension, resultado) -> true);
+
+            // Assert: los cambios de la llamada que terminó a tiempo sí llegan al solicitante
+            assertEquals(Boolean.TRUE, contexto.comoMapa().get("puntual"));
+            assertSame(existente, contexto.obtener(RecursoService.RECURSO_EXISTENTE));
+        }
+        try (ContextoExtension siguiente = ContextoExtension.obtener()) {
+            escribio.await();
+
+            // Assert: el contexto reutilizado por la siguiente solicitud no recibe la escritura tardía
+            assertNull(siguiente.comoMapa().get("tardio"));
+            assertNull(siguiente.obtener(RecursoService.RECURSO_EXISTENTE));
+        }
+    }
+
+    @Test
+    void debeTrasladarSeguridadYMdcAlHiloDeLaExtension() {
+        // Arrange
+        List<String> vistos = new CopyOnWriteArrayList<>();
+        BiFunction<Recurso, Map<String, Object>, Boolean> registrar = (r, c) -> {
+            vistos.add(Thread.currentThread().isVirtual() + ":"
+                    + SecurityContextHolder.getContext().getAuthentication().getName() + ":" + MDC.get("solicitud"));
+            return Boolean.TRUE;
+        };
+        registroExtensiones.registrar(Recurso.class, extension("dependiente", 1, false, 0, registrar));
+        registroExtensiones.registrar(Recurso.class, extension("independiente", 2, true, 0, registrar));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("operador", null));
+        MDC.put("solicitud", "abc-123");
+
+        try {
+            // Act
+            boolean valido = registroExtensiones.validar(Recurso.class, new Recurso(), new HashMap<>());
+
+            // Assert
+            assertTrue(valido);
+            assertEquals(List.of("true:operador:abc-123", "true:operador:abc-123"), vistos);
+        } finally {
+            SecurityContextHolder.clearContext();
+            MDC.clear();
+        }
+    }
+
+    @Test
+    void debeEjecutarEnElHiloDelSolicitanteSinLimiteDeTiempo() {
+        // Arrange
+        registroExtensiones.detener();
+        properties = new ComponenteProperties();
+        registroExtensiones = crearRegistro();
+        List<Thread> hilos = new CopyOnWriteArrayList<>();
+        registroExtensiones.registrar(Recurso.class, extension("dependiente", 1, (r, c) -> {
+            hilos.add(Thread.currentThread());
+            c.put("visto", Boolean.TRUE);
+            return Boolean.TRUE;
+        }));
+
+        // Act
+        try (ContextoExtension contexto = ContextoExtension.obtener()) {
+            registroExtensiones.ejecutarExtensiones(Recurso.class, new Recurso(), contexto, (extension, resultado) -> true);
+
+            // Assert: sin copia del contexto ni traspaso a un hilo virtual
+            assertEquals(List.of(Thread.currentThread()), hilos);
+            assertEquals(Boolean.TRUE, contexto.comoMapa().get("visto"));
+        }
+    }
+
+    @Test
+    void debeResponderConResultadoPorDefectoConElCircuitoAbierto() {
+        // Arrange
+        AtomicInteger ejecuciones = new AtomicInteger();
+        registroExtensiones.registrar(Recurso.class, new PuntoExtension<Recurso, Boolean>() {
+            @Override
+            public Boolean ejecutar(Recurso entrada, Map<String, Object> contexto) {
+                ejecuciones.incrementAndGet();
+                throw new IllegalStateException("servicio de catálogo caído");
+            }
+
+            @Override
+            public String getIdentificador() {
+                return "catalogo-remoto";
+            }
+
+            @Override
+            public int getPrioridad() {
+                return 0;
+            }
+
+            @Override
+            public Boolean getResultadoPorDefecto() {
+                return Boolean.FALSE;
+            }
+        });
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            assertTrue(registroExtensiones.validar(Recurso.class, new Recurso(), new HashMap<>()));
+        }
+        boolean conCircuitoAbierto = registroExtensiones.validar(Recurso.class, new Recurso(), new HashMap<>());
+
+        // Assert
+        assertFalse(conCircuitoAbierto);
+        assertEquals(4, ejecuciones.get());
+        assertEquals(CircuitBreaker.State.OPEN,
+                circuitBreakerRegistry.circuitBreaker("extension.Recurso.catalogo-remoto").getState());
+    }
+
+    @Test
+    void debeOmitirLaExtensionSinLugarEnSuBulkhead() throws Exception {
+        // Arrange
+        ComponenteProperties.Extensiones.Resiliencia resiliencia = new ComponenteProperties.Extensiones.Resiliencia();
+        resiliencia.setMaximoConcurrentes(1);
+        properties.getExtensiones().getResiliencia().put("exclusiva", resiliencia);
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        registroExtensiones.registrar(Recurso.class, extension("exclusiva", 1, (r, c) -> {
+            dentro.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "ejecutada";
+        }));
+        Thread ocupante = new Thread(() ->
+                registroExtensiones.ejecutarExtensiones(Recurso.class, new Recurso(), new HashMap<>()));
+        ocupante.start();
+        dentro.await();
+
+        // Act
+        List<String> resultados = registroExtensiones.ejecutarExtensiones(Recurso.class, new Recurso(), new HashMap<>());
+        liberar.countDown();
+        ocupante.join();
+
+        // Assert
+        assertTrue(resultados.isEmpty());
+        assertEquals(0.0, meterRegistry.get("vucem.extensiones.fallos").tag("extension", "exclusiva").counter().count());
+    }
+
+    @Test
+    void debeConservarElLugarEnElBulkheadMientrasSigaLaExtensionAbandonada() throws Exception {
+        // Arrange: una extensión que ignora la interrupción y excede su tiempo máximo
+        ComponenteProperties.Extensiones.Resiliencia resiliencia = new ComponenteProperties.Extensiones.Resiliencia();
+        resiliencia.setMaximoConcurrentes(1);
+        resiliencia.setTiempoMaximoMs(50L);
+        properties.getExtensiones().getResiliencia().put("colgada", resiliencia);
+        AtomicInteger ejecuciones = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch terminada = new CountDownLatch(1);
+        registroExtensiones.registrar(Recurso.class, extension("colgada", 1, (r, c) -> {
+            ejecuciones.incrementAndGet();
+            while (liberar.getCount() > 0) {
+                try {
+                    liberar.await();
+                } catch (InterruptedException ex) {
+                    // Se ignora, como una llamada bloqueada en un socket
+                }
+            }
+            terminada.countDown();
+            return "ejecutada";
+        }));
+
+        // Act: la primera llamada se abandona por tiempo; la segunda llega con la primera colgada
+        List<String> abandonada = registroExtensiones.ejecutarExtensiones(Recurso.class, new Recurso(), new HashMap<>());
+        List<String> mientrasColgada = registroExtensiones.ejecutarExtensiones(Recurso.class, new Recurso(), new HashMap<>());
+        liberar.countDown();
+        terminada.await();
+        Thread.sleep(50);
+        List<String> despues = registroExtensiones.ejecutarExtensiones(Recurso.class, new Recurso(), new HashMap<>());
+
+        // Assert: la llamada colgada ocupó el bulkhead hasta terminar de verdad
+        assertTrue(abandonada.isEmpty());
+        assertTrue(mientrasColgada.isEmpty());
+        assertEquals(List.of("ejecutada"), despues);
+        assertEquals(2, ejecuciones.get());
+    }
+
+    @Test
+    void debeAmortizarConsultasAlValidarPorLote() {
+        // Arrange: 10 000 recursos validados contra un catálogo con 50 µs por consulta
+        List<Recurso> recursos = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            recursos.add(recurso("R" + i, null));
+        }
+        AtomicInteger consultasPorEntrada = new AtomicInteger();
+        registroExtensiones.registrar(Recurso.class, catalogo("catalogo", false, consultasPorEntrada));
+        AtomicInteger consultasPorLote = new AtomicInteger();
+        RegistroExtensiones registroLote = crearRegistro();
+        registroLote.registrar(Recurso.class, catalogo("catalogo-lote", true, consultasPorLote));
+
+        // Act
+        List<Boolean> porEntrada = registroExtensiones.validarLote(Recurso.class, recursos, ContextoExtension.envolver(new HashMap<>()));
+        List<Boolean> porLote = registroLote.validarLote(Recurso.class, recursos, ContextoExtension.envolver(new HashMap<>()));
+        registroLote.detener();
+
+        // Assert: una consulta por bloque de 500 en lugar de una por recurso
+        assertEquals(porEntrada, porLote);
+        assertEquals(1000, porLote.stream().filter(Boolean.FALSE::equals).count());
+        assertEquals(10_000, consultasPorEntrada.get());
+        assertEquals(20, consultasPorLote.get());
+    }
+
+    @Test
+    void debeEscalarElLimiteDeTiempoDelLoteConSuTamano() {
+        // Arrange: 20 ms por entrada, dentro de los 100 ms de una llamada individual
+        properties.getExtensiones().setTamanoLote(20);
+        registroExtensiones.detener();
+        registroExtensiones = crearRegistro();
+        AtomicInteger lotes = new AtomicInteger();
+        registroExtensiones.registrar(Recurso.class, new PuntoExtension<Recurso, Boolean>() {
+            @Override
+            public Boolean ejecutar(Recurso entrada, Map<String, Object> contexto) {
+                return Boolean.TRUE;
+            }
+
+            @Override
+            public List<Boolean> ejecutarLote(List<Recurso> entradas, Map<String, Object> contexto) {
+                lotes.incrementAndGet();
+                dormir(20L * entradas.size());
+                return entradas.stream().map(r -> !r.getNombre().equals("R3")).toList();
+            }
+
+            @Override
+            public boolean soportaLote() {
+                return true;
+            }
+
+            @Override
+            public String getIdentificador() {
+                return "lote-lento";
+            }
+
+            @Override
+            public int getPrioridad() {
+                return 0;
+            }
+
+            @Override
+            public long getTiempoMaximoMs() {
+                return 100;
+            }
+        });
+        List<Recurso> recursos = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            recursos.add(recurso("R" + i, null));
+        }
+
+        // Act
+        List<Boolean> validas = registroExtensiones.validarLote(Recurso.class, recursos,
+                ContextoExtension.envolver(new HashMap<>()));
+
+        // Assert: el bloque de 400 ms no se trata como tiempo excedido
+        assertEquals(1, lotes.get());
+        assertEquals(19, validas.stream().filter(Boolean.TRUE::equals).count());
+        assertFalse(validas.get(3));
+        assertEquals(0.0, meterRegistry.get("vucem.extensiones.fallos").tag("extension", "lote-lento").counter().count());
+    }
+
+    @Test
+    void debeEntregarAlLoteSoloLasEntradasSinResultadoMemorizado() {
+        // Arrange
+        List<List<String>> lotesRecibidos = new CopyOnWriteArrayList<>();
+        registroExtensiones.registrar(Recurso.class, new PuntoExtensionCacheable<Recurso, String>() {
+            @Override
+            public String huella(Recurso entrada) {
+                return entrada.getNombre();
+            }
+
+            @Override
+            public String ejecutar(Recurso entrada, Map<String, Object> contexto) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean soportaLote() {
+                return true;
+            }
+
+            @Override
+            public List<String> ejecutarLote(List<Recurso> entradas, Map<String, Object> contexto) {
+                List<String> nombres = entradas.stream().map(Recurso::getNombre).toList();
+                lotesRecibidos.add(nombres);
+                return nombres.stream().map(String::toLowerCase).toList();
+            }
+
+            @Override
+            public String getIdentificador() {
+                return "normalizador";
+            }
+
+            @Override
+            public int getPrioridad() {
+                return 0;
+            }
+        });
+        registroExtensiones.ejecutarExtensionesLote(Recurso.class,
+                List.of(recurso("A", null), recurso("B", null)), ContextoExtension.envolver(new HashMap<>()));
+
+        // Act
+        List<List<String>> resultados = registroExtensiones.ejecutarExtensionesLote(Recurso.class,
+                List.of(recurso("A", null), recurso("C", null), recurso("B", null)), ContextoExtension.envolver(new HashMap<>()));
+
+        // Assert
+        assertEquals(List.of(List.of("a"), List.of("c"), List.of("b")), resultados);
+        assertEquals(List.of(List.of("A", "B"), List.of("C")), lotesRecibidos);
+    }
+
+    @Test
+    void debeOmitirEntradasRechazadasEnLasExtensionesSiguientes() {
+        // Arrange
+        List<String> recibidas = new CopyOnWriteArrayList<>();
+        registroExtensiones.registrar(Recurso.class, extension("filtro", 1,
+                (r, c) -> !r.getNombre().startsWith("X")));
+        registroExtensiones.registrar(Recurso.class, extension("posterior", 2, (r, c) -> {
+            recibidas.add(r.getNombre());
+            return Boolean.TRUE;
+        }));
+
+        // Act
+        List<Boolean> validas = registroExtensiones.validarLote(Recurso.class,
+                List.of(recurso("A", null), recurso("X1", null), recurso("B", null)), ContextoExtension.envolver(new HashMap<>()));
+
+        // Assert
+        assertEquals(List.of(true, false, true), validas);
+        assertEquals(List.of("A", "B"), recibidas);
+    }
+
+    private static PuntoExtension<Recurso, Boolean> catalogo(String identificador, boolean soportaLote,
+                                                             AtomicInteger consultas) {
+        return new PuntoExtension<>() {
+            @Override
+            public Boolean ejecutar(Recurso entrada, Map<String, Object> contexto) {
+                return consultar(List.of(entrada.getNombre())).contains(entrada.getNombre());
+            }
+
+            @Override
+            public List<Boolean> ejecutarLote(List<Recurso> entradas, Map<String, Object> contexto) {
+                Set<String> vigentes = consultar(entradas.stream().map(Recurso::getNombre).toList());
+                return entradas.stream().map(r -> vigentes.contains(r.getNombre())).toList();
+            }
+
+            @Override
+            public boolean soportaLote() {
+                return soportaLote;
+            }
+
+            private Set<String> consultar(List<String> nombres) {
+                consultas.incrementAndGet();
+                LockSupport.parkNanos(50_000);
+                Set<String> vigentes = new HashSet<>();
+                for (String nombre : nombres) {
+                    if (Integer.parseInt(nombre.substring(1)) % 10 != 0) {
+                        vigentes.add(nombre);
+                    }
+                }
+                return vigentes;
+            }
+
+            @Override
+            public String getIdentificador() {
+                return identificador;
+            }
+
+            @Override
+            public int getPrioridad() {
+                return 0;
+            }
+        };
+    }
+
+    private void validarConContextoTipado(Recurso recurso, Recurso existente) {
+        try (ContextoExtension contexto = ContextoExtension.obtener()) {
+            contexto.asignar(RecursoService.RECURSO_EXISTENTE, existente);
+            assertTrue(registroExtensiones.validar(Recurso.class, recurso, contexto));
+        }
+    }
+
+    private void validarConMapa(Recurso recurso, Recurso existente) {
+        Map<String, Object> contexto = new HashMap<>();
+        contexto.put("recursoExistente", existente);
+        assertTrue(registroExtensiones.validar(Recurso.class, recurso, contexto));
+    }
+
+    private static PuntoExtensionTipado<Recurso, Boolean> tipada(String identificador, int prioridad) {
+        return new PuntoExtensionTipado<>() {
+            @Override
+            public Boolean ejecutar(Recurso entrada, ContextoExtension contexto) {
+                Recurso existente = contexto.obtener(RecursoService.RECURSO_EXISTENTE);
+                return existente == null || existente.getNombre().equals(entrada.getNombre());
+            }
+
+            @Override
+            public String getIdentificador() {
+                return identificador;
+            }
+
+            @Override
+            public int getPrioridad() {
+                return prioridad;
+            }
+        };
+    }
+
+    private static Recurso recurso(String nombre, String descripcion) {
+        Recurso recurso = new Recurso();
+        recurso.setNombre(nombre);
+        recurso.setDescripcion(descripcion);
+        return recurso;
+    }
+
+    private static PuntoExtensionCacheable<Recurso, Boolean> cacheable(String identificador, AtomicInteger ejecuciones) {
+        return new PuntoExtensionCacheable<>() {
+            @Override
+            public String huella(Recurso entrada) {
+                return entrada.getNombre();
+            }
+
+            @Override
+            public Boolean ejecutar(Recurso entrada, Map<String, Object> contexto) {
+                ejecuciones.incrementAndGet();
+                return "A".equals(entrada.getNombre());
+            }
+
+            @Override
+            public String getIdentificador() {
+                return identificador;
+            }
+
+            @Override
+            public int getPrioridad() {
+                return 0;
+            }
+        };
+    }
+
+    private static PuntoExtension<Recurso, Boolean> independiente(String identificador, int prioridad, long demoraMs,
+                                                                  Boolean resultado, long tiempoMaximoMs) {
+        return extension(identificador, prioridad, true, tiempoMaximoMs, (r, c) -> {
+            dormir(demoraMs);
+            return resultado;
+        });
+    }
+
+    private static void dormir(long milisegundos) {
+        try {
+            Thread.sleep(milisegundos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static <R> PuntoExtension<Recurso, R> extension(String identificador, int prioridad,
+                                                           BiFunction<Recurso, Map<String, Object>, R> logica) {
+        return extension(identificador, prioridad, false, 0, logica);
+    }
+
+    private static <R> PuntoExtension<Recurso, R> extension(String identificador, int prioridad,
+                                                           boolean esIndependiente, long tiempoMaximoMs,
+                                                           BiFunction<Recurso, Map<String, Object>, R> logica) {
+        return new PuntoExtension<>() {
+            @Override
+            public R ejecutar(Recurso entrada, Map<String, Object> contexto) {
+                return logica.apply(entrada, contexto);
+            }
+
+            @Override
+            public String getIdentificador() {
+                return identificador;
+            }
+
+            @Override
+            public int getPrioridad() {
+                return prioridad;
+            }
+
+            @Override
+            public boolean esIndependiente() {
+                return esIndependiente;
+            }
+
+            @Override
+            public long getTiempoMaximoMs() {
+                return tiempoMaximoMs;
+            }
+        };
+    }
+}
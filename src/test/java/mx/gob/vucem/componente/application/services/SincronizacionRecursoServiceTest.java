@@ -0,0 +1,152 @@
+package mx.gob.vucem.componente.application.services;
+
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
+import mx.gob.vucem.componente.application.dtos.CambiosRecursosDTO;
+import mx.gob.vucem.componente.application.mappers.RecursoMapper;
+import mx.gob.vucem.componente.domain.entities.Recurso;
+import mx.gob.vucem.componente.domain.exceptions.ResincronizacionRequeridaException;
+import mx.gob.vucem.componente.domain.repositories.RecursoRepository;
+import mx.gob.vucem.componente.domain.valueobjects.MarcaEliminacion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para la sincronización incremental de recursos.
+ */
+@ExtendWith(MockitoExtension.class)
+class SincronizacionRecursoServiceTest {
+
+    @Mock
+    private RecursoRepository recursoRepository;
+
+    private ComponenteProperties properties;
+    private SincronizacionRecursoService sincronizacionService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ComponenteProperties();
+        properties.getSincronizacion().setMargenConsistencia(Duration.ZERO);
+        RecursoMapper recursoMapper = Mappers.getMapper(RecursoMapper.class);
+        sincronizacionService = new SincronizacionRecursoService(recursoRepository, recursoMapper, properties);
+    }
+
+    @Test
+    void debeIntercalarCambiosYEliminacionesPorSecuencia() {
+        // Arrange
+        UUID eliminado = UUID.randomUUID();
+        when(recursoRepository.obtenerSecuenciaMinima()).thenReturn(0L);
+        when(recursoRepository.findCambiadosDesde(10L, 501)).thenReturn(List.of(recurso(11), recurso(13)));
+        when(recursoRepository.findEliminadosDesde(10L, 501))
+                .thenReturn(List.of(new MarcaEliminacion(eliminado, 12, LocalDateTime.now().minusMinutes(1))));
+
+        // Act
+        CambiosRecursosDTO cambios = sincronizacionService.obtenerCambios(10, null);
+
+        // Assert
+        assertEquals(2, cambios.getRecursos().size());
+        assertEquals(List.of(eliminado), cambios.getEliminados());
+        assertEquals("13", cambios.getSiguienteToken());
+        assertFalse(cambios.isHayMas());
+    }
+
+    @Test
+    void debePaginarEIndicarQueHayMasCambios() {
+        // Arrange
+        when(recursoRepository.obtenerSecuenciaMinima()).thenReturn(0L);
+        when(recursoRepository.findCambiadosDesde(5L, 3)).thenReturn(List.of(recurso(6), recurso(8), recurso(9)));
+        when(recursoRepository.findEliminadosDesde(5L, 3)).thenReturn(List.of());
+
+        // Act
+        CambiosRecursosDTO cambios = sincronizacionService.obtenerCambios(5, 2);
+
+        // Assert
+        assertEquals(2, cambios.getRecursos().size());
+        assertEquals("8", cambios.getSiguienteToken());
+        assertTrue(cambios.isHayMas());
+    }
+
+    @Test
+    void debeEntregarEstadoCompletoSinMarcasConTokenInicial() {
+        // Arrange
+        when(recursoRepository.findCambiadosDesde(0L, 501)).thenReturn(List.of(recurso(3)));
+
+        // Act
+        CambiosRecursosDTO cambios = sincronizacionService.obtenerCambios(0, null);
+
+        // Assert
+        assertEquals(1, cambios.getRecursos().size());
+        assertTrue(cambios.getEliminados().isEmpty());
+        assertEquals("3", cambios.getSiguienteToken());
+        verify(recursoRepository, never()).findEliminadosDesde(anyLong(), anyInt());
+        verify(recursoRepository, never()).obtenerSecuenciaMinima();
+    }
+
+    @Test
+    void debeRequerirResincronizacionSiElTokenSalioDeLaVentana() {
+        // Arrange
+        when(recursoRepository.obtenerSecuenciaMinima()).thenReturn(100L);
+
+        // Act & Assert
+        ResincronizacionRequeridaException exception = assertThrows(ResincronizacionRequeridaException.class,
+                () -> sincronizacionService.obtenerCambios(40, null));
+        assertEquals("RESINCRONIZACION_REQUERIDA", exception.getCodigo());
+        verify(recursoRepository, never()).findCambiadosDesde(anyLong(), anyInt());
+    }
+
+    @Test
+    void debeDetenerseEnCambiosDentroDelMargenDeConsistencia() {
+        // Arrange
+        properties.getSincronizacion().setMargenConsistencia(Duration.ofMinutes(1));
+        Recurso reciente = recurso(21);
+        reciente.setFechaModificacion(LocalDateTime.now());
+        when(recursoRepository.obtenerSecuenciaMinima()).thenReturn(0L);
+        when(recursoRepository.findCambiadosDesde(eq(19L), anyInt())).thenReturn(List.of(recurso(20), reciente));
+        when(recursoRepository.findEliminadosDesde(eq(19L), anyInt())).thenReturn(List.of());
+
+        // Act
+        CambiosRecursosDTO cambios = sincronizacionService.obtenerCambios(19, null);
+
+        // Assert
+        assertEquals(1, cambios.getRecursos().size());
+        assertEquals("20", cambios.getSiguienteToken());
+        assertFalse(cambios.isHayMas());
+    }
+
+    @Test
+    void debePurgarMarcasSegunLaRetencion() {
+        // Arrange
+        when(recursoRepository.purgarEliminadosAntesDe(any())).thenReturn(4);
+
+        // Act
+        sincronizacionService.purgarMarcasEliminacion();
+
+        // Assert
+        verify(recursoRepository).purgarEliminadosAntesDe(argThat(limite ->
+                limite.isBefore(LocalDateTime.now().minusDays(29))));
+    }
+
+    private static Recurso recurso(long secuencia) {
+        Recurso recurso = new Recurso();
+        recurso.setId(UUID.randomUUID());
+        recurso.setNombre("Recurso " + secuencia);
+        recurso.setSecuenciaCambio(secuencia);
+        recurso.setFechaCreacion(LocalDateTime.now().minusHours(1));
+        return recurso;
+    }
+}
@@ -1,10 +1,15 @@
 package mx.gob.vucem.componente.domain.services;
 
+import mx.gob.vucem.componente.application.mappers.RecursoMapper;
 import mx.gob.vucem.componente.application.services.RecursoServiceImpl;
 import mx.gob.vucem.componente.application.services.RegistroExtensiones;
 import mx.gob.vucem.componente.domain.entities.Recurso;
 import mx.gob.vucem.componente.domain.exceptions.BusinessException;
 import mx.gob.vucem.componente.domain.repositories.RecursoRepository;
+import mx.gob.vucem.componente.domain.valueobjects.ContextoExtension;
+import mx.gob.vucem.componente.interfaces.events.PublicadorEventos;
+import mx.gob.vucem.componente.interfaces.events.RecursoActualizado;
+import mx.gob.vucem.componente.interfaces.events.RecursoEliminado;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,6 +38,12 @@ class RecursoServiceTest {
     @Mock
     private RegistroExtensiones registroExtensiones;
 
+    @Mock
+    private RecursoMapper recursoMapper;
+
+    @Mock
+    private PublicadorEventos publicadorEventos;
+
     @InjectMocks
     private RecursoServiceImpl recursoService;
 
@@ -104,7 +115,8 @@ class RecursoServiceTest {
         nuevoRecurso.setDescripcion("Nueva descripción");
         
         when(recursoRepository.save(any(Recurso.class))).thenReturn(nuevoRecurso);
-        when(registroExtensiones.ejecutarExtensiones(any(), any(), any())).thenReturn(Arrays.asList(true));
+        when(registroExtensiones.validar(eq(Recurso.class), any(Recurso.class), any(ContextoExtension.class)))
+                .thenReturn(true);
 
         // Act
         Recurso resultado = recursoService.crear(nuevoRecurso);
@@ -113,7 +125,7 @@ class RecursoServiceTest {
         assertNotNull(resultado);
         assertEquals("Nuevo recurso", resultado.getNombre());
         verify(recursoRepository).save(any(Recurso.class));
-        verify(registroExtensiones).ejecutarExtensiones(any(), any(), any());
+        verify(registroExtensiones).validar(eq(Recurso.class), any(Recurso.class), any(ContextoExtension.class));
     }
 
     @Test
@@ -126,7 +138,8 @@ class RecursoServiceTest {
         
         when(recursoRepository.findById(id)).thenReturn(Optional.of(recurso));
         when(recursoRepository.save(any(Recurso.class))).thenReturn(recursoActualizado);
-        when(registroExtensiones.ejecutarExtensiones(any(), any(), any())).thenReturn(Arrays.asList(true));
+        when(registroExtensiones.validar(eq(Recurso.class), any(Recurso.class), argThat((ContextoExtension contexto) ->
+                contexto.obtener(RecursoService.RECURSO_EXISTENTE) == recurso))).thenReturn(true);
 
         // Act
         Recurso resultado = recursoService.actualizar(id, recursoActualizado);
@@ -137,7 +150,8 @@ class RecursoServiceTest {
         assertEquals("Descripción actualizada", resultado.getDescripcion());
         verify(recursoRepository).findById(id);
         verify(recursoRepository).save(any(Recurso.class));
-        verify(registroExtensiones).ejecutarExtensiones(any(), any(), any());
+        verify(registroExtensiones).validar(eq(Recurso.class), any(Recurso.class), any(ContextoExtension.class));
+        verify(publicadorEventos).publicar(any(RecursoActualizado.class));
     }
 
     @Test
@@ -152,6 +166,7 @@ class RecursoServiceTest {
         // Assert
         verify(recursoRepository).findById(id);
         verify(recursoRepository).deleteById(id);
+        verify(publicadorEventos).publicar(any(RecursoEliminado.class));
     }
 
     @Test
@@ -0,0 +1,108 @@
+package mx.gob.vucem.componente.domain.valueobjects;
+
+import mx.gob.vucem.componente.domain.entities.Recurso;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el contexto tipado de los puntos de extensión.
+ */
+class ContextoExtensionTest {
+
+    private static final ClaveContexto<Recurso> EXISTENTE = ClaveContexto.de("pruebaExistente", Recurso.class);
+    private static final ClaveContexto<Integer> INTENTOS = ClaveContexto.de("pruebaIntentos", Integer.class);
+
+    @Test
+    void debeCompartirValoresEntreClavesTipadasYVistaComoMapa() {
+        // Arrange
+        Recurso existente = new Recurso();
+        try (ContextoExtension contexto = ContextoExtension.obtener()) {
+            Map<String, Object> mapa = contexto.comoMapa();
+
+            // Act
+            contexto.asignar(EXISTENTE, existente);
+            mapa.put("pruebaIntentos", 3);
+            mapa.put("sinClave", "valor");
+
+            // Assert
+            assertSame(existente, mapa.get("pruebaExistente"));
+            assertEquals(3, contexto.obtener(INTENTOS));
+            assertEquals("valor", mapa.get("sinClave"));
+            assertEquals(Map.of("pruebaExistente", existente, "pruebaIntentos", 3, "sinClave", "valor"),
+                    new HashMap<>(mapa));
+            assertThrows(ClassCastException.class, () -> mapa.put("pruebaIntentos", "tres"));
+        }
+    }
+
+    @Test
+    void debeReutilizarElContextoDelHiloYLimpiarloAlCerrar() {
+        // Arrange
+        ContextoExtension primero = ContextoExtension.obtener();
+        primero.asignar(INTENTOS, 1);
+
+        // Act
+        ContextoExtension anidado = ContextoExtension.obtener();
+        primero.close();
+        anidado.close();
+        ContextoExtension siguiente = ContextoExtension.obtener();
+
+        // Assert
+        assertNotSame(primero, anidado);
+        assertSame(primero, siguiente);
+        assertNull(siguiente.obtener(INTENTOS));
+        siguiente.close();
+    }
+
+    @Test
+    void debeOperarSobreElMapaEnvueltoYProtegerLasCopias() {
+        // Arrange
+        Map<String, Object> mapa = new HashMap<>();
+        ContextoExtension contexto = ContextoExtension.envolver(mapa);
+
+        // Act
+        contexto.asignar(INTENTOS, 2);
+        ContextoExtension copia = contexto.copiaSoloLectura();
+        contexto.asignar(INTENTOS, 5);
+
+        // Assert
+        assertEquals(5, mapa.get("pruebaIntentos"));
+        assertEquals(2, copia.obtener(INTENTOS));
+        assertThrows(UnsupportedOperationException.class, () -> copia.asignar(INTENTOS, 1));
+        assertThrows(UnsupportedOperationException.class, () -> copia.comoMapa().put("pruebaIntentos", 1));
+    }
+
+    @Test
+    void debeTrasladarLosCambiosDeUnaCopiaSoloAlActualizar() {
+        // Arrange
+        Recurso existente = new Recurso();
+        try (ContextoExtension contexto = ContextoExtension.obtener()) {
+            contexto.asignar(EXISTENTE, existente);
+            ContextoExtension copia = contexto.copia();
+
+            // Act
+            copia.asignar(INTENTOS, 4);
+            copia.comoMapa().put("sinClave", "valor");
+            copia.asignar(EXISTENTE, null);
+
+            // Assert: el original no ve los cambios hasta actualizarse
+            assertSame(existente, contexto.obtener(EXISTENTE));
+            assertNull(contexto.obtener(INTENTOS));
+
+            contexto.actualizarDesde(copia);
+            assertNull(contexto.obtener(EXISTENTE));
+            assertEquals(4, contexto.obtener(INTENTOS));
+            assertEquals("valor", contexto.comoMapa().get("sinClave"));
+        }
+    }
+
+    @Test
+    void debeRechazarClavesConElMismoNombreYOtroTipo() {
+        // Act & Assert
+        assertSame(INTENTOS, ClaveContexto.de("pruebaIntentos", Integer.class));
+        assertThrows(IllegalArgumentException.class, () -> ClaveContexto.de("pruebaIntentos", Long.class));
+    }
+}
@@ -0,0 +1,55 @@
+package mx.gob.vucem.componente.infrastructure.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la detección de hilos virtuales fijos a su portador.
+ */
+class DetectorFijacionHilosTest {
+
+    private final Object monitor = new Object();
+
+    @Test
+    void debeMedirLasFijacionesDeHilosVirtuales() throws Exception {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        try (DetectorFijacionHilos detector = new DetectorFijacionHilos(meterRegistry, Duration.ofMillis(10))) {
+            detector.iniciar();
+            Timer fijaciones = meterRegistry.get("vucem.hilos.virtuales.fijados").timer();
+
+            // Act: un hilo virtual se bloquea dentro de un bloque sincronizado
+            Thread.ofVirtual().start(this::bloquearSincronizado).join();
+            Thread.ofVirtual().start(() -> pausar(50)).join();
+
+            // Assert: JFR entrega los eventos en lotes, aproximadamente cada segundo
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (fijaciones.count() == 0 && System.nanoTime() < limite) {
+                Thread.sleep(50);
+            }
+            // Sólo el hilo que se bloqueó dentro del bloque sincronizado quedó fijo
+            assertEquals(1, fijaciones.count());
+            assertTrue(fijaciones.totalTime(TimeUnit.MILLISECONDS) >= 25);
+        }
+    }
+
+    private void bloquearSincronizado() {
+        synchronized (monitor) {
+            pausar(50);
+        }
+    }
+
+    private static void pausar(long milisegundos) {
+        try {
+            Thread.sleep(milisegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
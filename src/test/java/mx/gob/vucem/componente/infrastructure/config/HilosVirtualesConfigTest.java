@@ -0,0 +1,255 @@
+package mx.gob.vucem.componente.infrastructure.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.application.mappers.RecursoMapper;
+import mx.gob.vucem.componente.application.services.RecursoServiceImpl;
+import mx.gob.vucem.componente.application.services.RegistroExtensiones;
+import mx.gob.vucem.componente.domain.entities.Recurso;
+import mx.gob.vucem.componente.domain.exceptions.ServicioNoDisponibleException;
+import mx.gob.vucem.componente.domain.repositories.RecursoRepository;
+import mx.gob.vucem.componente.domain.services.RecursoService;
+import mx.gob.vucem.componente.infrastructure.persistence.AdmisionTransacciones;
+import mx.gob.vucem.componente.infrastructure.persistence.CompuertaConexiones;
+import mx.gob.vucem.componente.infrastructure.persistence.PresionPoolConexiones;
+import mx.gob.vucem.componente.infrastructure.persistence.ProteccionBaseDatos;
+import mx.gob.vucem.componente.interfaces.events.PublicadorEventos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas del perfil de hilos virtuales a través del servicio de recursos, con la admisión de
+ * transacciones, el interceptor de transacciones y la compuerta reales sobre un pool de Hikari
+ * en H2, y comparación con los hilos de plataforma de Tomcat.
+ */
+class HilosVirtualesConfigTest {
+
+    private static final int TAMANO_POOL = 10;
+    private static final int HILOS_TOMCAT = 200;
+    private static final int CONCURRENCIA = 1600;
+    private static final long ENTRADA_SALIDA_MS = 100;
+    private static final long CONSULTA_MS = 1;
+
+    private final RecursoRepository recursoRepository = mock(RecursoRepository.class);
+    private final AtomicInteger conexionesMaximo = new AtomicInteger();
+    private final AtomicInteger formadosMaximo = new AtomicInteger();
+    private AnnotationConfigApplicationContext contexto;
+
+    @AfterEach
+    void tearDown() {
+        if (contexto != null) {
+            contexto.close();
+        }
+    }
+
+    @Test
+    void debeFormarEnLaCompuertaLasSolicitudesDeHilosVirtualesSinRechazarlas() throws Exception {
+        // Arrange: cada solicitud espera una dependencia remota y después consulta un recurso
+        iniciar("application.yml", "application-virtual.yml");
+
+        // Act
+        Medicion plataforma = medir(Executors.newFixedThreadPool(HILOS_TOMCAT));
+        Medicion virtual = medir(Executors.newVirtualThreadPerTaskExecutor());
+
+        // Assert: los hilos de plataforma sólo esperan la dependencia de 200 en 200; los
+        // virtuales la esperan todos a la vez y la compuerta, no Hikari, forma el resto
+        assertEquals(CONCURRENCIA, plataforma.atendidas());
+        assertEquals(CONCURRENCIA, virtual.atendidas(), "Rechazadas " + virtual.rechazadas());
+        assertTrue(plataforma.enCursoMaximo() <= HILOS_TOMCAT);
+        assertTrue(virtual.enCursoMaximo() > HILOS_TOMCAT, "En curso " + virtual.enCursoMaximo());
+        assertTrue(conexionesMaximo.get() <= TAMANO_POOL, "Conexiones " + conexionesMaximo.get());
+        assertTrue(formadosMaximo.get() > 0, "Formados " + formadosMaximo.get());
+        assertEquals(0, compuerta().getRechazadas());
+    }
+
+    @Test
+    void debeRechazarEnLosBulkheadsSinLosLimitesDelPerfil() throws Exception {
+        // Arrange: la compuerta con los bulkheads dimensionados para los hilos de Tomcat
+        iniciar("application.yml");
+
+        // Act
+        Medicion virtual = medir(Executors.newVirtualThreadPerTaskExecutor());
+
+        // Assert: los bulkheads rechazan antes de que la compuerta llegue a formar solicitudes
+        assertTrue(virtual.rechazadas() > 0, "Rechazadas " + virtual.rechazadas());
+        assertEquals(0, formadosMaximo.get());
+        assertEquals(0, compuerta().getRechazadas());
+    }
+
+    private Medicion medir(ExecutorService hilos) throws Exception {
+        RecursoService servicio = contexto.getBean(RecursoService.class);
+        AtomicInteger enCurso = new AtomicInteger();
+        AtomicInteger enCursoMaximo = new AtomicInteger();
+        AtomicInteger rechazadas = new AtomicInteger();
+        List<Future<?>> tareas = new ArrayList<>();
+        try (hilos) {
+            for (int i = 0; i < CONCURRENCIA; i++) {
+                tareas.add(hilos.submit(() -> {
+                    enCursoMaximo.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(ENTRADA_SALIDA_MS);
+                        servicio.obtenerPorId(UUID.randomUUID());
+                    } catch (ServicioNoDisponibleException e) {
+                        rechazadas.incrementAndGet();
+                    } finally {
+                        enCurso.decrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get(60, TimeUnit.SECONDS);
+            }
+        }
+        return new Medicion(CONCURRENCIA - rechazadas.get(), enCursoMaximo.get(), rechazadas.get());
+    }
+
+    private CompuertaConexiones compuerta() throws Exception {
+        return contexto.getBean(DataSource.class).unwrap(CompuertaConexiones.class);
+    }
+
+    private void iniciar(String... configuraciones) throws Exception {
+        contexto = new AnnotationConfigApplicationContext();
+        contexto.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        contexto.getEnvironment().setActiveProfiles("virtual");
+        YamlPropertySourceLoader cargador = new YamlPropertySourceLoader();
+        for (String configuracion : configuraciones) {
+            for (PropertySource<?> fuente : cargador.load(configuracion, new ClassPathResource(configuracion))) {
+                contexto.getEnvironment().getPropertySources().addFirst(fuente);
+            }
+        }
+        // La espera de la compuerta se amplía para que vaciar la fila no dependa de los
+        // procesadores disponibles en la máquina de pruebas
+        contexto.getEnvironment().getPropertySources().addFirst(new MapPropertySource("prueba",
+                Map.of("vucem.hilos-virtuales.compuerta.espera-maxima", "60s")));
+        contexto.registerBean(RecursoRepository.class, () -> recursoRepository);
+        contexto.register(Configuracion.class);
+        contexto.refresh();
+
+        ProteccionBaseDatos proteccion = contexto.getBean(ProteccionBaseDatos.class);
+        CompuertaConexiones compuerta = compuerta();
+        when(recursoRepository.findById(any())).thenAnswer(invocacion -> proteccion.leer(() -> {
+            conexionesMaximo.accumulateAndGet(compuerta.getEnUso(), Math::max);
+            formadosMaximo.accumulateAndGet(compuerta.getEnEspera(), Math::max);
+            pausar(CONSULTA_MS);
+            return Optional.of(new Recurso());
+        }));
+    }
+
+    private static void pausar(long milisegundos) {
+        try {
+            Thread.sleep(milisegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Medicion(int atendidas, int enCursoMaximo, int rechazadas) {
+    }
+
+    /**
+     * Servicio de recursos con la configuración del perfil de hilos virtuales, el interceptor de
+     * transacciones y la admisión, como en la aplicación.
+     */
+    @Configuration
+    @EnableTransactionManagement
+    @EnableAspectJAutoProxy
+    @Import({HilosVirtualesConfig.class, PresionPoolConexiones.class, ProteccionBaseDatos.class,
+            AdmisionTransacciones.class, RecursoServiceImpl.class})
+    static class Configuracion {
+
+        @Bean
+        static PropertySourcesPlaceholderConfigurer propiedades() {
+            return new PropertySourcesPlaceholderConfigurer();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        DataSource dataSource(MeterRegistry meterRegistry) {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID());
+            config.setPoolName("virtual");
+            config.setMaximumPoolSize(TAMANO_POOL);
+            config.setMinimumIdle(TAMANO_POOL);
+            config.setConnectionTimeout(5000);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            return new HikariDataSource(config);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        CircuitBreakerRegistry circuitBreakerRegistry() {
+            return CircuitBreakerRegistry.ofDefaults();
+        }
+
+        @Bean
+        TimeLimiterRegistry timeLimiterRegistry() {
+            return TimeLimiterRegistry.ofDefaults();
+        }
+
+        @Bean
+        BulkheadRegistry bulkheadRegistry() {
+            return BulkheadRegistry.ofDefaults();
+        }
+
+        @Bean
+        RegistroExtensiones registroExtensiones() {
+            return mock(RegistroExtensiones.class);
+        }
+
+        @Bean
+        RecursoMapper recursoMapper() {
+            return Mappers.getMapper(RecursoMapper.class);
+        }
+
+        @Bean
+        PublicadorEventos publicadorEventos() {
+            return mock(PublicadorEventos.class);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package mx.gob.vucem.componente.infrastructure.eventos;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import mx.gob.vucem.componente.interfaces.events.CodecBinarioEventos;
+import mx.gob.vucem.componente.interfaces.events.EventoVucem;
+import mx.gob.vucem.componente.interfaces.events.RecursoCreado;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la bitácora de eventos sobre un directorio temporal.
+ */
+class BitacoraEventosTest {
+
+    @TempDir
+    Path directorio;
+
+    private ComponenteProperties properties;
+    private BitacoraEventos bitacora;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ComponenteProperties();
+        ComponenteProperties.Eventos.Bitacora configuracion = properties.getEventos().getBitacora();
+        configuracion.setHabilitada(true);
+        configuracion.setDirectorio(directorio.toString());
+        configuracion.setTamanoSegmento(8192);
+        configuracion.setIntervaloIndice(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (bitacora != null) {
+            bitacora.cerrar();
+        }
+    }
+
+    @Test
+    void debeReproducirEventosDespuesDeReabrir() {
+        // Arrange
+        bitacora = abrirBitacora();
+        for (int i = 0; i < 10; i++) {
+            bitacora.agregar(evento("recurso-" + i));
+        }
+        bitacora.cerrar();
+
+        // Act
+        bitacora = abrirBitacora();
+        List<EventoVucem<RecursoDTO>> eventos = bitacora.leer(3, 100);
+
+        // Assert
+        assertEquals(10, bitacora.getSiguienteOffset());
+        assertEquals(7, eventos.size());
+        assertEquals("recurso-3", eventos.get(0).getCarga().getNombre());
+        assertEquals("recurso-9", eventos.get(6).getCarga().getNombre());
+        assertEquals(10, bitacora.agregar(evento("recurso-10")));
+    }
+
+    @Test
+    void debeRotarSegmentosYLeerEntreEllos() throws IOException {
+        // Arrange
+        bitacora = abrirBitacora();
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            bitacora.agregar(evento("recurso-" + i));
+        }
+        List<EventoVucem<RecursoDTO>> eventos = bitacora.leer(0, 500);
+
+        // Assert
+        assertTrue(contarSegmentos() > 1);
+        assertEquals(200, eventos.size());
+        for (int i = 0; i < eventos.size(); i++) {
+            assertEquals("recurso-" + i, eventos.get(i).getCarga().getNombre());
+        }
+    }
+
+    @Test
+    void debeDescartarRegistroIncompletoAlRecuperar() throws IOException {
+        // Arrange
+        bitacora = abrirBitacora();
+        for (int i = 0; i < 5; i++) {
+            bitacora.agregar(evento("recurso-" + i));
+        }
+        bitacora.cerrar();
+        bitacora = null;
+        corromperUltimoRegistro();
+
+        // Act
+        bitacora = abrirBitacora();
+        long siguiente = bitacora.getSiguienteOffset();
+        long offset = bitacora.agregar(evento("recurso-nuevo"));
+
+        // Assert
+        assertEquals(4, siguiente);
+        assertEquals(4, offset);
+        assertEquals("recurso-nuevo", bitacora.leer(4, 1).get(0).getCarga().getNombre());
+    }
+
+    @Test
+    void debeEliminarSegmentosAntiguosSegunRetencion() throws IOException {
+        // Arrange
+        properties.getEventos().getBitacora().setSegmentosRetenidos(2);
+        bitacora = abrirBitacora();
+
+        // Act
+        for (int i = 0; i < 300; i++) {
+            bitacora.agregar(evento("recurso-" + i));
+        }
+        List<EventoVucem<RecursoDTO>> eventos = bitacora.leer(0, 500);
+
+        // Assert
+        assertEquals(2, contarSegmentos());
+        assertTrue(bitacora.getOffsetInicial() > 0);
+        assertEquals(300 - bitacora.getOffsetInicial(), eventos.size());
+        assertEquals("recurso-299", eventos.get(eventos.size() - 1).getCarga().getNombre());
+    }
+
+    @Test
+    void debeEliminarSegmentosPorLaFechaDeSuUltimoRegistro() throws IOException {
+        // Arrange: 300 eventos de hace cuatro días, escritos sin retención por antigüedad
+        properties.getEventos().getBitacora().setHorasRetencion(1000);
+        bitacora = abrirBitacora();
+        ZonedDateTime hace4Dias = ZonedDateTime.now().minusDays(4);
+        for (int i = 0; i < 300; i++) {
+            bitacora.agregar(new RecursoCreado(evento("recurso-" + i).getCarga(), hace4Dias));
+        }
+        long segmentosEscritos = contarSegmentos();
+        bitacora.cerrar();
+
+        // Act: al reabrir, la fecha de cada segmento se lee de su último registro
+        properties.getEventos().getBitacora().setHorasRetencion(72);
+        bitacora = abrirBitacora();
+
+        // Assert: sólo se conserva el segmento activo
+        assertTrue(segmentosEscritos > 1);
+        assertTrue(bitacora.getOffsetInicial() > 0);
+        assertEquals(1, contarSegmentos());
+        assertEquals("recurso-299", bitacora.leer(299, 1).get(0).getCarga().getNombre());
+    }
+
+    @Test
+    void debeLiberarEsperaCuandoElRegistroSeSincroniza() throws Exception {
+        // Arrange
+        bitacora = abrirBitacora();
+        long offset = bitacora.agregar(evento("recurso"));
+
+        // Act
+        Thread publicador = new Thread(() -> bitacora.esperarSincronizacion(offset));
+        publicador.start();
+        publicador.join(2000);
+
+        // Assert
+        assertFalse(publicador.isAlive());
+    }
+
+    private BitacoraEventos abrirBitacora() {
+        BitacoraEventos nueva = new BitacoraEventos(properties, new CodecBinarioEventos(), new SimpleMeterRegistry());
+        nueva.abrir();
+        return nueva;
+    }
+
+    private long contarSegmentos() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos.filter(archivo -> archivo.toString().endsWith(".log")).count();
+        }
+    }
+
+    private void corromperUltimoRegistro() throws IOException {
+        Path archivo = directorio.resolve(String.format("%020d.log", 0));
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer encabezado = ByteBuffer.allocate(SegmentoBitacora.TAMANO_ENCABEZADO_REGISTRO);
+            long posicion = 0;
+            long ultimo = 0;
+            while (true) {
+                encabezado.clear();
+                canal.read(encabezado, posicion);
+                int longitud = encabezado.getInt(0);
+                if (longitud == 0) {
+                    break;
+                }
+                ultimo = posicion;
+                posicion += SegmentoBitacora.TAMANO_ENCABEZADO_REGISTRO + longitud;
+            }
+            // Simula una escritura interrumpida alterando un byte de la carga
+            canal.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), ultimo + SegmentoBitacora.TAMANO_ENCABEZADO_REGISTRO + 3);
+        }
+    }
+
+    private static RecursoCreado evento(String nombre) {
+        RecursoDTO recurso = new RecursoDTO();
+        recurso.setId(UUID.randomUUID());
+        recurso.setNombre(nombre);
+        recurso.setActivo(true);
+        return new RecursoCreado(recurso);
+    }
+}
@@ -0,0 +1,244 @@
+package mx.gob.vucem.componente.infrastructure.persistence;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.application.mappers.RecursoMapper;
+import mx.gob.vucem.componente.application.services.RecursoServiceImpl;
+import mx.gob.vucem.componente.application.services.RegistroExtensiones;
+import mx.gob.vucem.componente.domain.entities.Recurso;
+import mx.gob.vucem.componente.domain.exceptions.ServicioNoDisponibleException;
+import mx.gob.vucem.componente.domain.repositories.RecursoRepository;
+import mx.gob.vucem.componente.domain.services.RecursoService;
+import mx.gob.vucem.componente.interfaces.events.PublicadorEventos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas de la admisión de las transacciones de los servicios antes de que tomen una
+ * conexión, con el interceptor de transacciones real sobre un pool de Hikari en H2.
+ */
+class AdmisionTransaccionesTest {
+
+    private final RecursoRepository recursoRepository = mock(RecursoRepository.class);
+    private final ExecutorService hilos = Executors.newCachedThreadPool();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private AnnotationConfigApplicationContext contexto;
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        hilos.shutdownNow();
+        if (contexto != null) {
+            contexto.close();
+        }
+    }
+
+    @Test
+    void debeOcuparElBulkheadAntesDeAbrirLaTransaccion() throws Exception {
+        // Arrange: un solo lugar para lecturas; el repositorio también pasa por la protección
+        iniciar(Map.of("vucem.persistencia.lecturas.maximo-concurrentes", "1"));
+        ProteccionBaseDatos proteccion = contexto.getBean(ProteccionBaseDatos.class);
+        RecursoService servicio = contexto.getBean(RecursoService.class);
+        CountDownLatch dentro = new CountDownLatch(1);
+        when(recursoRepository.findById(any())).thenAnswer(invocacion -> proteccion.leer(() -> {
+            dentro.countDown();
+            esperar(liberar);
+            return Optional.of(new Recurso());
+        }));
+        Future<Recurso> ocupante = hilos.submit(() -> servicio.obtenerPorId(UUID.randomUUID()));
+        assertTrue(dentro.await(5, TimeUnit.SECONDS));
+        DataSourceContado dataSource = contexto.getBean(DataSourceContado.class);
+        assertEquals(1, dataSource.conexiones.get());
+
+        // Act
+        ServicioNoDisponibleException exception = assertThrows(ServicioNoDisponibleException.class,
+                () -> servicio.obtenerPorId(UUID.randomUUID()));
+
+        // Assert: la transacción rechazada nunca pidió una conexión
+        assertEquals("BASE_DATOS_SATURADA", exception.getCodigo());
+        assertEquals(1, dataSource.conexiones.get());
+        verify(recursoRepository, times(1)).findById(any());
+        liberar.countDown();
+        assertNotNull(ocupante.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void debeRechazarLaTransaccionSinPedirConexionConElPoolAgotado() throws Exception {
+        // Arrange: dos hilos retienen todo el pool y otros dos esperan una conexión
+        iniciar(Map.of("vucem.persistencia.presion.pendientes-degradado", "1",
+                "vucem.persistencia.presion.pendientes-critico", "2",
+                "vucem.persistencia.presion.intervalo-muestreo", "0s"));
+        RecursoService servicio = contexto.getBean(RecursoService.class);
+        DataSourceContado dataSource = contexto.getBean(DataSourceContado.class);
+        HikariDataSource pool = dataSource.hikari();
+        CountDownLatch obtenidas = new CountDownLatch(2);
+        for (int i = 0; i < 4; i++) {
+            hilos.submit(() -> {
+                try (Connection conexion = pool.getConnection()) {
+                    obtenidas.countDown();
+                    liberar.await();
+                }
+                return null;
+            });
+        }
+        assertTrue(obtenidas.await(5, TimeUnit.SECONDS));
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pool.getHikariPoolMXBean().getThreadsAwaitingConnection() < 2) {
+            assertTrue(System.nanoTime() < limite, "Hilos esperando conexión");
+            Thread.sleep(5);
+        }
+
+        // Act
+        ServicioNoDisponibleException lectura = assertThrows(ServicioNoDisponibleException.class,
+                () -> servicio.obtenerPorId(UUID.randomUUID()));
+        ServicioNoDisponibleException eliminacion = assertThrows(ServicioNoDisponibleException.class,
+                () -> servicio.eliminar(UUID.randomUUID()));
+
+        // Assert: ninguna transacción se abrió ni pidió conexión al pool
+        assertEquals("BASE_DATOS_SATURADA", lectura.getCodigo());
+        assertEquals("BASE_DATOS_SATURADA", eliminacion.getCodigo());
+        assertEquals(0, dataSource.conexiones.get());
+        verifyNoInteractions(recursoRepository);
+    }
+
+    private void iniciar(Map<String, Object> propiedades) {
+        contexto = new AnnotationConfigApplicationContext();
+        contexto.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        contexto.getEnvironment().getPropertySources().addFirst(new MapPropertySource("prueba", propiedades));
+        contexto.registerBean(RecursoRepository.class, () -> recursoRepository);
+        contexto.register(Configuracion.class);
+        contexto.refresh();
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Servicio de recursos con el interceptor de transacciones y la admisión, como en la aplicación.
+     */
+    @Configuration
+    @EnableTransactionManagement
+    @EnableAspectJAutoProxy
+    @Import({PresionPoolConexiones.class, ProteccionBaseDatos.class, AdmisionTransacciones.class,
+            RecursoServiceImpl.class})
+    static class Configuracion {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        DataSourceContado dataSource(MeterRegistry meterRegistry) {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID());
+            config.setPoolName("admision");
+            config.setMaximumPoolSize(2);
+            config.setConnectionTimeout(5000);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            return new DataSourceContado(new HikariDataSource(config));
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        CircuitBreakerRegistry circuitBreakerRegistry() {
+            return CircuitBreakerRegistry.ofDefaults();
+        }
+
+        @Bean
+        TimeLimiterRegistry timeLimiterRegistry() {
+            return TimeLimiterRegistry.ofDefaults();
+        }
+
+        @Bean
+        BulkheadRegistry bulkheadRegistry() {
+            return BulkheadRegistry.ofDefaults();
+        }
+
+        @Bean
+        RegistroExtensiones registroExtensiones() {
+            return mock(RegistroExtensiones.class);
+        }
+
+        @Bean
+        RecursoMapper recursoMapper() {
+            return Mappers.getMapper(RecursoMapper.class);
+        }
+
+        @Bean
+        PublicadorEventos publicadorEventos() {
+            return mock(PublicadorEventos.class);
+        }
+    }
+
+    /**
+     * DataSource que cuenta las conexiones pedidas al pool.
+     */
+    static final class DataSourceContado extends DelegatingDataSource implements AutoCloseable {
+
+        final AtomicInteger conexiones = new AtomicInteger();
+
+        DataSourceContado(HikariDataSource destino) {
+            super(destino);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            conexiones.incrementAndGet();
+            return super.getConnection();
+        }
+
+        HikariDataSource hikari() {
+            return (HikariDataSource) obtainTargetDataSource();
+        }
+
+        @Override
+        public void close() {
+            hikari().close();
+        }
+    }
+}
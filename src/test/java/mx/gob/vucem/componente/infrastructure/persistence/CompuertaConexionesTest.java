@@ -0,0 +1,114 @@
+package mx.gob.vucem.componente.infrastructure.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la compuerta de conexiones.
+ */
+class CompuertaConexionesTest {
+
+    private final PoolSimulado pool = new PoolSimulado();
+
+    @Test
+    void debeRechazarAlExcederLaEsperaYDevolverElPermisoAlCerrar() throws Exception {
+        // Arrange
+        CompuertaConexiones compuerta = new CompuertaConexiones(pool.dataSource(), 1, Duration.ofMillis(50));
+        Connection primera = compuerta.getConnection();
+
+        // Act & Assert
+        assertThrows(SQLTransientConnectionException.class, compuerta::getConnection);
+        assertEquals(1, compuerta.getRechazadas());
+        primera.close();
+        primera.close();
+        assertEquals(0, compuerta.getEnUso());
+        try (Connection segunda = compuerta.getConnection()) {
+            assertEquals(1, compuerta.getEnUso());
+        }
+        assertEquals(0, pool.abiertas.get());
+    }
+
+    @Test
+    void debeEntregarLasConexionesEnOrdenDeLlegada() throws Exception {
+        // Arrange
+        CompuertaConexiones compuerta = new CompuertaConexiones(pool.dataSource(), 1, Duration.ofSeconds(5));
+        Connection ocupada = compuerta.getConnection();
+        List<Integer> orden = Collections.synchronizedList(new ArrayList<>());
+        List<Future<?>> tareas = new ArrayList<>();
+
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 5; i++) {
+                int turno = i;
+                tareas.add(hilos.submit(() -> {
+                    try (Connection conexion = compuerta.getConnection()) {
+                        orden.add(turno);
+                    }
+                    return null;
+                }));
+                esperarFormados(compuerta, i + 1);
+            }
+
+            // Act
+            ocupada.close();
+            for (Future<?> tarea : tareas) {
+                tarea.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        // Assert
+        assertEquals(List.of(0, 1, 2, 3, 4), orden);
+    }
+
+    private static void esperarFormados(CompuertaConexiones compuerta, int formados) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (compuerta.getEnEspera() < formados) {
+            assertTrue(System.nanoTime() < limite, "Hilos formados en la compuerta");
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Pool que entrega conexiones simuladas y cuenta cuántas están abiertas.
+     */
+    private static final class PoolSimulado {
+
+        final AtomicInteger abiertas = new AtomicInteger();
+
+        DataSource dataSource() {
+            return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {DataSource.class},
+                    (proxy, metodo, argumentos) -> {
+                        if (!metodo.getName().equals("getConnection")) {
+                            throw new SQLException("No soportado: " + metodo.getName());
+                        }
+                        abiertas.incrementAndGet();
+                        return conexion();
+                    });
+        }
+
+        private Connection conexion() {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                    (proxy, metodo, argumentos) -> {
+                        if (metodo.getName().equals("close")) {
+                            abiertas.decrementAndGet();
+                        }
+                        return null;
+                    });
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package mx.gob.vucem.componente.infrastructure.persistence;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.infrastructure.persistence.PresionPoolConexiones.Nivel;
+import mx.gob.vucem.componente.infrastructure.persistence.PresionPoolConexiones.TipoOperacion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la detección de presión del pool de conexiones. Reproducen el agotamiento de
+ * un pool de Hikari real sobre H2: unos hilos retienen todas las conexiones y otros se
+ * forman esperando una.
+ */
+class PresionPoolConexionesTest {
+
+    private static final int TAMANO_POOL = 2;
+
+    private final ExecutorService hilos = Executors.newCachedThreadPool();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final List<Future<?>> esperando = new ArrayList<>();
+    private final AtomicLong reloj = new AtomicLong();
+    private HikariDataSource dataSource;
+    private SimpleMeterRegistry meterRegistry;
+    private PresionPoolConexiones presion;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID());
+        config.setPoolName("prueba");
+        config.setMaximumPoolSize(TAMANO_POOL);
+        config.setConnectionTimeout(2000);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        dataSource = new HikariDataSource(config);
+        dataSource.getConnection().close();
+
+        presion = new PresionPoolConexiones(dataSource, meterRegistry);
+        ReflectionTestUtils.setField(presion, "habilitada", true);
+        ReflectionTestUtils.setField(presion, "prioridad", TipoOperacion.ESCRITURA);
+        ReflectionTestUtils.setField(presion, "pendientesDegradado", 2);
+        ReflectionTestUtils.setField(presion, "pendientesCritico", 5);
+        ReflectionTestUtils.setField(presion, "adquisicionDegradado", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(presion, "adquisicionCritico", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(presion, "factorRecuperacion", 0.5);
+        ReflectionTestUtils.setField(presion, "permanenciaMinima", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(presion, "intervaloMuestreo", Duration.ZERO);
+        ReflectionTestUtils.setField(presion, "reloj", (LongSupplier) reloj::get);
+        presion.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        hilos.shutdownNow();
+        dataSource.close();
+    }
+
+    @Test
+    void debeRechazarLecturasYDespuesTodoConformeSeAgotaElPool() throws Exception {
+        // Arrange
+        assertTrue(presion.admite(TipoOperacion.LECTURA));
+        retener(TAMANO_POOL);
+
+        // Act & Assert: con dos hilos esperando sólo se admiten escrituras
+        formar(2);
+        assertFalse(presion.admite(TipoOperacion.LECTURA));
+        assertTrue(presion.admite(TipoOperacion.ESCRITURA));
+        assertEquals(Nivel.DEGRADADO, presion.getNivel());
+
+        // Con cinco no se admite ninguna operación
+        formar(3);
+        assertFalse(presion.admite(TipoOperacion.ESCRITURA));
+        assertEquals(Nivel.CRITICO, presion.getNivel());
+
+        assertEquals(1.0, meterRegistry.get("vucem.persistencia.presion.rechazadas")
+                .tag("tipo", "lectura").counter().count());
+        assertEquals(1.0, meterRegistry.get("vucem.persistencia.presion.rechazadas")
+                .tag("tipo", "escritura").counter().count());
+    }
+
+    @Test
+    void debeRecuperarseConHisteresis() throws Exception {
+        // Arrange
+        retener(TAMANO_POOL);
+        formar(5);
+        assertFalse(presion.admite(TipoOperacion.ESCRITURA));
+
+        // Act: el pool se libera y los hilos formados obtienen su conexión
+        liberar.countDown();
+        for (Future<?> tarea : esperando) {
+            tarea.get(5, TimeUnit.SECONDS);
+        }
+
+        // Assert: el nivel se mantiene durante la permanencia mínima y baja un nivel a la vez
+        assertFalse(presion.admite(TipoOperacion.ESCRITURA));
+        assertEquals(Nivel.CRITICO, presion.getNivel());
+        reloj.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertTrue(presion.admite(TipoOperacion.ESCRITURA));
+        assertFalse(presion.admite(TipoOperacion.LECTURA));
+        assertEquals(Nivel.DEGRADADO, presion.getNivel());
+        reloj.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertTrue(presion.admite(TipoOperacion.LECTURA));
+        assertEquals(Nivel.NORMAL, presion.getNivel());
+    }
+
+    @Test
+    void debeMantenerElNivelMientrasLaPresionNoBajaDeLaMitadDelUmbral() throws Exception {
+        // Arrange: las lecturas son prioritarias
+        ReflectionTestUtils.setField(presion, "prioridad", TipoOperacion.LECTURA);
+        retener(1);
+        CountDownLatch liberarUno = new CountDownLatch(1);
+        retener(1, liberarUno);
+        formar(2);
+        assertTrue(presion.admite(TipoOperacion.LECTURA));
+        assertFalse(presion.admite(TipoOperacion.ESCRITURA));
+
+        // Act: un hilo formado obtiene la conexión liberada y queda uno esperando
+        liberarUno.countDown();
+        esperarPendientes(1);
+        reloj.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Assert: un hilo esperando no alcanza el umbral de dos, pero tampoco baja de su mitad
+        assertFalse(presion.admite(TipoOperacion.ESCRITURA));
+        assertEquals(Nivel.DEGRADADO, presion.getNivel());
+    }
+
+    private void retener(int conexiones) throws Exception {
+        retener(conexiones, liberar);
+    }
+
+    private void retener(int conexiones, CountDownLatch hasta) throws Exception {
+        CountDownLatch obtenidas = new CountDownLatch(conexiones);
+        for (int i = 0; i < conexiones; i++) {
+            hilos.submit(() -> {
+                try (Connection conexion = dataSource.getConnection()) {
+                    obtenidas.countDown();
+                    hasta.await();
+                }
+                return null;
+            });
+        }
+        assertTrue(obtenidas.await(5, TimeUnit.SECONDS));
+    }
+
+    private void formar(int solicitudes) throws Exception {
+        int previas = dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection();
+        for (int i = 0; i < solicitudes; i++) {
+            esperando.add(hilos.submit(() -> {
+                // Retiene la conexión que obtenga hasta que se libere el pool
+                try (Connection conexion = dataSource.getConnection()) {
+                    liberar.await();
+                    return true;
+                } catch (SQLException e) {
+                    return false;
+                }
+            }));
+        }
+        esperarPendientes(previas + solicitudes);
+    }
+
+    private void esperarPendientes(int pendientes) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection() != pendientes) {
+            assertTrue(System.nanoTime() < limite, "Hilos esperando conexión");
+            Thread.sleep(5);
+        }
+    }
+}
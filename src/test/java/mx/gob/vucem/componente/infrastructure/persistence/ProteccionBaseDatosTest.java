@@ -0,0 +1,329 @@
+package mx.gob.vucem.componente.infrastructure.persistence;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.domain.exceptions.ServicioNoDisponibleException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la protección del repositorio frente a una base de datos degradada, simulada
+ * con un DataSource que agrega latencia a cada sentencia.
+ */
+class ProteccionBaseDatosTest {
+
+    private final DataSourceLatente latente = new DataSourceLatente(h2());
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(LimiteTiempoConsultas.aplicar(latente));
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private ProteccionBaseDatos proteccion;
+    private ExecutorService clientes;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS prueba (id INT)");
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(10)
+                .minimumNumberOfCalls(5)
+                .slowCallDurationThreshold(Duration.ofMillis(500))
+                .waitDurationInOpenState(Duration.ofSeconds(30))
+                .build());
+        clientes = Executors.newFixedThreadPool(16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientes.shutdownNow();
+    }
+
+    @Test
+    void debeCancelarLaSentenciaAlExcederElTiempoMaximo() {
+        // Arrange
+        crearProteccion(4, 2);
+        latente.latenciaMs = 3000;
+
+        // Act
+        long inicio = System.nanoTime();
+        ServicioNoDisponibleException exception = assertThrows(ServicioNoDisponibleException.class,
+                () -> proteccion.leer(() -> jdbcTemplate.queryForObject("SELECT 1", Integer.class)));
+        long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        // Assert
+        assertEquals("BASE_DATOS_TIEMPO_EXCEDIDO", exception.getCodigo());
+        assertTrue(duracionMs < 2000, "La lectura tardó " + duracionMs + " ms");
+        assertEquals(Long.MAX_VALUE, LimiteTiempoConsultas.restanteNanos());
+    }
+
+    @Test
+    void debeRechazarDeInmediatoLasLecturasExcedentesSinAfectarLasEscrituras() throws Exception {
+        // Arrange
+        crearProteccion(1, 1);
+        latente.latenciaMs = 800;
+        CountDownLatch enCurso = new CountDownLatch(1);
+        Future<Integer> lenta = clientes.submit(() -> proteccion.leer(() -> {
+            enCurso.countDown();
+            return jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        }));
+        assertTrue(enCurso.await(1, TimeUnit.SECONDS));
+
+        // Act
+        ServicioNoDisponibleException exception = assertThrows(ServicioNoDisponibleException.class,
+                () -> proteccion.leer(() -> jdbcTemplate.queryForObject("SELECT 1", Integer.class)));
+        int insertados = proteccion.escribir(() -> jdbcTemplate.update("INSERT INTO prueba VALUES (1)"));
+
+        // Assert
+        assertEquals("BASE_DATOS_SATURADA", exception.getCodigo());
+        assertEquals(1, insertados);
+        assertEquals(1, lenta.get());
+    }
+
+    @Test
+    void debeAcotarLasConexionesYRechazarLosExcedentesDuranteUnaDegradacion() throws Exception {
+        // Arrange
+        crearProteccion(4, 2);
+        latente.latenciaMs = 2000;
+        long ventanaMs = 1500;
+
+        // Act
+        Resultado sinProteccion = medir(() -> jdbcTemplate.queryForObject("SELECT 1", Integer.class), ventanaMs);
+        latente.maximoEnCurso.set(0);
+        Resultado conProteccion = medir(() -> proteccion.leer(
+                () -> jdbcTemplate.queryForObject("SELECT 1", Integer.class)), ventanaMs);
+
+        // Assert: sin protección cada cliente retiene una conexión; con ella sobran rechazos inmediatos
+        assertEquals(16, sinProteccion.conexiones());
+        assertEquals(0, sinProteccion.rechazos());
+        assertTrue(conProteccion.conexiones() <= 4, conProteccion.conexiones() + " conexiones");
+        assertTrue(conProteccion.rechazos() > 0);
+        assertEquals(0, conProteccion.errores());
+        assertEquals(CircuitBreaker.State.OPEN,
+                circuitBreakerRegistry.circuitBreaker(ProteccionBaseDatos.LECTURAS).getState());
+    }
+
+    /**
+     * Medición de latencia, excluida de la compilación normal: se ejecuta con
+     * {@code mvn test -Pbenchmark} e informa las respuestas, el p99 y el máximo de los clientes
+     * durante una degradación de 2 s, sin protección y con ella.
+     */
+    @Test
+    @Tag("benchmark")
+    void medirLaLatenciaDeColaDuranteUnaDegradacion() throws Exception {
+        // Arrange
+        crearProteccion(4, 2);
+        latente.latenciaMs = 2000;
+        long ventanaMs = 1500;
+
+        // Act
+        Resultado sinProteccion = medir(() -> jdbcTemplate.queryForObject("SELECT 1", Integer.class), ventanaMs);
+        latente.maximoEnCurso.set(0);
+        Resultado conProteccion = medir(() -> proteccion.leer(
+                () -> jdbcTemplate.queryForObject("SELECT 1", Integer.class)), ventanaMs);
+
+        // Report
+        System.out.printf("%-16s %11s %10s %9s %9s %11s%n", "Degradación 2 s", "Respuestas", "Rechazos",
+                "p99 (ms)", "Máx (ms)", "Conexiones");
+        reportar("sin protección", sinProteccion);
+        reportar("con protección", conProteccion);
+    }
+
+    private static void reportar(String escenario, Resultado resultado) {
+        System.out.printf("%-16s %11d %10d %9d %9d %11d%n", escenario, resultado.respuestas(), resultado.rechazos(),
+                resultado.p99Ms(), resultado.maximoMs(), resultado.conexiones());
+    }
+
+    @Test
+    void debeOcuparUnSoloLugarPorTransaccionAdmitida() throws Throwable {
+        // Arrange
+        crearProteccion(1, 1);
+
+        // Act: las operaciones del repositorio dentro de la transacción no ocupan otro lugar y otra
+        // transacción de lectura se rechaza mientras una de escritura sí se admite
+        int leidos = proteccion.admitir(PresionPoolConexiones.TipoOperacion.LECTURA, () -> {
+            int primera = proteccion.leer(() -> jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+            assertInstanceOf(ServicioNoDisponibleException.class,
+                    admitirEnOtroHilo(PresionPoolConexiones.TipoOperacion.LECTURA));
+            assertNull(admitirEnOtroHilo(PresionPoolConexiones.TipoOperacion.ESCRITURA));
+            return primera + proteccion.leer(() -> jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+        });
+
+        // Assert: al terminar la transacción el lugar queda libre
+        assertEquals(2, leidos);
+        assertEquals(1, proteccion.leer(() -> jdbcTemplate.queryForObject("SELECT 1", Integer.class)));
+    }
+
+    private Throwable admitirEnOtroHilo(PresionPoolConexiones.TipoOperacion tipo) throws Exception {
+        return clientes.submit(() -> {
+            try {
+                proteccion.admitir(tipo, () -> 0);
+                return null;
+            } catch (Throwable e) {
+                return e;
+            }
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    private Resultado medir(Runnable llamada, long ventanaMs) throws Exception {
+        AtomicInteger respuestas = new AtomicInteger();
+        AtomicInteger rechazos = new AtomicInteger();
+        AtomicInteger errores = new AtomicInteger();
+        List<Long> latencias = Collections.synchronizedList(new ArrayList<>());
+        long fin = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ventanaMs);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            tareas.add(clientes.submit(() -> {
+                while (System.nanoTime() < fin) {
+                    long inicio = System.nanoTime();
+                    try {
+                        llamada.run();
+                        respuestas.incrementAndGet();
+                    } catch (ServicioNoDisponibleException e) {
+                        // Respuesta 503 inmediata para el cliente
+                        rechazos.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        errores.incrementAndGet();
+                    }
+                    latencias.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+                    pausar();
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get(10, TimeUnit.SECONDS);
+        }
+        Collections.sort(latencias);
+        return new Resultado(respuestas.get(), rechazos.get(), latente.maximoEnCurso.get(), errores.get(),
+                latencias.get((int) (latencias.size() * 0.99)), latencias.get(latencias.size() - 1));
+    }
+
+    private static void pausar() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void crearProteccion(int maximoLecturas, int maximoEscrituras) {
+        // Sin configurar, la detección de presión del pool queda deshabilitada
+        PresionPoolConexiones presionPool = new PresionPoolConexiones(h2(), new SimpleMeterRegistry());
+        proteccion = new ProteccionBaseDatos(circuitBreakerRegistry, TimeLimiterRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(), presionPool);
+        ReflectionTestUtils.setField(proteccion, "maximoLecturas", maximoLecturas);
+        ReflectionTestUtils.setField(proteccion, "tiempoMaximoLecturas", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(proteccion, "maximoEscrituras", maximoEscrituras);
+        ReflectionTestUtils.setField(proteccion, "tiempoMaximoEscrituras", Duration.ofSeconds(1));
+        proteccion.init();
+    }
+
+    private static DataSource h2() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    private record Resultado(int respuestas, int rechazos, int conexiones, int errores, long p99Ms,
+                             long maximoMs) {
+    }
+
+    /**
+     * DataSource que agrega latencia a cada ejecución de sentencia. Como el controlador de
+     * PostgreSQL, respeta el tiempo máximo de la sentencia y la cancela al vencer.
+     */
+    private static final class DataSourceLatente extends DelegatingDataSource {
+
+        volatile long latenciaMs;
+        final AtomicInteger maximoEnCurso = new AtomicInteger();
+        private final AtomicInteger enCurso = new AtomicInteger();
+
+        DataSourceLatente(DataSource destino) {
+            super(destino);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection conexion = obtainTargetDataSource().getConnection();
+            return proxy(Connection.class, conexion, (metodo, argumentos) -> {
+                Object resultado = metodo.invoke(conexion, argumentos);
+                return resultado instanceof Statement sentencia ? latente(sentencia) : resultado;
+            });
+        }
+
+        private Statement latente(Statement sentencia) {
+            Class<?>[] interfaces = ClassUtils.getAllInterfacesForClass(sentencia.getClass());
+            return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), interfaces,
+                    (proxy, metodo, argumentos) -> invocar(() -> {
+                        if (metodo.getName().startsWith("execute")) {
+                            demorar(sentencia.getQueryTimeout());
+                        }
+                        return metodo.invoke(sentencia, argumentos);
+                    }));
+        }
+
+        private void demorar(int tiempoMaximoSegundos) throws Exception {
+            int actuales = enCurso.incrementAndGet();
+            maximoEnCurso.accumulateAndGet(actuales, Math::max);
+            try {
+                long tiempoMaximoMs = TimeUnit.SECONDS.toMillis(tiempoMaximoSegundos);
+                if (tiempoMaximoMs > 0 && tiempoMaximoMs < latenciaMs) {
+                    Thread.sleep(tiempoMaximoMs);
+                    throw new SQLTimeoutException("canceling statement due to statement timeout", "57014");
+                }
+                Thread.sleep(latenciaMs);
+            } finally {
+                enCurso.decrementAndGet();
+            }
+        }
+
+        private static <T> T proxy(Class<T> tipo, Object destino, Invocacion invocacion) {
+            return tipo.cast(Proxy.newProxyInstance(DataSourceLatente.class.getClassLoader(), new Class<?>[] {tipo},
+                    (proxy, metodo, argumentos) -> invocar(() -> invocacion.invocar(metodo, argumentos))));
+        }
+
+        private static Object invocar(Llamada llamada) throws Throwable {
+            try {
+                return llamada.llamar();
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        private interface Invocacion {
+            Object invocar(java.lang.reflect.Method metodo, Object[] argumentos) throws Exception;
+        }
+
+        private interface Llamada {
+            Object llamar() throws Exception;
+        }
+    }
+}
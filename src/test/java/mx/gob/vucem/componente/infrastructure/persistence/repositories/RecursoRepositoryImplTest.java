@@ -0,0 +1,123 @@
+package mx.gob.vucem.componente.infrastructure.persistence.repositories;
+
+import jakarta.persistence.EntityManager;
+import mx.gob.vucem.componente.domain.entities.Recurso;
+import mx.gob.vucem.componente.infrastructure.persistence.ProteccionBaseDatos;
+import mx.gob.vucem.componente.infrastructure.persistence.entities.RecursoEliminadoEntity;
+import mx.gob.vucem.componente.infrastructure.persistence.entities.RecursoEntity;
+import mx.gob.vucem.componente.infrastructure.persistence.mappers.RecursoEntityMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas de la asignación de la secuencia de cambio al confirmar las escrituras.
+ */
+class RecursoRepositoryImplTest {
+
+    private final RecursoJpaRepository recursoJpaRepository = mock(RecursoJpaRepository.class);
+    private final RecursoEliminadoJpaRepository recursoEliminadoJpaRepository = mock(RecursoEliminadoJpaRepository.class);
+    private final ProteccionBaseDatos proteccion = mock(ProteccionBaseDatos.class);
+    private RecursoRepositoryImpl repositorio;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        AuditorAware<String> auditor = mock(AuditorAware.class);
+        when(auditor.getCurrentAuditor()).thenReturn(Optional.of("operador"));
+        when(proteccion.escribir(any(Supplier.class))).thenAnswer(invocacion ->
+                invocacion.<Supplier<?>>getArgument(0).get());
+        doAnswer(invocacion -> {
+            invocacion.<Runnable>getArgument(0).run();
+            return null;
+        }).when(proteccion).escribir(any(Runnable.class));
+        when(recursoJpaRepository.saveAndFlush(any())).thenAnswer(invocacion -> invocacion.getArgument(0));
+        when(recursoEliminadoJpaRepository.saveAndFlush(any())).thenAnswer(invocacion -> invocacion.getArgument(0));
+        when(recursoJpaRepository.siguienteSecuenciaCambio()).thenReturn(10L, 12L);
+        repositorio = new RecursoRepositoryImpl(recursoJpaRepository, recursoEliminadoJpaRepository,
+                Mappers.getMapper(RecursoEntityMapper.class), auditor, proteccion, mock(EntityManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void debeTomarLaSecuenciaDeCambioAlConfirmarLaTransaccion() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        ArgumentCaptor<RecursoEntity> guardado = ArgumentCaptor.forClass(RecursoEntity.class);
+
+        // Act
+        repositorio.save(recurso());
+
+        // Assert: mientras la transacción sigue abierta la secuencia es provisional
+        verify(recursoJpaRepository).saveAndFlush(guardado.capture());
+        assertEquals(10L, guardado.getValue().getSecuenciaCambio());
+        verify(recursoJpaRepository, never()).flush();
+
+        // Act: confirmación
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+
+        // Assert: la secuencia definitiva se toma al confirmar, dentro de la protección de escrituras
+        assertEquals(12L, guardado.getValue().getSecuenciaCambio());
+        verify(recursoJpaRepository).flush();
+        verify(proteccion).escribir(any(Runnable.class));
+    }
+
+    @Test
+    void debeTomarLaSecuenciaDeLaMarcaDeEliminacionAlConfirmarLaTransaccion() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(recursoEliminadoJpaRepository.findById(id)).thenReturn(Optional.empty());
+        TransactionSynchronizationManager.initSynchronization();
+        ArgumentCaptor<RecursoEliminadoEntity> marca = ArgumentCaptor.forClass(RecursoEliminadoEntity.class);
+
+        // Act
+        repositorio.deleteById(id);
+        verify(recursoEliminadoJpaRepository).saveAndFlush(marca.capture());
+        LocalDateTime provisional = marca.getValue().getFechaEliminacion();
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+
+        // Assert: la fecha de la marca acompaña a la secuencia definitiva
+        assertEquals(12L, marca.getValue().getSecuenciaCambio());
+        assertFalse(marca.getValue().getFechaEliminacion().isBefore(provisional));
+        verify(recursoEliminadoJpaRepository).flush();
+    }
+
+    @Test
+    void noDebeRenumerarUnaEscrituraFueraDeUnaTransaccion() {
+        // Act
+        Recurso guardado = repositorio.save(recurso());
+
+        // Assert: sin transacción externa la escritura ya se confirmó con su secuencia
+        assertEquals(10L, guardado.getSecuenciaCambio());
+        verify(recursoJpaRepository, times(1)).siguienteSecuenciaCambio();
+        verify(recursoJpaRepository, never()).flush();
+    }
+
+    private static Recurso recurso() {
+        Recurso recurso = new Recurso();
+        recurso.setId(UUID.randomUUID());
+        recurso.setNombre("Recurso");
+        recurso.setActivo(true);
+        return recurso;
+    }
+}
@@ -0,0 +1,355 @@
+package mx.gob.vucem.componente.infrastructure.persistence.repositories;
+
+import mx.gob.vucem.componente.domain.entities.Recurso;
+import mx.gob.vucem.componente.domain.repositories.RecursoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas del repositorio reactivo y comparación de la pila de hilos por solicitud con la
+ * reactiva a alta concurrencia.
+ */
+class RecursoRepositoryReactivoImplTest {
+
+    private static final int TAMANO_POOL = 10;
+    private static final int HILOS_TOMCAT = 200;
+    private static final long ENTRADA_SALIDA_MS = 100;
+    private static final long CONSULTA_MS = 1;
+
+    private final Scheduler planificadorJdbc = Schedulers.newBoundedElastic(TAMANO_POOL, 100_000, "prueba-jdbc");
+
+    @AfterEach
+    void tearDown() {
+        planificadorJdbc.dispose();
+    }
+
+    @Test
+    void debeConsultarLasPaginasConformeSeConsumen() {
+        // Arrange: cinco recursos con secuencias 1 a 5, en páginas de dos
+        RecursoRepository recursoRepository = mock(RecursoRepository.class);
+        when(recursoRepository.findCambiadosDesde(anyLong(), anyInt())).thenAnswer(invocacion -> {
+            long desde = invocacion.getArgument(0);
+            int limite = invocacion.getArgument(1);
+            return LongStream.rangeClosed(desde + 1, Math.min(desde + limite, 5)).mapToObj(this::recurso).toList();
+        });
+        RecursoRepositoryReactivoImpl repositorio = new RecursoRepositoryReactivoImpl(recursoRepository,
+                planificadorJdbc, 2);
+
+        // Act & Assert
+        StepVerifier.create(repositorio.findAll(), 1)
+                .expectNextMatches(recurso -> recurso.getSecuenciaCambio() == 1)
+                // Con un elemento pedido se adelanta a lo más la consulta de la página siguiente
+                .then(() -> verify(recursoRepository, atMost(2)).findCambiadosDesde(anyLong(), anyInt()))
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(4)
+                .verifyComplete();
+        verify(recursoRepository).findCambiadosDesde(0L, 2);
+        verify(recursoRepository).findCambiadosDesde(2L, 2);
+        verify(recursoRepository).findCambiadosDesde(4L, 2);
+        verifyNoMoreInteractions(recursoRepository);
+    }
+
+    @Test
+    void debeEsperarLaDependenciaDeTodasLasSolicitudesSinRetenerUnHiloPorCadaUna() throws Exception {
+        // Arrange: cada solicitud espera una dependencia remota y después consulta la base de datos
+        int concurrencia = 6400;
+        PoolConsultas pool = new PoolConsultas();
+        RecursoRepository recursoRepository = repositorioConPool(pool);
+        RecursoRepositoryReactivoImpl repositorio = new RecursoRepositoryReactivoImpl(recursoRepository,
+                planificadorJdbc, 500);
+
+        // Act
+        int bloqueante = medirBloqueante(concurrencia, recursoRepository);
+        int reactiva = medirReactiva(concurrencia, repositorio);
+
+        // Assert: 200 hilos esperan la dependencia de 200 en 200; la pila reactiva espera todas
+        // a la vez y sólo ocupa los hilos del planificador JDBC, uno por conexión, al consultar
+        assertTrue(bloqueante <= HILOS_TOMCAT);
+        assertTrue(reactiva > HILOS_TOMCAT, "En espera " + reactiva);
+        assertEquals(2L * concurrencia, pool.consultas.get());
+        assertTrue(pool.maximoEnCurso.get() <= TAMANO_POOL);
+        assertTrue(pool.hilosReactivos.stream().allMatch(hilo -> hilo.startsWith("prueba-jdbc")),
+                "Hilos de consulta: " + pool.hilosReactivos);
+        assertTrue(pool.hilosReactivos.size() <= TAMANO_POOL);
+    }
+
+    /**
+     * Atiende las solicitudes con un hilo de plataforma cada una y devuelve cuántas esperaban
+     * la dependencia a la vez como máximo.
+     */
+    private static int medirBloqueante(int concurrencia, RecursoRepository recursoRepository) throws Exception {
+        EnEspera enEspera = new EnEspera();
+        List<Future<?>> tareas = new ArrayList<>();
+        try (ExecutorService hilos = Executors.newFixedThreadPool(HILOS_TOMCAT)) {
+            for (int i = 0; i < concurrencia; i++) {
+                tareas.add(hilos.submit(() -> {
+                    enEspera.entrar();
+                    Thread.sleep(ENTRADA_SALIDA_MS);
+                    enEspera.salir();
+                    return recursoRepository.findById(UUID.randomUUID());
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                assertTrue(((Optional<?>) tarea.get(60, TimeUnit.SECONDS)).isPresent());
+            }
+        }
+        return enEspera.maximo.get();
+    }
+
+    /**
+     * Atiende las solicitudes con la pila reactiva y devuelve cuántas esperaban la dependencia
+     * a la vez como máximo.
+     */
+    private static int medirReactiva(int concurrencia, RecursoRepositoryReactivoImpl repositorio)
+            throws Exception {
+        EnEspera enEspera = new EnEspera();
+        AtomicInteger encontrados = new AtomicInteger();
+        CountDownLatch terminadas = new CountDownLatch(concurrencia);
+        for (int i = 0; i < concurrencia; i++) {
+            Mono.delay(Duration.ofMillis(ENTRADA_SALIDA_MS))
+                    .doOnSubscribe(suscripcion -> enEspera.entrar())
+                    .doOnNext(x -> enEspera.salir())
+                    .flatMap(x -> repositorio.findById(UUID.randomUUID()))
+                    .doOnNext(recurso -> encontrados.incrementAndGet())
+                    .doFinally(senal -> terminadas.countDown())
+                    .subscribe();
+        }
+        assertTrue(terminadas.await(60, TimeUnit.SECONDS));
+        assertEquals(concurrencia, encontrados.get());
+        return enEspera.maximo.get();
+    }
+
+    /**
+     * Medición de rendimiento, excluida de la compilación normal: se ejecuta con
+     * {@code mvn test -Pbenchmark} e informa las solicitudes por segundo, el p99 y la memoria
+     * que retiene cada conexión en espera en cada pila.
+     */
+    @Test
+    @Tag("benchmark")
+    void medirRendimientoYMemoriaPorConexion() throws Exception {
+        // Arrange
+        RecursoRepository recursoRepository = repositorioConPool(new PoolConsultas());
+        RecursoRepositoryReactivoImpl repositorio = new RecursoRepositoryReactivoImpl(recursoRepository,
+                planificadorJdbc, 500);
+        System.out.printf("%-12s %-12s %12s %12s%n", "Concurrencia", "Pila", "Solic./s", "p99 (ms)");
+
+        for (int concurrencia : new int[] {400, 1600, 6400}) {
+            // Act
+            Medicion bloqueante = rendimientoBloqueante(concurrencia, recursoRepository);
+            Medicion reactiva = rendimientoReactivo(concurrencia, repositorio);
+
+            // Report
+            System.out.printf("%-12d %-12s %12.0f %12d%n", concurrencia, "bloqueante",
+                    bloqueante.porSegundo(), bloqueante.p99Ms());
+            System.out.printf("%-12d %-12s %12.0f %12d%n", concurrencia, "reactiva",
+                    reactiva.porSegundo(), reactiva.p99Ms());
+        }
+        long porHilo = memoriaPorHilo(1000);
+        long porSuscripcion = memoriaPorSuscripcion(100_000, repositorio);
+        System.out.printf("Memoria por conexión: hilo %d bytes, suscripción %d bytes%n", porHilo, porSuscripcion);
+    }
+
+    private static Medicion rendimientoBloqueante(int concurrencia, RecursoRepository recursoRepository)
+            throws Exception {
+        List<Future<Long>> tareas = new ArrayList<>();
+        long inicio = System.nanoTime();
+        try (ExecutorService hilos = Executors.newFixedThreadPool(HILOS_TOMCAT)) {
+            for (int i = 0; i < concurrencia; i++) {
+                tareas.add(hilos.submit(() -> {
+                    Thread.sleep(ENTRADA_SALIDA_MS);
+                    recursoRepository.findById(UUID.randomUUID());
+                    return System.nanoTime() - inicio;
+                }));
+            }
+            List<Long> latencias = new ArrayList<>();
+            for (Future<Long> tarea : tareas) {
+                latencias.add(tarea.get(60, TimeUnit.SECONDS));
+            }
+            return medicion(concurrencia, inicio, latencias);
+        }
+    }
+
+    private static Medicion rendimientoReactivo(int concurrencia, RecursoRepositoryReactivoImpl repositorio)
+            throws Exception {
+        List<Long> latencias = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch terminadas = new CountDownLatch(concurrencia);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < concurrencia; i++) {
+            Mono.delay(Duration.ofMillis(ENTRADA_SALIDA_MS))
+                    .flatMap(x -> repositorio.findById(UUID.randomUUID()))
+                    .doFinally(senal -> {
+                        latencias.add(System.nanoTime() - inicio);
+                        terminadas.countDown();
+                    })
+                    .subscribe();
+        }
+        assertTrue(terminadas.await(60, TimeUnit.SECONDS));
+        return medicion(concurrencia, inicio, new ArrayList<>(latencias));
+    }
+
+    /**
+     * Memoria residente de cada hilo de plataforma detenido, como el que retiene una
+     * solicitud en la pila de servlets mientras espera.
+     */
+    private static long memoriaPorHilo(int hilos) throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch iniciados = new CountDownLatch(hilos);
+        List<Thread> detenidos = new ArrayList<>();
+        long antes = memoriaResidente();
+        for (int i = 0; i < hilos; i++) {
+            detenidos.add(Thread.ofPlatform().start(() -> {
+                iniciados.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        iniciados.await();
+        long despues = memoriaResidente();
+        liberar.countDown();
+        for (Thread hilo : detenidos) {
+            hilo.join();
+        }
+        return (despues - antes) / hilos;
+    }
+
+    /**
+     * Memoria del heap de cada suscripción pendiente, que es lo que retiene una solicitud en
+     * la pila reactiva mientras espera.
+     */
+    private static long memoriaPorSuscripcion(int suscripciones, RecursoRepositoryReactivoImpl repositorio) {
+        List<Disposable> pendientes = new ArrayList<>(suscripciones);
+        long antes = heapUsado();
+        for (int i = 0; i < suscripciones; i++) {
+            pendientes.add(Mono.delay(Duration.ofHours(1))
+                    .flatMap(x -> repositorio.findById(UUID.randomUUID()))
+                    .subscribe());
+        }
+        long despues = heapUsado();
+        pendientes.forEach(Disposable::dispose);
+        return (despues - antes) / suscripciones;
+    }
+
+    private static long memoriaResidente() throws IOException {
+        for (String linea : Files.readAllLines(Path.of("/proc/self/status"))) {
+            if (linea.startsWith("VmRSS:")) {
+                return Long.parseLong(linea.replaceAll("\\D", "")) * 1024;
+            }
+        }
+        throw new IllegalStateException("VmRSS no disponible");
+    }
+
+    private static long heapUsado() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static Medicion medicion(int concurrencia, long inicio, List<Long> latencias) {
+        long transcurrido = System.nanoTime() - inicio;
+        Collections.sort(latencias);
+        long p99 = latencias.get((int) Math.ceil(latencias.size() * 0.99) - 1);
+        return new Medicion(concurrencia * 1e9 / transcurrido, TimeUnit.NANOSECONDS.toMillis(p99));
+    }
+
+    private record Medicion(double porSegundo, long p99Ms) {
+    }
+
+    /**
+     * Cuenta las solicitudes que esperan la dependencia remota.
+     */
+    private static final class EnEspera {
+
+        final AtomicInteger maximo = new AtomicInteger();
+        private final AtomicInteger actuales = new AtomicInteger();
+
+        void entrar() {
+            maximo.accumulateAndGet(actuales.incrementAndGet(), Math::max);
+        }
+
+        void salir() {
+            actuales.decrementAndGet();
+        }
+    }
+
+    /**
+     * Pool de {@link #TAMANO_POOL} conexiones que registra las consultas en curso y los hilos
+     * de la pila reactiva que las ejecutan.
+     */
+    private static final class PoolConsultas {
+
+        final Semaphore conexiones = new Semaphore(TAMANO_POOL);
+        final AtomicLong consultas = new AtomicLong();
+        final AtomicInteger maximoEnCurso = new AtomicInteger();
+        final Set<String> hilosReactivos = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger enCurso = new AtomicInteger();
+    }
+
+    /**
+     * Repositorio cuyas consultas tardan {@link #CONSULTA_MS} y comparten el pool indicado.
+     */
+    private RecursoRepository repositorioConPool(PoolConsultas pool) {
+        RecursoRepository recursoRepository = mock(RecursoRepository.class);
+        AtomicInteger secuencia = new AtomicInteger();
+        when(recursoRepository.findById(any())).thenAnswer(invocacion -> {
+            String hilo = Thread.currentThread().getName();
+            if (!hilo.startsWith("pool-")) {
+                pool.hilosReactivos.add(hilo);
+            }
+            pool.conexiones.acquire();
+            try {
+                pool.consultas.incrementAndGet();
+                pool.maximoEnCurso.accumulateAndGet(pool.enCurso.incrementAndGet(), Math::max);
+                Thread.sleep(CONSULTA_MS);
+                pool.enCurso.decrementAndGet();
+                return Optional.of(recurso(secuencia.incrementAndGet()));
+            } finally {
+                pool.conexiones.release();
+            }
+        });
+        return recursoRepository;
+    }
+
+    private Recurso recurso(long secuencia) {
+        Recurso recurso = new Recurso();
+        recurso.setId(UUID.randomUUID());
+        recurso.setNombre("Recurso " + secuencia);
+        recurso.setSecuenciaCambio(secuencia);
+        return recurso;
+    }
+}
@@ -0,0 +1,188 @@
+package mx.gob.vucem.componente.infrastructure.resiliencia;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de las cubetas de tokens por cliente.
+ */
+class CubetasTokensTest {
+
+    private static final int HILOS = 64;
+
+    @Test
+    void debePermitirLaRafagaYReponerConElTiempo() {
+        // Arrange: 5 solicitudes en ráfaga y 10 por segundo
+        AtomicLong reloj = new AtomicLong();
+        CubetasTokens cubetas = new CubetasTokens(5, 10, 4, 100, reloj::get);
+
+        // Act
+        List<CubetasTokens.Consumo> consumos = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            consumos.add(cubetas.consumir("usuario:ana"));
+        }
+
+        // Assert
+        assertTrue(consumos.get(0).permitido());
+        assertEquals(4, consumos.get(0).restantes());
+        assertTrue(consumos.get(4).permitido());
+        assertEquals(0, consumos.get(4).restantes());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), consumos.get(4).nanosParaLlenarse());
+        assertFalse(consumos.get(5).permitido());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), consumos.get(5).nanosParaReintentar());
+        // Otro cliente conserva su cuota completa
+        assertEquals(4, cubetas.consumir("usuario:luis").restantes());
+
+        // Un token se repone cada 100 ms
+        reloj.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(cubetas.consumir("usuario:ana").permitido());
+        assertFalse(cubetas.consumir("usuario:ana").permitido());
+    }
+
+    @Test
+    void debeAdmitirExactamenteLaCapacidadConSesentaYCuatroHilos() throws Exception {
+        // Arrange: sin avance del reloj no se repone ningún token
+        CubetasTokens cubetas = new CubetasTokens(1000, 1, 64, 1000, () -> 0L);
+        AtomicInteger admitidas = new AtomicInteger();
+
+        // Act
+        ejecutar(HILOS, 100, indice -> {
+            if (cubetas.consumir("usuario:compartido").permitido()) {
+                admitidas.incrementAndGet();
+            }
+        });
+
+        // Assert
+        assertEquals(1000, admitidas.get());
+    }
+
+    @Test
+    void debeDesalojarSoloLasCubetasLlenas() {
+        // Arrange
+        AtomicLong reloj = new AtomicLong();
+        CubetasTokens cubetas = new CubetasTokens(2, 1, 1, 1000, reloj::get);
+        cubetas.consumir("inactivo");
+        cubetas.consumir("activo");
+        reloj.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        cubetas.consumir("activo");
+        cubetas.consumir("activo");
+
+        // Act
+        int desalojadas = cubetas.purgar();
+
+        // Assert: la cubeta activa sigue vacía después del desalojo
+        assertEquals(1, desalojadas);
+        assertEquals(1, cubetas.getClaves());
+        assertFalse(cubetas.consumir("activo").permitido());
+        assertTrue(cubetas.consumir("inactivo").permitido());
+    }
+
+    @Test
+    void debeAcotarLasClavesDesalojandoEnLineaAlSaturarUnaFranja() {
+        // Arrange: una franja de a lo más 1000 cubetas
+        AtomicLong reloj = new AtomicLong();
+        CubetasTokens cubetas = new CubetasTokens(10, 100, 1, 1000, reloj::get);
+
+        // Act: un millón de clientes distintos, una solicitud cada 10 µs
+        for (int i = 0; i < 1_000_000; i++) {
+            reloj.addAndGet(TimeUnit.MICROSECONDS.toNanos(10));
+            assertTrue(cubetas.consumir("ip:" + i).permitido());
+        }
+
+        // Assert: sólo quedan las cubetas que aún no se llenan, las de los últimos 10 ms
+        assertTrue(cubetas.getClaves() <= 2000, "Cubetas " + cubetas.getClaves());
+    }
+
+    @Test
+    void debeAdmitirLaCapacidadDeCadaClienteRepartidoEnFranjasConSesentaYCuatroHilos() throws Exception {
+        // Arrange: mil clientes con 5 solicitudes en ráfaga, sin avance del reloj
+        CubetasTokens cubetas = new CubetasTokens(5, 1, 16, 16384, () -> 0L);
+        String[] claves = new String[1000];
+        for (int i = 0; i < claves.length; i++) {
+            claves[i] = "usuario:" + i;
+        }
+        AtomicInteger admitidas = new AtomicInteger();
+
+        // Act: cada cliente recibe en promedio 40 solicitudes desde hilos distintos
+        ejecutar(HILOS, 625, indice -> {
+            if (cubetas.consumir(claves[indice % claves.length]).permitido()) {
+                admitidas.incrementAndGet();
+            }
+        });
+
+        // Assert: ningún cliente excede ni pierde su ráfaga por la concurrencia
+        assertEquals(1000, cubetas.getClaves());
+        assertEquals(5000, admitidas.get());
+        for (String clave : claves) {
+            assertFalse(cubetas.consumir(clave).permitido());
+        }
+    }
+
+    /**
+     * Medición del costo de admisión, excluida de la compilación normal: se ejecuta con
+     * {@code mvn test -Pbenchmark} e informa los nanosegundos por solicitud con 64 hilos.
+     */
+    @Test
+    @Tag("benchmark")
+    void medirElCostoPorSolicitudConSesentaYCuatroHilos() throws Exception {
+        // Arrange: 100 mil clientes con cuota holgada, de modo que se mide el camino de admisión
+        CubetasTokens cubetas = new CubetasTokens(1_000_000, 1_000_000, 64, 16384);
+        String[] claves = new String[100_000];
+        for (int i = 0; i < claves.length; i++) {
+            claves[i] = "usuario:" + i;
+        }
+        int porHilo = 20_000;
+        ejecutar(HILOS, porHilo / 4, indice -> cubetas.consumir(claves[indice % claves.length]));
+
+        // Act
+        long inicio = System.nanoTime();
+        ejecutar(HILOS, porHilo, indice -> cubetas.consumir(claves[indice % claves.length]));
+        long transcurrido = System.nanoTime() - inicio;
+
+        // Report
+        double nanosPorSolicitud = (double) transcurrido / (HILOS * porHilo);
+        System.out.printf("Límite de solicitudes con %d hilos y %d procesadores: %.0f ns por solicitud%n",
+                HILOS, Runtime.getRuntime().availableProcessors(), nanosPorSolicitud);
+    }
+
+    private interface Operacion {
+        void ejecutar(int indice);
+    }
+
+    private static void ejecutar(int hilos, int porHilo, Operacion operacion) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch salida = new CountDownLatch(1);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int hilo = 0; hilo < hilos; hilo++) {
+                int desplazamiento = ThreadLocalRandom.current().nextInt(1_000_000);
+                tareas.add(ejecutor.submit(() -> {
+                    salida.await();
+                    for (int i = 0; i < porHilo; i++) {
+                        operacion.ejecutar(desplazamiento + i);
+                    }
+                    return null;
+                }));
+            }
+            salida.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package mx.gob.vucem.componente.infrastructure.resiliencia;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del límite de concurrencia adaptativo con un servicio simulado: hasta su
+ * capacidad responde con latencia base y por encima de ella las solicitudes se forman, unas
+ * esperando más que otras.
+ */
+class LimiteConcurrenciaAdaptativoTest {
+
+    private static final long LATENCIA_BASE = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int CLIENTES = 60;
+
+    @Test
+    void debeConvergerCercaDeLaCapacidadYAcotarLaLatencia() {
+        // Arrange
+        LimiteConcurrenciaAdaptativo limite = crearLimite();
+
+        // Act
+        double latencia = simular(limite, 8, 300);
+
+        // Assert: sin límite, 60 clientes sobre 8 lugares esperan 7.5 veces la latencia base
+        assertTrue(limite.getLimite() >= 8 && limite.getLimite() <= 24, "Límite " + limite.getLimite());
+        assertTrue(latencia < latenciaServicio(CLIENTES, 8) / 2);
+    }
+
+    @Test
+    void debeReducirElLimiteCuandoBajaLaCapacidad() {
+        // Arrange
+        LimiteConcurrenciaAdaptativo limite = crearLimite();
+        simular(limite, 16, 200);
+        int limiteAntes = limite.getLimite();
+
+        // Act: la capacidad cae a la cuarta parte, por ejemplo por una dependencia lenta
+        double latencia = simular(limite, 4, 100);
+
+        // Assert
+        assertTrue(limite.getLimite() < limiteAntes / 2, "Límite " + limiteAntes + " -> " + limite.getLimite());
+        assertTrue(latencia < latenciaServicio(CLIENTES, 4) / 2);
+    }
+
+    @Test
+    void debeRechazarPorEncimaDelLimiteSinModificarloConPocoTrafico() {
+        // Arrange
+        LimiteConcurrenciaAdaptativo limite = new LimiteConcurrenciaAdaptativo(2, 1, 10, 1.5, 0.2, 1, 0,
+                () -> 0L);
+
+        // Act
+        int primera = limite.intentarAdquirir();
+        int segunda = limite.intentarAdquirir();
+        int tercera = limite.intentarAdquirir();
+        limite.liberar(LATENCIA_BASE, primera);
+        limite.liberarSinMuestra();
+
+        // Assert
+        assertEquals(1, primera);
+        assertEquals(2, segunda);
+        assertEquals(-1, tercera);
+        assertEquals(0, limite.getEnCurso());
+        // Una sola solicitud en curso no llega a la mitad del límite: el límite no cambia
+        assertEquals(2, limite.getLimite());
+    }
+
+    private static LimiteConcurrenciaAdaptativo crearLimite() {
+        return new LimiteConcurrenciaAdaptativo(20, 2, 200, 1.5, 0.2, 20, 0, () -> 0L);
+    }
+
+    /**
+     * Simula ventanas en las que los clientes ocupan todo el límite disponible y devuelve la
+     * latencia promedio de la última cuarta parte de ellas.
+     */
+    private static double simular(LimiteConcurrenciaAdaptativo limite, int capacidad, int ventanas) {
+        double suma = 0;
+        int medidas = 0;
+        for (int ventana = 0; ventana < ventanas; ventana++) {
+            int admitidas = Math.min(CLIENTES, limite.getLimite());
+            long latencia = latenciaServicio(admitidas, capacidad);
+            long esperaPromedio = latencia - LATENCIA_BASE;
+            for (int muestra = 0; muestra < 20; muestra++) {
+                // Esperas repartidas entre cero y el doble del promedio
+                assertTrue(limite.intentarAdquirir() > 0);
+                limite.liberar(LATENCIA_BASE + 2 * esperaPromedio * muestra / 19, admitidas);
+            }
+            if (ventana >= ventanas * 3 / 4) {
+                suma += latencia;
+                medidas++;
+            }
+        }
+        return suma / medidas;
+    }
+
+    private static long latenciaServicio(int concurrentes, int capacidad) {
+        return LATENCIA_BASE * Math.max(capacidad, concurrentes) / capacidad;
+    }
+}
@@ -0,0 +1,179 @@
+package mx.gob.vucem.componente.infrastructure.resiliencia;
+
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de los reintentos con espera exponencial, jitter completo y presupuesto por
+ * dependencia.
+ */
+class PoliticaReintentosTest {
+
+    private RetryRegistry retryRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private PoliticaReintentos politica;
+
+    @BeforeEach
+    void setUp() {
+        retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .intervalFunction(PoliticaReintentos.esperaConJitterCompleto(Duration.ofMillis(1), Duration.ofMillis(4)))
+                .retryOnException(ClasificadorTransitorios::esTransitoria)
+                .build());
+        meterRegistry = new SimpleMeterRegistry();
+        politica = new PoliticaReintentos(retryRegistry, meterRegistry);
+        ReflectionTestUtils.setField(politica, "porcentaje", 0.1);
+        ReflectionTestUtils.setField(politica, "capacidad", 20);
+        ReflectionTestUtils.setField(politica, "minimoPorSegundo", 0);
+    }
+
+    @Test
+    void debeReintentarSoloErroresTransitorios() {
+        // Arrange
+        AtomicInteger intentosValidacion = new AtomicInteger();
+        AtomicInteger intentosRed = new AtomicInteger();
+
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> politica.ejecutar("catalogos", () -> {
+            intentosValidacion.incrementAndGet();
+            throw new IllegalArgumentException("clave inválida");
+        }));
+        assertThrows(UncheckedIOException.class, () -> politica.ejecutar("catalogos", () -> {
+            intentosRed.incrementAndGet();
+            throw caida();
+        }));
+
+        // Assert
+        assertEquals(1, intentosValidacion.get());
+        assertEquals(3, intentosRed.get());
+        assertEquals(2.0, meterRegistry.get("vucem.reintentos.presupuesto.permitidos")
+                .tag("dependencia", "catalogos").counter().count());
+    }
+
+    @Test
+    void debeEvitarLaTormentaDeReintentosDuranteUnaCaida() throws Exception {
+        // Arrange: la dependencia rechaza todas las llamadas con un error transitorio
+        int solicitudes = 2000;
+        AtomicInteger intentosSinPresupuesto = new AtomicInteger();
+        AtomicInteger intentosConPresupuesto = new AtomicInteger();
+        Supplier<String> dependenciaCaida = () -> {
+            throw caida();
+        };
+
+        // Act
+        simular(solicitudes, () -> retryRegistry.retry("sin-presupuesto").executeSupplier(() -> {
+            intentosSinPresupuesto.incrementAndGet();
+            return dependenciaCaida.get();
+        }));
+        simular(solicitudes, () -> politica.ejecutar("aduanas", () -> {
+            intentosConPresupuesto.incrementAndGet();
+            return dependenciaCaida.get();
+        }));
+
+        // Assert
+        double amplificacionSin = (double) intentosSinPresupuesto.get() / solicitudes;
+        double amplificacionCon = (double) intentosConPresupuesto.get() / solicitudes;
+        assertEquals(3.0, amplificacionSin);
+        // A lo más 10% de reintentos más la capacidad inicial de 20 tokens
+        assertTrue(amplificacionCon <= 1.0 + 0.1 + 20.0 / solicitudes + 0.01, "Amplificación " + amplificacionCon);
+        assertEquals(1.0, meterRegistry.get("vucem.reintentos.presupuesto.utilizacion")
+                .tag("dependencia", "aduanas").gauge().value(), 0.1);
+        assertTrue(meterRegistry.get("vucem.reintentos.presupuesto.rechazados")
+                .tag("dependencia", "aduanas").counter().count() > 0);
+    }
+
+    @Test
+    void debeReponerElPresupuestoConTraficoSanoYConElMinimoPorSegundo() {
+        // Arrange
+        AtomicLong reloj = new AtomicLong();
+        PresupuestoReintentos presupuesto = new PresupuestoReintentos(0.1, 5, 2, reloj::get);
+        for (int i = 0; i < 5; i++) {
+            presupuesto.registrarReintento();
+        }
+        assertFalse(presupuesto.puedeReintentar());
+
+        // Act & Assert: diez solicitudes sanas pagan un reintento
+        for (int i = 0; i < 10; i++) {
+            presupuesto.registrarSolicitud();
+        }
+        assertTrue(presupuesto.puedeReintentar());
+        presupuesto.registrarReintento();
+        assertFalse(presupuesto.puedeReintentar());
+
+        // Sin tráfico, se recargan dos reintentos por segundo
+        reloj.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(presupuesto.puedeReintentar());
+        reloj.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertEquals(5.0, presupuesto.getDisponibles(), 0.001);
+        assertEquals(0.0, presupuesto.getUtilizacion(), 0.001);
+    }
+
+    @Test
+    void debeDistribuirLasEsperasConJitterCompleto() {
+        // Arrange
+        IntervalFunction espera = PoliticaReintentos.esperaConJitterCompleto(
+                Duration.ofMillis(100), Duration.ofSeconds(1));
+        Set<Long> distintas = new HashSet<>();
+        long suma = 0;
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            long tercerIntento = espera.apply(3);
+            assertTrue(tercerIntento >= 0 && tercerIntento <= 400);
+            assertTrue(espera.apply(12) <= 1000);
+            distintas.add(tercerIntento);
+            suma += tercerIntento;
+        }
+
+        // Assert: uniforme entre 0 y 400 ms, no una espera fija para todos los clientes
+        assertEquals(200.0, (double) suma / 10_000, 15.0);
+        assertTrue(distintas.size() > 300);
+    }
+
+    private static void simular(int solicitudes, Runnable solicitud) throws Exception {
+        ExecutorService clientes = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int i = 0; i < solicitudes; i++) {
+                tareas.add(clientes.submit(() -> {
+                    try {
+                        solicitud.run();
+                    } catch (UncheckedIOException e) {
+                        // Respuesta fallida para el cliente
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            clientes.shutdownNow();
+        }
+    }
+
+    private static UncheckedIOException caida() {
+        return new UncheckedIOException(new ConnectException("Conexión rechazada"));
+    }
+}
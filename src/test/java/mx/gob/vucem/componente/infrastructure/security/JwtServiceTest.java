@@ -0,0 +1,194 @@
+package mx.gob.vucem.componente.infrastructure.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.infrastructure.persistence.repositories.RolJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para la verificación de tokens JWT.
+ */
+class JwtServiceTest {
+
+    private static final String SECRETO = "dGhpcy1pcy1hLXZlcnktc2VjcmV0LWtleS1mb3ItdGVzdHMtMTIzNDU2Nzg5MA==";
+
+    private SimpleMeterRegistry meterRegistry;
+    private MatrizPermisos matrizPermisos;
+    private RegistroRevocaciones registroRevocaciones;
+    private JwtService jwtService;
+    private UserDetails usuario;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        matrizPermisos = new MatrizPermisos(mock(RolJpaRepository.class));
+        registroRevocaciones = mock(RegistroRevocaciones.class);
+        jwtService = crearServicio(10_000);
+        usuario = User.withUsername("operador").password("x").roles("USER").build();
+    }
+
+    @Test
+    void debeVerificarTokenYDevolverSusClaims() {
+        // Arrange
+        String token = jwtService.generateToken(Map.of("area", "aduanas"), usuario);
+
+        // Act
+        Optional<ClaimsVerificados> claims = jwtService.verificar(token);
+
+        // Assert
+        assertTrue(claims.isPresent());
+        assertEquals("operador", claims.get().usuario());
+        assertEquals("aduanas", claims.get().claims().get("area"));
+        assertNotNull(claims.get().id());
+        assertTrue(jwtService.isTokenValid(token, usuario));
+        assertEquals("operador", jwtService.extractUsername(token));
+    }
+
+    @Test
+    void debeIncluirLaMascaraDePermisosEnElToken() {
+        // Arrange
+        UserDetails lector = User.withUsername("lector").password("x")
+                .authorities("RECURSOS_LEER", "RECURSOS_CREAR").build();
+        UserDetails sistema = User.withUsername("sistema").password("x").roles("SYSTEM").build();
+
+        // Act
+        ClaimsVerificados claimsLector = jwtService.verificar(jwtService.generateToken(lector)).orElseThrow();
+        ClaimsVerificados claimsSistema = jwtService.verificar(jwtService.generateToken(sistema)).orElseThrow();
+
+        // Assert
+        assertEquals(PermisoSistema.RECURSOS_LEER.getBit() | PermisoSistema.RECURSOS_CREAR.getBit(),
+                claimsLector.permisos());
+        assertEquals(PermisoSistema.TODOS, claimsSistema.permisos());
+    }
+
+    @Test
+    void debeRechazarTokensConFirmaEmisorOVigenciaInvalidos() {
+        // Arrange
+        String token = jwtService.generateToken(usuario);
+        String alterado = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        String otraFirma = Jwts.builder().setSubject("operador").setIssuer("vucem.gob.mx")
+                .setExpiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(Keys.secretKeyFor(SignatureAlgorithm.HS256)).compact();
+        String otroEmisor = firmar("otro.emisor", Instant.now().plusSeconds(60));
+        String expirado = firmar("vucem.gob.mx", Instant.now().minusSeconds(60));
+
+        // Act & Assert
+        assertTrue(jwtService.verificar(alterado).isEmpty());
+        assertTrue(jwtService.verificar(otraFirma).isEmpty());
+        assertTrue(jwtService.verificar(otroEmisor).isEmpty());
+        assertTrue(jwtService.verificar(expirado).isEmpty());
+        assertTrue(jwtService.verificar("no-es-un-token").isEmpty());
+        assertFalse(jwtService.isTokenValid(expirado, usuario));
+    }
+
+    @Test
+    void debeReutilizarLaVerificacionDeTokensRepetidos() {
+        // Arrange
+        String token = jwtService.generateToken(usuario);
+        jwtService.verificar(token);
+
+        // Act
+        ClaimsVerificados primero = jwtService.verificar(token).orElseThrow();
+        ClaimsVerificados segundo = jwtService.verificar(token).orElseThrow();
+
+        // Assert
+        assertSame(primero, segundo);
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "jwt.verificados")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void debeRechazarTokensRevocadosAunqueEstenEnCache() {
+        // Arrange
+        String token = jwtService.generateToken(usuario);
+        String jti = jwtService.verificar(token).orElseThrow().id();
+
+        // Act
+        when(registroRevocaciones.estaRevocado(jti)).thenReturn(true);
+
+        // Assert
+        assertTrue(jwtService.verificar(token).isEmpty());
+        assertFalse(jwtService.isTokenValid(token, usuario));
+    }
+
+    @Test
+    void debeDescartarTokensCuandoExpiran() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 1L);
+        String token = jwtService.generateToken(usuario);
+        assertTrue(jwtService.verificar(token).isPresent());
+
+        // Act
+        Thread.sleep(1100);
+
+        // Assert
+        assertTrue(jwtService.verificar(token).isEmpty());
+    }
+
+    @Test
+    void debeReducirElCostoPorSolicitudConLaCache() {
+        // Arrange
+        JwtService sinCache = crearServicio(0);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tokens.add(jwtService.generateToken(usuario));
+        }
+        medir(jwtService, tokens, 200);
+        medir(sinCache, tokens, 200);
+
+        // Act
+        long conCache = medir(jwtService, tokens, 2_000);
+        long sinCacheNs = medir(sinCache, tokens, 2_000);
+
+        // Assert
+        assertTrue(conCache < sinCacheNs,
+                "Con caché: " + conCache + " ns, sin caché: " + sinCacheNs + " ns por solicitud");
+    }
+
+    private JwtService crearServicio(long cacheMaximo) {
+        JwtService servicio = new JwtService(meterRegistry, matrizPermisos, registroRevocaciones);
+        ReflectionTestUtils.setField(servicio, "secretKey", SECRETO);
+        ReflectionTestUtils.setField(servicio, "jwtExpiration", 3600L);
+        ReflectionTestUtils.setField(servicio, "issuer", "vucem.gob.mx");
+        ReflectionTestUtils.setField(servicio, "audience", "api");
+        ReflectionTestUtils.setField(servicio, "cacheMaximo", cacheMaximo);
+        servicio.init();
+        return servicio;
+    }
+
+    private String firmar(String emisor, Instant expiracion) {
+        return Jwts.builder().setSubject("operador").setIssuer(emisor)
+                .setExpiration(Date.from(expiracion))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRETO)))
+                .compact();
+    }
+
+    /**
+     * Mide el costo promedio de autenticar una solicitud, en nanosegundos.
+     */
+    private static long medir(JwtService servicio, List<String> tokens, int solicitudes) {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < solicitudes; i++) {
+            assertTrue(servicio.verificar(tokens.get(i % tokens.size())).isPresent());
+        }
+        return (System.nanoTime() - inicio) / solicitudes;
+    }
+}
@@ -0,0 +1,137 @@
+package mx.gob.vucem.componente.infrastructure.security;
+
+import mx.gob.vucem.componente.infrastructure.persistence.entities.PermisoEntity;
+import mx.gob.vucem.componente.infrastructure.persistence.entities.RolEntity;
+import mx.gob.vucem.componente.infrastructure.persistence.repositories.RolJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para la matriz compilada de permisos.
+ */
+@ExtendWith(MockitoExtension.class)
+class MatrizPermisosTest {
+
+    @Mock
+    private RolJpaRepository rolJpaRepository;
+
+    private MatrizPermisos matrizPermisos;
+
+    @BeforeEach
+    void setUp() {
+        matrizPermisos = new MatrizPermisos(rolJpaRepository);
+    }
+
+    @Test
+    void debeCompilarRolesEnMascarasDePermisosActivos() {
+        // Arrange
+        when(rolJpaRepository.findActivosConPermisos()).thenReturn(List.of(
+                rol("ADMINISTRADOR", permiso("RECURSOS_LEER", true), permiso("RECURSOS_ELIMINAR", true),
+                        permiso("REPORTES_GENERAR", true)),
+                rol("USUARIO", permiso("RECURSOS_LEER", true), permiso("RECURSOS_CREAR", false))));
+
+        // Act
+        matrizPermisos.refrescar();
+
+        // Assert
+        assertEquals(PermisoSistema.RECURSOS_LEER.getBit() | PermisoSistema.RECURSOS_ELIMINAR.getBit(),
+                matrizPermisos.mascaraDeRol("ROLE_ADMINISTRADOR"));
+        assertEquals(PermisoSistema.RECURSOS_LEER.getBit(), matrizPermisos.mascaraDeRol("ROLE_USUARIO"));
+        assertEquals(0, matrizPermisos.mascaraDeRol("ROLE_INEXISTENTE"));
+        assertEquals(PermisoSistema.TODOS, matrizPermisos.mascaraDeRol(MatrizPermisos.ROL_SISTEMA));
+    }
+
+    @Test
+    void debeReflejarCambiosEnLasTablasAlRefrescar() {
+        // Arrange
+        when(rolJpaRepository.findActivosConPermisos())
+                .thenReturn(List.of(rol("USUARIO", permiso("RECURSOS_LEER", true))))
+                .thenReturn(List.of(rol("USUARIO", permiso("RECURSOS_LEER", true), permiso("RECURSOS_CREAR", true))));
+        matrizPermisos.refrescar();
+        List<GrantedAuthority> autoridades = List.of(new SimpleGrantedAuthority("ROLE_USUARIO"));
+        long antes = matrizPermisos.mascara(autoridades);
+
+        // Act
+        matrizPermisos.refrescar();
+
+        // Assert
+        assertFalse(PermisoSistema.RECURSOS_CREAR.presenteEn(antes));
+        assertTrue(PermisoSistema.RECURSOS_CREAR.presenteEn(matrizPermisos.mascara(autoridades)));
+    }
+
+    @Test
+    void debeAutorizarConUnaPruebaDeBitsMasRapidoQueRecorriendoAutoridades() {
+        // Arrange
+        List<GrantedAuthority> autoridades = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            autoridades.add(new SimpleGrantedAuthority("ROLE_AREA_" + i));
+        }
+        for (PermisoSistema permiso : PermisoSistema.values()) {
+            autoridades.add(new SimpleGrantedAuthority(permiso.name()));
+        }
+        long mascara = matrizPermisos.mascara(autoridades);
+        int iteraciones = 2_000_000;
+        medirRecorrido(autoridades, iteraciones);
+        medirMascara(mascara, iteraciones);
+
+        // Act
+        long recorrido = medirRecorrido(autoridades, iteraciones);
+        long bits = medirMascara(mascara, iteraciones);
+
+        // Assert
+        assertEquals(PermisoSistema.TODOS, mascara);
+        assertTrue(bits < recorrido, "Máscara: " + bits + " ns, recorrido: " + recorrido + " ns");
+    }
+
+    private static long medirRecorrido(List<GrantedAuthority> autoridades, int iteraciones) {
+        String requerido = PermisoSistema.USUARIOS_ADMINISTRAR.name();
+        int autorizados = 0;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < iteraciones; i++) {
+            for (GrantedAuthority autoridad : autoridades) {
+                if (requerido.equals(autoridad.getAuthority())) {
+                    autorizados++;
+                    break;
+                }
+            }
+        }
+        long transcurrido = System.nanoTime() - inicio;
+        assertEquals(iteraciones, autorizados);
+        return transcurrido;
+    }
+
+    private static long medirMascara(long mascara, int iteraciones) {
+        long requerido = PermisoSistema.USUARIOS_ADMINISTRAR.getBit();
+        int autorizados = 0;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < iteraciones; i++) {
+            if ((mascara & requerido) == requerido) {
+                autorizados++;
+            }
+        }
+        long transcurrido = System.nanoTime() - inicio;
+        assertEquals(iteraciones, autorizados);
+        return transcurrido;
+    }
+
+    private static RolEntity rol(String nombre, PermisoEntity... permisos) {
+        return new RolEntity(UUID.randomUUID(), nombre, null, true, Set.of(permisos));
+    }
+
+    private static PermisoEntity permiso(String nombre, boolean activo) {
+        return new PermisoEntity(UUID.randomUUID(), nombre, null, activo);
+    }
+}
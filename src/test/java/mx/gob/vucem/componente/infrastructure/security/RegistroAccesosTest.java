@@ -0,0 +1,125 @@
+package mx.gob.vucem.componente.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para el registro en lote de los resultados de inicio de sesión.
+ */
+@ExtendWith(MockitoExtension.class)
+class RegistroAccesosTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    private RegistroAccesos registroAccesos;
+
+    @BeforeEach
+    void setUp() {
+        registroAccesos = new RegistroAccesos(jdbcTemplate, publisher, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(registroAccesos, "maximoIntentos", 5);
+        registroAccesos.init();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void debeAgruparLosIntentosDeCadaUsuarioEnUnaEscritura() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            registroAccesos.registrarFallo("operador");
+        }
+        registroAccesos.registrarFallo("auditor");
+
+        // Act
+        registroAccesos.escribir();
+
+        // Assert
+        ArgumentCaptor<List<Object[]>> lote = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(contains("intentos_fallidos + ?"), lote.capture());
+        verifyNoMoreInteractions(jdbcTemplate);
+        assertEquals(2, lote.getValue().size());
+        Object[] operador = lote.getValue().stream().filter(fila -> "operador".equals(fila[3])).findFirst().orElseThrow();
+        assertEquals(3, operador[0]);
+        verify(publisher).publishEvent(new UsuarioModificado("operador"));
+        verify(publisher).publishEvent(new UsuarioModificado("auditor"));
+    }
+
+    @Test
+    void debeContarSoloLosFallosPosterioresAlUltimoExito() {
+        // Arrange
+        registroAccesos.registrarFallo("operador");
+        registroAccesos.registrarExito("operador");
+        registroAccesos.registrarFallo("operador");
+
+        // Act
+        registroAccesos.escribir();
+        registroAccesos.escribir();
+
+        // Assert
+        var orden = inOrder(jdbcTemplate);
+        orden.verify(jdbcTemplate).batchUpdate(contains("fecha_ultimo_acceso"), anyList());
+        orden.verify(jdbcTemplate).batchUpdate(contains("intentos_fallidos + ?"),
+                argThat((List<Object[]> filas) -> filas.size() == 1 && filas.get(0)[0].equals(1)));
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void debeReintegrarLosResultadosSiLaEscrituraFalla() {
+        // Arrange
+        registroAccesos.registrarFallo("operador");
+        registroAccesos.registrarFallo("operador");
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("sin conexión"))
+                .thenReturn(new int[] {1});
+
+        // Act: falla el lote y llega otro fallo antes del siguiente
+        registroAccesos.escribir();
+        registroAccesos.registrarFallo("operador");
+        registroAccesos.escribir();
+
+        // Assert: el segundo lote lleva los tres fallos y sólo entonces se invalida el usuario
+        verify(jdbcTemplate, times(2)).batchUpdate(contains("intentos_fallidos + ?"), anyList());
+        verify(jdbcTemplate).batchUpdate(contains("intentos_fallidos + ?"),
+                argThat((List<Object[]> filas) -> filas.size() == 1 && filas.get(0)[0].equals(3)));
+        verify(publisher, times(1)).publishEvent(new UsuarioModificado("operador"));
+    }
+
+    @Test
+    void debeIndicarCuandoLosFallosPendientesAlcanzanElMaximo() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            registroAccesos.registrarFallo("operador");
+        }
+        boolean antes = registroAccesos.alcanzoMaximoIntentos("operador");
+
+        // Act
+        registroAccesos.registrarFallo("operador");
+
+        // Assert: un éxito reinicia la cuenta
+        assertFalse(antes);
+        assertTrue(registroAccesos.alcanzoMaximoIntentos("operador"));
+        assertFalse(registroAccesos.alcanzoMaximoIntentos("auditor"));
+        registroAccesos.registrarExito("operador");
+        assertFalse(registroAccesos.alcanzoMaximoIntentos("operador"));
+    }
+}
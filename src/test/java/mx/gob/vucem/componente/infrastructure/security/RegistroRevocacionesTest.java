@@ -0,0 +1,125 @@
+package mx.gob.vucem.componente.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.infrastructure.persistence.entities.TokenRevocadoEntity;
+import mx.gob.vucem.componente.infrastructure.persistence.repositories.TokenRevocadoJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para el registro de tokens revocados.
+ */
+@ExtendWith(MockitoExtension.class)
+class RegistroRevocacionesTest {
+
+    @Mock
+    private TokenRevocadoJpaRepository tokenRevocadoJpaRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RegistroRevocaciones registroRevocaciones;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void debeRechazarSoloLosTokensRevocados() {
+        // Arrange
+        crearRegistro(1000, 0.01);
+        ClaimsVerificados claims = claims(Instant.now().plusSeconds(600));
+
+        // Act
+        registroRevocaciones.revocar(claims, "admin");
+
+        // Assert
+        assertTrue(registroRevocaciones.estaRevocado(claims.id()));
+        assertFalse(registroRevocaciones.estaRevocado(UUID.randomUUID().toString()));
+        verify(tokenRevocadoJpaRepository).save(argThat(token ->
+                token.getJti().equals(claims.id()) && token.getRevocadoPor().equals("admin")));
+    }
+
+    @Test
+    void debeDescartarFalsosPositivosConElConjuntoExacto() {
+        // Arrange: un filtro mínimo saturado responde positivo a cualquier consulta
+        crearRegistro(1, 0.5);
+        for (int i = 0; i < 500; i++) {
+            registroRevocaciones.revocar(claims(Instant.now().plusSeconds(600)), "admin");
+        }
+
+        // Act
+        int revocados = 0;
+        for (int i = 0; i < 100; i++) {
+            if (registroRevocaciones.estaRevocado(UUID.randomUUID().toString())) {
+                revocados++;
+            }
+        }
+
+        // Assert
+        assertEquals(0, revocados);
+        assertEquals(100.0, meterRegistry.get("vucem.seguridad.revocacion.falsos.positivos").counter().count());
+    }
+
+    @Test
+    void debeIncorporarRevocacionesDeOtrosNodos() {
+        // Arrange
+        crearRegistro(1000, 0.01);
+        String jti = UUID.randomUUID().toString();
+        when(tokenRevocadoJpaRepository.findByFechaRevocacionGreaterThanEqualAndExpiracionAfter(any(), any()))
+                .thenReturn(List.of(new TokenRevocadoEntity(jti, "operador", LocalDateTime.now().plusMinutes(10),
+                        LocalDateTime.now(), "admin")));
+        assertFalse(registroRevocaciones.estaRevocado(jti));
+
+        // Act
+        registroRevocaciones.refrescar();
+
+        // Assert
+        assertTrue(registroRevocaciones.estaRevocado(jti));
+        verify(tokenRevocadoJpaRepository).findByExpiracionAfter(any());
+    }
+
+    @Test
+    void debePurgarRevocacionesDeTokensExpirados() {
+        // Arrange
+        crearRegistro(1000, 0.01);
+        ClaimsVerificados expirado = claims(Instant.now().minusSeconds(1));
+        ClaimsVerificados vigente = claims(Instant.now().plusSeconds(600));
+        registroRevocaciones.revocar(expirado, "admin");
+        registroRevocaciones.revocar(vigente, "admin");
+
+        // Act
+        registroRevocaciones.purgar();
+
+        // Assert
+        assertFalse(registroRevocaciones.estaRevocado(expirado.id()));
+        assertTrue(registroRevocaciones.estaRevocado(vigente.id()));
+        assertEquals(1.0, meterRegistry.get("vucem.seguridad.revocacion.vigentes").gauge().value());
+        verify(tokenRevocadoJpaRepository).deleteExpirados(any());
+    }
+
+    private void crearRegistro(long capacidad, double tasaFalsosPositivos) {
+        registroRevocaciones = new RegistroRevocaciones(tokenRevocadoJpaRepository, meterRegistry);
+        ReflectionTestUtils.setField(registroRevocaciones, "capacidad", capacidad);
+        ReflectionTestUtils.setField(registroRevocaciones, "tasaFalsosPositivos", tasaFalsosPositivos);
+        ReflectionTestUtils.setField(registroRevocaciones, "margenRefrescoMs", 30_000L);
+        registroRevocaciones.init();
+    }
+
+    private static ClaimsVerificados claims(Instant expiracion) {
+        return new ClaimsVerificados("operador", UUID.randomUUID().toString(), expiracion, 0L, Map.of());
+    }
+}
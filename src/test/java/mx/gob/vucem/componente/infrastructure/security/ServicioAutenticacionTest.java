@@ -0,0 +1,275 @@
+package mx.gob.vucem.componente.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.domain.exceptions.AutenticacionFallidaException;
+import mx.gob.vucem.componente.domain.exceptions.ServicioNoDisponibleException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para el inicio de sesión con verificación en un ejecutor acotado.
+ */
+class ServicioAutenticacionTest {
+
+    private final RegistroAccesos registroAccesos = mock(RegistroAccesos.class);
+    private final JwtService jwtService = mock(JwtService.class);
+    private ServicioAutenticacion servicio;
+
+    @AfterEach
+    void tearDown() {
+        servicio.detener();
+    }
+
+    @Test
+    void debeEmitirTokenYRegistrarElAccesoConCredencialesValidas() {
+        // Arrange
+        crearServicio(new BCryptPasswordEncoder(4), 1, 4);
+        when(jwtService.generateToken(any(UserDetails.class))).thenReturn("token");
+
+        // Act
+        String token = servicio.autenticar("operador", "secreto").join();
+
+        // Assert
+        assertEquals("token", token);
+        verify(registroAccesos).registrarExito("operador");
+        verify(registroAccesos, never()).registrarFallo(anyString());
+    }
+
+    @Test
+    void debeRechazarCredencialesInvalidasYRegistrarElFallo() {
+        // Arrange
+        crearServicio(new BCryptPasswordEncoder(4), 1, 4);
+
+        // Act
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> servicio.autenticar("operador", "incorrecta").join());
+        CompletionException inexistente = assertThrows(CompletionException.class,
+                () -> servicio.autenticar("nadie", "secreto").join());
+
+        // Assert
+        assertInstanceOf(AutenticacionFallidaException.class, exception.getCause());
+        assertInstanceOf(AutenticacionFallidaException.class, inexistente.getCause());
+        verify(registroAccesos).registrarFallo("operador");
+        verify(registroAccesos, never()).registrarFallo("nadie");
+        verifyNoInteractions(jwtService);
+    }
+
+    @Test
+    void debeResponderIgualAUnUsuarioBloqueadoAcierteONoLaContrasena() {
+        // Arrange
+        crearServicio(new BCryptPasswordEncoder(4), 1, 4);
+
+        // Act
+        CompletionException correcta = assertThrows(CompletionException.class,
+                () -> servicio.autenticar("bloqueado", "secreto").join());
+        CompletionException incorrecta = assertThrows(CompletionException.class,
+                () -> servicio.autenticar("bloqueado", "incorrecta").join());
+
+        // Assert: el bloqueo no revela si la contraseña es correcta
+        assertEquals("USUARIO_BLOQUEADO", ((AutenticacionFallidaException) correcta.getCause()).getCodigo());
+        assertEquals("USUARIO_BLOQUEADO", ((AutenticacionFallidaException) incorrecta.getCause()).getCodigo());
+        verify(registroAccesos, never()).registrarExito(anyString());
+        verify(registroAccesos, never()).registrarFallo(anyString());
+        verifyNoInteractions(jwtService);
+    }
+
+    @Test
+    void debeBloquearAlUsuarioCuyosFallosPendientesAlcanzanElMaximo() {
+        // Arrange: los fallos aún no se escriben, así que el usuario no aparece bloqueado en la base
+        crearServicio(new BCryptPasswordEncoder(4), 1, 4);
+        when(registroAccesos.alcanzoMaximoIntentos("operador")).thenReturn(true);
+
+        // Act
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> servicio.autenticar("operador", "secreto").join());
+
+        // Assert
+        assertEquals("USUARIO_BLOQUEADO", ((AutenticacionFallidaException) exception.getCause()).getCodigo());
+        verify(registroAccesos, never()).registrarExito(anyString());
+        verifyNoInteractions(jwtService);
+    }
+
+    @Test
+    void debeRechazarDeInmediatoCuandoElEjecutorEstaSaturado() {
+        // Arrange
+        crearServicio(new BCryptPasswordEncoder(10), 1, 1);
+        servicio.autenticar("operador", "secreto");
+        servicio.autenticar("operador", "secreto");
+
+        // Act: el rechazo ocurre al enviar, sin devolver un futuro que espere al ejecutor
+        ServicioNoDisponibleException exception = assertThrows(ServicioNoDisponibleException.class,
+                () -> servicio.autenticar("operador", "secreto"));
+
+        // Assert
+        assertEquals("AUTENTICACION_SATURADA", exception.getCodigo());
+    }
+
+    @Test
+    void debeAtenderLosRecursosSinVerificarEnLosHilosDelServidorDuranteUnaRafagaDeInicios() throws Exception {
+        // Arrange
+        Set<String> hilosVerificacion = ConcurrentHashMap.newKeySet();
+        crearServicioRegistrandoHilos(hilosVerificacion);
+
+        // Act
+        Rafaga rafaga = rafagaDeInicios();
+
+        // Assert: todos los recursos se atendieron y BCrypt sólo corrió en el ejecutor acotado
+        assertEquals(400, rafaga.latenciasRecursos().size());
+        assertTrue(rafaga.aceptados() > 0);
+        assertTrue(rafaga.rechazados() > 0, "La ráfaga debió saturar el ejecutor");
+        assertFalse(hilosVerificacion.isEmpty());
+        assertTrue(hilosVerificacion.stream().noneMatch(hilo -> hilo.startsWith("servidor-")),
+                "BCrypt se ejecutó en hilos del servidor: " + hilosVerificacion);
+        assertTrue(hilosVerificacion.size() <= 2, "Hilos de verificación: " + hilosVerificacion);
+    }
+
+    /**
+     * Medición de latencia, excluida de la compilación normal: se ejecuta con
+     * {@code mvn test -Pbenchmark} e informa el p99 de los recursos y el máximo de un inicio de
+     * sesión en los hilos del servidor durante la ráfaga.
+     */
+    @Test
+    @Tag("benchmark")
+    void medirLaLatenciaDeLosRecursosDuranteUnaRafagaDeInicios() throws Exception {
+        // Arrange
+        crearServicioRegistrandoHilos(ConcurrentHashMap.newKeySet());
+
+        // Act
+        Rafaga rafaga = rafagaDeInicios();
+
+        // Report
+        List<Long> latencias = new ArrayList<>(rafaga.latenciasRecursos());
+        Collections.sort(latencias);
+        long p99Ms = TimeUnit.NANOSECONDS.toMillis(latencias.get((int) (latencias.size() * 0.99)));
+        long loginMaximoMs = TimeUnit.NANOSECONDS.toMillis(rafaga.loginMaximoNs());
+        System.out.printf("Ráfaga de inicios con %d procesadores: %d aceptados, %d rechazados, p99 de recursos "
+                        + "%d ms, máximo de login en el servidor %d ms%n", Runtime.getRuntime().availableProcessors(),
+                rafaga.aceptados(), rafaga.rechazados(), p99Ms, loginMaximoMs);
+    }
+
+    private void crearServicioRegistrandoHilos(Set<String> hilosVerificacion) {
+        crearServicio(new BCryptPasswordEncoder(10) {
+            @Override
+            public boolean matches(CharSequence contrasena, String hash) {
+                hilosVerificacion.add(Thread.currentThread().getName());
+                return super.matches(contrasena, hash);
+            }
+        }, 2, 8);
+    }
+
+    /**
+     * Atiende 400 solicitudes de recursos mientras 4 de los 8 hilos del servidor envían inicios
+     * de sesión sin pausa.
+     */
+    private Rafaga rafagaDeInicios() throws Exception {
+        AtomicInteger numeroHilo = new AtomicInteger();
+        ExecutorService servidor = Executors.newFixedThreadPool(8,
+                tarea -> new Thread(tarea, "servidor-" + numeroHilo.incrementAndGet()));
+        AtomicBoolean rafaga = new AtomicBoolean(true);
+        AtomicInteger aceptados = new AtomicInteger();
+        AtomicInteger rechazados = new AtomicInteger();
+        AtomicLong loginMaximoNs = new AtomicLong();
+        List<CompletableFuture<String>> pendientes = Collections.synchronizedList(new ArrayList<>());
+
+        try {
+            for (int i = 0; i < 4; i++) {
+                servidor.submit(() -> {
+                    while (rafaga.get()) {
+                        long inicio = System.nanoTime();
+                        try {
+                            pendientes.add(servicio.autenticar("operador", "incorrecta"));
+                            aceptados.incrementAndGet();
+                        } catch (ServicioNoDisponibleException e) {
+                            rechazados.incrementAndGet();
+                        }
+                        loginMaximoNs.accumulateAndGet(System.nanoTime() - inicio, Math::max);
+                        // Cada hilo atiende otra solicitud de login; sin pausa la ráfaga sólo mide el CPU
+                        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+                    }
+                });
+            }
+
+            List<Future<Long>> recursos = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                long recibido = System.nanoTime();
+                recursos.add(servidor.submit(() -> {
+                    atenderRecurso();
+                    return System.nanoTime() - recibido;
+                }));
+                Thread.sleep(1);
+            }
+            List<Long> latencias = new ArrayList<>();
+            for (Future<Long> recurso : recursos) {
+                latencias.add(recurso.get(5, TimeUnit.SECONDS));
+            }
+            rafaga.set(false);
+            servidor.shutdown();
+            assertTrue(servidor.awaitTermination(5, TimeUnit.SECONDS));
+            return new Rafaga(aceptados.get(), rechazados.get(), latencias, loginMaximoNs.get());
+        } finally {
+            rafaga.set(false);
+            servidor.shutdownNow();
+        }
+    }
+
+    private void crearServicio(BCryptPasswordEncoder encoder, int hilos, int capacidadCola) {
+        String hash = encoder.encode("secreto");
+        UserDetailsService userDetailsService = username -> {
+            if ("bloqueado".equals(username)) {
+                return User.withUsername("bloqueado").password(hash).authorities("RECURSOS_LEER")
+                        .accountLocked(true).build();
+            }
+            if (!"operador".equals(username)) {
+                throw new UsernameNotFoundException(username);
+            }
+            return User.withUsername("operador").password(hash).authorities("RECURSOS_LEER").build();
+        };
+        servicio = new ServicioAutenticacion(userDetailsService, encoder, jwtService, registroAccesos,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(servicio, "hilos", hilos);
+        ReflectionTestUtils.setField(servicio, "capacidadCola", capacidadCola);
+        servicio.init();
+    }
+
+    /**
+     * Simula el trabajo de una consulta de recursos.
+     */
+    private static void atenderRecurso() {
+        long suma = 0;
+        for (int i = 0; i < 10_000; i++) {
+            suma += Integer.toString(i).hashCode();
+        }
+        if (suma == 42) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private record Rafaga(int aceptados, int rechazados, List<Long> latenciasRecursos, long loginMaximoNs) {
+    }
+}
@@ -0,0 +1,134 @@
+package mx.gob.vucem.componente.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.infrastructure.persistence.entities.PermisoEntity;
+import mx.gob.vucem.componente.infrastructure.persistence.entities.RolEntity;
+import mx.gob.vucem.componente.infrastructure.persistence.entities.UsuarioEntity;
+import mx.gob.vucem.componente.infrastructure.persistence.repositories.UsuarioJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para la carga de usuarios con caché.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserDetailsServiceImplTest {
+
+    @Mock
+    private UsuarioJpaRepository usuarioJpaRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserDetailsServiceImpl userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsService = new UserDetailsServiceImpl(usuarioJpaRepository, meterRegistry);
+        ReflectionTestUtils.setField(userDetailsService, "ttlSegundos", 300L);
+        ReflectionTestUtils.setField(userDetailsService, "ttlNegativoSegundos", 30L);
+        ReflectionTestUtils.setField(userDetailsService, "cacheMaximo", 100L);
+        userDetailsService.init();
+    }
+
+    @Test
+    void debeCargarUsuarioConRolesYPermisosActivos() {
+        // Arrange
+        UsuarioEntity usuario = usuario("admin", false);
+        when(usuarioJpaRepository.findConRolesYPermisos("admin")).thenReturn(Optional.of(usuario));
+
+        // Act
+        UserDetails detalles = userDetailsService.loadUserByUsername("admin");
+
+        // Assert
+        Set<String> autoridades = detalles.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
+        assertEquals(Set.of("ROLE_ADMINISTRADOR", "RECURSOS_LEER"), autoridades);
+        assertTrue(detalles.isEnabled());
+        assertTrue(detalles.isAccountNonLocked());
+    }
+
+    @Test
+    void debeEvitarConsultasRepetidasMientrasElUsuarioEstaEnCache() {
+        // Arrange
+        when(usuarioJpaRepository.findConRolesYPermisos("admin")).thenReturn(Optional.of(usuario("admin", false)));
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            userDetailsService.loadUserByUsername("admin");
+        }
+
+        // Assert
+        verify(usuarioJpaRepository, times(1)).findConRolesYPermisos("admin");
+        assertEquals(1, meterRegistry.get("vucem.seguridad.usuarios.consultas").timer().count());
+        assertEquals(99.0, meterRegistry.get("cache.gets").tag("cache", "usuarios")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void debeRecordarUsuariosInexistentes() {
+        // Arrange
+        when(usuarioJpaRepository.findConRolesYPermisos("desconocido")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("desconocido"));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("desconocido"));
+        verify(usuarioJpaRepository, times(1)).findConRolesYPermisos("desconocido");
+    }
+
+    @Test
+    void debeRecargarUsuarioAlModificarse() {
+        // Arrange
+        when(usuarioJpaRepository.findConRolesYPermisos("admin"))
+                .thenReturn(Optional.of(usuario("admin", false)))
+                .thenReturn(Optional.of(usuario("admin", true)));
+        assertTrue(userDetailsService.loadUserByUsername("admin").isAccountNonLocked());
+
+        // Act
+        userDetailsService.alModificarUsuario(new UsuarioModificado("admin"));
+
+        // Assert
+        assertFalse(userDetailsService.loadUserByUsername("admin").isAccountNonLocked());
+        verify(usuarioJpaRepository, times(2)).findConRolesYPermisos("admin");
+    }
+
+    @Test
+    void debeConservarUsuarioDeSistemaSinConsultarLaBaseDeDatos() {
+        // Act
+        UserDetails detalles = userDetailsService.loadUserByUsername(UserDetailsServiceImpl.USUARIO_SISTEMA);
+
+        // Assert
+        assertEquals("ROLE_SYSTEM", detalles.getAuthorities().iterator().next().getAuthority());
+        verify(usuarioJpaRepository, never()).findConRolesYPermisos(anyString());
+    }
+
+    private static UsuarioEntity usuario(String username, boolean bloqueado) {
+        PermisoEntity leer = new PermisoEntity(UUID.randomUUID(), "RECURSOS_LEER", null, true);
+        PermisoEntity eliminar = new PermisoEntity(UUID.randomUUID(), "RECURSOS_ELIMINAR", null, false);
+        RolEntity administrador = new RolEntity(UUID.randomUUID(), "ADMINISTRADOR", null, true, Set.of(leer, eliminar));
+        RolEntity inactivo = new RolEntity(UUID.randomUUID(), "AUDITOR", null, false, Set.of(leer));
+
+        UsuarioEntity usuario = new UsuarioEntity();
+        usuario.setId(UUID.randomUUID());
+        usuario.setUsername(username);
+        usuario.setPassword("$2a$10$codificada");
+        usuario.setBloqueado(bloqueado);
+        usuario.setRoles(Set.of(administrador, inactivo));
+        return usuario;
+    }
+}
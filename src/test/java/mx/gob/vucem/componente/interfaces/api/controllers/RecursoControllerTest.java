@@ -1,17 +1,31 @@
 package mx.gob.vucem.componente.interfaces.api.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
 import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import mx.gob.vucem.componente.application.services.ConsultaMultipleRecursoService;
 import mx.gob.vucem.componente.application.services.RecursoApplicationService;
 import mx.gob.vucem.componente.domain.exceptions.BusinessException;
+import mx.gob.vucem.componente.infrastructure.security.JwtService;
+import mx.gob.vucem.componente.infrastructure.security.MatrizPermisos;
+import mx.gob.vucem.componente.infrastructure.security.PermisoSistema;
+import mx.gob.vucem.componente.interfaces.api.filters.InterceptorPermisos;
+import mx.gob.vucem.componente.interfaces.api.serializers.SerializadoresRecursoParcial;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
 
 import java.util.Arrays;
 import java.util.List;
@@ -21,6 +35,8 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -28,10 +44,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Pruebas unitarias para el controlador de recursos.
  */
 @WebMvcTest(RecursoController.class)
+@Import({SerializadoresRecursoParcial.class, SimpleMeterRegistry.class})
+@EnableConfigurationProperties(ComponenteProperties.class)
 @WithMockUser(roles = "SYSTEM")
+@MockBean(JpaMetamodelMappingContext.class)
 class RecursoControllerTest {
 
     @Autowired
+    private WebApplicationContext contexto;
+
     private MockMvc mockMvc;
 
     @Autowired
@@ -40,11 +61,30 @@ class RecursoControllerTest {
     @MockBean
     private RecursoApplicationService recursoService;
 
+    @MockBean
+    private ConsultaMultipleRecursoService consultaMultiple;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private MatrizPermisos matrizPermisos;
+
     private RecursoDTO recursoDTO;
     private UUID id;
 
     @BeforeEach
     void setUp() {
+        // Sin token, la máscara de permisos que dejaría JwtAuthenticationFilter se agrega a cada
+        // solicitud, con el token CSRF que exige la configuración de seguridad por omisión
+        mockMvc = MockMvcBuilders.webAppContextSetup(contexto)
+                .apply(springSecurity())
+                .defaultRequest(get("/").with(csrf())
+                        .requestAttr(InterceptorPermisos.ATRIBUTO_PERMISOS, PermisoSistema.TODOS))
+                .build();
         id = UUID.randomUUID();
         recursoDTO = new RecursoDTO();
         recursoDTO.setId(id);
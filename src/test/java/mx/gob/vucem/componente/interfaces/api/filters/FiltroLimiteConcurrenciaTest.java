@@ -0,0 +1,151 @@
+package mx.gob.vucem.componente.interfaces.api.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.infrastructure.resiliencia.LimiteConcurrenciaAdaptativo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas del filtro de límite de concurrencia de la API.
+ */
+class FiltroLimiteConcurrenciaTest {
+
+    private final CountDownLatch enCurso = new CountDownLatch(1);
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final ExecutorService clientes = Executors.newSingleThreadExecutor();
+    private SimpleMeterRegistry meterRegistry;
+    private FiltroLimiteConcurrencia filtro;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filtro = new FiltroLimiteConcurrencia(meterRegistry, new ObjectMapper());
+        ReflectionTestUtils.setField(filtro, "habilitado", true);
+        ReflectionTestUtils.setField(filtro, "limiteInicial", 1);
+        ReflectionTestUtils.setField(filtro, "limiteMinimo", 1);
+        ReflectionTestUtils.setField(filtro, "limiteMaximo", 1);
+        ReflectionTestUtils.setField(filtro, "tolerancia", 1.5);
+        ReflectionTestUtils.setField(filtro, "suavizado", 0.2);
+        ReflectionTestUtils.setField(filtro, "muestrasPorVentana", 20);
+        ReflectionTestUtils.setField(filtro, "ventanaMs", 1000L);
+        ReflectionTestUtils.setField(filtro, "capacidadCarrilOperacion", 2);
+        ReflectionTestUtils.setField(filtro, "reintentarDespuesSegundos", 1L);
+        filtro.init();
+        mockMvc = MockMvcBuilders.standaloneSetup(new ControladorPrueba()).addFilters(filtro).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        clientes.shutdownNow();
+    }
+
+    @Test
+    void debeRechazarConRetryAfterLasSolicitudesSobreElLimite() throws Exception {
+        // Arrange: una solicitud lenta ocupa el único lugar
+        Future<?> lenta = clientes.submit(() -> mockMvc.perform(get("/api/lenta")));
+        assertTrue(enCurso.await(2, TimeUnit.SECONDS));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/recursos"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.codigo").value("SERVICIO_SATURADO"));
+        assertEquals(1.0, meterRegistry.get("vucem.concurrencia.rechazados").tag("carril", "api").counter().count());
+        assertEquals(1.0, meterRegistry.get("vucem.concurrencia.en.curso").tag("carril", "api").gauge().value());
+
+        liberar.countDown();
+        lenta.get(2, TimeUnit.SECONDS);
+        mockMvc.perform(get("/api/recursos")).andExpect(status().isOk());
+        assertEquals(0, filtro.getLimite().getEnCurso());
+    }
+
+    @Test
+    void debeAtenderLasSondasDeSaludAunqueLaApiEsteSaturada() throws Exception {
+        // Arrange
+        Future<?> lenta = clientes.submit(() -> mockMvc.perform(get("/api/lenta")));
+        assertTrue(enCurso.await(2, TimeUnit.SECONDS));
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/recursos")).andExpect(status().isServiceUnavailable());
+        assertEquals(0.0, meterRegistry.get("vucem.concurrencia.rechazados")
+                .tag("carril", "operacion").counter().count());
+
+        liberar.countDown();
+        lenta.get(2, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void debeConvergerCercaDeLaCapacidadConRespuestasRapidas4xxEnLaCarga() {
+        // Arrange: un servicio con capacidad para 8 solicitudes de 10 ms y 60 clientes; una de
+        // cada tres solicitudes es un 401, 404 o 429 que se responde en 50 µs
+        LimiteConcurrenciaAdaptativo limite = new LimiteConcurrenciaAdaptativo(20, 2, 200, 1.5, 0.2, 20, 0);
+        long latenciaBase = TimeUnit.MILLISECONDS.toNanos(10);
+        long latenciaRechazo = TimeUnit.MICROSECONDS.toNanos(50);
+        int[] rechazos = {401, 404, 429};
+        int capacidad = 8;
+
+        // Act
+        for (int ventana = 0; ventana < 300; ventana++) {
+            int admitidas = Math.min(60, limite.getLimite());
+            long espera = latenciaBase * Math.max(capacidad, admitidas) / capacidad - latenciaBase;
+            for (int muestra = 0; muestra < 30; muestra++) {
+                assertTrue(limite.intentarAdquirir() > 0);
+                boolean rapida = muestra % 3 == 0;
+                int status = rapida ? rechazos[muestra % rechazos.length] : 200;
+                long latencia = rapida ? latenciaRechazo : latenciaBase + 2 * espera * muestra / 29;
+                if (FiltroLimiteConcurrencia.esMuestra(status)) {
+                    limite.liberar(latencia, admitidas);
+                } else {
+                    limite.liberarSinMuestra();
+                }
+            }
+        }
+
+        // Assert: los rechazos rápidos no se toman como latencia sin cola
+        assertTrue(limite.getLimite() >= capacidad, "Límite " + limite.getLimite());
+        assertTrue(limite.getLatenciaSinColaNanos() >= latenciaBase);
+    }
+
+    @RestController
+    private class ControladorPrueba {
+
+        @GetMapping("/api/lenta")
+        String lenta() throws InterruptedException {
+            enCurso.countDown();
+            liberar.await(2, TimeUnit.SECONDS);
+            return "lenta";
+        }
+
+        @GetMapping("/api/recursos")
+        String recursos() {
+            return "recursos";
+        }
+
+        @GetMapping("/actuator/health")
+        String salud() {
+            return "UP";
+        }
+    }
+}
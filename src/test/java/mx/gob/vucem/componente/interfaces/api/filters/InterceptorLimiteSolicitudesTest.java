@@ -0,0 +1,170 @@
+package mx.gob.vucem.componente.interfaces.api.filters;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
+import mx.gob.vucem.componente.interfaces.api.advisors.GlobalExceptionHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas del interceptor de límite de solicitudes por cliente.
+ */
+class InterceptorLimiteSolicitudesTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ComponenteProperties properties = new ComponenteProperties();
+        ComponenteProperties.LimiteSolicitudes configuracion = properties.getLimiteSolicitudes();
+        configuracion.setCapacidad(3);
+        configuracion.setPorSegundo(0.01);
+        ComponenteProperties.LimiteSolicitudes.Cuota escritura = new ComponenteProperties.LimiteSolicitudes.Cuota();
+        escritura.setNombre("escritura");
+        escritura.setPatron("/api/recursos/**");
+        escritura.setMetodos(List.of("POST", "PUT", "PATCH", "DELETE"));
+        escritura.setCapacidad(1);
+        escritura.setPorSegundo(0.5);
+        configuracion.getCuotas().add(escritura);
+
+        meterRegistry = new SimpleMeterRegistry();
+        InterceptorLimiteSolicitudes interceptor = new InterceptorLimiteSolicitudes(properties, meterRegistry);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ControladorPrueba())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addInterceptors(interceptor)
+                .build();
+    }
+
+    @Test
+    void debeInformarLaCuotaYRechazarConRetryAfterAlExcederla() throws Exception {
+        // Arrange
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/recursos/{id}", i).with(desde("10.0.0.1")));
+        }
+
+        // Act & Assert
+        mockMvc.perform(get("/api/recursos/7").with(desde("10.0.0.1")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Limit", "3"))
+                .andExpect(header().string("RateLimit-Remaining", "0"))
+                .andExpect(header().string("RateLimit-Reset", "300"))
+                .andExpect(header().string("RateLimit-Policy", "3;w=300;name=\"general\""));
+        mockMvc.perform(get("/api/recursos/8").with(desde("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "100"))
+                .andExpect(header().string("RateLimit-Remaining", "0"))
+                .andExpect(jsonPath("$.codigo").value("LIMITE_SOLICITUDES_EXCEDIDO"));
+
+        // Otro cliente no se ve afectado
+        mockMvc.perform(get("/api/recursos/8").with(desde("10.0.0.2")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Remaining", "2"));
+        assertEquals(1.0, meterRegistry.get("vucem.limite.solicitudes.rechazados")
+                .tag("cuota", "general").counter().count());
+    }
+
+    @Test
+    void debeIgnorarLaApiKeyNoVerificadaAlIdentificarAlCliente() throws Exception {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/recursos/{id}", i).with(desde("10.0.0.3")).header("X-API-Key", "clave-" + i))
+                    .andExpect(status().isOk());
+        }
+
+        // Act & Assert: una clave nueva no da una cubeta nueva al mismo cliente anónimo
+        mockMvc.perform(get("/api/recursos/3").with(desde("10.0.0.3")).header("X-API-Key", "clave-3"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void debeAplicarLaCuotaDelEndpointPorUsuarioAutenticado() throws Exception {
+        // Act & Assert: la cuota de escritura es independiente de la general
+        mockMvc.perform(post("/api/recursos").requestAttr(InterceptorLimiteSolicitudes.ATRIBUTO_CLIENTE, "ana"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Policy", "1;w=2;name=\"escritura\""));
+        mockMvc.perform(post("/api/recursos").requestAttr(InterceptorLimiteSolicitudes.ATRIBUTO_CLIENTE, "ana"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+        mockMvc.perform(get("/api/recursos/1").requestAttr(InterceptorLimiteSolicitudes.ATRIBUTO_CLIENTE, "ana"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Remaining", "2"));
+        mockMvc.perform(post("/api/recursos").requestAttr(InterceptorLimiteSolicitudes.ATRIBUTO_CLIENTE, "luis"))
+                .andExpect(status().isOk());
+        assertEquals(1.0, meterRegistry.get("vucem.limite.solicitudes.rechazados")
+                .tag("cuota", "escritura").counter().count());
+    }
+
+    @Test
+    void debeCompartirLaCuotaDeEscrituraEntreTodosLosMetodosDeEscritura() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/api/recursos").requestAttr(InterceptorLimiteSolicitudes.ATRIBUTO_CLIENTE, "ana"))
+                .andExpect(status().isOk());
+
+        // Act & Assert: la actualización y la eliminación consumen la misma cubeta de escritura
+        mockMvc.perform(put("/api/recursos/1").requestAttr(InterceptorLimiteSolicitudes.ATRIBUTO_CLIENTE, "ana"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("RateLimit-Policy", "1;w=2;name=\"escritura\""));
+        mockMvc.perform(delete("/api/recursos/1").requestAttr(InterceptorLimiteSolicitudes.ATRIBUTO_CLIENTE, "ana"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(put("/api/recursos/1").requestAttr(InterceptorLimiteSolicitudes.ATRIBUTO_CLIENTE, "luis"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Policy", "1;w=2;name=\"escritura\""));
+        mockMvc.perform(get("/api/recursos/1").requestAttr(InterceptorLimiteSolicitudes.ATRIBUTO_CLIENTE, "ana"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Policy", "3;w=300;name=\"general\""));
+        assertEquals(2.0, meterRegistry.get("vucem.limite.solicitudes.rechazados")
+                .tag("cuota", "escritura").counter().count());
+    }
+
+    private static RequestPostProcessor desde(String direccion) {
+        return request -> {
+            request.setRemoteAddr(direccion);
+            return request;
+        };
+    }
+
+    @RestController
+    private static class ControladorPrueba {
+
+        @GetMapping("/api/recursos/{id}")
+        String consultar(@PathVariable Long id) {
+            return "recurso " + id;
+        }
+
+        @PostMapping("/api/recursos")
+        String crear() {
+            return "creado";
+        }
+
+        @PutMapping("/api/recursos/{id}")
+        String actualizar(@PathVariable Long id) {
+            return "actualizado " + id;
+        }
+
+        @DeleteMapping("/api/recursos/{id}")
+        String eliminar(@PathVariable Long id) {
+            return "eliminado " + id;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package mx.gob.vucem.componente.interfaces.api.filters;
+
+import mx.gob.vucem.componente.domain.exceptions.AccesoDenegadoException;
+import mx.gob.vucem.componente.infrastructure.security.PermisoSistema;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para la autorización de endpoints por máscara de permisos.
+ */
+class InterceptorPermisosTest {
+
+    private final InterceptorPermisos interceptor = new InterceptorPermisos();
+
+    @Test
+    void debePermitirCuandoLaMascaraIncluyeLosPermisosRequeridos() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(InterceptorPermisos.ATRIBUTO_PERMISOS,
+                PermisoSistema.RECURSOS_LEER.getBit() | PermisoSistema.RECURSOS_ELIMINAR.getBit());
+
+        // Act & Assert
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), metodo("eliminar")));
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), metodo("leer")));
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                new HandlerMethod(new Abierto(), Abierto.class.getMethod("consultar"))));
+    }
+
+    @Test
+    void debeDenegarCuandoFaltaAlgunPermiso() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(InterceptorPermisos.ATRIBUTO_PERMISOS, PermisoSistema.RECURSOS_ELIMINAR.getBit());
+
+        // Act & Assert
+        AccesoDenegadoException exception = assertThrows(AccesoDenegadoException.class,
+                () -> interceptor.preHandle(request, new MockHttpServletResponse(), metodo("eliminar")));
+        assertEquals("ACCESO_DENEGADO", exception.getCodigo());
+        assertThrows(AccesoDenegadoException.class, () -> interceptor.preHandle(
+                new MockHttpServletRequest(), new MockHttpServletResponse(), metodo("leer")));
+    }
+
+    private static HandlerMethod metodo(String nombre) throws NoSuchMethodException {
+        return new HandlerMethod(new Protegido(), Protegido.class.getMethod(nombre));
+    }
+
+    @RequierePermiso(PermisoSistema.RECURSOS_LEER)
+    static class Protegido {
+
+        public void leer() {
+        }
+
+        @RequierePermiso({PermisoSistema.RECURSOS_LEER, PermisoSistema.RECURSOS_ELIMINAR})
+        public void eliminar() {
+        }
+    }
+
+    static class Abierto {
+
+        public void consultar() {
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package mx.gob.vucem.componente.interfaces.api.filters;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.infrastructure.persistence.repositories.RolJpaRepository;
+import mx.gob.vucem.componente.infrastructure.persistence.repositories.TokenRevocadoJpaRepository;
+import mx.gob.vucem.componente.infrastructure.security.ClaimsVerificados;
+import mx.gob.vucem.componente.infrastructure.security.JwtService;
+import mx.gob.vucem.componente.infrastructure.security.MatrizPermisos;
+import mx.gob.vucem.componente.infrastructure.security.PermisoSistema;
+import mx.gob.vucem.componente.infrastructure.security.RegistroRevocaciones;
+import mx.gob.vucem.componente.interfaces.api.advisors.GlobalExceptionHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas del filtro de autenticación JWT con revocación de tokens.
+ */
+class JwtAuthenticationFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocadoJpaRepository tokenRevocadoJpaRepository;
+    private RegistroRevocaciones registroRevocaciones;
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filtro;
+    private final Map<String, String[]> autoridades = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenRevocadoJpaRepository = mock(TokenRevocadoJpaRepository.class);
+        registroRevocaciones = new RegistroRevocaciones(tokenRevocadoJpaRepository, meterRegistry);
+        ReflectionTestUtils.setField(registroRevocaciones, "capacidad", 20_000L);
+        ReflectionTestUtils.setField(registroRevocaciones, "tasaFalsosPositivos", 0.01);
+        registroRevocaciones.init();
+
+        MatrizPermisos matrizPermisos = new MatrizPermisos(mock(RolJpaRepository.class));
+        jwtService = new JwtService(meterRegistry, matrizPermisos, registroRevocaciones);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600L);
+        ReflectionTestUtils.setField(jwtService, "issuer", "vucem.gob.mx");
+        ReflectionTestUtils.setField(jwtService, "audience", "api");
+        ReflectionTestUtils.setField(jwtService, "cacheMaximo", 10_000L);
+        jwtService.init();
+
+        UserDetailsService userDetailsService = username -> usuario(username,
+                autoridades.getOrDefault(username, new String[]{"RECURSOS_LEER"}));
+        filtro = new JwtAuthenticationFilter(jwtService, userDetailsService, matrizPermisos);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void debeAutenticarHastaQueElTokenSeRevoca() throws Exception {
+        // Arrange
+        String token = jwtService.generateToken(usuario("operador"));
+        assertTrue(autenticar(token));
+
+        // Act
+        ClaimsVerificados claims = jwtService.verificar(token).orElseThrow();
+        registroRevocaciones.revocar(claims, "operador");
+
+        // Assert
+        assertFalse(autenticar(token));
+    }
+
+    @Test
+    void debeDenegarConElMismoTokenAlRetirarseElPermiso() throws Exception {
+        // Arrange
+        autoridades.put("editor", new String[]{"RECURSOS_LEER", "RECURSOS_ELIMINAR"});
+        String token = jwtService.generateToken(usuario("editor", autoridades.get("editor")));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ControladorPrueba())
+                .addFilters(filtro)
+                .addInterceptors(new InterceptorPermisos())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        mockMvc.perform(delete("/api/recursos/1").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Act: se retira el permiso de eliminar; la caché de usuarios ya refleja el cambio
+        autoridades.put("editor", new String[]{"RECURSOS_LEER"});
+
+        // Assert: el token sigue vigente pero su máscara ya no autoriza
+        SecurityContextHolder.clearContext();
+        mockMvc.perform(delete("/api/recursos/1").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        SecurityContextHolder.clearContext();
+        mockMvc.perform(get("/api/recursos/1").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void debeSostenerElRendimientoDeLaCadenaConMilesDeRevocaciones() throws Exception {
+        // Arrange
+        Instant expiracion = Instant.now().plusSeconds(600);
+        for (int i = 0; i < 10_000; i++) {
+            registroRevocaciones.revocar(new ClaimsVerificados("revocado" + i, UUID.randomUUID().toString(),
+                    expiracion, 0L, Map.of()), "admin");
+        }
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            tokens.add(jwtService.generateToken(usuario("operador" + i)));
+        }
+        tokens.forEach(jwtService::verificar);
+        clearInvocations(tokenRevocadoJpaRepository);
+        int solicitudes = 50_000;
+
+        // Act
+        long inicio = System.nanoTime();
+        for (int i = 0; i < solicitudes; i++) {
+            assertTrue(autenticar(tokens.get(i % tokens.size())));
+        }
+        double porSegundo = solicitudes / ((System.nanoTime() - inicio) / 1e9);
+
+        // Assert: ninguna consulta a la base de datos y falsos positivos cercanos a la tasa configurada
+        verifyNoInteractions(tokenRevocadoJpaRepository);
+        double falsosPositivos = meterRegistry.get("vucem.seguridad.revocacion.falsos.positivos").counter().count();
+        assertTrue(falsosPositivos < solicitudes * 0.03, "Falsos positivos: " + falsosPositivos);
+        assertTrue(porSegundo > 10_000, "Solicitudes por segundo: " + porSegundo);
+    }
+
+    private boolean autenticar(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication() != null;
+    }
+
+    private static UserDetails usuario(String username) {
+        return usuario(username, "RECURSOS_LEER");
+    }
+
+    private static UserDetails usuario(String username, String... autoridades) {
+        return User.withUsername(username).password("x").authorities(autoridades).build();
+    }
+
+    @RestController
+    private static class ControladorPrueba {
+
+        @GetMapping("/api/recursos/{id}")
+        @RequierePermiso(PermisoSistema.RECURSOS_LEER)
+        String consultar(@PathVariable Long id) {
+            return "recurso " + id;
+        }
+
+        @DeleteMapping("/api/recursos/{id}")
+        @RequierePermiso(PermisoSistema.RECURSOS_ELIMINAR)
+        String eliminar(@PathVariable Long id) {
+            return "eliminado " + id;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package mx.gob.vucem.componente.interfaces.api.handlers;
+
+import jakarta.validation.Validation;
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import mx.gob.vucem.componente.application.mappers.RecursoMapperImpl;
+import mx.gob.vucem.componente.application.services.RecursoApplicationService;
+import mx.gob.vucem.componente.application.services.RecursoReactivoService;
+import mx.gob.vucem.componente.domain.entities.Recurso;
+import mx.gob.vucem.componente.domain.repositories.RecursoRepositoryReactivo;
+import mx.gob.vucem.componente.infrastructure.config.ReactivoConfig;
+import mx.gob.vucem.componente.infrastructure.persistence.repositories.RolJpaRepository;
+import mx.gob.vucem.componente.infrastructure.security.ClaimsVerificados;
+import mx.gob.vucem.componente.infrastructure.security.JwtService;
+import mx.gob.vucem.componente.infrastructure.security.MatrizPermisos;
+import mx.gob.vucem.componente.infrastructure.security.PermisoSistema;
+import mx.gob.vucem.componente.interfaces.api.filters.FiltroPermisosReactivo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.server.WebFilterChainProxy;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas de las rutas funcionales de la API reactiva de recursos.
+ */
+class RecursoHandlerTest {
+
+    private static final String LECTOR = "lector";
+    private static final String EDITOR = "editor";
+
+    private final RecursoRepositoryReactivo recursoRepository = mock(RecursoRepositoryReactivo.class);
+    private final RecursoApplicationService recursoApplicationService = mock(RecursoApplicationService.class);
+    private final JwtService jwtService = mock(JwtService.class);
+    private final Scheduler planificadorJdbc = Schedulers.newBoundedElastic(2, 100, "prueba-jdbc");
+    private WebTestClient cliente;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtService.verificar(anyString())).thenReturn(Optional.empty());
+        when(jwtService.verificar(LECTOR)).thenReturn(claims(LECTOR, PermisoSistema.RECURSOS_LEER));
+        when(jwtService.verificar(EDITOR)).thenReturn(claims(EDITOR, PermisoSistema.RECURSOS_LEER,
+                PermisoSistema.RECURSOS_CREAR));
+
+        RecursoReactivoService servicio = new RecursoReactivoService(recursoRepository, recursoApplicationService,
+                new RecursoMapperImpl(), planificadorJdbc);
+        RecursoHandler handler = new RecursoHandler(servicio,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        FiltroPermisosReactivo filtro = new FiltroPermisosReactivo(jwtService,
+                usuario -> User.withUsername(usuario).password("x").authorities(EDITOR.equals(usuario)
+                        ? new String[]{"RECURSOS_LEER", "RECURSOS_CREAR"} : new String[]{"RECURSOS_LEER"}).build(),
+                new MatrizPermisos(mock(RolJpaRepository.class)), planificadorJdbc);
+        // Las rutas del actuator y de salud las atienden otros componentes; aquí sólo responden
+        RouterFunction<ServerResponse> salud = RouterFunctions.route(RequestPredicates.GET("/actuator/**")
+                .or(RequestPredicates.GET("/api/health")), request -> ServerResponse.ok().bodyValue("UP"));
+        cliente = WebTestClient.bindToRouterFunction(new RecursoRouter().rutasRecursos(handler, filtro).and(salud))
+                .webFilter(new WebFilterChainProxy(new ReactivoConfig().seguridadReactiva(ServerHttpSecurity.http())))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        planificadorJdbc.dispose();
+    }
+
+    @Test
+    void debeTransmitirLosRecursosComoNdjson() {
+        // Arrange
+        when(recursoRepository.findAll()).thenReturn(Flux.just(recurso("uno"), recurso("dos"), recurso("tres")));
+
+        // Act & Assert
+        cliente.get().uri("/api/recursos")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .header("Authorization", "Bearer " + LECTOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(RecursoDTO.class).hasSize(3);
+    }
+
+    @Test
+    void debeAutorizarCadaRutaConSuPermiso() {
+        // Arrange
+        RecursoDTO nuevo = RecursoDTO.builder().nombre("Nuevo").build();
+        when(recursoApplicationService.crear(any())).thenAnswer(invocacion -> {
+            RecursoDTO dto = invocacion.getArgument(0);
+            dto.setId(UUID.randomUUID());
+            return dto;
+        });
+
+        // Act & Assert: sin token no se autoriza
+        cliente.get().uri("/api/recursos")
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody().jsonPath("$.codigo").isEqualTo("ACCESO_DENEGADO");
+        // El permiso de lectura no autoriza a crear
+        cliente.post().uri("/api/recursos")
+                .header("Authorization", "Bearer " + LECTOR)
+                .bodyValue(nuevo)
+                .exchange()
+                .expectStatus().isForbidden();
+        cliente.post().uri("/api/recursos")
+                .header("Authorization", "Bearer " + EDITOR)
+                .bodyValue(nuevo)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().exists("Location")
+                .expectBody().jsonPath("$.nombre").isEqualTo("Nuevo");
+        verify(recursoApplicationService, times(1)).crear(any());
+    }
+
+    @Test
+    void debeRechazarLasRutasQueNoAtiendeElRouter() {
+        // Act & Assert: los controladores de servlets no tienen sus filtros en WebFlux
+        cliente.post().uri("/api/recursos/_mget")
+                .header("Authorization", "Bearer " + LECTOR)
+                .bodyValue(Map.of("ids", List.of(UUID.randomUUID())))
+                .exchange()
+                .expectStatus().isUnauthorized();
+        cliente.get().uri("/api/recursos/cambios/stream")
+                .exchange()
+                .expectStatus().isUnauthorized();
+        cliente.post().uri("/api/auth/login")
+                .bodyValue(Map.of("username", "admin", "password", "x"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+        verifyNoInteractions(recursoRepository, recursoApplicationService);
+    }
+
+    @Test
+    void debePermitirLasSondasDeSaludYLasMetricasSinToken() {
+        // Act & Assert
+        for (String ruta : List.of("/actuator/health/liveness", "/actuator/health/readiness", "/actuator/info",
+                "/actuator/prometheus", "/actuator/metrics/jvm.memory.used", "/api/health")) {
+            cliente.get().uri(ruta)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+        cliente.get().uri("/actuator/env")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void debeResponderLosErroresConElFormatoEstandar() {
+        // Arrange
+        when(recursoRepository.findById(any())).thenReturn(Mono.empty());
+
+        // Act & Assert
+        cliente.get().uri("/api/recursos/{id}", UUID.randomUUID())
+                .header("Authorization", "Bearer " + LECTOR)
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.codigo").isEqualTo("RECURSO_NO_ENCONTRADO")
+                .jsonPath("$.path").value(path -> ((String) path).startsWith("uri=/api/recursos/"));
+        cliente.get().uri("/api/recursos/no-es-uuid")
+                .header("Authorization", "Bearer " + LECTOR)
+                .exchange()
+                .expectStatus().isBadRequest();
+        cliente.post().uri("/api/recursos")
+                .header("Authorization", "Bearer " + EDITOR)
+                .bodyValue(RecursoDTO.builder().nombre(" ").build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.codigo").isEqualTo("ERR_VALIDACION")
+                .jsonPath("$.errores.nombre").exists();
+        verifyNoInteractions(recursoApplicationService);
+    }
+
+    private static Optional<ClaimsVerificados> claims(String usuario, PermisoSistema... permisos) {
+        return Optional.of(new ClaimsVerificados(usuario, UUID.randomUUID().toString(),
+                Instant.now().plusSeconds(3600), PermisoSistema.mascara(List.of(permisos)), Map.of()));
+    }
+
+    private static Recurso recurso(String nombre) {
+        Recurso recurso = new Recurso();
+        recurso.setId(UUID.randomUUID());
+        recurso.setNombre(nombre);
+        return recurso;
+    }
+}
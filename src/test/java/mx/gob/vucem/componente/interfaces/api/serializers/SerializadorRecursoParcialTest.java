@@ -0,0 +1,260 @@
+package mx.gob.vucem.componente.interfaces.api.serializers;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import mx.gob.vucem.componente.domain.exceptions.BusinessException;
+import mx.gob.vucem.componente.domain.valueobjects.CamposRecurso;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la serialización de recursos con un subconjunto de campos y del tamaño de la
+ * respuesta en listas grandes, con la medición de filas por segundo como benchmark opcional.
+ */
+class SerializadorRecursoParcialTest {
+
+    private static final int FILAS = 20_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private final SerializadoresRecursoParcial serializadores = new SerializadoresRecursoParcial();
+
+    @Test
+    void debeEscribirSoloLosCamposSolicitadosConElFormatoDeJackson() throws Exception {
+        // Arrange
+        RecursoDTO recurso = recurso(1);
+        recurso.setDescripcion(null);
+        SerializadorRecursoParcial serializador = serializadores.para(
+                CamposRecurso.de("nombre,id,descripcion,fechaCreacion"));
+
+        // Act
+        JsonNode parcial = objectMapper.readTree(objectMapper.writeValueAsString(serializador.uno(recurso)));
+        JsonNode completo = objectMapper.readTree(objectMapper.writeValueAsString(recurso));
+
+        // Assert: los nulos se omiten y los valores coinciden con la serialización completa
+        assertEquals(List.of("id", "nombre", "fechaCreacion"), nombres(parcial));
+        for (String campo : nombres(parcial)) {
+            assertEquals(completo.get(campo), parcial.get(campo));
+        }
+    }
+
+    @Test
+    void debeReutilizarElSerializadorDeCadaConjuntoDeCampos() {
+        // Act
+        SerializadorRecursoParcial primero = serializadores.para(CamposRecurso.de("id,nombre,atributos.tipo"));
+        SerializadorRecursoParcial segundo = serializadores.para(CamposRecurso.de(" atributos.tipo, nombre,id"));
+
+        // Assert
+        assertSame(primero, segundo);
+        assertEquals("id,nombre,atributos.tipo", segundo.getCampos().getClave());
+        assertEquals("atributos", CamposRecurso.de("atributos.tipo,atributos").getClave());
+        BusinessException error = assertThrows(BusinessException.class, () -> CamposRecurso.de("id,contrasena"));
+        assertEquals("CAMPOS_INVALIDOS", error.getCodigo());
+        assertThrows(BusinessException.class, () -> CamposRecurso.de("atributos.a b"));
+    }
+
+    @Test
+    void debeReducirLosBytesDeListasGrandesAlSolicitarCampos() throws Exception {
+        // Arrange
+        try (Connection conexion = DriverManager.getConnection("jdbc:h2:mem:campos-recurso", "sa", "")) {
+            poblar(conexion);
+            SerializadorRecursoParcial serializador = serializadores.para(CamposRecurso.de("id,nombre"));
+
+            // Act
+            Respuesta completa = respuesta(completo(conexion));
+            Respuesta parcial = respuesta(parcial(conexion, serializador));
+
+            // Assert: las mismas filas con sólo los campos solicitados
+            assertEquals(FILAS, completa.filas());
+            assertEquals(FILAS, parcial.filas());
+            assertEquals(List.of("id", "nombre"), nombres(parcial.primera()));
+            assertEquals(completa.primera().get("id"), parcial.primera().get("id"));
+            assertEquals(completa.primera().get("nombre"), parcial.primera().get("nombre"));
+            assertTrue(parcial.bytes() * 5 < completa.bytes(),
+                    "Parcial " + parcial.bytes() + " bytes contra completa " + completa.bytes());
+        }
+    }
+
+    /**
+     * Medición de rendimiento, excluida de la compilación normal: se ejecuta con
+     * {@code mvn test -Pbenchmark} e informa los bytes y las filas por segundo de la consulta y
+     * la serialización de una lista grande con todos los campos y con {@code id,nombre}.
+     */
+    @Test
+    @Tag("benchmark")
+    void medirBytesYFilasPorSegundoEnListasGrandes() throws Exception {
+        // Arrange
+        try (Connection conexion = DriverManager.getConnection("jdbc:h2:mem:campos-recurso-medicion", "sa", "")) {
+            poblar(conexion);
+            SerializadorRecursoParcial serializador = serializadores.para(CamposRecurso.de("id,nombre"));
+            for (int i = 0; i < 3; i++) {
+                medir(() -> completo(conexion));
+                medir(() -> parcial(conexion, serializador));
+            }
+
+            // Act
+            Medicion completa = medir(() -> completo(conexion));
+            Medicion parcial = medir(() -> parcial(conexion, serializador));
+
+            // Report
+            System.out.printf("%-18s %12s %14s%n", "Campos", "Bytes", "Filas/s");
+            System.out.printf("%-18s %12d %14.0f%n", "todos", completa.bytes(), completa.filasPorSegundo());
+            System.out.printf("%-18s %12d %14.0f%n", "id,nombre", parcial.bytes(), parcial.filasPorSegundo());
+        }
+    }
+
+    /**
+     * Consulta todas las columnas y arma el DTO completo, como la respuesta sin campos.
+     */
+    private List<RecursoDTO> completo(Connection conexion) throws Exception {
+        List<RecursoDTO> recursos = new ArrayList<>(FILAS);
+        try (Statement sentencia = conexion.createStatement();
+             ResultSet filas = sentencia.executeQuery("SELECT id, nombre, descripcion, activo, atributos, "
+                     + "fecha_creacion, fecha_modificacion FROM recursos")) {
+            while (filas.next()) {
+                RecursoDTO recurso = new RecursoDTO();
+                recurso.setId(filas.getObject(1, UUID.class));
+                recurso.setNombre(filas.getString(2));
+                recurso.setDescripcion(filas.getString(3));
+                recurso.setActivo(filas.getBoolean(4));
+                recurso.setAtributos(objectMapper.readValue(filas.getString(5), new TypeReference<Map<String, String>>() {
+                }));
+                recurso.setFechaCreacion(filas.getObject(6, LocalDateTime.class));
+                recurso.setFechaModificacion(filas.getObject(7, LocalDateTime.class));
+                recursos.add(recurso);
+            }
+        }
+        return recursos;
+    }
+
+    /**
+     * Consulta sólo las columnas solicitadas y arma la lista con el serializador precalculado.
+     */
+    private Object parcial(Connection conexion, SerializadorRecursoParcial serializador) throws Exception {
+        List<RecursoDTO> recursos = new ArrayList<>(FILAS);
+        try (Statement sentencia = conexion.createStatement();
+             ResultSet filas = sentencia.executeQuery("SELECT id, nombre FROM recursos")) {
+            while (filas.next()) {
+                RecursoDTO recurso = new RecursoDTO();
+                recurso.setId(filas.getObject(1, UUID.class));
+                recurso.setNombre(filas.getString(2));
+                recurso.setAtributos(null);
+                recursos.add(recurso);
+            }
+        }
+        return serializador.lista(recursos);
+    }
+
+    private interface Consulta {
+        Object ejecutar() throws Exception;
+    }
+
+    /**
+     * Consulta y serializa la respuesta contando sus bytes y las filas por segundo.
+     */
+    private Medicion medir(Consulta consulta) throws Exception {
+        long inicio = System.nanoTime();
+        ContadorBytes salida = new ContadorBytes();
+        objectMapper.writeValue(salida, consulta.ejecutar());
+        return new Medicion(salida.bytes, FILAS * 1e9 / (System.nanoTime() - inicio));
+    }
+
+    /**
+     * Serializa la respuesta contando sus bytes y la vuelve a leer para revisar su contenido.
+     */
+    private Respuesta respuesta(Object cuerpo) throws IOException {
+        ContadorBytes salida = new ContadorBytes();
+        objectMapper.writeValue(salida, cuerpo);
+        JsonNode lista = objectMapper.valueToTree(cuerpo);
+        return new Respuesta(salida.bytes, lista.size(), lista.get(0));
+    }
+
+    private void poblar(Connection conexion) throws SQLException, IOException {
+        try (Statement sentencia = conexion.createStatement()) {
+            sentencia.execute("CREATE TABLE recursos (id UUID PRIMARY KEY, nombre VARCHAR(100) NOT NULL, "
+                    + "descripcion VARCHAR(500), activo BOOLEAN NOT NULL, atributos VARCHAR(2000), "
+                    + "fecha_creacion TIMESTAMP NOT NULL, fecha_modificacion TIMESTAMP)");
+        }
+        try (PreparedStatement insercion = conexion.prepareStatement(
+                "INSERT INTO recursos VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < FILAS; i++) {
+                RecursoDTO recurso = recurso(i);
+                insercion.setObject(1, recurso.getId());
+                insercion.setString(2, recurso.getNombre());
+                insercion.setString(3, recurso.getDescripcion());
+                insercion.setBoolean(4, recurso.getActivo());
+                insercion.setString(5, objectMapper.writeValueAsString(recurso.getAtributos()));
+                insercion.setTimestamp(6, Timestamp.valueOf(recurso.getFechaCreacion()));
+                insercion.setTimestamp(7, Timestamp.valueOf(recurso.getFechaModificacion()));
+                insercion.addBatch();
+            }
+            insercion.executeBatch();
+        }
+    }
+
+    private static RecursoDTO recurso(int numero) {
+        RecursoDTO recurso = new RecursoDTO();
+        recurso.setId(UUID.randomUUID());
+        recurso.setNombre("Recurso " + numero);
+        recurso.setDescripcion("Descripción del recurso " + numero + ". " + "Texto de ejemplo. ".repeat(12));
+        recurso.setActivo(numero % 10 != 0);
+        recurso.setAtributos(Map.of("tipo", "documento", "origen", "ventanilla", "folio", "F-" + numero,
+                "clasificacion", "publica"));
+        recurso.setFechaCreacion(LocalDateTime.of(2024, 1, 1, 8, 0).plusMinutes(numero));
+        recurso.setFechaModificacion(LocalDateTime.of(2024, 6, 1, 8, 0).plusMinutes(numero));
+        return recurso;
+    }
+
+    private static List<String> nombres(JsonNode nodo) {
+        List<String> nombres = new ArrayList<>();
+        nodo.fieldNames().forEachRemaining(nombres::add);
+        return nombres;
+    }
+
+    private record Respuesta(long bytes, int filas, JsonNode primera) {
+    }
+
+    private record Medicion(long bytes, double filasPorSegundo) {
+    }
+
+    /**
+     * Salida que sólo cuenta los bytes escritos.
+     */
+    private static final class ContadorBytes extends OutputStream {
+
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package mx.gob.vucem.componente.interfaces.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para la coalescencia de eventos en lotes.
+ */
+class CoalescedorEventosTest {
+
+    private final List<Object> publicados = new CopyOnWriteArrayList<>();
+    private ComponenteProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private CoalescedorEventos coalescedor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ComponenteProperties();
+        properties.getEventos().getCoalescencia().setTamanoMaximo(100);
+        properties.getEventos().getCoalescencia().setVentanaMs(60_000);
+        meterRegistry = new SimpleMeterRegistry();
+        coalescedor = new CoalescedorEventos(publicados::add, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescedor.detener();
+    }
+
+    @Test
+    void debeConservarSoloElEventoMasRecientePorClave() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        RecursoDTO primero = RecursoDTO.builder().id(id).nombre("Primero").build();
+        RecursoDTO ultimo = RecursoDTO.builder().id(id).nombre("Último").build();
+
+        // Act
+        coalescedor.agregar(new RecursoCreado(primero));
+        coalescedor.agregar(new RecursoCreado(ultimo));
+        coalescedor.vaciarTodo();
+
+        // Assert
+        assertEquals(1, publicados.size());
+        LoteEventos<?> lote = (LoteEventos<?>) publicados.get(0);
+        assertEquals("recurso.creado", lote.getTipoEventos());
+        assertEquals(1, lote.getTamano());
+        assertEquals(2, lote.getEventosRecibidos());
+        assertEquals("Último", ((RecursoDTO) lote.getCarga().get(0).getCarga()).getNombre());
+    }
+
+    @Test
+    void debePublicarLoteAlAlcanzarTamanoMaximo() {
+        // Act
+        for (int i = 0; i < 250; i++) {
+            coalescedor.agregar(new RecursoCreado(RecursoDTO.builder().id(UUID.randomUUID()).build()));
+        }
+
+        // Assert
+        assertEquals(2, publicados.size());
+        assertTrue(publicados.stream().allMatch(l -> ((LoteEventos<?>) l).getTamano() == 100));
+    }
+
+    @Test
+    void debePublicarLoteAlCumplirseLaVentana() throws InterruptedException {
+        // Arrange
+        properties.getEventos().getCoalescencia().setVentanaMs(20);
+        coalescedor.agregar(new RecursoCreado(RecursoDTO.builder().id(UUID.randomUUID()).build()));
+
+        // Act
+        long limite = System.currentTimeMillis() + 5_000;
+        while (publicados.isEmpty() && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+
+        // Assert
+        assertEquals(1, publicados.size());
+    }
+
+    @Test
+    void debePublicarDeInmediatoTrasDetenerse() {
+        // Arrange
+        coalescedor.detener();
+
+        // Act
+        assertDoesNotThrow(() ->
+                coalescedor.agregar(new RecursoCreado(RecursoDTO.builder().id(UUID.randomUUID()).build())));
+
+        // Assert
+        assertEquals(1, publicados.size());
+        assertEquals(1, ((LoteEventos<?>) publicados.get(0)).getTamano());
+    }
+
+    @Test
+    void debeReducirInvocacionesDeListenersEnCargaMasiva() {
+        // Arrange: 20 000 eventos sobre 2 000 recursos distintos
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        properties.getEventos().getCoalescencia().setTamanoMaximo(5_000);
+        int eventos = 20_000;
+
+        // Act
+        for (int i = 0; i < eventos; i++) {
+            coalescedor.agregar(new RecursoCreado(RecursoDTO.builder().id(ids.get(i % ids.size())).build()));
+        }
+        coalescedor.vaciarTodo();
+
+        // Assert: una sola invocación de listener con los 2 000 recursos en lugar de 20 000
+        int entregados = publicados.stream().mapToInt(l -> ((LoteEventos<?>) l).getTamano()).sum();
+        assertEquals(1, publicados.size());
+        assertEquals(2_000, entregados);
+        assertEquals(eventos, meterRegistry.counter("vucem.eventos.recibidos", "tipo", "recurso.creado").count());
+        assertEquals(eventos - 2_000,
+                meterRegistry.counter("vucem.eventos.coalescidos", "tipo", "recurso.creado").count());
+    }
+}
@@ -0,0 +1,195 @@
+package mx.gob.vucem.componente.interfaces.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de ida y vuelta y de compatibilidad para el codec binario de eventos.
+ */
+class CodecBinarioEventosTest {
+
+    /**
+     * Mensaje producido por la versión 1 del formato a partir de {@link #recursoFijo()}.
+     * No debe regenerarse: garantiza que los mensajes ya persistidos se sigan leyendo.
+     */
+    private static final String MENSAJE_V1 = "564501010000009601070000000067daeda20754d4c00d01123e4567e89b12d3"
+            + "a456426614174000135265637572736f20646520656a656d706c6f2444657363"
+            + "7269706369c3b36e2064656c207265637572736f20646520656a656d706c6f02"
+            + "040f10656a656d706c6f110a616c7461126672616363696f6e16383437312e33"
+            + "302e3031010000000067da95a000000000010000000067dbfc3d00000000";
+
+    private final CodecBinarioEventos codec = new CodecBinarioEventos();
+
+    @Test
+    void debeCodificarYDecodificarEventoCompleto() {
+        // Arrange
+        RecursoCreado evento = new RecursoCreado(recursoFijo(), fechaFija());
+
+        // Act
+        ByteBuffer buffer = codec.codificar(evento);
+        EventoVucem<RecursoDTO> leido = codec.leer(buffer);
+
+        // Assert
+        assertFalse(buffer.hasRemaining());
+        assertInstanceOf(RecursoCreado.class, leido);
+        assertEquals(evento.getTipo(), leido.getTipo());
+        assertEquals(evento.getOrigen(), leido.getOrigen());
+        assertEquals(evento.getFechaCreacion(), leido.getFechaCreacion());
+        assertEquals(evento.getCarga(), leido.getCarga());
+    }
+
+    @Test
+    void debeConservarCamposNulosYTextoUnicode() {
+        // Arrange
+        RecursoDTO recurso = new RecursoDTO();
+        recurso.setNombre("Aduana de Nuevo Laredo ñ 🚚");
+        recurso.setAtributos(null);
+        RecursoCreado evento = new RecursoCreado(recurso, fechaFija());
+
+        // Act
+        EventoVucem<RecursoDTO> leido = codec.leer(codec.codificar(evento));
+
+        // Assert
+        assertNull(leido.getCarga().getId());
+        assertNull(leido.getCarga().getDescripcion());
+        assertNull(leido.getCarga().getActivo());
+        assertNull(leido.getCarga().getAtributos());
+        assertEquals("Aduana de Nuevo Laredo ñ 🚚", leido.getCarga().getNombre());
+    }
+
+    @Test
+    void debeLeerYEscribirSobreBuffersDirectosConsecutivos() {
+        // Arrange
+        ByteBuffer directo = ByteBuffer.allocateDirect(4096);
+        RecursoCreado primero = new RecursoCreado(recursoFijo(), fechaFija());
+        RecursoDTO otroRecurso = recursoFijo();
+        otroRecurso.setId(UUID.randomUUID());
+        RecursoCreado segundo = new RecursoCreado(otroRecurso, fechaFija());
+
+        // Act
+        int escritos = codec.escribir(primero, directo) + codec.escribir(segundo, directo);
+        directo.flip();
+
+        // Assert
+        assertEquals(escritos, directo.remaining());
+        assertEquals(primero.getCarga(), codec.leer(directo).getCarga());
+        assertEquals(segundo.getCarga(), codec.leer(directo).getCarga());
+        assertFalse(directo.hasRemaining());
+    }
+
+    @Test
+    void noDebeModificarBufferSinEspacioSuficiente() {
+        // Arrange
+        ByteBuffer pequeno = ByteBuffer.allocate(16);
+
+        // Act & Assert
+        assertThrows(BufferOverflowException.class,
+                () -> codec.escribir(new RecursoCreado(recursoFijo(), fechaFija()), pequeno));
+        assertEquals(0, pequeno.position());
+    }
+
+    @Test
+    void debeLeerMensajesDeLaVersionUno() {
+        // Arrange
+        ByteBuffer mensaje = ByteBuffer.wrap(HexFormat.of().parseHex(MENSAJE_V1));
+
+        // Act
+        EventoVucem<RecursoDTO> leido = codec.leer(mensaje);
+
+        // Assert
+        assertEquals(RecursoCreado.TIPO_EVENTO, leido.getTipo());
+        assertEquals(fechaFija(), leido.getFechaCreacion());
+        assertEquals(recursoFijo(), leido.getCarga());
+    }
+
+    @Test
+    void debeOmitirCamposAgregadosPorVersionesPosteriores() {
+        // Arrange: se simula un escritor futuro que agrega 5 bytes al final del cuerpo
+        ByteBuffer original = codec.codificar(new RecursoCreado(recursoFijo(), fechaFija()));
+        ByteBuffer extendido = ByteBuffer.allocate(original.remaining() + 5 + 3);
+        extendido.put(original.duplicate());
+        extendido.put(new byte[] {1, 2, 3, 4, 5});
+        extendido.putInt(4, extendido.getInt(4) + 5);
+        extendido.put(new byte[] {9, 9, 9});
+        extendido.flip();
+
+        // Act
+        EventoVucem<RecursoDTO> leido = codec.leer(extendido);
+
+        // Assert
+        assertEquals(recursoFijo(), leido.getCarga());
+        assertEquals(3, extendido.remaining());
+    }
+
+    @Test
+    void debeRechazarCuerposTruncadosSinLeerElMensajeSiguiente() {
+        // Arrange: el primer mensaje declara un cuerpo 10 bytes más corto y le sigue otro mensaje
+        ByteBuffer primero = codec.codificar(new RecursoCreado(recursoFijo(), fechaFija()));
+        ByteBuffer segundo = codec.codificar(new RecursoCreado(recursoFijo(), fechaFija()));
+        ByteBuffer mensajes = ByteBuffer.allocate(primero.remaining() + segundo.remaining());
+        mensajes.put(primero).put(segundo).flip();
+        mensajes.putInt(4, mensajes.getInt(4) - 10);
+
+        // Act & Assert
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> codec.leer(mensajes));
+        assertEquals("Evento codificado incompleto", error.getMessage());
+    }
+
+    @Test
+    void debeRechazarVersionesDesconocidas() {
+        // Arrange
+        ByteBuffer mensaje = codec.codificar(new RecursoCreado(recursoFijo(), fechaFija()));
+        mensaje.put(2, (byte) (CodecBinarioEventos.VERSION_ACTUAL + 1));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> codec.leer(mensaje));
+    }
+
+    @Test
+    void debeSerMasCompactoQueJson() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        RecursoCreado evento = new RecursoCreado(recursoFijo(), fechaFija());
+
+        // Act
+        int json = objectMapper.writeValueAsBytes(evento).length;
+        int binario = codec.calcularTamano(evento);
+
+        // Assert
+        assertTrue(binario * 2 < json, "binario=" + binario + " json=" + json);
+    }
+
+    private static ZonedDateTime fechaFija() {
+        return ZonedDateTime.of(2025, 3, 19, 10, 15, 30, 123_000_000, ZoneId.of("America/Mexico_City"));
+    }
+
+    private static RecursoDTO recursoFijo() {
+        Map<String, String> atributos = new LinkedHashMap<>();
+        atributos.put("tipo", "ejemplo");
+        atributos.put("prioridad", "alta");
+        atributos.put("fraccion", "8471.30.01");
+        return RecursoDTO.builder()
+                .id(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"))
+                .nombre("Recurso de ejemplo")
+                .descripcion("Descripción del recurso de ejemplo")
+                .activo(true)
+                .atributos(atributos)
+                .fechaCreacion(LocalDateTime.of(2025, 3, 19, 10, 0))
+                .fechaModificacion(LocalDateTime.of(2025, 3, 20, 11, 30, 5))
+                .build();
+    }
+}
@@ -0,0 +1,329 @@
+package mx.gob.vucem.componente.interfaces.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import mx.gob.vucem.componente.domain.exceptions.ServicioNoDisponibleException;
+import mx.gob.vucem.componente.interfaces.api.controllers.CambiosRecursoController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Pruebas del flujo de cambios de recursos por Server-Sent Events.
+ */
+class DifusorCambiosRecursoTest {
+
+    private ComponenteProperties properties;
+    private DifusorCambiosRecurso difusor;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ComponenteProperties();
+        properties.getEventos().getCambios().setCapacidadReproduccion(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        difusor.detener();
+    }
+
+    @Test
+    void debeEnviarCambiosPublicadosDespuesDeSuscribirse() throws Exception {
+        // Arrange
+        crearDifusor();
+        MockHttpServletResponse respuesta = suscribir(null);
+
+        // Act
+        difusor.alPublicarEvento(new RecursoCreado(recurso("Aduana")));
+        difusor.alPublicarEvento(new RecursoEliminado(recurso("Aduana")));
+
+        // Assert
+        String contenido = esperarContenido(respuesta, "id:" + difusor.identificador(2));
+        assertTrue(contenido.contains("event:recurso.creado"));
+        assertTrue(contenido.contains("event:recurso.eliminado"));
+        assertTrue(contenido.contains("\"nombre\":\"Aduana\""));
+    }
+
+    @Test
+    void debeReanudarDesdeElUltimoEventoRecibido() throws Exception {
+        // Arrange
+        crearDifusor();
+        for (int i = 1; i <= 3; i++) {
+            difusor.alPublicarEvento(new RecursoActualizado(recurso("Recurso " + i)));
+        }
+
+        // Act
+        MockHttpServletResponse respuesta = suscribir(difusor.identificador(1));
+
+        // Assert
+        String contenido = esperarContenido(respuesta, "id:" + difusor.identificador(3));
+        assertFalse(contenido.contains("id:" + difusor.identificador(1) + "\n"));
+        assertTrue(contenido.contains("id:" + difusor.identificador(2)));
+        assertTrue(contenido.contains("Recurso 3"));
+    }
+
+    @Test
+    void debeSolicitarResincronizacionCuandoElEventoYaNoEstaDisponible() throws Exception {
+        // Arrange
+        crearDifusor();
+        for (int i = 1; i <= 10; i++) {
+            difusor.alPublicarEvento(new RecursoActualizado(recurso("Recurso " + i)));
+        }
+
+        // Act
+        MockHttpServletResponse respuesta = suscribir(difusor.identificador(2));
+
+        // Assert
+        String contenido = esperarContenido(respuesta, "event:" + DifusorCambiosRecurso.EVENTO_RESINCRONIZAR);
+        assertTrue(contenido.contains("id:" + difusor.identificador(10)));
+        assertFalse(contenido.contains("Recurso 3"));
+    }
+
+    @Test
+    void debeSolicitarResincronizacionConUnIdentificadorDeOtroArranque() throws Exception {
+        // Arrange: el servicio reinició y su secuencia volvió a alcanzar el número recibido
+        crearDifusor();
+        for (int i = 1; i <= 3; i++) {
+            difusor.alPublicarEvento(new RecursoActualizado(recurso("Recurso " + i)));
+        }
+
+        // Act
+        MockHttpServletResponse anterior = suscribir("arranque-anterior-1");
+        MockHttpServletResponse sinArranque = suscribir("1");
+
+        // Assert: no se reproducen cambios que el cliente nunca vio
+        for (MockHttpServletResponse respuesta : List.of(anterior, sinArranque)) {
+            String contenido = esperarContenido(respuesta, "event:" + DifusorCambiosRecurso.EVENTO_RESINCRONIZAR);
+            assertTrue(contenido.contains("id:" + difusor.identificador(3)));
+            assertFalse(contenido.contains("Recurso 2"));
+        }
+    }
+
+    @Test
+    void debeDesconectarAlSuscriptorDetenidoSinDetenerALosDemas() throws Exception {
+        // Arrange: un solo hilo de despacho y un cliente que deja de leer
+        properties.getEventos().getCambios().setHilosDespacho(1);
+        properties.getEventos().getCambios().setTiempoMaximoEnvioMs(100);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicBoolean detener = new AtomicBoolean();
+        crearDifusor(new FiltroClienteLento(detener, liberar));
+        MockHttpServletResponse lento = mockMvc.perform(get("/api/recursos/cambios/stream")
+                .header(FiltroClienteLento.ENCABEZADO, "si")).andReturn().getResponse();
+        MockHttpServletResponse rapido = suscribir(null);
+        detener.set(true);
+
+        try {
+            // Act
+            for (int i = 1; i <= 3; i++) {
+                difusor.alPublicarEvento(new RecursoActualizado(recurso("Recurso " + i)));
+            }
+
+            // Assert: el cliente rápido recibe todo aunque el único hilo quedó detenido
+            esperarContenido(rapido, "id:" + difusor.identificador(3));
+            long limite = System.currentTimeMillis() + 2000;
+            while (difusor.getSuscriptores() > 1 && System.currentTimeMillis() < limite) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, difusor.getSuscriptores());
+            assertFalse(lento.getContentAsString().contains("Recurso 3"));
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    @Test
+    void debeDesconectarAlSuscriptorDesbordadoSinBloquearLaPublicacion() throws Exception {
+        // Arrange: el cliente lento llena su cola mientras el despacho sigue en su escritura
+        properties.getEventos().getCambios().setCapacidadSuscriptor(1);
+        properties.getEventos().getCambios().setTiempoMaximoEnvioMs(60_000);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicBoolean detener = new AtomicBoolean(true);
+        FiltroClienteLento filtro = new FiltroClienteLento(detener, liberar);
+        crearDifusor(filtro);
+        MockHttpServletResponse lento = mockMvc.perform(get("/api/recursos/cambios/stream")
+                .header(FiltroClienteLento.ENCABEZADO, "si")).andReturn().getResponse();
+        difusor.alPublicarEvento(new RecursoActualizado(recurso("Recurso 1")));
+        assertTrue(filtro.detenido.await(2, TimeUnit.SECONDS));
+
+        try {
+            // Act & Assert: ni la publicación ni una nueva suscripción esperan la escritura detenida
+            assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+                for (int i = 2; i <= 5; i++) {
+                    difusor.alPublicarEvento(new RecursoActualizado(recurso("Recurso " + i)));
+                }
+                difusor.suscribir(null);
+            });
+            assertEquals(1, difusor.getSuscriptores());
+        } finally {
+            liberar.countDown();
+        }
+
+        // El envío en curso termina y la conexión se cierra sin los cambios pendientes
+        esperarContenido(lento, "Recurso 1");
+        Thread.sleep(100);
+        assertFalse(lento.getContentAsString().contains("Recurso 2"));
+    }
+
+    @Test
+    void debeIgnorarEventosQueNoSonCambiosDeRecursos() throws Exception {
+        // Arrange
+        crearDifusor();
+
+        // Act
+        List<EventoVucem<RecursoDTO>> eventos = List.of(new RecursoCreado(recurso("Lote")));
+        difusor.alPublicarEvento(new LoteEventos<>(RecursoCreado.TIPO_EVENTO, eventos, 1, "vucem-componente"));
+        difusor.alPublicarEvento(new RecursoCreado(recurso("Individual")));
+        MockHttpServletResponse respuesta = suscribir(difusor.identificador(0));
+
+        // Assert
+        String contenido = esperarContenido(respuesta, "id:" + difusor.identificador(1));
+        assertTrue(contenido.contains("Individual"));
+        assertFalse(contenido.contains("id:" + difusor.identificador(2)));
+    }
+
+    @Test
+    void debeRechazarSuscriptoresPorEncimaDelMaximo() {
+        // Arrange
+        properties.getEventos().getCambios().setMaximoSuscriptores(1);
+        crearDifusor();
+        difusor.suscribir(null);
+
+        // Act & Assert
+        ServicioNoDisponibleException exception = assertThrows(ServicioNoDisponibleException.class,
+                () -> difusor.suscribir(null));
+        assertEquals("SUSCRIPTORES_EXCEDIDOS", exception.getCodigo());
+        assertEquals(1, difusor.getSuscriptores());
+    }
+
+    private void crearDifusor(Filter... filtros) {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        difusor = new DifusorCambiosRecurso(properties, objectMapper, new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new CambiosRecursoController(difusor, null))
+                .addFilters(filtros)
+                .build();
+    }
+
+    private MockHttpServletResponse suscribir(String ultimoId) throws Exception {
+        var solicitud = get("/api/recursos/cambios/stream");
+        if (ultimoId != null) {
+            solicitud.header("Last-Event-ID", ultimoId);
+        }
+        return mockMvc.perform(solicitud).andReturn().getResponse();
+    }
+
+    private static String esperarContenido(MockHttpServletResponse respuesta, String esperado) throws Exception {
+        long limite = System.currentTimeMillis() + 2000;
+        String contenido = respuesta.getContentAsString();
+        while (!contenido.contains(esperado) && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+            contenido = respuesta.getContentAsString();
+        }
+        assertTrue(contenido.contains(esperado), "No se recibió '" + esperado + "' en: " + contenido);
+        return contenido;
+    }
+
+    /**
+     * Simula un cliente que deja de leer: una vez activado, cada escritura de las solicitudes
+     * marcadas se detiene hasta que la prueba la libera.
+     */
+    private static final class FiltroClienteLento extends OncePerRequestFilter {
+
+        static final String ENCABEZADO = "X-Cliente-Lento";
+
+        private final AtomicBoolean detener;
+        private final CountDownLatch liberar;
+        private final CountDownLatch detenido = new CountDownLatch(1);
+
+        FiltroClienteLento(AtomicBoolean detener, CountDownLatch liberar) {
+            this.detener = detener;
+            this.liberar = liberar;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            if (request.getHeader(ENCABEZADO) == null) {
+                chain.doFilter(request, response);
+                return;
+            }
+            ServletOutputStream salida = response.getOutputStream();
+            ServletOutputStream lenta = new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    esperar();
+                    salida.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    esperar();
+                    salida.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                    salida.setWriteListener(listener);
+                }
+            };
+            chain.doFilter(request, new HttpServletResponseWrapper(response) {
+                @Override
+                public ServletOutputStream getOutputStream() {
+                    return lenta;
+                }
+            });
+        }
+
+        private void esperar() {
+            // Como un socket detenido, la escritura no responde a interrupciones
+            while (detener.get()) {
+                detenido.countDown();
+                try {
+                    if (liberar.await(5, TimeUnit.SECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException ex) {
+                    // Se ignora
+                }
+            }
+        }
+    }
+
+    private static RecursoDTO recurso(String nombre) {
+        RecursoDTO recurso = new RecursoDTO();
+        recurso.setId(UUID.randomUUID());
+        recurso.setNombre(nombre);
+        return recurso;
+    }
+}
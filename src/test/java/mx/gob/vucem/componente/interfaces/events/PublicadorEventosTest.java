@@ -0,0 +1,146 @@
+package mx.gob.vucem.componente.interfaces.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.gob.vucem.componente.application.config.ComponenteProperties;
+import mx.gob.vucem.componente.application.dtos.RecursoDTO;
+import mx.gob.vucem.componente.infrastructure.eventos.BitacoraEventos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas del registro en la bitácora y la agrupación en lotes de los eventos publicados
+ * dentro y fuera de una transacción.
+ */
+class PublicadorEventosTest {
+
+    private final BitacoraEventos bitacora = mock(BitacoraEventos.class);
+    private final ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+    private PublicadorEventos publicador;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<BitacoraEventos> proveedor = mock(ObjectProvider.class);
+        when(proveedor.getIfAvailable()).thenReturn(bitacora);
+        CoalescedorEventos coalescedor = mock(CoalescedorEventos.class);
+        publicador = new PublicadorEventos(publisher, coalescedor, proveedor, new CodecBinarioEventos(),
+                new ComponenteProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void debeRegistrarEnLaBitacoraSoloAlConfirmarseLaTransaccion() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        publicador.publicar(evento());
+
+        // Assert: nada se registra mientras la transacción sigue abierta
+        verify(publisher).publishEvent(any(Object.class));
+        verifyNoInteractions(bitacora);
+
+        // Act: confirmación
+        List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+        sincronizaciones.forEach(TransactionSynchronization::afterCommit);
+
+        // Assert: se registra sin esperar la sincronización a disco
+        verify(bitacora).agregar(any());
+        verify(bitacora, never()).esperarSincronizacion(anyLong());
+    }
+
+    @Test
+    void noDebeRegistrarEventosDeUnaTransaccionRevertida() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act: la reversión sólo notifica la finalización, nunca afterCommit
+        publicador.publicar(evento());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        verifyNoInteractions(bitacora);
+    }
+
+    @Test
+    void debeRegistrarYEsperarElDiscoFueraDeUnaTransaccion() {
+        // Arrange
+        when(bitacora.agregar(any())).thenReturn(7L);
+
+        // Act
+        publicador.publicar(evento());
+
+        // Assert
+        verify(bitacora).agregar(any());
+        verify(bitacora).esperarSincronizacion(7L);
+    }
+
+    @Test
+    void noDebeEntregarLotesDeUnaTransaccionRevertida() {
+        // Arrange: coalescedor real que entrega sus lotes al publicador
+        List<Object> publicados = new CopyOnWriteArrayList<>();
+        CoalescedorEventos coalescedor = new CoalescedorEventos(publicados::add, new ComponenteProperties(),
+                new SimpleMeterRegistry());
+        PublicadorEventos conLotes = new PublicadorEventos(publisher, coalescedor, sinBitacora(),
+                new CodecBinarioEventos(), new ComponenteProperties());
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // Act: escritura revertida seguida de una confirmada
+            conLotes.publicar(evento());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            TransactionSynchronizationManager.clearSynchronization();
+            coalescedor.vaciarTodo();
+
+            // Assert
+            assertTrue(publicados.isEmpty(), "Lotes entregados: " + publicados);
+
+            // Act: la confirmada sí llega al lote
+            TransactionSynchronizationManager.initSynchronization();
+            RecursoCreado confirmado = evento();
+            conLotes.publicar(confirmado);
+            coalescedor.vaciarTodo();
+            assertTrue(publicados.isEmpty());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            coalescedor.vaciarTodo();
+
+            // Assert
+            assertEquals(1, publicados.size());
+            LoteEventos<?> lote = (LoteEventos<?>) publicados.get(0);
+            assertEquals(List.of(confirmado), lote.getCarga());
+        } finally {
+            coalescedor.detener();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<BitacoraEventos> sinBitacora() {
+        return mock(ObjectProvider.class);
+    }
+
+    private static RecursoCreado evento() {
+        return new RecursoCreado(RecursoDTO.builder().id(UUID.randomUUID()).nombre("Recurso").build());
+    }
+}